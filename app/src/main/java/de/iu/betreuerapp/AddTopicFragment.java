@@ -103,7 +103,7 @@ public class AddTopicFragment extends Fragment {
         }
         // <<<
 
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String tutorId = sm.userId();
         if (tutorId == null) {
             Toast.makeText(requireContext(),
@@ -120,12 +120,12 @@ public class AddTopicFragment extends Fragment {
         t.status      = "available";   // neu erstellte Themen sind immer verfügbar
         t.owner_id    = tutorId;       // gehört dem eingeloggten Tutor
 
-        SupabaseClient client = new SupabaseClient(requireContext());
+        SupabaseClient client = SupabaseClient.get(requireContext());
         saveButton.setEnabled(false);
 
-        client.restService()
-                .createTopic(t)
-                .enqueue(new Callback<List<Topic>>() {
+        CallScope.of(this).enqueue(client.restService()
+                .createTopic(t),
+                new Callback<List<Topic>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<Topic>> call,
                                            @NonNull Response<List<Topic>> response) {
@@ -0,0 +1,85 @@
+package de.iu.betreuerapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemeinsame Executor für die App.
+ *
+ * - disk(): EIN Hintergrund-Thread für die lokale Datenbank. Alle Schreib- und
+ *   Lesezugriffe laufen nacheinander → ein Lesen nach einem Schreiben sieht immer
+ *   den neuen Stand, ohne zusätzliche Sperren.
+ * - compute(): kleiner, begrenzter Pool für Rechenarbeit der Repositories
+ *   (Filtern, Zählen, Sortieren). {@link SnapshotLiveData} reiht pro Stand höchstens
+ *   einen Auftrag ein, die Warteschlange bleibt also kurz. Läuft sie trotzdem voll,
+ *   wandert der Auftrag auf io() – nie Exception, nie Rechnen auf dem Main-Thread.
+ * - io(): blockierendes Lesen vom Netz außerhalb von OkHttp (gestreamte Antworten,
+ *   {@link RowStream}); Threads entstehen bei Bedarf und laufen nach 30 s Leerlauf aus.
+ * - main(): zurück auf den UI-Thread (für Adapter/Views).
+ */
+public final class AppExecutors {
+
+    private static final ExecutorService DISK = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "betreuer-disk");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final AtomicInteger IO_IDS = new AtomicInteger();
+
+    private static final ThreadPoolExecutor IO = new ThreadPoolExecutor(
+            0, Integer.MAX_VALUE,
+            30, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            r -> {
+                Thread t = new Thread(r, "betreuer-io-" + IO_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private static final AtomicInteger COMPUTE_IDS = new AtomicInteger();
+
+    private static final int COMPUTE_THREADS =
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor COMPUTE = new ThreadPoolExecutor(
+            COMPUTE_THREADS, COMPUTE_THREADS,
+            30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64),
+            r -> {
+                Thread t = new Thread(r, "betreuer-compute-" + COMPUTE_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            // Wie CallerRuns, nur nicht auf dem (Main-)Aufrufer. Verwerfen geht nicht:
+            // SnapshotLiveData wartet sonst ewig auf seinen drain-Auftrag.
+            (r, pool) -> {
+                if (!pool.isShutdown()) IO.execute(r);
+            });
+
+    static {
+        COMPUTE.allowCoreThreadTimeOut(true);
+    }
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static final Executor MAIN = MAIN_HANDLER::post;
+
+    private AppExecutors() { }
+
+    public static Executor disk() { return DISK; }
+
+    public static Executor compute() { return COMPUTE; }
+
+    public static Executor io() { return IO; }
+
+    public static Executor main() { return MAIN; }
+}
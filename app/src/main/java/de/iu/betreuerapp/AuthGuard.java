@@ -9,7 +9,7 @@ public class AuthGuard {
         if (!(fragment.getActivity() instanceof MainActivity)) return true;
 
         MainActivity act = (MainActivity) fragment.getActivity();
-        String role = act.getCurrentRole();
+        String role = SessionManager.get(act).snapshot().role; // Feld im Speicher, kein Prefs-Zugriff
         if (role == null) {
             act.logout();
             return false;
@@ -0,0 +1,172 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Ein Patch für viele contact_requests in EINEM Request: PATCH ?id=in.(a,b,c).
+ *
+ * Mit "Prefer: return=representation" liefert PostgREST genau die geänderten Zeilen
+ * zurück; daraus ergibt sich das Ergebnis pro Zeile: id in der Antwort → geändert,
+ * sonst → nicht geändert (keine Berechtigung / inzwischen gelöscht).
+ * Lange Listen werden in Blöcke zu {@link #CHUNK_SIZE} ids geteilt (URL-Länge).
+ *
+ * Unterschiedliche Patches (z.B. Betreuer- und Zweitprüfer-Rechnung) → mehrere
+ * {@link #add}-Aufrufe. Das Ergebnis kommt gesammelt auf dem Main-Thread, sobald
+ * alle Requests zurück sind.
+ *
+ * Ergebnis pro Zeile des Aufrufers: Zeilen-Schlüssel → id (z.B. "&lt;id&gt;:sup"), weil
+ * dieselbe Anfrage in mehreren Gruppen stecken kann (Betreuer- und Zweitprüfer-Rechnung).
+ * Ohne eigene Schlüssel ({@link #add(ContactRequest, Collection)}) ist der Schlüssel die id.
+ *
+ * Beispiel:
+ *   new BatchUpdate(service)
+ *       .add(patchSup, supRows)   // Zeilen-Schlüssel → id
+ *       .add(patchRev, revRows)
+ *       .run(result -> ...);
+ */
+public class BatchUpdate {
+
+    public static final int CHUNK_SIZE = 50;
+
+    public interface Done {
+        void onDone(@NonNull Result result);
+    }
+
+    /** Ergebnis pro Zeile. */
+    public static final class Result {
+        /** Vom Server bestätigte Zeilen (neuer Stand, je PATCH eine). */
+        public final List<ContactRequest> updated;
+        /** Anzahl geänderter Zeilen des Aufrufers (Zeilen-Schlüssel). */
+        public final int okCount;
+        /** Zeilen-Schlüssel → Grund, warum die Zeile nicht geändert wurde. */
+        public final Map<String, String> failed;
+
+        Result(List<ContactRequest> updated, int okCount, Map<String, String> failed) {
+            this.updated = Collections.unmodifiableList(updated);
+            this.okCount = okCount;
+            this.failed = Collections.unmodifiableMap(failed);
+        }
+
+        public boolean allOk() {
+            return failed.isEmpty();
+        }
+    }
+
+    private static final class Chunk {
+        final ContactRequest patch;
+        /** Zeilen-Schlüssel → id, höchstens {@link #CHUNK_SIZE} verschiedene ids. */
+        final Map<String, String> rows = new LinkedHashMap<>();
+        final Set<String> ids = new LinkedHashSet<>();
+
+        Chunk(ContactRequest patch) {
+            this.patch = patch;
+        }
+    }
+
+    private final SupabaseRestService service;
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    public BatchUpdate(@NonNull SupabaseRestService service) {
+        this.service = service;
+    }
+
+    /** Dieser Patch für alle ids, Zeilen-Schlüssel = id (leere Liste → nichts). */
+    @NonNull
+    public BatchUpdate add(@NonNull ContactRequest patch, @NonNull Collection<String> ids) {
+        Map<String, String> rows = new LinkedHashMap<>();
+        for (String id : ids) if (id != null) rows.put(id, id);
+        return add(patch, rows);
+    }
+
+    /** Dieser Patch für alle Zeilen (Zeilen-Schlüssel → id; leer → nichts). */
+    @NonNull
+    public BatchUpdate add(@NonNull ContactRequest patch, @NonNull Map<String, String> rows) {
+        Chunk chunk = null;
+        for (Map.Entry<String, String> row : rows.entrySet()) {
+            String id = row.getValue();
+            if (row.getKey() == null || id == null) continue;
+            if (chunk == null || (chunk.ids.size() == CHUNK_SIZE && !chunk.ids.contains(id))) {
+                chunk = new Chunk(patch);
+                chunks.add(chunk);
+            }
+            chunk.rows.put(row.getKey(), id);
+            chunk.ids.add(id);
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /** Schickt alle Blöcke parallel ab; done kommt genau einmal. */
+    public void run(@NonNull Done done) {
+        List<ContactRequest> updated = new ArrayList<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+        final int[] okCount = {0};
+        if (chunks.isEmpty()) {
+            done.onDone(new Result(updated, 0, failed));
+            return;
+        }
+
+        final int[] pending = {chunks.size()};
+        for (Chunk c : chunks) {
+            String[] ids = c.ids.toArray(new String[0]);
+            service.updateContactRequests(PostgrestFilter.in(ids), c.patch)
+                    .enqueue(new Callback<List<ContactRequest>>() {
+                        @Override
+                        public void onResponse(@NonNull Call<List<ContactRequest>> call,
+                                               @NonNull Response<List<ContactRequest>> response) {
+                            if (!response.isSuccessful() || response.body() == null) {
+                                markFailed(c, "Fehler " + response.code(), failed);
+                            } else {
+                                Set<String> ok = new HashSet<>();
+                                for (ContactRequest r : response.body()) {
+                                    if (r == null || r.id == null) continue;
+                                    ok.add(r.id);
+                                    updated.add(r);
+                                }
+                                for (Map.Entry<String, String> row : c.rows.entrySet()) {
+                                    if (ok.contains(row.getValue())) {
+                                        okCount[0]++;
+                                    } else {
+                                        failed.put(row.getKey(), "nicht geändert (keine Berechtigung oder gelöscht)");
+                                    }
+                                }
+                            }
+                            finish();
+                        }
+
+                        @Override
+                        public void onFailure(@NonNull Call<List<ContactRequest>> call,
+                                              @NonNull Throwable t) {
+                            markFailed(c, "Netzwerkfehler: " + t.getMessage(), failed);
+                            finish();
+                        }
+
+                        private void finish() {
+                            if (--pending[0] == 0) done.onDone(new Result(updated, okCount[0], failed));
+                        }
+                    });
+        }
+    }
+
+    private static void markFailed(Chunk c, String reason, Map<String, String> failed) {
+        for (String key : c.rows.keySet()) failed.put(key, reason);
+    }
+}
@@ -0,0 +1,134 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentActivity;
+import androidx.fragment.app.FragmentManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Bindet Retrofit-Calls an die View eines Fragments.
+ *
+ * Sobald die View zerstört wird (Tab-Wechsel, Zurück), wird der Scope geschlossen:
+ *   - GETs werden abgebrochen (keine Bandbreite/Parsen mehr für eine Liste, die niemand sieht)
+ *   - Schreibende Calls (POST/PATCH/DELETE) laufen weiter – die Änderung soll ankommen –,
+ *     ihr Callback wird aber verworfen
+ * Callbacks über diesen Scope kommen also nie bei einem Fragment ohne View an
+ * (kein requireContext() auf einem abgehängten Fragment).
+ *
+ * Calls, deren Callback selbst noch etwas Bleibendes tut (LocalStore, Folge-Requests),
+ * gehören NICHT hierher – dort den Callback mit isAdded() absichern.
+ *
+ * Geschlossen wird über {@link #install(FragmentActivity)} (FragmentLifecycleCallbacks),
+ * die Fragments müssen dafür nichts überschreiben. Alles auf dem Main-Thread.
+ *
+ * Beispiel:
+ *   CallScope.of(this).enqueue(service.getContactRequests(...), new Callback<...>() { ... });
+ */
+public final class CallScope {
+
+    private static final Map<Fragment, CallScope> SCOPES = new WeakHashMap<>();
+
+    private final Set<Call<?>> calls = new HashSet<>();
+    private boolean closed;
+
+    private CallScope(boolean closed) {
+        this.closed = closed;
+    }
+
+    /**
+     * Scope der aktuellen View; nach onDestroyView gibt es erst mit der nächsten View einen neuen.
+     * Ab onCreateView nutzbar (der View-Lifecycle existiert dort schon).
+     */
+    @NonNull
+    public static CallScope of(@NonNull Fragment fragment) {
+        if (!fragment.isAdded()) {
+            return new CallScope(true); // schon abgehängt → nichts mehr zustellen
+        }
+        try {
+            fragment.getViewLifecycleOwner();
+        } catch (IllegalStateException e) {
+            // z.B. im Back-Stack: noch added, aber ohne View – ein neuer Scope würde nie geschlossen
+            return new CallScope(true);
+        }
+        CallScope scope = SCOPES.get(fragment);
+        if (scope == null) {
+            scope = new CallScope(false);
+            SCOPES.put(fragment, scope);
+        }
+        return scope;
+    }
+
+    /** Einmal pro Activity in onCreate(); gilt auch für verschachtelte Fragments. */
+    public static void install(@NonNull FragmentActivity activity) {
+        activity.getSupportFragmentManager().registerFragmentLifecycleCallbacks(
+                new FragmentManager.FragmentLifecycleCallbacks() {
+                    @Override
+                    public void onFragmentViewDestroyed(@NonNull FragmentManager fm, @NonNull Fragment f) {
+                        CallScope scope = SCOPES.remove(f);
+                        if (scope != null) scope.close();
+                    }
+                }, true);
+    }
+
+    // ------------------------------------------------------------------
+
+    /** Wie call.enqueue(cb), aber an die View gebunden. */
+    public <T> void enqueue(@NonNull Call<T> call, @NonNull Callback<T> cb) {
+        if (closed) {
+            if (isRead(call)) return;
+            // Änderung trotzdem abschicken, Callback fällt unten weg
+        } else {
+            calls.add(call);
+        }
+
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> c, @NonNull Response<T> response) {
+                if (!calls.remove(call) || closed) return;
+                cb.onResponse(c, response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> c, @NonNull Throwable t) {
+                if (!calls.remove(call) || closed) return;
+                cb.onFailure(c, t);
+            }
+        });
+    }
+
+    /**
+     * Nur abbrechen lassen, Callback bleibt beim Aufrufer (z.B. DeltaSync-Query).
+     * Gedacht für GETs; der Call wird beim Schließen abgebrochen und bleibt
+     * bis dahin gemerkt (also nur für wenige Calls pro View).
+     */
+    @NonNull
+    public <T> Call<T> track(@NonNull Call<T> call) {
+        if (closed) {
+            call.cancel();
+        } else {
+            calls.add(call);
+        }
+        return call;
+    }
+
+    private void close() {
+        closed = true;
+        for (Call<?> c : calls) {
+            if (isRead(c)) c.cancel();
+        }
+        calls.clear();
+    }
+
+    private static boolean isRead(Call<?> call) {
+        return "GET".equals(call.request().method());
+    }
+}
@@ -0,0 +1,111 @@
+package de.iu.betreuerapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Zählt, wie oft OkHttp eine Verbindung neu aufbaut bzw. aus dem Pool wiederverwendet,
+ * und wie oft der HTTP-Cache ({@link HttpCaching}) getroffen wurde.
+ *
+ * Eine Instanz gehört zum gemeinsamen OkHttpClient aus {@link SupabaseClient}; die
+ * Ereignisse reicht {@link NetworkTelemetry} durch (ein Listener pro Call).
+ * Nach jedem Call wird im Debug-Build eine Zusammenfassung geloggt.
+ */
+public class ConnectionStats extends EventListener {
+
+    private static final String TAG = "ConnectionStats";
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong newConnections = new AtomicLong();
+
+    private final AtomicLong cacheHits = new AtomicLong();            // ganz ohne Netz
+    private final AtomicLong cacheConditionalHits = new AtomicLong(); // 304 → Cache-Body
+    private final AtomicLong cacheMisses = new AtomicLong();          // voller Download
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        calls.incrementAndGet();
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call,
+                           @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy,
+                           Protocol protocol) {
+        newConnections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        acquired.incrementAndGet();
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        cacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        cacheConditionalHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        cacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, summary());
+        }
+    }
+
+    public long calls()          { return calls.get(); }
+    public long newConnections() { return newConnections.get(); }
+
+    /** Verbindungen, die ohne neuen Handshake aus dem Pool kamen. */
+    public long reusedConnections() {
+        return Math.max(0, acquired.get() - newConnections.get());
+    }
+
+    /** Anteil wiederverwendeter Verbindungen (0..1). */
+    public double reuseRatio() {
+        long total = acquired.get();
+        return total == 0 ? 0.0 : (double) reusedConnections() / total;
+    }
+
+    public long cacheHits()            { return cacheHits.get(); }
+    public long cacheConditionalHits() { return cacheConditionalHits.get(); }
+    public long cacheMisses()          { return cacheMisses.get(); }
+
+    /** Anteil der Calls, deren Body aus dem Cache kam (direkt oder nach 304), 0..1.
+     *  Schreibende Calls zählen bei OkHttp ebenfalls als Miss. */
+    public double cacheHitRatio() {
+        long served = cacheHits.get() + cacheConditionalHits.get();
+        long total = served + cacheMisses.get();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "Calls: %d | Verbindungen neu: %d | wiederverwendet: %d (%.0f%%)"
+                        + " | Cache: %d Treffer, %d per 304, %d Misses (%.0f%%)",
+                calls(), newConnections(), reusedConnections(), reuseRatio() * 100,
+                cacheHits(), cacheConditionalHits(), cacheMisses(), cacheHitRatio() * 100);
+    }
+}
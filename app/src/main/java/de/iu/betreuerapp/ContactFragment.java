@@ -21,6 +21,7 @@ import androidx.fragment.app.Fragment;
 import java.util.List;
 
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ThesisStatus;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -179,7 +180,7 @@ public class ContactFragment extends Fragment {
     }
 
     private void sendContactRequest() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String studentId    = sm.userId();
         String studentName  = sm.name();
         String studentEmail = sm.email();
@@ -246,15 +247,15 @@ public class ContactFragment extends Fragment {
         req.topic_id         = topicId;
         req.message          = msg.toString();
         req.expose_url       = exposeUrl;
-        req.status           = "open";
+        req.status           = ThesisStatus.OPEN;
         req.second_reviewer_status = null;
 
         sendButton.setEnabled(false);
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .createContactRequest(req)
-                .enqueue(new Callback<List<ContactRequest>>() {
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        CallScope.of(this).enqueue(client.restService()
+                .createContactRequest(req),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
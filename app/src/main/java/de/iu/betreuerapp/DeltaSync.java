@@ -0,0 +1,198 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.Topic;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Delta-Abgleich über updated_at.
+ *
+ * Statt die ganze Liste neu zu laden, wird nur gefragt:
+ *   ?updated_at=gt.&lt;Marke&gt;&amp;order=updated_at.asc
+ * Die Antwort wird per id in die Liste des Fragments gemischt, in den
+ * {@link LocalStore} geschrieben und erst DANACH die Marke vorgeschoben
+ * (gleicher Disk-Thread → nach einem Absturz wird höchstens doppelt geladen).
+ *
+ * Vollabgleich (erste Seite / komplette Liste) meldet sich über {@link #recordFull}.
+ * Voraussetzung: die Tabelle hat eine updated_at-Spalte, die bei jedem UPDATE
+ * gesetzt wird (Trigger in Supabase).
+ */
+public class DeltaSync<T> {
+
+    /** Liefert Zeilen mit updated_at &gt; since (Wert für ?updated_at=). */
+    public interface DeltaQuery<T> {
+        Call<List<T>> load(@NonNull String updatedAtGt);
+    }
+
+    /** Schlüssel einer Zeile: id/created_at (Sortierung) + updated_at (Marke). */
+    public interface Keys<T> extends KeysetPager.KeyExtractor<T> {
+        @Nullable String updatedAt(@NonNull T item);
+    }
+
+    /** Schreibt übernommene Zeilen lokal weg (läuft auf dem Disk-Thread). */
+    public interface Persist<T> {
+        void save(@NonNull LocalStore store, @NonNull List<T> rows);
+    }
+
+    public interface Listener<T> {
+        void onChanges(@NonNull List<T> changed);
+        void onFailed(@NonNull String message);
+    }
+
+    public static final Keys<Topic> TOPIC_KEYS = new Keys<Topic>() {
+        @Override public String createdAt(@NonNull Topic t) { return t.created_at; }
+        @Override public String id(@NonNull Topic t) { return t.id; }
+        @Override public String updatedAt(@NonNull Topic t) { return t.updated_at; }
+    };
+
+    public static final Keys<ContactRequest> REQUEST_KEYS = new Keys<ContactRequest>() {
+        @Override public String createdAt(@NonNull ContactRequest r) { return r.created_at; }
+        @Override public String id(@NonNull ContactRequest r) { return r.id; }
+        @Override public String updatedAt(@NonNull ContactRequest r) { return r.updated_at; }
+    };
+
+    public static final String ORDER_BY_UPDATE = "updated_at.asc";
+
+    private final SyncWatermarks marks;
+    private final LocalStore store;
+    private final String key;
+    private final DeltaQuery<T> query;
+    private final Keys<T> keys;
+    private final Persist<T> persist;
+
+    public DeltaSync(@NonNull SyncWatermarks marks,
+                     @NonNull LocalStore store,
+                     @NonNull String key,
+                     @NonNull DeltaQuery<T> query,
+                     @NonNull Keys<T> keys,
+                     @NonNull Persist<T> persist) {
+        this.marks = marks;
+        this.store = store;
+        this.key = key;
+        this.query = query;
+        this.keys = keys;
+        this.persist = persist;
+    }
+
+    /** true → kein Delta möglich (noch nie geladen oder Vollabgleich fällig). */
+    public boolean needsFullSync() {
+        return marks.needsFullSync(key);
+    }
+
+    /** Holt nur die Änderungen seit der Marke. Callbacks auf dem Main-Thread. */
+    public void pull(@NonNull Listener<T> listener) {
+        String since = marks.mark(key);
+        if (since == null) {
+            listener.onFailed("Kein Stand für Delta-Abgleich");
+            return;
+        }
+
+        query.load("gt." + since).enqueue(new Callback<List<T>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<T>> call, @NonNull Response<List<T>> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    listener.onFailed("Fehler beim Abgleich (" + response.code() + ")");
+                    return;
+                }
+
+                List<T> changed = new ArrayList<>(response.body());
+                if (!changed.isEmpty()) {
+                    String max = maxUpdatedAt(changed);
+                    store.write(st -> {
+                        persist.save(st, changed);
+                        marks.advance(key, max);
+                        return null;
+                    });
+                }
+                listener.onChanges(changed);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<T>> call, @NonNull Throwable t) {
+                listener.onFailed("Netzwerkfehler: " + t.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Nach einem vollständigen Laden (komplette Liste oder erste Seite):
+     * Marke = größtes updated_at darin. Ältere Seiten, die später nachgeladen werden,
+     * schieben die Marke NICHT vor – sonst gingen Änderungen auf Seite 1 verloren.
+     * Muss nach dem zugehörigen LocalStore-Schreiben eingereiht werden.
+     */
+    public void recordFull(@NonNull List<T> rows) {
+        String max = maxUpdatedAt(rows);
+        store.write(st -> {
+            marks.recordFullSync(key, max);
+            return null;
+        });
+    }
+
+    @Nullable
+    private String maxUpdatedAt(@NonNull List<T> rows) {
+        String max = null;
+        for (T row : rows) {
+            if (row == null) continue;
+            String u = keys.updatedAt(row);
+            if (u != null && (max == null || u.compareTo(max) > 0)) max = u;
+        }
+        return max;
+    }
+
+    /**
+     * Mischt Zeilen per id in eine nach (created_at desc, id desc) sortierte Liste:
+     * vorhandene werden ersetzt, neue an der passenden Stelle eingefügt.
+     * Wird auch für Folgeseiten genutzt, damit nichts doppelt erscheint.
+     */
+    public static <T> void merge(@NonNull List<T> target,
+                                 @NonNull List<T> rows,
+                                 @NonNull KeysetPager.KeyExtractor<T> keys) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < target.size(); i++) {
+            T t = target.get(i);
+            String id = (t == null) ? null : keys.id(t);
+            if (id != null) index.put(id, i);
+        }
+
+        List<T> inserts = new ArrayList<>();
+        for (T row : rows) {
+            if (row == null) continue;
+            Integer pos = index.get(keys.id(row));
+            if (pos != null) {
+                target.set(pos, row);
+            } else {
+                inserts.add(row);
+            }
+        }
+
+        for (T row : inserts) {
+            int pos = 0;
+            while (pos < target.size() && isNewer(target.get(pos), row, keys)) pos++;
+            target.add(pos, row);
+        }
+    }
+
+    /** a liegt in (created_at desc, id desc) vor b? */
+    private static <T> boolean isNewer(@Nullable T a, @NonNull T b, KeysetPager.KeyExtractor<T> keys) {
+        if (a == null) return false;
+        int c = compare(keys.createdAt(a), keys.createdAt(b));
+        if (c != 0) return c > 0;
+        return compare(keys.id(a), keys.id(b)) > 0;
+    }
+
+    private static int compare(@Nullable String a, @Nullable String b) {
+        if (a == null) return (b == null) ? 0 : -1;
+        if (b == null) return 1;
+        return a.compareTo(b);
+    }
+}
@@ -0,0 +1,118 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.Topic;
+
+/**
+ * Basis für alle Listen-Adapter: statt notifyDataSetChanged() wird die neue Liste
+ * per {@link #submitList} übergeben, DiffUtil rechnet im Hintergrund aus, was sich
+ * geändert hat, und nur diese Zeilen werden neu gebunden (inkl. Animationen).
+ *
+ * Zeilen werden über {@link Identity#key} (i.d.R. die DTO-id) wiedererkannt.
+ */
+public abstract class DiffListAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends ListAdapter<T, VH> {
+
+    /** Wiedererkennung + Inhaltsvergleich einer Zeile. */
+    public interface Identity<T> {
+        @Nullable String key(@NonNull T item);
+        boolean sameContent(@NonNull T a, @NonNull T b);
+    }
+
+    // Ein gemeinsamer Thread für alle Diffs reicht (Listen sind klein)
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "betreuer-diff");
+        t.setDaemon(true);
+        return t;
+    });
+
+    protected DiffListAdapter(@NonNull Identity<T> identity) {
+        super(new AsyncDifferConfig.Builder<>(itemCallback(identity))
+                .setBackgroundThreadExecutor(DIFF_EXECUTOR)
+                .build());
+    }
+
+    /**
+     * Übernimmt eine Kopie der Liste. Aufrufer dürfen ihre Liste danach weiter
+     * ändern und erneut übergeben – dieselbe Instanz würde der Differ sonst ignorieren.
+     */
+    @Override
+    public void submitList(@Nullable List<T> list) {
+        super.submitList(list == null ? null : new ArrayList<>(list));
+    }
+
+    @Override
+    public void submitList(@Nullable List<T> list, @Nullable Runnable commitCallback) {
+        super.submitList(list == null ? null : new ArrayList<>(list), commitCallback);
+    }
+
+    private static <T> DiffUtil.ItemCallback<T> itemCallback(Identity<T> identity) {
+        return new DiffUtil.ItemCallback<T>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull T a, @NonNull T b) {
+                String ka = identity.key(a);
+                return ka != null ? ka.equals(identity.key(b)) : a == b;
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull T a, @NonNull T b) {
+                return identity.sameContent(a, b);
+            }
+        };
+    }
+
+    // ------------------------------------------------------------------
+    // Identitäten der DTOs
+    // ------------------------------------------------------------------
+
+    public static final Identity<Topic> TOPICS = new Identity<Topic>() {
+        @Override public String key(@NonNull Topic t) { return t.id; }
+
+        @Override
+        public boolean sameContent(@NonNull Topic a, @NonNull Topic b) {
+            return Objects.equals(a.title, b.title)
+                    && Objects.equals(a.description, b.description)
+                    && Objects.equals(a.area, b.area)
+                    && Objects.equals(a.status, b.status)
+                    && Objects.equals(a.owner_id, b.owner_id)
+                    && Objects.equals(a.updated_at, b.updated_at);
+        }
+    };
+
+    public static final Identity<ContactRequest> CONTACT_REQUESTS = new Identity<ContactRequest>() {
+        @Override public String key(@NonNull ContactRequest r) { return r.id; }
+
+        @Override
+        public boolean sameContent(@NonNull ContactRequest a, @NonNull ContactRequest b) {
+            return Objects.equals(a.status, b.status)
+                    && Objects.equals(a.message, b.message)
+                    && Objects.equals(a.student_name, b.student_name)
+                    && Objects.equals(a.student_email, b.student_email)
+                    && Objects.equals(a.supervisor_name, b.supervisor_name)
+                    && Objects.equals(a.supervisor_email, b.supervisor_email)
+                    && Objects.equals(a.expose_url, b.expose_url)
+                    && Objects.equals(a.second_reviewer_id, b.second_reviewer_id)
+                    && Objects.equals(a.second_reviewer_name, b.second_reviewer_name)
+                    && Objects.equals(a.second_reviewer_email, b.second_reviewer_email)
+                    && Objects.equals(a.second_reviewer_status, b.second_reviewer_status)
+                    && Objects.equals(a.invoice_supervisor_created, b.invoice_supervisor_created)
+                    && Objects.equals(a.invoice_reviewer_created, b.invoice_reviewer_created)
+                    && Objects.equals(a.paid_supervisor, b.paid_supervisor)
+                    && Objects.equals(a.paid_reviewer, b.paid_reviewer)
+                    && Objects.equals(a.updated_at, b.updated_at);
+        }
+    };
+}
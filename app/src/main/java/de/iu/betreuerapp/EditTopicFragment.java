@@ -27,6 +27,7 @@ public class EditTopicFragment extends Fragment {
     private Button cancelButton;
     private Button deleteButton;
 
+    private String topicId;
     private int topicPosition = -1;
     private String originalTitle;
     private String originalArea;
@@ -90,7 +91,7 @@ public class EditTopicFragment extends Fragment {
 
     /**
      * Erwartet:
-     * - topic_position
+     * - topic_id (bevorzugt) oder topic_position
      * - topic_title
      * - topic_area
      * - topic_status
@@ -99,6 +100,7 @@ public class EditTopicFragment extends Fragment {
     private void setDataFromArguments() {
         Bundle args = getArguments();
         if (args != null) {
+            topicId = args.getString("topic_id");
             topicPosition = args.getInt("topic_position", -1);
             originalTitle = args.getString("topic_title", "");
             originalArea = args.getString("topic_area", "");
@@ -147,7 +149,7 @@ public class EditTopicFragment extends Fragment {
     }
 
     private void updateTopic() {
-        if (topicPosition == -1) {
+        if (topicId == null && topicPosition == -1) {
             Toast.makeText(requireContext(),
                     "Fehler: Thema nicht gefunden.",
                     Toast.LENGTH_SHORT).show();
@@ -172,16 +174,15 @@ public class EditTopicFragment extends Fragment {
             return;
         }
 
-        SharedViewModel.Topic updated = new SharedViewModel.Topic(
-                newTitle,
-                newArea,
-                newStatus,
-                newDescription
-        );
-
-        sharedViewModel.updateTopic(topicPosition, updated);
+        if (topicId != null) {
+            sharedViewModel.updateTopic(new SharedViewModel.Topic(
+                    topicId, newTitle, newArea, newStatus, newDescription));
+        } else {
+            sharedViewModel.updateTopic(topicPosition, new SharedViewModel.Topic(
+                    newTitle, newArea, newStatus, newDescription));
+        }
 
-        Log.d("EditTopic", "Thema aktualisiert (Index " + topicPosition + "): "
+        Log.d("EditTopic", "Thema aktualisiert (" + describeTarget() + "): "
                 + newTitle + " [" + newArea + ", " + newStatus + "]");
 
         Toast.makeText(requireContext(),
@@ -192,16 +193,20 @@ public class EditTopicFragment extends Fragment {
     }
 
     private void deleteTopic() {
-        if (topicPosition == -1) {
+        if (topicId == null && topicPosition == -1) {
             Toast.makeText(requireContext(),
                     "Fehler: Thema nicht gefunden.",
                     Toast.LENGTH_SHORT).show();
             return;
         }
 
-        sharedViewModel.deleteTopic(topicPosition);
+        if (topicId != null) {
+            sharedViewModel.deleteTopic(topicId);
+        } else {
+            sharedViewModel.deleteTopic(topicPosition);
+        }
 
-        Log.d("EditTopic", "Thema gelöscht (Index " + topicPosition + "): "
+        Log.d("EditTopic", "Thema gelöscht (" + describeTarget() + "): "
                 + originalTitle);
 
         Toast.makeText(requireContext(),
@@ -211,6 +216,10 @@ public class EditTopicFragment extends Fragment {
         navigateBackToTopics();
     }
 
+    private String describeTarget() {
+        return topicId != null ? "id " + topicId : "Index " + topicPosition;
+    }
+
     private String getStatusFromSpinner(String spinnerText) {
         if (spinnerText == null) return "available";
 
@@ -0,0 +1,147 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * HTTP-Cache-Regeln für die REST-Lesezugriffe.
+ *
+ * PostgREST schickt von sich aus keine Cache-Header und auch kein ETag/Last-Modified.
+ * Eine Antwort, die "vor jeder Nutzung neu geprüft" wird, wäre damit jedes Mal ein
+ * voller Download plus ein Cache-Eintrag, der nie trifft. Deshalb landen nur
+ * Antworten im Disk-Cache, die von dort auch gelesen werden:
+ * - Requests mit stale-while-revalidate (s.u.),
+ * - Antworten mit ETag/Last-Modified (bedingter Request → 304, kein Body).
+ * Alle anderen GETs (Listen, Rechnungen) bleiben ungecacht; schnelle Tab-Wechsel
+ * kommen dort aus der lokalen Kopie ({@link LocalStore}).
+ *
+ * "Vary: {@value #HEADER_USER}" trennt die Einträge pro Benutzer. Nicht Authorization:
+ * das Token wechselt bei jeder Erneuerung (TokenRefresher), der Cache wäre danach leer.
+ * Beim Logout wird der Cache ohnehin geleert.
+ *
+ * Für Daten, bei denen ein kurz veralteter Stand unkritisch ist (z.B. Profile),
+ * gibt es stale-while-revalidate: Request mit Header {@link #HEADER_MODE}:
+ * {@link #MODE_STALE_WHILE_REVALIDATE} → sofort aus dem Cache, Abgleich im Hintergrund.
+ */
+public final class HttpCaching {
+
+    /** Marker-Header (wird vor dem Senden entfernt). */
+    public static final String HEADER_MODE = "X-Cache-Mode";
+    public static final String MODE_STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+
+    /** Für Retrofit: @Headers(HttpCaching.STALE_WHILE_REVALIDATE) */
+    public static final String STALE_WHILE_REVALIDATE = HEADER_MODE + ": " + MODE_STALE_WHILE_REVALIDATE;
+
+    /**
+     * Stabiler Benutzer-Schlüssel für Vary (user id bzw. {@link #USER_ANON}). Wird mitgesendet –
+     * OkHttp vergleicht Vary mit dem Request, wie er ans Netz ging; PostgREST ignoriert ihn.
+     */
+    public static final String HEADER_USER = "X-Cache-User";
+    public static final String USER_ANON = "anon";
+
+    /** Request-Tag statt Header: bleibt bis in die Network-Interceptors erhalten, geht nicht ans Netz. */
+    private static final class StaleWhileRevalidate {
+        static final StaleWhileRevalidate TAG = new StaleWhileRevalidate();
+    }
+
+    private HttpCaching() { }
+
+    /**
+     * Network-Interceptor: macht erfolgreiche GET-Antworten cachebar, aber immer
+     * revalidierungspflichtig – nur für stale-while-revalidate-Requests und Antworten
+     * mit Validator. Alle anderen GETs bekommen "no-store" (OkHttp würde sie sonst
+     * trotzdem auf die Platte schreiben). Antworten mit eigenen Cache-Headern bleiben unverändert.
+     */
+    public static Interceptor revalidateAlways() {
+        return chain -> {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+
+            if (!"GET".equals(request.method()) || !response.isSuccessful()) return response;
+            if (response.header("Cache-Control") != null) return response;
+            boolean hasValidator = response.header("ETag") != null
+                    || response.header("Last-Modified") != null;
+            if (request.tag(StaleWhileRevalidate.class) == null && !hasValidator) {
+                return response.newBuilder().header("Cache-Control", "no-store").build();
+            }
+
+            return response.newBuilder()
+                    .header("Cache-Control", "private, max-age=0")
+                    .header("Vary", HEADER_USER + ", Accept-Profile")
+                    .removeHeader("Pragma")
+                    .build();
+        };
+    }
+
+    /** Liefert den Client für die Hintergrund-Prüfung (erst nach dem Bauen bekannt). */
+    public interface ClientProvider { OkHttpClient get(); }
+
+    /**
+     * Application-Interceptor für stale-while-revalidate.
+     * Muss NACH dem Header-Interceptor hängen ({@link #HEADER_USER} gehört zum Cache-Schlüssel).
+     */
+    public static Interceptor staleWhileRevalidate(@NonNull ClientProvider client) {
+        Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+        return chain -> {
+            Request request = chain.request();
+            if (!MODE_STALE_WHILE_REVALIDATE.equals(request.header(HEADER_MODE))) {
+                return chain.proceed(request);
+            }
+
+            Request clean = request.newBuilder()
+                    .removeHeader(HEADER_MODE)
+                    .tag(StaleWhileRevalidate.class, StaleWhileRevalidate.TAG)
+                    .build();
+
+            // 1) nur Cache, egal wie alt
+            Response cached = chain.proceed(clean.newBuilder()
+                    .cacheControl(CacheControl.FORCE_CACHE)
+                    .build());
+            if (cached.code() == 504 && cached.cacheResponse() == null) {
+                // nichts im Cache → normal übers Netz
+                cached.close();
+                return chain.proceed(clean);
+            }
+
+            // 2) im Hintergrund mit dem Server abgleichen (pro URL nur einmal gleichzeitig)
+            String key = clean.url().toString();
+            if (revalidating.add(key)) {
+                // ohne Marker → normaler Weg: max-age=0 erzwingt die (bedingte) Prüfung
+                client.get()
+                        .newCall(clean)
+                        .enqueue(new Callback() {
+                            @Override
+                            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                                // Body komplett lesen – OkHttp schreibt den Cache-Eintrag beim Lesen
+                                try (ResponseBody body = response.body()) {
+                                    if (body != null) body.bytes();
+                                } catch (IOException ignored) {
+                                    // nächster Aufruf prüft erneut
+                                } finally {
+                                    revalidating.remove(key);
+                                }
+                            }
+
+                            @Override
+                            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                                revalidating.remove(key);
+                            }
+                        });
+            }
+            return cached;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package de.iu.betreuerapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Invocation;
+import retrofit2.http.Streaming;
+
+/**
+ * HTTP-Logging für Debug-Builds – im Release wird gar nichts geloggt
+ * (SupabaseClient hängt den Interceptor dort nicht an).
+ *
+ * - jeder Call: eine Zeile (Methode, URL, Status, Dauer)
+ * - nur ein Anteil der Calls (BuildConfig.HTTP_BODY_LOG_SAMPLE_PERCENT) mit Headern und Body;
+ *   Body-Logging puffert die komplette Antwort, deshalb nicht für jeden Call
+ * - &#64;Streaming-Endpoints (RowStream) höchstens mit Headern, sonst wäre das Streamen weg
+ * - Tokens, apikey, Passwörter und E-Mail-Adressen werden vor dem Loggen ersetzt
+ *
+ * Zeiten und Größen pro Endpoint stehen ohnehin in {@link NetworkTelemetry}.
+ */
+final class HttpLogging {
+
+    private static final String TAG = "OkHttp";
+    private static final String REDACTED = "██";
+
+    // "feld": "wert" in JSON-Bodies (Auth-Antworten, Profile, Anfragen)
+    private static final Pattern SECRET_JSON = Pattern.compile(
+            "(\"(?:access_token|refresh_token|password|email|student_email|supervisor_email"
+                    + "|second_reviewer_email|expose_url)\"\\s*:\\s*)\"[^\"]*\"");
+
+    // E-Mail-Adressen in URLs (Filter wie student_email=eq.x@y.de)
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+(?:@|%40)[\\w-]+(?:\\.[\\w-]+)+");
+
+    private HttpLogging() { }
+
+    @NonNull
+    static Interceptor sampled() {
+        HttpLoggingInterceptor.Logger logger = message -> Log.d(TAG, redact(message));
+
+        HttpLoggingInterceptor basic = new HttpLoggingInterceptor(logger);
+        basic.setLevel(HttpLoggingInterceptor.Level.BASIC);
+        HttpLoggingInterceptor headers = redactHeaders(new HttpLoggingInterceptor(logger));
+        headers.setLevel(HttpLoggingInterceptor.Level.HEADERS);
+        HttpLoggingInterceptor body = redactHeaders(new HttpLoggingInterceptor(logger));
+        body.setLevel(HttpLoggingInterceptor.Level.BODY);
+
+        return chain -> {
+            if (!sample()) return basic.intercept(chain);
+
+            Invocation inv = chain.request().tag(Invocation.class);
+            boolean streaming = inv != null && inv.method().isAnnotationPresent(Streaming.class);
+            return (streaming ? headers : body).intercept(chain);
+        };
+    }
+
+    private static boolean sample() {
+        int percent = BuildConfig.HTTP_BODY_LOG_SAMPLE_PERCENT;
+        return percent > 0 && ThreadLocalRandom.current().nextInt(100) < percent;
+    }
+
+    private static HttpLoggingInterceptor redactHeaders(HttpLoggingInterceptor log) {
+        log.redactHeader("Authorization");
+        log.redactHeader("apikey");
+        log.redactHeader("Cookie");
+        log.redactHeader("Set-Cookie");
+        return log;
+    }
+
+    @NonNull
+    static String redact(@NonNull String line) {
+        String out = SECRET_JSON.matcher(line).replaceAll("$1\"" + REDACTED + "\"");
+        return EMAIL.matcher(out).replaceAll(REDACTED);
+    }
+}
@@ -0,0 +1,149 @@
+package de.iu.betreuerapp;
+
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nach id indizierte, geordnete Sammlung hinter einer LiveData.
+ *
+ * - Zugriff/Ersetzen/Löschen per id: O(1) (LinkedHashMap, Reihenfolge = Einfügen)
+ * - Änderungen kopieren nichts; die unveränderliche Liste für Beobachter wird
+ *   höchstens einmal pro Frame gebaut (Choreographer), egal wie viele Änderungen
+ *   dazwischen liegen – ein Import von n Einträgen kostet O(n) statt O(n²).
+ * - {@link #snapshot()} liefert den aktuellen Stand; solange sich nichts ändert,
+ *   ist es dieselbe Instanz.
+ *
+ * Nur vom Main-Thread benutzen (wie MutableLiveData#setValue).
+ */
+public class IdStore<T> {
+
+    /** Liefert die id eines Eintrags (nie null). */
+    public interface IdOf<T> {
+        @NonNull String id(@NonNull T item);
+    }
+
+    private final IdOf<T> idOf;
+    private final LinkedHashMap<String, T> items = new LinkedHashMap<>();
+    private final MutableLiveData<List<T>> live = new MutableLiveData<>(Collections.emptyList());
+
+    @Nullable private List<T> snapshot = Collections.emptyList(); // null = veraltet
+    private boolean frameScheduled;
+
+    private final Choreographer.FrameCallback emit = frameTimeNanos -> {
+        frameScheduled = false;
+        live.setValue(snapshot());
+    };
+
+    public IdStore(@NonNull IdOf<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    public LiveData<List<T>> live() {
+        return live;
+    }
+
+    @MainThread
+    @NonNull
+    public List<T> snapshot() {
+        List<T> s = snapshot;
+        if (s == null) {
+            s = Collections.unmodifiableList(new ArrayList<>(items.values()));
+            snapshot = s;
+        }
+        return s;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    @Nullable
+    public T get(@Nullable String id) {
+        return id == null ? null : items.get(id);
+    }
+
+    public boolean contains(@Nullable String id) {
+        return id != null && items.containsKey(id);
+    }
+
+    /** Neu → hinten anhängen; vorhandene id → an gleicher Stelle ersetzen. */
+    @MainThread
+    public void put(@NonNull T item) {
+        items.put(idOf.id(item), item);
+        changed();
+    }
+
+    /** Mehrere Einträge, eine Benachrichtigung. */
+    @MainThread
+    public void putAll(@NonNull Collection<? extends T> batch) {
+        if (batch.isEmpty()) return;
+        for (T item : batch) items.put(idOf.id(item), item);
+        changed();
+    }
+
+    /** Ersetzt nur, wenn die id schon existiert. */
+    @MainThread
+    public boolean replace(@NonNull T item) {
+        String id = idOf.id(item);
+        if (!items.containsKey(id)) return false;
+        items.put(id, item);
+        changed();
+        return true;
+    }
+
+    @MainThread
+    public boolean remove(@Nullable String id) {
+        if (id == null || items.remove(id) == null) return false;
+        changed();
+        return true;
+    }
+
+    @MainThread
+    public void clear() {
+        if (items.isEmpty()) return;
+        items.clear();
+        changed();
+    }
+
+    // ------------------------------------------------------------------
+    // Positions-Zugriff (nur für ältere Aufrufer; O(n))
+    // ------------------------------------------------------------------
+
+    @Nullable
+    public String idAt(int index) {
+        if (index < 0 || index >= items.size()) return null;
+        Iterator<String> it = items.keySet().iterator();
+        for (int i = 0; i < index; i++) it.next();
+        return it.next();
+    }
+
+    public int indexOf(@Nullable String id) {
+        if (id == null || !items.containsKey(id)) return -1;
+        int i = 0;
+        for (Map.Entry<String, T> e : items.entrySet()) {
+            if (e.getKey().equals(id)) return i;
+            i++;
+        }
+        return -1;
+    }
+
+    private void changed() {
+        snapshot = null;
+        if (frameScheduled) return;
+        frameScheduled = true;
+        Choreographer.getInstance().postFrameCallback(emit);
+    }
+}
@@ -0,0 +1,131 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ReviewerStatus;
+
+/**
+ * Rechnungszeilen aus Anfragen: wer welche Rechnung sieht (Betreuer:in / akzeptierte:r
+ * Zweitprüfer:in, ab Kolloquium oder sobald die eigene Rechnung existiert) und die
+ * Aufteilung für die Filter-Chips.
+ *
+ * Reines Java ohne Android-Abhängigkeiten – läuft im Hintergrund ({@link RequestRepository})
+ * und im Benchmark-Modul.
+ */
+public final class Invoices {
+
+    private Invoices() { }
+
+    static InvoiceSnapshot tutorRows(@NonNull List<ContactRequest> requests,
+                                     @Nullable String myId,
+                                     @Nullable String myEmail) {
+        List<InvoiceRow> rows = new ArrayList<>();
+        for (ContactRequest r : requests) {
+            if (r == null) continue;
+            InvoiceRow row = tutorRow(r, myId, myEmail);
+            if (row != null) rows.add(row);
+        }
+        return new InvoiceSnapshot(rows);
+    }
+
+    /** Eine Anfrage prüfen; null → nicht meine Rechnung (oder noch nicht fällig). */
+    @Nullable
+    static InvoiceRow tutorRow(@NonNull ContactRequest r,
+                               @Nullable String myId,
+                               @Nullable String myEmail) {
+        boolean isSup          = myId != null && myId.equals(r.supervisor_id);
+        boolean isSecCandidate = myId != null && myId.equals(r.second_reviewer_id);
+
+        // Fallback per Mail
+        if (!isSup && myEmail != null && r.supervisor_email != null
+                && myEmail.equalsIgnoreCase(r.supervisor_email)) {
+            isSup = true;
+        }
+        if (!isSecCandidate && myEmail != null && r.second_reviewer_email != null
+                && myEmail.equalsIgnoreCase(r.second_reviewer_email)) {
+            isSecCandidate = true;
+        }
+
+        // Zweitprüfer nur, wenn Rolle akzeptiert
+        boolean isSec = isSecCandidate && r.second_reviewer_status == ReviewerStatus.ACCEPTED;
+        if (!isSup && !isSec) return null;
+
+        boolean hasMyInvoice =
+                (isSup && bool(r.invoice_supervisor_created))
+                        || (isSec && bool(r.invoice_reviewer_created));
+
+        // Anzeigen ab Kolloquium oder sobald eigene Rechnung existiert
+        if (!hasMyInvoice && !r.thesisStatus().isBillable()) return null;
+
+        return new InvoiceRow(r, isSup);
+    }
+
+    /** Pro tatsächlich gestellter Rechnung eine Zeile (Betreuer und/oder Zweitprüfer). */
+    static InvoiceSnapshot studentRows(@NonNull List<ContactRequest> requests) {
+        List<InvoiceRow> rows = new ArrayList<>();
+        for (ContactRequest r : requests) {
+            if (r == null) continue;
+            if (bool(r.invoice_supervisor_created)) rows.add(new InvoiceRow(r, true));
+            if (bool(r.invoice_reviewer_created))   rows.add(new InvoiceRow(r, false));
+        }
+        return new InvoiceSnapshot(rows);
+    }
+
+    private static boolean bool(Boolean b) {
+        return b != null && b;
+    }
+
+    // ------------------------------------------------------------------
+    // Stände
+    // ------------------------------------------------------------------
+
+    /** Eine Rechnung = (Anfrage, Rolle); dieselbe Anfrage kann zweimal vorkommen. */
+    public static final class InvoiceRow {
+        @NonNull public final ContactRequest cr;
+        public final boolean supervisorInvoice; // false = Zweitprüfer-Rechnung
+        public final boolean invoiceCreated;
+        public final boolean paid;
+
+        InvoiceRow(@NonNull ContactRequest cr, boolean supervisorInvoice) {
+            this.cr = cr;
+            this.supervisorInvoice = supervisorInvoice;
+            this.invoiceCreated = supervisorInvoice
+                    ? bool(cr.invoice_supervisor_created)
+                    : bool(cr.invoice_reviewer_created);
+            this.paid = supervisorInvoice
+                    ? bool(cr.paid_supervisor)
+                    : bool(cr.paid_reviewer);
+        }
+    }
+
+    /** Unveränderlicher Stand inkl. vorsortierter Filterlisten (Chip-Wechsel ohne Rechnen). */
+    public static final class InvoiceSnapshot {
+        static final InvoiceSnapshot EMPTY = new InvoiceSnapshot(Collections.emptyList());
+
+        public final List<InvoiceRow> all;
+        public final List<InvoiceRow> notInvoiced; // noch keine Rechnung
+        public final List<InvoiceRow> unpaid;      // gestellt, nicht bezahlt
+        public final List<InvoiceRow> paid;        // gestellt und bezahlt
+
+        InvoiceSnapshot(@NonNull List<InvoiceRow> rows) {
+            List<InvoiceRow> none = new ArrayList<>();
+            List<InvoiceRow> open = new ArrayList<>();
+            List<InvoiceRow> done = new ArrayList<>();
+            for (InvoiceRow row : rows) {
+                if (!row.invoiceCreated) none.add(row);
+                else if (!row.paid)      open.add(row);
+                else                     done.add(row);
+            }
+            this.all = Collections.unmodifiableList(new ArrayList<>(rows));
+            this.notInvoiced = Collections.unmodifiableList(none);
+            this.unpaid = Collections.unmodifiableList(open);
+            this.paid = Collections.unmodifiableList(done);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.Topic;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Seitenweises Laden über Keyset-Pagination auf (created_at, id).
+ *
+ * Sortierung immer "created_at.desc,id.desc". Die nächste Seite beginnt direkt
+ * hinter der letzten geladenen Zeile:
+ *   or=(created_at.lt.&lt;ts&gt;,and(created_at.eq.&lt;ts&gt;,id.lt.&lt;id&gt;))
+ *
+ * Anders als bei offset/Range bleibt das stabil, wenn vorne neue Zeilen dazukommen,
+ * und die Datenbank muss keine übersprungenen Zeilen zählen.
+ *
+ * Alle Methoden werden auf dem Main-Thread aufgerufen (Retrofit-Callbacks ebenso).
+ */
+public class KeysetPager<T> implements PagingScrollListener.Source {
+
+    public static final String ORDER = "created_at.desc,id.desc";
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    /** Baut den Call für eine Seite. keysetOr == null → erste Seite. */
+    public interface PageQuery<T> {
+        Call<List<T>> load(@Nullable String keysetOr, int limit);
+    }
+
+    /** Liefert created_at / id einer Zeile (DTOs haben keine gemeinsame Basisklasse). */
+    public interface KeyExtractor<T> {
+        @Nullable String createdAt(@NonNull T item);
+        @Nullable String id(@NonNull T item);
+    }
+
+    public interface Listener<T> {
+        void onPageLoaded(@NonNull List<T> page, boolean firstPage, boolean endReached);
+        void onPageFailed(@NonNull String message, boolean firstPage);
+    }
+
+    public static final KeyExtractor<Topic> TOPIC_KEYS = new KeyExtractor<Topic>() {
+        @Override public String createdAt(@NonNull Topic t) { return t.created_at; }
+        @Override public String id(@NonNull Topic t) { return t.id; }
+    };
+
+    public static final KeyExtractor<ContactRequest> REQUEST_KEYS = new KeyExtractor<ContactRequest>() {
+        @Override public String createdAt(@NonNull ContactRequest r) { return r.created_at; }
+        @Override public String id(@NonNull ContactRequest r) { return r.id; }
+    };
+
+    private final PageQuery<T> query;
+    private final KeyExtractor<? super T> keys;
+    private final Listener<T> listener;
+    private final int pageSize;
+
+    @Nullable private String lastCreatedAt;
+    @Nullable private String lastId;
+    private boolean loading;
+    private boolean endReached;
+    @Nullable private Call<List<T>> inFlight;
+
+    public KeysetPager(@NonNull PageQuery<T> query,
+                       @NonNull KeyExtractor<? super T> keys,
+                       @NonNull Listener<T> listener) {
+        this(query, keys, listener, DEFAULT_PAGE_SIZE);
+    }
+
+    public KeysetPager(@NonNull PageQuery<T> query,
+                       @NonNull KeyExtractor<? super T> keys,
+                       @NonNull Listener<T> listener,
+                       int pageSize) {
+        this.query = query;
+        this.keys = keys;
+        this.listener = listener;
+        this.pageSize = pageSize;
+    }
+
+    /** Verwirft den Zustand und lädt Seite 1 neu (z.B. nach Filterwechsel). */
+    public void loadFirst() {
+        reset();
+        loadNext();
+    }
+
+    /** Lädt die nächste Seite, falls nicht schon geladen wird oder das Ende erreicht ist. */
+    @Override
+    public void loadNext() {
+        if (loading || endReached) return;
+
+        final boolean first = (lastId == null);
+        loading = true;
+
+        Call<List<T>> call = query.load(keysetAfterLast(), pageSize);
+        inFlight = call;
+        call.enqueue(new Callback<List<T>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<T>> c, @NonNull Response<List<T>> response) {
+                if (c != inFlight) return; // veraltet (reset dazwischen)
+                inFlight = null;
+                loading = false;
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    listener.onPageFailed("Fehler beim Laden (" + response.code() + ")", first);
+                    return;
+                }
+
+                List<T> page = new ArrayList<>(response.body());
+                if (!page.isEmpty()) {
+                    T last = page.get(page.size() - 1);
+                    lastCreatedAt = keys.createdAt(last);
+                    lastId = keys.id(last);
+                }
+                // Kürzere Seite oder fehlender Schlüssel → nichts mehr zu holen
+                endReached = page.size() < pageSize || lastCreatedAt == null || lastId == null;
+
+                listener.onPageLoaded(page, first, endReached);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<T>> c, @NonNull Throwable t) {
+                if (c != inFlight) return;
+                inFlight = null;
+                loading = false;
+                if (c.isCanceled()) return;
+                listener.onPageFailed("Netzwerkfehler: " + t.getMessage(), first);
+            }
+        });
+    }
+
+    /** Bricht laufende Requests ab und setzt den Cursor zurück. */
+    public void reset() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+        loading = false;
+        endReached = false;
+        lastCreatedAt = null;
+        lastId = null;
+    }
+
+    /**
+     * Setzt den Cursor hinter eine bereits bekannte Zeile (z.B. aus dem LocalStore),
+     * damit loadNext() dort weitermacht statt bei Seite 1.
+     */
+    public void resumeAfter(@NonNull T last) {
+        reset();
+        lastCreatedAt = keys.createdAt(last);
+        lastId = keys.id(last);
+        endReached = (lastCreatedAt == null || lastId == null);
+    }
+
+    @Override
+    public boolean isLoading() { return loading; }
+
+    @Override
+    public boolean hasMore() { return !endReached; }
+
+    @Nullable
+    private String keysetAfterLast() {
+        if (lastCreatedAt == null || lastId == null) return null;
+        return PostgrestFilter.or(
+                PostgrestFilter.cond("created_at", "lt", lastCreatedAt),
+                "and(" + PostgrestFilter.cond("created_at", "eq", lastCreatedAt)
+                        + "," + PostgrestFilter.cond("id", "lt", lastId) + ")");
+    }
+}
@@ -0,0 +1,479 @@
+package de.iu.betreuerapp;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.Profile;
+import de.iu.betreuerapp.dto.Topic;
+import de.iu.betreuerapp.dto.TopicWithOwner;
+
+/**
+ * Lokale Kopie von topics, profiles und contact_requests (SQLite).
+ *
+ * Screens zeigen zuerst, was hier liegt, und gleichen danach mit Supabase ab.
+ * Ohne Netz bleibt so der letzte bekannte Stand sichtbar.
+ *
+ * Aufbau je Tabelle: die Spalten, nach denen gefiltert/sortiert wird, plus das
+ * komplette DTO als JSON (Gson). Neue DTO-Felder brauchen dadurch keine Migration.
+ *
+ * query*/put*/replace*/delete* blockieren → nur auf {@link AppExecutors#disk()}
+ * aufrufen, normalerweise über {@link #read} / {@link #write}.
+ */
+public class LocalStore extends SQLiteOpenHelper {
+
+    private static final String TAG = "LocalStore";
+
+    private static final String DB_NAME = "betreuer_local.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String T_TOPICS = "topics";
+    private static final String T_PROFILES = "profiles";
+    private static final String T_REQUESTS = "contact_requests";
+
+    private static final String ORDER_NEWEST = "created_at DESC, id DESC";
+
+    /** Hinweis, wenn nach einem Netzwerkfehler die lokale Kopie stehen bleibt. */
+    public static final String OFFLINE_HINT = "Offline – gespeicherter Stand wird angezeigt.";
+
+    private static volatile LocalStore instance;
+
+    public static LocalStore get(@NonNull Context ctx) {
+        LocalStore s = instance;
+        if (s == null) {
+            synchronized (LocalStore.class) {
+                s = instance;
+                if (s == null) {
+                    s = new LocalStore(ctx.getApplicationContext());
+                    instance = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    private final Gson gson = new Gson();
+
+    private LocalStore(Context appCtx) {
+        super(appCtx, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + T_TOPICS + " ("
+                + "id TEXT PRIMARY KEY,"
+                + "owner_id TEXT,"
+                + "status TEXT,"
+                + "area TEXT,"
+                + "created_at TEXT,"
+                + "updated_at TEXT,"
+                + "json TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_topics_owner ON " + T_TOPICS + "(owner_id, created_at)");
+        db.execSQL("CREATE INDEX idx_topics_status ON " + T_TOPICS + "(status, area, created_at)");
+
+        db.execSQL("CREATE TABLE " + T_PROFILES + " ("
+                + "id TEXT PRIMARY KEY,"
+                + "email TEXT,"
+                + "role TEXT,"
+                + "json TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_profiles_role ON " + T_PROFILES + "(role)");
+
+        db.execSQL("CREATE TABLE " + T_REQUESTS + " ("
+                + "id TEXT PRIMARY KEY,"
+                + "student_id TEXT,"
+                + "supervisor_id TEXT,"
+                + "second_reviewer_id TEXT,"
+                + "second_reviewer_email TEXT,"   // klein geschrieben
+                + "status TEXT,"
+                + "second_reviewer_status TEXT,"
+                + "created_at TEXT,"
+                + "updated_at TEXT,"
+                + "json TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_requests_student ON " + T_REQUESTS + "(student_id, created_at)");
+        db.execSQL("CREATE INDEX idx_requests_supervisor ON " + T_REQUESTS + "(supervisor_id, status, created_at)");
+        db.execSQL("CREATE INDEX idx_requests_reviewer ON " + T_REQUESTS + "(second_reviewer_id)");
+        db.execSQL("CREATE INDEX idx_requests_reviewer_mail ON " + T_REQUESTS + "(second_reviewer_email)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Ist nur ein Cache – bei Schemaänderung einfach neu aufbauen
+        db.execSQL("DROP TABLE IF EXISTS " + T_TOPICS);
+        db.execSQL("DROP TABLE IF EXISTS " + T_PROFILES);
+        db.execSQL("DROP TABLE IF EXISTS " + T_REQUESTS);
+        onCreate(db);
+    }
+
+    // ------------------------------------------------------------------
+    // Threading-Helfer
+    // ------------------------------------------------------------------
+
+    public interface Query<R> { R run(@NonNull LocalStore store); }
+
+    public interface Result<R> { void onResult(R result); }
+
+    /**
+     * Liest auf dem Disk-Thread und liefert das Ergebnis auf dem Main-Thread.
+     * Schlägt die Abfrage fehl (z.B. beschädigte DB, kaputtes JSON), kommt onMiss –
+     * für den Screen wie ein leerer Cache, der Server-Abgleich läuft ohnehin.
+     */
+    public <R> void read(@NonNull Query<R> query, @Nullable R onMiss, @NonNull Result<R> onMain) {
+        AppExecutors.disk().execute(() -> {
+            R r;
+            try {
+                r = query.run(this);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Lokale Abfrage fehlgeschlagen", e);
+                r = onMiss;
+            }
+            final R result = r;
+            AppExecutors.main().execute(() -> onMain.onResult(result));
+        });
+    }
+
+    /** Schreibt im Hintergrund (fire-and-forget, Reihenfolge bleibt erhalten). Fehler → verworfen. */
+    public void write(@NonNull Query<?> op) {
+        AppExecutors.disk().execute(() -> {
+            try {
+                op.run(this);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Lokales Schreiben fehlgeschlagen", e);
+            }
+        });
+    }
+
+    // ------------------------------------------------------------------
+    // Filter (entsprechen den Server-Abfragen der Screens)
+    // ------------------------------------------------------------------
+
+    /** WHERE-Teil + Argumente einer lokalen Abfrage. */
+    public static final class Scope {
+        final String table;
+        final String selection;
+        final String[] args;
+
+        private Scope(String table, String selection, String[] args) {
+            this.table = table;
+            this.selection = selection;
+            this.args = args;
+        }
+
+        /** Themenbörse: status=available (+ optional Fachgebiet). */
+        public static Scope availableTopics(@Nullable String area) {
+            if (area == null || area.isEmpty()) {
+                return new Scope(T_TOPICS, "status = ?", new String[]{"available"});
+            }
+            return new Scope(T_TOPICS, "status = ? AND area = ?", new String[]{"available", area});
+        }
+
+        /** Eigene Themen eines Tutors. */
+        public static Scope ownerTopics(@NonNull String ownerId) {
+            return new Scope(T_TOPICS, "owner_id = ?", new String[]{ownerId});
+        }
+
+        /** Anfragen/Arbeiten als Hauptbetreuer mit den angegebenen Stati. */
+        public static Scope supervisorRequests(@NonNull String supervisorId, @NonNull String... statuses) {
+            String[] args = new String[statuses.length + 1];
+            args[0] = supervisorId;
+            for (int i = 0; i < statuses.length; i++) args[i + 1] = norm(statuses[i]);
+            return new Scope(T_REQUESTS,
+                    "supervisor_id = ? AND status IN (" + placeholders(statuses.length) + ")", args);
+        }
+
+        /** Alle Anfragen eines Studierenden. */
+        public static Scope studentRequests(@NonNull String studentId) {
+            return new Scope(T_REQUESTS, "student_id = ?", new String[]{studentId});
+        }
+
+        /** Zweitprüfer-Einträge (ID oder E-Mail) mit den angegebenen second_reviewer_status. */
+        public static Scope reviewerRequests(@Nullable String reviewerId,
+                                             @Nullable String reviewerEmail,
+                                             @NonNull String... reviewerStatuses) {
+            List<String> args = new ArrayList<>();
+            StringBuilder who = new StringBuilder();
+            if (reviewerId != null) {
+                who.append("second_reviewer_id = ?");
+                args.add(reviewerId);
+            }
+            if (reviewerEmail != null) {
+                if (who.length() > 0) who.append(" OR ");
+                who.append("second_reviewer_email = ?");
+                args.add(norm(reviewerEmail));
+            }
+            if (who.length() == 0) who.append("0");
+
+            for (String s : reviewerStatuses) args.add(norm(s));
+            return new Scope(T_REQUESTS,
+                    "(" + who + ") AND second_reviewer_status IN ("
+                            + placeholders(reviewerStatuses.length) + ")",
+                    args.toArray(new String[0]));
+        }
+
+        private static String placeholders(int n) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < n; i++) sb.append(i == 0 ? "?" : ",?");
+            return sb.toString();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Lesen
+    // ------------------------------------------------------------------
+
+    /** Themen im Scope, neueste zuerst. limit <= 0 → alle. */
+    @NonNull
+    public List<Topic> queryTopics(@NonNull Scope scope, int limit) {
+        // als TopicWithOwner lesen: eingebettetes Tutor-Profil (Themenbörse) bleibt offline erhalten
+        return new ArrayList<>(queryJson(scope, limit, TopicWithOwner.class));
+    }
+
+    /** Anfragen im Scope, neueste zuerst. limit <= 0 → alle. */
+    @NonNull
+    public List<ContactRequest> queryRequests(@NonNull Scope scope, int limit) {
+        return queryJson(scope, limit, ContactRequest.class);
+    }
+
+    @Nullable
+    public Profile profile(@NonNull String id) {
+        try (Cursor c = getReadableDatabase().query(T_PROFILES, new String[]{"json"},
+                "id = ?", new String[]{id}, null, null, null)) {
+            return c.moveToFirst() ? gson.fromJson(c.getString(0), Profile.class) : null;
+        }
+    }
+
+    /** Alle lokal bekannten Profile einer Rolle (z.B. "tutor"). */
+    @NonNull
+    public List<Profile> profilesByRole(@NonNull String role) {
+        List<Profile> out = new ArrayList<>();
+        try (Cursor c = getReadableDatabase().query(T_PROFILES, new String[]{"json"},
+                "role = ?", new String[]{role}, null, null, null)) {
+            while (c.moveToNext()) {
+                Profile p = gson.fromJson(c.getString(0), Profile.class);
+                if (p != null) out.add(p);
+            }
+        }
+        return out;
+    }
+
+    @NonNull
+    private <T> List<T> queryJson(Scope scope, int limit, Class<T> type) {
+        List<T> out = new ArrayList<>();
+        try (Cursor c = getReadableDatabase().query(scope.table, new String[]{"json"},
+                scope.selection, scope.args, null, null, ORDER_NEWEST,
+                limit > 0 ? String.valueOf(limit) : null)) {
+            while (c.moveToNext()) {
+                T item = gson.fromJson(c.getString(0), type);
+                if (item != null) out.add(item);
+            }
+        }
+        return out;
+    }
+
+    // ------------------------------------------------------------------
+    // Schreiben
+    // ------------------------------------------------------------------
+
+    public Void putTopics(@NonNull Collection<? extends Topic> topics) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Topic t : topics) {
+                if (t == null || t.id == null) continue;
+                db.insertWithOnConflict(T_TOPICS, null, values(t), SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    public Void putRequests(@NonNull Collection<ContactRequest> requests) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (ContactRequest r : requests) {
+                if (r == null || r.id == null) continue;
+                db.insertWithOnConflict(T_REQUESTS, null, values(r), SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    public Void putProfiles(@NonNull Collection<Profile> profiles) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Profile p : profiles) {
+                if (p == null || p.id == null) continue;
+                ContentValues v = new ContentValues();
+                v.put("id", p.id);
+                v.put("email", p.email != null ? norm(p.email) : null);
+                v.put("role", p.role);
+                v.put("json", gson.toJson(p));
+                db.insertWithOnConflict(T_PROFILES, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    /**
+     * Übernimmt eine frisch geladene (erste) Seite eines Scopes.
+     *
+     * complete = true  → die Seite ist der komplette Scope: alles andere darin ist
+     *                    serverseitig weg und wird lokal gelöscht.
+     * complete = false → nur Zeilen, die neuer sind als die letzte Zeile der Seite,
+     *                    aber fehlen, werden gelöscht; ältere bleiben für später.
+     */
+    public Void replaceTopics(@NonNull Scope scope, @NonNull List<? extends Topic> page, boolean complete) {
+        Set<String> keep = new HashSet<>();
+        String lastCreatedAt = null;
+        for (Topic t : page) {
+            if (t == null || t.id == null) continue;
+            keep.add(t.id);
+            lastCreatedAt = t.created_at;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            deleteMissing(db, scope, keep, complete ? null : lastCreatedAt, complete);
+            putTopics(page);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    /** Wie {@link #replaceTopics}, für contact_requests. */
+    public Void replaceRequests(@NonNull Scope scope, @NonNull List<ContactRequest> page, boolean complete) {
+        Set<String> keep = new HashSet<>();
+        String lastCreatedAt = null;
+        for (ContactRequest r : page) {
+            if (r == null || r.id == null) continue;
+            keep.add(r.id);
+            lastCreatedAt = r.created_at;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            deleteMissing(db, scope, keep, complete ? null : lastCreatedAt, complete);
+            putRequests(page);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    private void deleteMissing(SQLiteDatabase db, Scope scope, Set<String> keep,
+                               @Nullable String newerThan, boolean complete) {
+        if (!complete && newerThan == null) return; // keine sichere Grenze → nur upserten
+
+        String sel = scope.selection;
+        String[] args = scope.args;
+        if (newerThan != null) {
+            sel = "(" + sel + ") AND created_at > ?";
+            args = append(args, newerThan);
+        }
+
+        List<String> gone = new ArrayList<>();
+        try (Cursor c = db.query(scope.table, new String[]{"id"}, sel, args, null, null, null)) {
+            while (c.moveToNext()) {
+                String id = c.getString(0);
+                if (!keep.contains(id)) gone.add(id);
+            }
+        }
+        for (String id : gone) {
+            db.delete(scope.table, "id = ?", new String[]{id});
+        }
+    }
+
+    public Void deleteTopic(@NonNull String id) {
+        getWritableDatabase().delete(T_TOPICS, "id = ?", new String[]{id});
+        return null;
+    }
+
+    public Void deleteRequest(@NonNull String id) {
+        getWritableDatabase().delete(T_REQUESTS, "id = ?", new String[]{id});
+        return null;
+    }
+
+    /** Beim Logout: nichts vom vorherigen Benutzer liegen lassen. */
+    public Void clearAll() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.delete(T_TOPICS, null, null);
+        db.delete(T_PROFILES, null, null);
+        db.delete(T_REQUESTS, null, null);
+        return null;
+    }
+
+    // ------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------
+
+    private ContentValues values(Topic t) {
+        ContentValues v = new ContentValues();
+        v.put("id", t.id);
+        v.put("owner_id", t.owner_id);
+        v.put("status", t.status != null ? norm(t.status) : null);
+        v.put("area", t.area);
+        v.put("created_at", t.created_at);
+        v.put("updated_at", t.updated_at);
+        v.put("json", gson.toJson(t));
+        return v;
+    }
+
+    private ContentValues values(ContactRequest r) {
+        ContentValues v = new ContentValues();
+        v.put("id", r.id);
+        v.put("student_id", r.student_id);
+        v.put("supervisor_id", r.supervisor_id);
+        v.put("second_reviewer_id", r.second_reviewer_id);
+        v.put("second_reviewer_email", r.second_reviewer_email != null ? norm(r.second_reviewer_email) : null);
+        v.put("status", r.status != null ? r.status.wire : null);
+        v.put("second_reviewer_status", r.second_reviewer_status != null ? r.second_reviewer_status.wire : null);
+        v.put("created_at", r.created_at);
+        v.put("updated_at", r.updated_at);
+        v.put("json", gson.toJson(r));
+        return v;
+    }
+
+    private static String norm(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] append(String[] args, String extra) {
+        String[] out = new String[args.length + 1];
+        System.arraycopy(args, 0, out, 0, args.length);
+        out[args.length] = extra;
+        return out;
+    }
+}
@@ -0,0 +1,108 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramm mit log-linearen Buckets (wie HdrHistogram, 4 signifikante Bits):
+ * je Zweierpotenz 16 gleich breite Buckets → höchstens 6,25 % Fehler pro Wert,
+ * bei fester Größe (608 Buckets) für 0 .. ~10^12.
+ *
+ * record() ist lock-frei (nur Atomics) und darf von jedem OkHttp-Thread kommen.
+ * Ausgewertet wird über {@link #snapshot()}; der Snapshot ist nicht exakt atomar,
+ * für Perzentile aber genau genug.
+ */
+final class LogHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXP = 40;
+    static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        if (value < 0) return;
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            // anderer Thread war schneller → neu vergleichen
+        }
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    long count() { return count.get(); }
+
+    @NonNull
+    Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.get(), max.get());
+    }
+
+    // ------------------------------------------------------------------
+
+    static int indexOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v); // >= SUB_BITS
+        if (exp > MAX_EXP) return BUCKETS - 1;
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /** Kleinster Wert, der in Bucket idx fällt. */
+    static long lowerBound(int idx) {
+        if (idx < SUB_COUNT) return idx;
+        int exp = idx / SUB_COUNT + SUB_BITS - 1;
+        int sub = idx % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub)) << (exp - SUB_BITS);
+    }
+
+    /** Unveränderlicher Stand zum Auswerten. */
+    static final class Snapshot {
+        private final long[] counts;
+        final long count;
+        final long sum;
+        final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /** Wert, unter dem p Prozent liegen (obere Bucket-Grenze, höchstens max). */
+        long percentile(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(count * p / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, lowerBound(i + 1) - 1);
+            }
+            return max;
+        }
+    }
+}
@@ -51,7 +51,7 @@ public class LoginFragment extends Fragment {
             btnLogin.setEnabled(false);
             ((AuthActivity) requireActivity()).setLoading(true);
 
-            SupabaseClient client = new SupabaseClient(requireContext());
+            SupabaseClient client = SupabaseClient.get(requireContext());
 
             client.authService()
                     .signIn("password", new AuthSignInRequest(email, pass))
@@ -73,13 +73,14 @@ public class LoginFragment extends Fragment {
                             final String token = body.access_token;
                             final String uid   = body.user.id;
 
-                            // Erstmal Token+UID speichern, damit REST-Calls laufen
-                            SessionManager sm = new SessionManager(requireContext());
-                            sm.save(token, uid);
+                            // Erstmal Tokens+UID speichern, damit REST-Calls laufen
+                            // (refresh_token + Ablauf für TokenRefresher)
+                            SessionManager sm = SessionManager.get(requireContext());
+                            sm.saveTokens(body);
 
                             // Profil nachladen → Rolle + Name + Email
                             client.restService()
-                                    .getProfileById("eq." + uid)
+                                    .getProfileById("eq." + uid, SupabaseRestService.PROFILE_COLUMNS)
                                     .enqueue(new Callback<List<Profile>>() {
                                         @Override
                                         public void onResponse(
@@ -99,6 +100,8 @@ public class LoginFragment extends Fragment {
                                             }
 
                                             Profile profile = r2.body().get(0);
+                                            LocalStore.get(requireContext())
+                                                    .write(st -> st.putProfiles(r2.body()));
 
                                             String role = profile.role;
                                             String emailFromProfile =
@@ -115,7 +118,7 @@ public class LoginFragment extends Fragment {
                                             if (fullName.isEmpty()) fullName = null;
 
                                             // Alles in Session speichern
-                                            SessionManager sm2 = new SessionManager(requireContext());
+                                            SessionManager sm2 = SessionManager.get(requireContext());
                                             sm2.save(token, uid, role, emailFromProfile, fullName);
 
                                             // Weiter ins Hauptmenü
@@ -2,6 +2,7 @@ package de.iu.betreuerapp;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.view.View;
 
 import androidx.activity.EdgeToEdge;
 import androidx.annotation.NonNull;
@@ -19,7 +20,10 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        sessionManager = new SessionManager(this);
+        // Requests der Fragments beim Verlassen der Ansicht abbrechen (siehe CallScope)
+        CallScope.install(this);
+
+        sessionManager = SessionManager.get(this);
 
         // Wenn kein Token oder keine Rolle → zurück zum Login
         if (sessionManager.token() == null || sessionManager.role() == null) {
@@ -28,6 +32,9 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
+        // Betreuer-Verzeichnis um die Tutor-Profile ergänzen (lokal, dann Server)
+        ProfileRepository.get(this).loadSupervisorDirectory();
+
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
 
@@ -128,6 +135,22 @@ public class MainActivity extends AppCompatActivity {
 
             return false;
         });
+
+        if (BuildConfig.DEBUG) {
+            // Debug: lange auf "Logout" → Netzwerk-Messwerte (die Item-Views entstehen erst im Layout)
+            bottomNav.post(() -> {
+                View logoutItem = bottomNav.findViewById(R.id.nav_logout);
+                if (logoutItem == null) return;
+                logoutItem.setOnLongClickListener(v -> {
+                    getSupportFragmentManager()
+                            .beginTransaction()
+                            .replace(R.id.fragment_container, new NetworkDebugFragment())
+                            .addToBackStack("network_debug")
+                            .commit();
+                    return true;
+                });
+            });
+        }
     }
 
     // --- Start-Screen je Rolle -----------------------------------------------
@@ -160,6 +183,15 @@ public class MainActivity extends AppCompatActivity {
 
     public void logout() {
         sessionManager.clear();
+        LocalStore.get(this).write(LocalStore::clearAll);
+        new SyncWatermarks(this).clear();
+        RequestMessageParser.clearCache();
+        RequestRepository.get(this).clear();
+        TopicRepository.get().clear();
+        ProfileRepository.get(this).clear();
+        SupabaseClient client = SupabaseClient.get(this);
+        client.realtime().closeAll();
+        AppExecutors.disk().execute(client::clearHttpCache);
         startActivity(new Intent(this, AuthActivity.class));
         finish();
     }
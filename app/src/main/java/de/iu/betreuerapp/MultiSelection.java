@@ -0,0 +1,194 @@
+package de.iu.betreuerapp;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
+import androidx.cardview.widget.CardView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mehrfachauswahl in einer Liste samt Aktionsleiste (layout/view_selection_bar).
+ *
+ * Lange drücken auf einen Eintrag startet die Auswahl, danach schaltet Tippen um;
+ * ist nichts mehr ausgewählt, ist die Auswahl beendet und Tippen öffnet wieder den Dialog.
+ *
+ * Schlüssel = Identity-Key der Zeile (z.B. "&lt;id&gt;:sup"), damit auch Listen
+ * funktionieren, in denen dieselbe Anfrage zweimal vorkommt (Rechnungen).
+ */
+public class MultiSelection {
+
+    private static final int SELECTED_BG = Color.parseColor("#FFF3E0");
+
+    private final LinkedHashSet<String> keys = new LinkedHashSet<>();
+    private final Runnable onChanged;
+
+    private final View bar;
+    private final TextView tvCount;
+    private final Button btnAction;
+    private final Button btnSecondary;
+
+    /**
+     * @param root      Fragment-Layout, das view_selection_bar enthält
+     * @param onChanged z.B. Adapter neu binden (Markierung)
+     */
+    public MultiSelection(@NonNull View root, @NonNull Runnable onChanged) {
+        this.onChanged = onChanged;
+        bar          = root.findViewById(R.id.selection_bar);
+        tvCount      = root.findViewById(R.id.tv_selection_count);
+        btnAction    = root.findViewById(R.id.btn_selection_action);
+        btnSecondary = root.findViewById(R.id.btn_selection_secondary);
+        root.findViewById(R.id.btn_selection_cancel).setOnClickListener(v -> clear());
+    }
+
+    public void setAction(@NonNull String label, @NonNull View.OnClickListener l) {
+        btnAction.setText(label);
+        btnAction.setOnClickListener(l);
+    }
+
+    /** Zweite Aktion (z.B. "Ablehnen"); label = null blendet sie aus. */
+    public void setSecondaryAction(@Nullable String label, @Nullable View.OnClickListener l) {
+        btnSecondary.setVisibility(label == null ? View.GONE : View.VISIBLE);
+        btnSecondary.setText(label);
+        btnSecondary.setOnClickListener(l);
+    }
+
+    public boolean isActive() {
+        return !keys.isEmpty();
+    }
+
+    public boolean isSelected(@Nullable String key) {
+        return key != null && keys.contains(key);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /** Auswahl in Reihenfolge des Antippens. */
+    @NonNull
+    public List<String> keys() {
+        return new ArrayList<>(keys);
+    }
+
+    public void toggle(@NonNull String key) {
+        if (!keys.remove(key)) keys.add(key);
+        changed();
+    }
+
+    public void clear() {
+        if (keys.isEmpty()) return;
+        keys.clear();
+        changed();
+    }
+
+    /** Nach Filterwechsel/Neuladen: nicht mehr sichtbare Zeilen abwählen. */
+    public void retain(@NonNull Collection<String> visibleKeys) {
+        if (keys.isEmpty()) return;
+        Set<String> visible = new HashSet<>(visibleKeys);
+        if (keys.retainAll(visible)) changed();
+    }
+
+    /**
+     * Verdrahtet eine Zeile im Adapter: Markierung, Tippen (Auswahl oder onClick),
+     * langes Drücken (Auswahl starten/umschalten).
+     */
+    public void bind(@NonNull View itemView, @Nullable String key, @NonNull Runnable onClick) {
+        boolean selected = isSelected(key);
+        if (itemView instanceof CardView) {
+            ((CardView) itemView).setCardBackgroundColor(selected ? SELECTED_BG : Color.WHITE);
+        }
+        itemView.setActivated(selected);
+
+        itemView.setOnClickListener(v -> {
+            if (isActive() && key != null) toggle(key);
+            else onClick.run();
+        });
+        itemView.setOnLongClickListener(v -> {
+            if (key == null) return false;
+            toggle(key);
+            return true;
+        });
+    }
+
+    /**
+     * Nicht geänderte Zeilen einer Sammelaktion, je Zeilen-Schlüssel (wie bei der Auswahl).
+     * Die Beschriftung ist nur Anzeige – zwei Zeilen mit gleichem Titel bleiben zwei Einträge.
+     */
+    public static final class Problems {
+        private final Map<String, String> labels = new LinkedHashMap<>();  // Schlüssel → Beschriftung
+        private final Map<String, String> reasons = new LinkedHashMap<>(); // Schlüssel → Grund
+
+        public void put(@NonNull String key, @NonNull String label, @NonNull String reason) {
+            labels.put(key, label);
+            reasons.put(key, reason);
+        }
+
+        /**
+         * Fehlschläge aus {@link BatchUpdate.Result#failed} übernehmen.
+         *
+         * @param rowLabels Zeilen-Schlüssel → Beschriftung der abgeschickten Zeilen
+         */
+        public void putAll(@NonNull Map<String, String> failed, @NonNull Map<String, String> rowLabels) {
+            for (Map.Entry<String, String> f : failed.entrySet()) {
+                String label = rowLabels.get(f.getKey());
+                put(f.getKey(), label != null ? label : f.getKey(), f.getValue());
+            }
+        }
+
+        public boolean isEmpty() {
+            return reasons.isEmpty();
+        }
+
+        public int size() {
+            return reasons.size();
+        }
+    }
+
+    /**
+     * Ergebnis einer Sammelaktion: alles ok → kurzer Toast,
+     * sonst Dialog mit jeder nicht geänderten Zeile und dem Grund.
+     */
+    public static void showResult(@NonNull Context ctx,
+                                  @NonNull String doneLabel,
+                                  int okCount,
+                                  @NonNull Problems problems) {
+        if (problems.isEmpty()) {
+            Toast.makeText(ctx, okCount + " " + doneLabel + ".", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        StringBuilder msg = new StringBuilder();
+        msg.append(okCount).append(" ").append(doneLabel).append(", ")
+                .append(problems.size()).append(" nicht:\n");
+        for (Map.Entry<String, String> e : problems.reasons.entrySet()) {
+            msg.append("\n• ").append(problems.labels.get(e.getKey())).append(" – ").append(e.getValue());
+        }
+
+        new AlertDialog.Builder(ctx)
+                .setTitle("Sammelaktion")
+                .setMessage(msg.toString())
+                .setPositiveButton("OK", null)
+                .show();
+    }
+
+    private void changed() {
+        bar.setVisibility(keys.isEmpty() ? View.GONE : View.VISIBLE);
+        tvCount.setText(keys.size() + " ausgewählt");
+        onChanged.run();
+    }
+}
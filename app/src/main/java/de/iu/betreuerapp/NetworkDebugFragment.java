@@ -0,0 +1,54 @@
+package de.iu.betreuerapp;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+/**
+ * Debug-Ansicht (nur Debug-Build, lange auf "Logout" drücken):
+ * Latenz-Perzentile und Bytes pro Endpoint aus {@link NetworkTelemetry},
+ * dazu Verbindungs-/Cache-Zähler und geteilte GETs.
+ */
+public class NetworkDebugFragment extends Fragment {
+
+    private TextView tvDump;
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater,
+                             @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+
+        View v = inflater.inflate(R.layout.fragment_network_debug, container, false);
+
+        tvDump = v.findViewById(R.id.tv_dump);
+        Button btnRefresh = v.findViewById(R.id.btn_refresh);
+        Button btnReset = v.findViewById(R.id.btn_reset);
+
+        btnRefresh.setOnClickListener(click -> render());
+        btnReset.setOnClickListener(click -> {
+            SupabaseClient.get(requireContext()).telemetry().reset();
+            render();
+        });
+
+        render();
+        return v;
+    }
+
+    private void render() {
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        client.telemetry().log();
+
+        String text = client.telemetry().dump()
+                + "\n" + client.connectionStats().summary()
+                + "\n" + client.singleFlight().summary() + "\n";
+        tvDump.setText(text);
+    }
+}
@@ -0,0 +1,278 @@
+package de.iu.betreuerapp;
+
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Netzwerk-Messwerte pro Endpoint (topics, contact_requests, profiles, auth/token, ...).
+ *
+ * Hängt als EventListener.Factory am gemeinsamen OkHttpClient: jeder Call bekommt einen
+ * eigenen {@link CallTimer}, der die Phasen misst und am Ende in die Histogramme
+ * ({@link LogHistogram}, lock-frei) des Endpoints schreibt:
+ *   dns, connect (TCP), tls, ttfb (Request gesendet → erste Antwort-Header), total,
+ *   Bytes hoch/runter (Bodies).
+ * DNS/Connect/TLS gibt es nur, wenn keine Verbindung aus dem Pool kam; Cache-Treffer
+ * haben nur total.
+ *
+ * Die Zähler aus {@link ConnectionStats} werden mitgeführt (OkHttp erlaubt nur einen
+ * Listener pro Client).
+ *
+ * Auswerten: {@link #dump()} (Text, auch für Logcat) bzw. die Debug-Ansicht
+ * ({@link NetworkDebugFragment}).
+ */
+public final class NetworkTelemetry implements EventListener.Factory {
+
+    private static final String TAG = "NetworkTelemetry";
+
+    /** Messwerte eines Endpoints; Zeiten in µs, Größen in Bytes. */
+    static final class Endpoint {
+        final String name;
+        final LogHistogram dns = new LogHistogram();
+        final LogHistogram connect = new LogHistogram();
+        final LogHistogram tls = new LogHistogram();
+        final LogHistogram ttfb = new LogHistogram();
+        final LogHistogram total = new LogHistogram();
+        final LogHistogram requestBytes = new LogHistogram();
+        final LogHistogram responseBytes = new LogHistogram();
+        final AtomicLong failures = new AtomicLong();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        void reset() {
+            dns.reset();
+            connect.reset();
+            tls.reset();
+            ttfb.reset();
+            total.reset();
+            requestBytes.reset();
+            responseBytes.reset();
+            failures.set(0);
+        }
+    }
+
+    private final ConnectionStats connectionStats;
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public NetworkTelemetry(@NonNull ConnectionStats connectionStats) {
+        this.connectionStats = connectionStats;
+    }
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        String name = endpointOf(call.request().url());
+        return new CallTimer(endpoints.computeIfAbsent(name, Endpoint::new));
+    }
+
+    /**
+     * Logischer Endpoint: /rest/v1/topics → "topics", /auth/v1/token → "auth/token",
+     * /realtime/v1/websocket → "realtime/websocket"; sonst der Pfad.
+     */
+    @NonNull
+    static String endpointOf(@NonNull HttpUrl url) {
+        List<String> seg = url.pathSegments();
+        if (seg.size() >= 3 && "v1".equals(seg.get(1))) {
+            String rest = TextUtils.join("/", seg.subList(2, seg.size()));
+            return "rest".equals(seg.get(0)) ? rest : seg.get(0) + "/" + rest;
+        }
+        return url.encodedPath();
+    }
+
+    /** Alle Histogramme leeren (z.B. vor einer Messung). */
+    public void reset() {
+        for (Endpoint e : endpoints.values()) e.reset();
+    }
+
+    /** Endpoints, nach Anzahl Calls absteigend. */
+    @NonNull
+    List<Endpoint> endpoints() {
+        List<Endpoint> out = new ArrayList<>(endpoints.values());
+        Collections.sort(out, (a, b) -> Long.compare(b.total.count(), a.total.count()));
+        return out;
+    }
+
+    /** Lesbare Tabelle aller Endpoints (p50/p90/p99/max). */
+    @NonNull
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Endpoint e : endpoints()) {
+            LogHistogram.Snapshot total = e.total.snapshot();
+            if (total.count == 0 && e.failures.get() == 0) continue;
+
+            sb.append(e.name)
+                    .append("  (").append(total.count).append(" Calls, ")
+                    .append(e.failures.get()).append(" Fehler)\n");
+            appendTimes(sb, "total  ", total);
+            appendTimes(sb, "ttfb   ", e.ttfb.snapshot());
+            appendTimes(sb, "dns    ", e.dns.snapshot());
+            appendTimes(sb, "connect", e.connect.snapshot());
+            appendTimes(sb, "tls    ", e.tls.snapshot());
+            appendBytes(sb, "bytes ↑", e.requestBytes.snapshot());
+            appendBytes(sb, "bytes ↓", e.responseBytes.snapshot());
+            sb.append('\n');
+        }
+        if (sb.length() == 0) sb.append("Noch keine Calls gemessen.\n");
+        return sb.toString();
+    }
+
+    /** dump() nach Logcat (nur Debug-Build). */
+    public void log() {
+        if (BuildConfig.DEBUG) Log.d(TAG, "\n" + dump());
+    }
+
+    private static void appendTimes(StringBuilder sb, String label, LogHistogram.Snapshot s) {
+        if (s.count == 0) return;
+        sb.append(String.format(Locale.ROOT,
+                "  %s n=%-5d p50 %7.1f ms  p90 %7.1f ms  p99 %7.1f ms  max %7.1f ms%n",
+                label, s.count, s.percentile(50) / 1000.0, s.percentile(90) / 1000.0,
+                s.percentile(99) / 1000.0, s.max / 1000.0));
+    }
+
+    private static void appendBytes(StringBuilder sb, String label, LogHistogram.Snapshot s) {
+        if (s.count == 0) return;
+        sb.append(String.format(Locale.ROOT,
+                "  %s n=%-5d p50 %7d B   p90 %7d B   max %7d B   Σ %d B%n",
+                label, s.count, s.percentile(50), s.percentile(90), s.max, s.sum));
+    }
+
+    // ------------------------------------------------------------------
+
+    /**
+     * Misst einen Call. OkHttp meldet die Ereignisse eines Calls nacheinander, daher
+     * reichen einfache Felder. Bei Wiederholung (Redirect, 401 → neues Token) zählt
+     * der letzte Versuch.
+     */
+    private final class CallTimer extends EventListener {
+        private final Endpoint endpoint;
+
+        private long callStart = -1;
+        private long dnsStart = -1;
+        private long connectStart = -1;
+        private long tlsStart = -1;
+        private long requestStart = -1;
+
+        CallTimer(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            callStart = System.nanoTime();
+            connectionStats.callStart(call);
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                           @NonNull List<InetAddress> inetAddressList) {
+            endpoint.dns.record(micros(dnsStart));
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+            endpoint.tls.record(micros(tlsStart));
+        }
+
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                               @NonNull Proxy proxy, @Nullable Protocol protocol) {
+            endpoint.connect.record(micros(connectStart)); // inkl. TLS
+            connectionStats.connectEnd(call, inetSocketAddress, proxy, protocol);
+        }
+
+        @Override
+        public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+            connectionStats.connectionAcquired(call, connection);
+        }
+
+        @Override
+        public void requestHeadersStart(@NonNull Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.requestBytes.record(byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            endpoint.ttfb.record(micros(requestStart));
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.responseBytes.record(byteCount);
+        }
+
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response response) {
+            connectionStats.cacheHit(call, response);
+        }
+
+        @Override
+        public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            connectionStats.cacheConditionalHit(call, cachedResponse);
+        }
+
+        @Override
+        public void cacheMiss(@NonNull Call call) {
+            connectionStats.cacheMiss(call);
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            endpoint.total.record(micros(callStart));
+            connectionStats.callEnd(call);
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            endpoint.failures.incrementAndGet();
+        }
+
+        /** µs seit start; -1 (Start nicht gesehen) wird verworfen. */
+        private long micros(long start) {
+            return start < 0 ? -1 : (System.nanoTime() - start) / 1000;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Stößt {@link Source#loadNext()} an, sobald das Listenende in Sichtweite kommt
+ * (PREFETCH_DISTANCE Einträge vor dem letzten), damit die nächste Seite schon da ist,
+ * bevor der Nutzer unten ankommt.
+ */
+public class PagingScrollListener extends RecyclerView.OnScrollListener {
+
+    private static final int PREFETCH_DISTANCE = 5;
+
+    /** Alles, was seitenweise nachladen kann ({@link KeysetPager}, {@link TopicSearchPager}). */
+    public interface Source {
+        boolean isLoading();
+        boolean hasMore();
+        void loadNext();
+    }
+
+    private Source pager;
+
+    public PagingScrollListener(@NonNull Source pager) {
+        this.pager = pager;
+    }
+
+    /** Wechselt die Quelle, z.B. zwischen Liste und Suchergebnissen. */
+    public void setSource(@NonNull Source pager) {
+        this.pager = pager;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+        if (dy < 0) return; // nach oben scrollen braucht keine neue Seite
+        check(rv);
+    }
+
+    /**
+     * Auch ohne Scroll-Event prüfen – z.B. wenn nach einem Client-Filter
+     * die sichtbare Liste den Bildschirm nicht füllt.
+     */
+    public void check(@NonNull RecyclerView rv) {
+        if (pager.isLoading() || !pager.hasMore()) return;
+
+        RecyclerView.LayoutManager lm = rv.getLayoutManager();
+        RecyclerView.Adapter<?> adapter = rv.getAdapter();
+        if (!(lm instanceof LinearLayoutManager) || adapter == null) return;
+
+        int lastVisible = ((LinearLayoutManager) lm).findLastVisibleItemPosition();
+        if (lastVisible >= adapter.getItemCount() - 1 - PREFETCH_DISTANCE) {
+            pager.loadNext();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Kleine Helfer, um PostgREST-Filterwerte für {@link SupabaseRestService} zu bauen.
+ *
+ * Beispiele:
+ *  eq("abc")                      → eq.abc
+ *  in("open", "accepted")         → in.(open,accepted)
+ *  or("a.eq.1", "b.eq.2")         → (a.eq.1,b.eq.2)
+ *  cond("supervisor_email", "ilike", "a.a@iu.de") → supervisor_email.ilike."a.a@iu.de"
+ *  ilikeExact("supervisor_email", "a_b@iu.de")   → supervisor_email.ilike."a\\_b@iu.de"
+ *  wfts("german", "kanban scrum")  → wfts(german).kanban scrum
+ *
+ * Werte mit reservierten Zeichen (Komma, Punkt, Doppelpunkt, Klammern, Leerzeichen)
+ * werden in doppelte Anführungszeichen gesetzt.
+ */
+public final class PostgrestFilter {
+
+    private PostgrestFilter() { }
+
+    /** eq.&lt;wert&gt; – für einfache Query-Parameter wie ?student_id=eq.X */
+    public static String eq(@NonNull String value) {
+        return "eq." + value;
+    }
+
+    /** in.(a,b,c) */
+    public static String in(@NonNull String... values) {
+        StringBuilder sb = new StringBuilder("in.(");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(quote(values[i]));
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Volltext-Filter (websearch_to_tsquery) für einen einfachen Query-Parameter
+     * wie ?title=wfts(german).X. Der Suchtext darf Leerzeichen, "…" und -wort enthalten.
+     */
+    public static String wfts(@NonNull String config, @NonNull String query) {
+        return "wfts(" + config + ")." + query;
+    }
+
+    /** Einzelne Bedingung für or=/and=-Ausdrücke, z.B. supervisor_id.eq.X */
+    public static String cond(@NonNull String column, @NonNull String op, @NonNull String value) {
+        return column + "." + op + "." + quote(value);
+    }
+
+    /**
+     * Groß/klein-unabhängiger Vergleich auf Gleichheit (z.B. E-Mail, nicht normalisiert gespeichert).
+     * "_" und "%" wären in ilike Platzhalter ("a_b@…" träfe auch "axb@…") → mit \ maskiert.
+     */
+    public static String ilikeExact(@NonNull String column, @NonNull String value) {
+        String literal = value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return cond(column, "ilike", literal);
+    }
+
+    /** (c1,c2,...) – Wert für den or=-Parameter. Null-Bedingungen werden übersprungen. */
+    @Nullable
+    public static String or(@Nullable String... conditions) {
+        String joined = join(conditions);
+        return joined == null ? null : "(" + joined + ")";
+    }
+
+    /** or(c1,c2) – verschachtelte Gruppe innerhalb eines and=/or=-Ausdrucks. */
+    @Nullable
+    public static String orGroup(@Nullable String... conditions) {
+        String joined = join(conditions);
+        return joined == null ? null : "or(" + joined + ")";
+    }
+
+    /** (c1,c2,...) – Wert für den and=-Parameter. */
+    @Nullable
+    public static String and(@Nullable String... conditions) {
+        return or(conditions); // gleiche Syntax, nur anderer Parametername
+    }
+
+    /** Setzt den Wert in "…", falls er reservierte Zeichen enthält. */
+    public static String quote(@NonNull String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '.' || c == ':' || c == '(' || c == ')'
+                    || c == '"' || c == '\\' || c == ' ') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) return value;
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    @Nullable
+    private static String join(@Nullable String... conditions) {
+        if (conditions == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (String c : conditions) {
+            if (c == null || c.isEmpty()) continue;
+            if (sb.length() > 0) sb.append(',');
+            sb.append(c);
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+}
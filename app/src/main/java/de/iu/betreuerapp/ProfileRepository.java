@@ -0,0 +1,150 @@
+package de.iu.betreuerapp;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.iu.betreuerapp.dto.Profile;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Profile (profiles) nach id.
+ *
+ * Reihenfolge: Speicher → {@link LocalStore} (Disk-Thread) → Server.
+ * Der Server-Abruf läuft über den HTTP-Cache (stale-while-revalidate); das Ergebnis
+ * landet lokal und im Speicher, damit der nächste Aufruf ohne Warten antwortet.
+ */
+public class ProfileRepository {
+
+    private static volatile ProfileRepository instance;
+
+    public static ProfileRepository get(@NonNull Context ctx) {
+        ProfileRepository r = instance;
+        if (r == null) {
+            synchronized (ProfileRepository.class) {
+                r = instance;
+                if (r == null) {
+                    r = new ProfileRepository(SupabaseClient.get(ctx), LocalStore.get(ctx));
+                    instance = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    /** Ergebnis einer Abfrage; complete = Server hat geantwortet (oder ist nicht erreichbar). */
+    public static final class Lookup {
+        @Nullable public final Profile profile;
+        public final boolean complete;
+
+        Lookup(@Nullable Profile profile, boolean complete) {
+            this.profile = profile;
+            this.complete = complete;
+        }
+    }
+
+    private final SupabaseClient client;
+    private final LocalStore store;
+    private final Map<String, Profile> memory = new ConcurrentHashMap<>();
+
+    private ProfileRepository(SupabaseClient client, LocalStore store) {
+        this.client = client;
+        this.store = store;
+    }
+
+    /** Liefert zuerst den bekannten Stand (falls vorhanden), danach den vom Server. */
+    @NonNull
+    public LiveData<Lookup> profile(@NonNull String id) {
+        MutableLiveData<Lookup> out = new MutableLiveData<>();
+
+        Profile known = memory.get(id);
+        if (known != null) {
+            out.setValue(new Lookup(known, false));
+        } else {
+            store.read(st -> st.profile(id), null, cached -> {
+                if (cached == null || out.getValue() != null) return; // Server war schneller
+                memory.put(id, cached);
+                out.setValue(new Lookup(cached, false));
+            });
+        }
+
+        client.restService()
+                .getProfileById("eq." + id, SupabaseRestService.PROFILE_COLUMNS)
+                .enqueue(new Callback<List<Profile>>() {
+                    @Override
+                    public void onResponse(@NonNull Call<List<Profile>> call,
+                                           @NonNull Response<List<Profile>> response) {
+                        List<Profile> fresh = response.body();
+                        if (!response.isSuccessful() || fresh == null || fresh.isEmpty()) {
+                            out.setValue(new Lookup(current(out), true));
+                            return;
+                        }
+
+                        store.write(st -> st.putProfiles(fresh));
+                        Profile p = fresh.get(0);
+                        memory.put(id, p);
+                        out.setValue(new Lookup(p, true));
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<List<Profile>> call,
+                                          @NonNull Throwable t) {
+                        out.setValue(new Lookup(current(out), true));
+                    }
+                });
+
+        return out;
+    }
+
+    /**
+     * Ergänzt {@link SupervisorDirectory} um alle Tutor-Profile: erst die lokale Kopie,
+     * dann der Server. Der Index wird auf {@link AppExecutors#compute()} gebaut.
+     */
+    public void loadSupervisorDirectory() {
+        store.read(st -> st.profilesByRole("tutor"), Collections.emptyList(), this::installSupervisors);
+
+        client.restService()
+                .getProfilesByRole("eq.tutor", SupabaseRestService.PROFILE_COLUMNS)
+                .enqueue(new Callback<List<Profile>>() {
+                    @Override
+                    public void onResponse(@NonNull Call<List<Profile>> call,
+                                           @NonNull Response<List<Profile>> response) {
+                        List<Profile> fresh = response.body();
+                        if (!response.isSuccessful() || fresh == null) return;
+                        store.write(st -> st.putProfiles(fresh));
+                        installSupervisors(fresh);
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<List<Profile>> call, @NonNull Throwable t) {
+                        // Verzeichnis bleibt beim bisherigen Stand
+                    }
+                });
+    }
+
+    private void installSupervisors(@NonNull List<Profile> profiles) {
+        if (profiles.isEmpty()) return;
+        AppExecutors.compute().execute(() -> SupervisorDirectory.install(profiles));
+    }
+
+    /** Beim Logout. */
+    public void clear() {
+        memory.clear();
+    }
+
+    @Nullable
+    private static Profile current(LiveData<Lookup> out) {
+        Lookup l = out.getValue();
+        return l == null ? null : l.profile;
+    }
+}
@@ -0,0 +1,475 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * Zeilen-Änderungen (INSERT/UPDATE/DELETE) aus Supabase Realtime über EINE WebSocket-Verbindung.
+ *
+ * Protokoll wie supabase-js (Phoenix-Channels, vsn 1.0.0):
+ *   → phx_join          {config:{postgres_changes:[{event:"*",schema,table,filter}]}, access_token}
+ *   ← phx_reply         status "ok" / "error"
+ *   ← postgres_changes  {data:{type, record, old_record}}
+ *   → heartbeat         Topic "phoenix", alle {@link #HEARTBEAT_MS} – sonst trennt der Server
+ *
+ * - Die Verbindung wird beim ersten {@link #subscribe} geöffnet und nach dem letzten
+ *   {@link Subscription#close()} wieder geschlossen.
+ * - Abbruch (oder unbeantworteter Heartbeat) → Neuaufbau mit Backoff, alle Kanäle werden
+ *   neu angemeldet. Dazwischen können Ereignisse fehlen, deshalb bekommt jeder Kanal nach
+ *   dem erneuten Beitritt {@link Listener#onResync()}.
+ * - Keine Android-Abhängigkeiten: URL, OkHttpClient und Callback-Executor kommen von außen,
+ *   damit der Client auch gegen einen lokalen WebSocket-Server (z.B. MockWebServer) läuft.
+ */
+public class RealtimeClient {
+
+    public static final long HEARTBEAT_MS = 25_000;
+    private static final long[] BACKOFF_MS = {1_000, 2_000, 5_000, 10_000, 30_000};
+
+    public enum ChangeType { INSERT, UPDATE, DELETE }
+
+    /** Eine Zeilen-Änderung. Bei DELETE ist nur die id bekannt (record = null). */
+    public static final class Change<T> {
+        @NonNull public final ChangeType type;
+        @Nullable public final T record;
+        @Nullable public final String id;
+
+        Change(@NonNull ChangeType type, @Nullable T record, @Nullable String id) {
+            this.type = type;
+            this.record = record;
+            this.id = id;
+        }
+    }
+
+    /** Wird auf dem Callback-Executor aufgerufen (in der App: Main-Thread). */
+    public interface Listener<T> {
+        void onChange(@NonNull Change<T> change);
+
+        /** Verbindung war weg – Liste neu laden, es können Ereignisse fehlen. */
+        default void onResync() { }
+    }
+
+    /** Abo eines Kanals; close() ist idempotent. */
+    public interface Subscription {
+        void close();
+    }
+
+    private final OkHttpClient http;
+    private final String socketUrl;
+    private final SupabaseClient.TokenProvider tokens;
+    private final Executor callbacks;
+    private final long heartbeatMs;
+    private final long[] backoffMs;
+    private final Gson gson = new Gson();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "betreuer-realtime");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // --- Zustand, nur unter "this" ---
+    private final Map<String, Channel<?>> channels = new LinkedHashMap<>(); // Topic → Kanal
+    @Nullable private WebSocket socket;
+    private boolean open;
+    private int nextRef = 0;
+    private int channelSeq = 0;
+    private int attempt = 0;
+    @Nullable private String pendingHeartbeat;
+    @Nullable private ScheduledFuture<?> heartbeat;
+    @Nullable private ScheduledFuture<?> reconnect;
+
+    /**
+     * @param socketUrl z.B. wss://&lt;ref&gt;.supabase.co/realtime/v1/websocket?apikey=…&amp;vsn=1.0.0
+     * @param callbacks Executor für Listener-Aufrufe
+     */
+    public RealtimeClient(@NonNull OkHttpClient http,
+                          @NonNull String socketUrl,
+                          @NonNull SupabaseClient.TokenProvider tokens,
+                          @NonNull Executor callbacks) {
+        this(http, socketUrl, tokens, callbacks, HEARTBEAT_MS, BACKOFF_MS);
+    }
+
+    /** Mit eigenen Intervallen (Tests). */
+    RealtimeClient(@NonNull OkHttpClient http,
+                   @NonNull String socketUrl,
+                   @NonNull SupabaseClient.TokenProvider tokens,
+                   @NonNull Executor callbacks,
+                   long heartbeatMs,
+                   @NonNull long[] backoffMs) {
+        this.http = http;
+        this.socketUrl = socketUrl;
+        this.tokens = tokens;
+        this.callbacks = callbacks;
+        this.heartbeatMs = heartbeatMs;
+        this.backoffMs = backoffMs.clone();
+    }
+
+    /**
+     * Abonniert Änderungen einer Tabelle (Schema public).
+     * filter im PostgREST-Stil, z.B. "student_id=eq.&lt;uuid&gt;"; null = alle Zeilen,
+     * die die Row-Level-Security durchlässt.
+     */
+    @NonNull
+    public synchronized <T> Subscription subscribe(@NonNull String table,
+                                                   @Nullable String filter,
+                                                   @NonNull Class<T> type,
+                                                   @NonNull Listener<T> listener) {
+        Channel<T> ch = new Channel<>("realtime:" + table + ":" + (++channelSeq),
+                table, filter, type, listener);
+        channels.put(ch.topic, ch);
+
+        if (socket == null) {
+            connect();
+        } else if (open) {
+            join(ch);
+        }
+        return () -> unsubscribe(ch);
+    }
+
+    /** Neues access_token an alle angemeldeten Kanäle (nach Token-Erneuerung). */
+    public synchronized void refreshAccessToken() {
+        if (!open) return;
+        for (Channel<?> ch : channels.values()) {
+            if (!ch.joined) continue;
+            JsonObject payload = new JsonObject();
+            payload.addProperty("access_token", accessToken());
+            send(ch.topic, "access_token", payload, null, ch.joinRef);
+        }
+    }
+
+    /** Alle Abos beenden (z.B. beim Logout). */
+    public synchronized void closeAll() {
+        for (Channel<?> ch : channels.values()) ch.active = false;
+        channels.clear();
+        disconnect();
+    }
+
+    // ------------------------------------------------------------------
+    // Verbindung
+    // ------------------------------------------------------------------
+
+    private void connect() {
+        cancel(reconnect);
+        reconnect = null;
+        open = false;
+        socket = http.newWebSocket(new Request.Builder().url(socketUrl).build(), new SocketListener());
+    }
+
+    private void disconnect() {
+        cancel(heartbeat);
+        cancel(reconnect);
+        heartbeat = null;
+        reconnect = null;
+        pendingHeartbeat = null;
+        open = false;
+        attempt = 0;
+        if (socket != null) {
+            socket.close(1000, null);
+            socket = null;
+        }
+    }
+
+    private void onOpened(WebSocket ws) {
+        if (ws != socket) return;
+        open = true;
+        attempt = 0;
+        pendingHeartbeat = null;
+        for (Channel<?> ch : channels.values()) join(ch);
+        heartbeat = scheduler.scheduleWithFixedDelay(this::beat,
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void onLost(WebSocket ws) {
+        if (ws != socket) return; // schon ersetzt oder absichtlich geschlossen
+        socket = null;
+        open = false;
+        pendingHeartbeat = null;
+        cancel(heartbeat);
+        heartbeat = null;
+        for (Channel<?> ch : channels.values()) ch.joined = false;
+        if (channels.isEmpty()) return;
+
+        long delay = backoffMs[Math.min(attempt, backoffMs.length - 1)];
+        attempt++;
+        reconnect = scheduler.schedule(() -> {
+            synchronized (RealtimeClient.this) {
+                reconnect = null;
+                if (socket == null && !channels.isEmpty()) connect();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void beat() {
+        synchronized (this) {
+            if (!open || socket == null) return;
+            if (pendingHeartbeat != null) {
+                // letzte Antwort fehlt → Verbindung ist tot, auch wenn TCP es noch nicht weiß
+                WebSocket dead = socket;
+                dead.cancel();
+                onLost(dead);
+                return;
+            }
+            pendingHeartbeat = send("phoenix", "heartbeat", new JsonObject(), null, null);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Kanäle
+    // ------------------------------------------------------------------
+
+    private void join(Channel<?> ch) {
+        JsonObject change = new JsonObject();
+        change.addProperty("event", "*");
+        change.addProperty("schema", "public");
+        change.addProperty("table", ch.table);
+        if (ch.filter != null) change.addProperty("filter", ch.filter);
+
+        JsonArray changes = new JsonArray();
+        changes.add(change);
+
+        JsonObject broadcast = new JsonObject();
+        broadcast.addProperty("self", false);
+        JsonObject presence = new JsonObject();
+        presence.addProperty("key", "");
+
+        JsonObject config = new JsonObject();
+        config.add("broadcast", broadcast);
+        config.add("presence", presence);
+        config.add("postgres_changes", changes);
+
+        JsonObject payload = new JsonObject();
+        payload.add("config", config);
+        payload.addProperty("access_token", accessToken());
+
+        String ref = String.valueOf(++nextRef);
+        ch.joinRef = ref;
+        ch.joined = false;
+        send(ch.topic, "phx_join", payload, ref, ref);
+    }
+
+    private synchronized void unsubscribe(Channel<?> ch) {
+        if (!ch.active) return;
+        ch.active = false;
+        channels.remove(ch.topic);
+        if (channels.isEmpty()) {
+            disconnect();
+        } else if (open && ch.joined) {
+            send(ch.topic, "phx_leave", new JsonObject(), null, ch.joinRef);
+        }
+    }
+
+    /** Liefert die ref der Nachricht. */
+    private String send(String topic, String event, JsonObject payload,
+                        @Nullable String ref, @Nullable String joinRef) {
+        String r = ref != null ? ref : String.valueOf(++nextRef);
+        JsonObject msg = new JsonObject();
+        msg.addProperty("topic", topic);
+        msg.addProperty("event", event);
+        msg.add("payload", payload);
+        msg.addProperty("ref", r);
+        if (joinRef != null) msg.addProperty("join_ref", joinRef);
+        if (socket != null) socket.send(msg.toString());
+        return r;
+    }
+
+    private String accessToken() {
+        String t = tokens.get();
+        return (t == null || t.isEmpty()) ? "" : t;
+    }
+
+    // ------------------------------------------------------------------
+    // Eingang
+    // ------------------------------------------------------------------
+
+    private void onText(WebSocket ws, String text) {
+        JsonObject msg;
+        try {
+            msg = JsonParser.parseString(text).getAsJsonObject();
+        } catch (RuntimeException e) {
+            return; // kein JSON-Objekt → ignorieren
+        }
+        String topic = string(msg, "topic");
+        String event = string(msg, "event");
+        String ref = string(msg, "ref");
+        JsonObject payload = object(msg, "payload");
+        if (topic == null || event == null) return;
+
+        List<Runnable> deliveries = new ArrayList<>(1);
+        synchronized (this) {
+            if (ws != socket) return;
+
+            if ("phoenix".equals(topic)) {
+                if ("phx_reply".equals(event) && ref != null && ref.equals(pendingHeartbeat)) {
+                    pendingHeartbeat = null;
+                }
+                return;
+            }
+
+            Channel<?> ch = channels.get(topic);
+            if (ch == null) return;
+
+            switch (event) {
+                case "phx_reply":
+                    if (ref != null && ref.equals(ch.joinRef) && payload != null
+                            && "ok".equals(string(payload, "status"))) {
+                        ch.joined = true;
+                        if (ch.everJoined) deliveries.add(ch::resync);
+                        ch.everJoined = true;
+                    }
+                    // status "error" (z.B. ungültiger Filter): Kanal bleibt still
+                    break;
+
+                case "phx_error":
+                case "phx_close":
+                    // Server hat den Kanal beendet → nach kurzer Pause neu anmelden
+                    ch.joined = false;
+                    scheduler.schedule(() -> {
+                        synchronized (RealtimeClient.this) {
+                            if (ch.active && open && !ch.joined) join(ch);
+                        }
+                    }, backoffMs[0], TimeUnit.MILLISECONDS);
+                    break;
+
+                case "postgres_changes":
+                    JsonObject data = payload == null ? null : object(payload, "data");
+                    Runnable r = data == null ? null : ch.change(data, gson);
+                    if (r != null) deliveries.add(r);
+                    break;
+
+                default:
+                    // system, presence_state, broadcast … werden nicht gebraucht
+                    break;
+            }
+        }
+        for (Runnable r : deliveries) callbacks.execute(r);
+    }
+
+    @Nullable
+    private static String string(JsonObject o, String key) {
+        JsonElement e = o.get(key);
+        return (e == null || e.isJsonNull() || !e.isJsonPrimitive()) ? null : e.getAsString();
+    }
+
+    @Nullable
+    private static JsonObject object(JsonObject o, String key) {
+        JsonElement e = o.get(key);
+        return (e != null && e.isJsonObject()) ? e.getAsJsonObject() : null;
+    }
+
+    private static void cancel(@Nullable ScheduledFuture<?> f) {
+        if (f != null) f.cancel(false);
+    }
+
+    private final class SocketListener extends WebSocketListener {
+        @Override
+        public void onOpen(@NonNull WebSocket ws, @NonNull Response response) {
+            synchronized (RealtimeClient.this) {
+                onOpened(ws);
+            }
+        }
+
+        @Override
+        public void onMessage(@NonNull WebSocket ws, @NonNull String text) {
+            onText(ws, text);
+        }
+
+        @Override
+        public void onClosing(@NonNull WebSocket ws, int code, @NonNull String reason) {
+            ws.close(1000, null);
+        }
+
+        @Override
+        public void onClosed(@NonNull WebSocket ws, int code, @NonNull String reason) {
+            synchronized (RealtimeClient.this) {
+                onLost(ws);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull WebSocket ws, @NonNull Throwable t, @Nullable Response response) {
+            synchronized (RealtimeClient.this) {
+                onLost(ws);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+
+    private static final class Channel<T> {
+        final String topic;
+        final String table;
+        @Nullable final String filter;
+        final Class<T> type;
+        final Listener<T> listener;
+
+        volatile boolean active = true;
+        boolean joined;
+        boolean everJoined;
+        @Nullable String joinRef;
+
+        Channel(String topic, String table, @Nullable String filter,
+                Class<T> type, Listener<T> listener) {
+            this.topic = topic;
+            this.table = table;
+            this.filter = filter;
+            this.type = type;
+            this.listener = listener;
+        }
+
+        void resync() {
+            if (active) listener.onResync();
+        }
+
+        /** Baut die Zustellung (Parsen noch auf dem Socket-Thread); null = unbrauchbar. */
+        @Nullable
+        Runnable change(JsonObject data, Gson gson) {
+            ChangeType type;
+            try {
+                type = ChangeType.valueOf(String.valueOf(string(data, "type")));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+
+            JsonObject rec = object(data, "record");
+            JsonObject old = object(data, "old_record");
+            T record = null;
+            if (type != ChangeType.DELETE && rec != null) {
+                try {
+                    record = gson.fromJson(rec, this.type);
+                } catch (RuntimeException e) {
+                    return null;
+                }
+            }
+            String id = rec != null ? string(rec, "id") : null;
+            if (id == null && old != null) id = string(old, "id");
+            if (id == null) return null;
+
+            Change<T> change = new Change<>(type, record, id);
+            return () -> {
+                if (active) listener.onChange(change);
+            };
+        }
+    }
+}
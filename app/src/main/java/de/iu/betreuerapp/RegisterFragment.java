@@ -91,7 +91,7 @@ public class RegisterFragment extends Fragment {
         btnRegister.setEnabled(false);
         ((AuthActivity) requireActivity()).setLoading(true);
 
-        SupabaseClient client = new SupabaseClient(requireContext());
+        SupabaseClient client = SupabaseClient.get(requireContext());
 
         // 1) Supabase SignUp
         AuthSignUpRequest req = new AuthSignUpRequest(email, pass);
@@ -110,9 +110,9 @@ public class RegisterFragment extends Fragment {
                 final String uid = body.user.id;
                 final String token = body.access_token; // Kann je nach Supabase-Config null sein
 
-                SessionManager sm = new SessionManager(requireContext());
+                SessionManager sm = SessionManager.get(requireContext());
                 if (token != null) {
-                    sm.save(token, uid); // Token + UserId
+                    sm.saveTokens(body); // Tokens + Ablauf + UserId
                 }
 
                 // 2) Profil upserten
@@ -134,7 +134,7 @@ public class RegisterFragment extends Fragment {
                                 return;
                             }
 
-                            SessionManager sm2 = new SessionManager(requireContext());
+                            SessionManager sm2 = SessionManager.get(requireContext());
                             sm2.save(token, uid, role);
 
                             ((AuthActivity) requireActivity()).setLoading(false);
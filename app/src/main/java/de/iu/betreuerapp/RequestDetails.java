@@ -0,0 +1,57 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+
+import java.util.List;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Lädt für einen Detail-Dialog die komplette Anfrage nach.
+ *
+ * Listen holen nur {@link SupabaseRestService#CONTACT_REQUEST_LIST_COLUMNS}; was dort
+ * fehlt (z.B. expose_url), kommt erst, wenn jemand den Dialog öffnet. Der Dialog wird
+ * sofort mit dem Listen-Stand gezeigt und aktualisiert, sobald die Zeile da ist.
+ * Schlägt das Nachladen fehl, bleibt es still beim Listen-Stand.
+ *
+ * Der Call hängt am CallScope des Fragments (Ansicht weg → abgebrochen).
+ */
+public final class RequestDetails {
+
+    public interface Loaded {
+        void onLoaded(@NonNull ContactRequest full);
+    }
+
+    private RequestDetails() { }
+
+    public static void loadFull(@NonNull Fragment fragment,
+                                @NonNull ContactRequest row,
+                                @NonNull Loaded onLoaded) {
+        if (row.id == null) return;
+
+        CallScope.of(fragment).enqueue(SupabaseClient.get(fragment.requireContext())
+                        .restService()
+                        .getContactRequestById(PostgrestFilter.eq(row.id),
+                                SupabaseRestService.CONTACT_REQUEST_COLUMNS),
+                new Callback<List<ContactRequest>>() {
+                    @Override
+                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
+                                           @NonNull Response<List<ContactRequest>> response) {
+                        List<ContactRequest> body = response.body();
+                        if (!response.isSuccessful() || body == null || body.isEmpty()) return;
+                        ContactRequest full = body.get(0);
+                        if (full != null) onLoaded.onLoaded(full);
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
+                                          @NonNull Throwable t) {
+                        // Dialog zeigt weiter den Listen-Stand
+                    }
+                });
+    }
+}
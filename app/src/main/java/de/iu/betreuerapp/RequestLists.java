@@ -0,0 +1,210 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ReviewerStatus;
+import de.iu.betreuerapp.dto.ThesisStatus;
+
+/**
+ * Anfragen-Listen der Übersichten (Tutor: Anfragen / betreute Arbeiten, Zweitprüfung,
+ * Student-Dashboard): welche Zeilen dazugehören, Reihenfolge und die Aufteilung für
+ * die Filter-Chips.
+ *
+ * Reines Java ohne Android-Abhängigkeiten – läuft im Hintergrund ({@link RequestRepository}),
+ * wie {@link Invoices} für die Rechnungen.
+ */
+public final class RequestLists {
+
+    private RequestLists() { }
+
+    /** Chips "Anfragen" (Tutor). */
+    public enum TutorRequestFilter { ALL, OPEN, ACCEPTED, REJECTED }
+
+    /** Chips "Betreute Arbeiten" (Tutor als Hauptbetreuer). */
+    public enum ThesisFilter { ALL, ABSTIMMUNG, IN_PROGRESS, FINISHED }
+
+    /** Chips "Zweitprüfung". */
+    public enum ReviewerFilter { ALL, PENDING, ACTIVE, FINISHED }
+
+    /** Chips im Student-Dashboard. */
+    public enum StudentFilter { ALL, REQUESTED, IN_PROGRESS, FINISHED }
+
+    /** Chip einer Zeile; null → erscheint nur unter "Alle". */
+    interface Grouping<F> {
+        @Nullable F groupOf(@NonNull ContactRequest r);
+    }
+
+    // ------------------------------------------------------------------
+    // Tutor: Anfragen
+    // ------------------------------------------------------------------
+
+    /** Anfragen, bei denen ich Hauptbetreuer:in bin, Status offen/angenommen/abgelehnt. */
+    static RequestSnapshot<TutorRequestFilter> tutorRequests(@NonNull List<ContactRequest> rows,
+                                                             @NonNull String myId) {
+        List<ContactRequest> mine = new ArrayList<>(rows.size());
+        for (ContactRequest r : rows) {
+            // Server und lokale Kopie filtern bereits – hier nur noch Absicherung
+            if (r == null || !myId.equals(r.supervisor_id)) continue;
+            if (tutorRequestGroup(r) != null) mine.add(r);
+        }
+        return new RequestSnapshot<>(TutorRequestFilter.class, TutorRequestFilter.ALL,
+                mine, RequestLists::tutorRequestGroup);
+    }
+
+    @Nullable
+    private static TutorRequestFilter tutorRequestGroup(@NonNull ContactRequest r) {
+        switch (r.thesisStatus()) {
+            case OPEN:     return TutorRequestFilter.OPEN;
+            case ACCEPTED: return TutorRequestFilter.ACCEPTED;
+            case REJECTED: return TutorRequestFilter.REJECTED;
+            default:       return null;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Tutor: betreute Arbeiten
+    // ------------------------------------------------------------------
+
+    /** Meine betreuten Arbeiten (Hauptbetreuer:in), angenommen bis beendet. */
+    static RequestSnapshot<ThesisFilter> supervisedTheses(@NonNull List<ContactRequest> rows,
+                                                          @NonNull String myId) {
+        List<ContactRequest> mine = new ArrayList<>(rows.size());
+        for (ContactRequest r : rows) {
+            if (r != null && myId.equals(r.supervisor_id) && r.thesisStatus().isThesis()) mine.add(r);
+        }
+        return new RequestSnapshot<>(ThesisFilter.class, ThesisFilter.ALL,
+                mine, RequestLists::thesisGroup);
+    }
+
+    @NonNull
+    private static ThesisFilter thesisGroup(@NonNull ContactRequest r) {
+        if (r.status == ThesisStatus.FINISHED) return ThesisFilter.FINISHED;
+        if (isAbstimmung(r)) return ThesisFilter.ABSTIMMUNG;
+        return ThesisFilter.IN_PROGRESS; // alles dazwischen
+    }
+
+    /** Angenommen, aber noch ohne zugesagten Zweitprüfer. */
+    static boolean isAbstimmung(@NonNull ContactRequest r) {
+        return r.status == ThesisStatus.ACCEPTED
+                && r.second_reviewer_status != ReviewerStatus.ACCEPTED;
+    }
+
+    // ------------------------------------------------------------------
+    // Zweitprüfung
+    // ------------------------------------------------------------------
+
+    /** Meine Zweitprüfungen (per id, sonst E-Mail), Rolle ausstehend oder angenommen. */
+    static RequestSnapshot<ReviewerFilter> reviewerTheses(@NonNull List<ContactRequest> rows,
+                                                          @Nullable String myId,
+                                                          @Nullable String myEmail) {
+        List<ContactRequest> mine = new ArrayList<>(rows.size());
+        for (ContactRequest r : rows) {
+            if (r == null || reviewerGroup(r) == null) continue;
+
+            boolean isMine = myId != null && myId.equals(r.second_reviewer_id);
+            // Fallback: Match nach E-Mail
+            if (!isMine && myEmail != null && r.second_reviewer_email != null
+                    && r.second_reviewer_email.equalsIgnoreCase(myEmail)) {
+                isMine = true;
+            }
+            if (isMine) mine.add(r);
+        }
+        return new RequestSnapshot<>(ReviewerFilter.class, ReviewerFilter.ALL,
+                mine, RequestLists::reviewerGroup);
+    }
+
+    @Nullable
+    private static ReviewerFilter reviewerGroup(@NonNull ContactRequest r) {
+        switch (r.reviewerStatus()) {
+            case PENDING:
+                return ReviewerFilter.PENDING;
+            case ACCEPTED:
+                return r.status == ThesisStatus.FINISHED ? ReviewerFilter.FINISHED : ReviewerFilter.ACTIVE;
+            default:
+                return null;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Student-Dashboard
+    // ------------------------------------------------------------------
+
+    /** Alle meine Anfragen; unter "Alle" stehen abgelehnte unten (sonst Ladereihenfolge). */
+    static RequestSnapshot<StudentFilter> studentRequests(@NonNull List<ContactRequest> rows) {
+        List<ContactRequest> active = new ArrayList<>(rows.size());
+        List<ContactRequest> rejected = new ArrayList<>();
+        for (ContactRequest r : rows) {
+            if (r == null) continue;
+            if (r.status == ThesisStatus.REJECTED) rejected.add(r); else active.add(r);
+        }
+        active.addAll(rejected);
+        return new RequestSnapshot<>(StudentFilter.class, StudentFilter.ALL,
+                active, RequestLists::studentGroup);
+    }
+
+    @Nullable
+    private static StudentFilter studentGroup(@NonNull ContactRequest r) {
+        ThesisStatus s = studentStatus(r);
+        switch (s) {
+            case OPEN:     return StudentFilter.REQUESTED;
+            case FINISHED: return StudentFilter.FINISHED;
+            case REJECTED: return null; // nur unter "Alle"
+            default:       return StudentFilter.IN_PROGRESS;
+        }
+    }
+
+    /** Ohne Status gilt eine Anfrage als angefragt. */
+    static ThesisStatus studentStatus(@NonNull ContactRequest r) {
+        return r.status != null ? r.status : ThesisStatus.OPEN;
+    }
+
+    // ------------------------------------------------------------------
+    // Stand
+    // ------------------------------------------------------------------
+
+    /** Unveränderlicher Stand inkl. vorgefilterter Listen je Chip (Chip-Wechsel ohne Rechnen). */
+    public static final class RequestSnapshot<F extends Enum<F>> {
+        public final List<ContactRequest> all;
+        private final Map<F, List<ContactRequest>> groups;
+
+        RequestSnapshot(@NonNull Class<F> type,
+                        @NonNull F allFilter,
+                        @NonNull List<ContactRequest> rows,
+                        @NonNull Grouping<F> grouping) {
+            Map<F, List<ContactRequest>> lists = new EnumMap<>(type);
+            for (ContactRequest r : rows) {
+                F g = grouping.groupOf(r);
+                if (g == null) continue;
+                List<ContactRequest> list = lists.get(g);
+                if (list == null) lists.put(g, list = new ArrayList<>());
+                list.add(r);
+            }
+            for (Map.Entry<F, List<ContactRequest>> e : lists.entrySet()) {
+                e.setValue(Collections.unmodifiableList(e.getValue()));
+            }
+            this.all = Collections.unmodifiableList(new ArrayList<>(rows));
+            lists.put(allFilter, all);
+            this.groups = lists;
+        }
+
+        /** Zeilen unter diesem Chip, in Listen-Reihenfolge. */
+        @NonNull
+        public List<ContactRequest> rows(@NonNull F filter) {
+            List<ContactRequest> list = groups.get(filter);
+            return list != null ? list : Collections.emptyList();
+        }
+
+        /** Zähler für das Chip-Label. */
+        public int count(@NonNull F filter) {
+            return rows(filter).size();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+
+/**
+ * Zerlegt die strukturierte Nachricht einer Anfrage, wie sie ContactFragment schreibt:
+ *
+ *   Titel: ...
+ *   Fachgebiet: ...        (ältere Nachrichten: "Fachbereich:")
+ *   Tutor: ...             (optional)
+ *   Beschreibung:
+ *   ... (bis zum Ende)
+ *
+ * Alte Nachrichten beginnen mit "Anfrage für Thema: &lt;Titel&gt;".
+ *
+ * Ohne Regex, aber mit denselben Treffern wie die früheren Muster der Adapter
+ * (siehe RequestMessageParserTest):
+ *   (?im)^\s*Titel\s*:\s*(.+)$   – analog Fachgebiet|Fachbereich und Tutor;
+ *                                   ein leerer Wert nimmt die nächste nicht-leere Zeile
+ *   (?is)\bBeschreibung\s*:\s*(.+)$ – auch mitten in einer Zeile, Rest der Nachricht
+ *
+ * Die Adapter rufen {@link #of(ContactRequest)} in onBindViewHolder auf – das Ergebnis
+ * wird pro Anfrage-id gemerkt und nur neu berechnet, wenn sich die Nachricht geändert hat.
+ */
+public final class RequestMessageParser {
+
+    public static final String LEGACY_PREFIX = "Anfrage für Thema:";
+
+    private static final int MAX_CACHED = 256;
+
+    /** Ergebnis; nicht gefundene Felder sind null. */
+    public static final class Parsed {
+        @Nullable public final String title;
+        @Nullable public final String area;
+        @Nullable public final String tutor;
+        @Nullable public final String desc;
+
+        Parsed(String title, String area, String tutor, String desc) {
+            this.title = title;
+            this.area = area;
+            this.tutor = tutor;
+            this.desc = desc;
+        }
+
+        /** Titel oder Fallback, falls keiner in der Nachricht steht. */
+        @NonNull
+        public String titleOr(@NonNull String fallback) {
+            return (title != null && !title.isEmpty()) ? title : fallback;
+        }
+    }
+
+    private static final Parsed EMPTY = new Parsed(null, null, null, null);
+
+    // Nicht "Entry": in der anonymen LinkedHashMap unten wäre das Map.Entry
+    private static final class CacheEntry {
+        final String message;
+        final Parsed parsed;
+
+        CacheEntry(String message, Parsed parsed) {
+            this.message = message;
+            this.parsed = parsed;
+        }
+    }
+
+    // LRU nach Zugriff; Zugriff nur über synchronized-Methoden
+    private static final Map<String, CacheEntry> CACHE =
+            new LinkedHashMap<String, CacheEntry>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > MAX_CACHED;
+                }
+            };
+
+    private RequestMessageParser() { }
+
+    /** Geparste Nachricht der Anfrage, gemerkt pro id. */
+    @NonNull
+    public static Parsed of(@Nullable ContactRequest r) {
+        if (r == null) return EMPTY;
+        if (r.id == null) return parse(r.message);
+
+        synchronized (CACHE) {
+            CacheEntry e = CACHE.get(r.id);
+            if (e != null && sameMessage(e.message, r.message)) return e.parsed;
+        }
+
+        Parsed p = parse(r.message);
+        synchronized (CACHE) {
+            CACHE.put(r.id, new CacheEntry(r.message, p));
+        }
+        return p;
+    }
+
+    /** Nur den Titel (Rechnungslisten u.ä.). */
+    @NonNull
+    public static String titleOf(@Nullable ContactRequest r, @NonNull String fallback) {
+        return of(r).titleOr(fallback);
+    }
+
+    /** Beim Logout bzw. wenn Speicher knapp wird. */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /** Ungecachte Variante für Nachrichten ohne id. */
+    @NonNull
+    public static Parsed parse(@Nullable String raw) {
+        if (raw == null) return EMPTY;
+        String msg = raw.trim();
+        if (msg.isEmpty()) return EMPTY;
+
+        if (msg.startsWith(LEGACY_PREFIX)) {
+            String t = msg.substring(LEGACY_PREFIX.length()).trim();
+            return new Parsed(t.isEmpty() ? null : t, null, null, msg);
+        }
+
+        String title = null, area = null, tutor = null;
+
+        // Schlüssel stehen am Zeilenanfang; jede Zeile einmal ansehen
+        int len = msg.length();
+        for (int start = 0; start < len; start = nextLine(msg, start, len)) {
+            int s = skipSpace(msg, start, len); // wie ^\s* – darf über Leerzeilen laufen
+            if (title == null) title = keyed(msg, s, len, "Titel");
+            if (area == null) {
+                area = keyed(msg, s, len, "Fachgebiet");
+                if (area == null) area = keyed(msg, s, len, "Fachbereich");
+            }
+            if (tutor == null) tutor = keyed(msg, s, len, "Tutor");
+        }
+
+        String desc = description(msg, len);
+
+        if (title == null && area == null && tutor == null && desc == null) desc = msg;
+        return new Parsed(title, area, tutor, desc);
+    }
+
+    // ------------------------------------------------------------------
+    // Helfer
+    // ------------------------------------------------------------------
+
+    private static boolean sameMessage(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Wert zu "&lt;key&gt; :" ab from (Groß-/Kleinschreibung egal), sonst null.
+     * Wie \s* nach dem Doppelpunkt dürfen Zeilenumbrüche übersprungen werden;
+     * der Wert geht dann bis zum Ende der nächsten nicht-leeren Zeile.
+     */
+    @Nullable
+    private static String keyed(String s, int from, int len, String key) {
+        int k = key.length();
+        if (len - from <= k || !s.regionMatches(true, from, key, 0, k)) return null;
+        int i = skipSpace(s, from + k, len);
+        if (i >= len || s.charAt(i) != ':') return null;
+        int v = skipSpace(s, i + 1, len);
+        if (v >= len) return null;
+        return s.substring(v, lineEnd(s, v, len)).trim();
+    }
+
+    /** Rest der Nachricht hinter dem ersten "Beschreibung:" am Wortanfang, sonst null. */
+    @Nullable
+    private static String description(String s, int len) {
+        final String key = "Beschreibung";
+        int k = key.length();
+        for (int i = 0; i + k < len; i++) {
+            char c = s.charAt(i);
+            if (c != 'b' && c != 'B') continue;
+            if (i > 0 && isWordChar(s.charAt(i - 1))) continue;
+            if (!s.regionMatches(true, i, key, 0, k)) continue;
+
+            int colon = skipSpace(s, i + k, len);
+            if (colon >= len || s.charAt(colon) != ':' || colon + 1 >= len) continue;
+            return s.substring(colon + 1).trim();
+        }
+        return null;
+    }
+
+    /** Whitespace wie \s in java.util.regex. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** Zeilenende wie bei . und $ (\n, \r, \u0085, \u2028, \u2029). */
+    private static boolean isLineEnd(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /** Wortzeichen für \b (Unicode-Buchstaben wie auf Android). */
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static int skipSpace(String s, int from, int to) {
+        while (from < to && isSpace(s.charAt(from))) from++;
+        return from;
+    }
+
+    private static int lineEnd(String s, int from, int to) {
+        while (from < to && !isLineEnd(s.charAt(from))) from++;
+        return from;
+    }
+
+    /** Anfang der nächsten Zeile (hinter \n, \r\n, \r, ...), sonst to. */
+    private static int nextLine(String s, int from, int to) {
+        int e = lineEnd(s, from, to);
+        if (e < to && s.charAt(e) == '\r' && e + 1 < to && s.charAt(e + 1) == '\n') e++;
+        return e + 1;
+    }
+}
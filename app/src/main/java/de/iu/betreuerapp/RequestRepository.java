@@ -0,0 +1,241 @@
+package de.iu.betreuerapp;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.iu.betreuerapp.Invoices.InvoiceRow;
+import de.iu.betreuerapp.Invoices.InvoiceSnapshot;
+import de.iu.betreuerapp.RequestLists.RequestSnapshot;
+import de.iu.betreuerapp.RequestLists.ReviewerFilter;
+import de.iu.betreuerapp.RequestLists.StudentFilter;
+import de.iu.betreuerapp.RequestLists.ThesisFilter;
+import de.iu.betreuerapp.RequestLists.TutorRequestFilter;
+import de.iu.betreuerapp.dto.ContactRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Anfragen (contact_requests) für die Rechnungs- und Anfragen-Listen.
+ *
+ * Die Fragments beobachten einen fertigen Stand ({@link InvoiceSnapshot} bzw.
+ * {@link RequestSnapshot}). Rollen-Erkennung, Status-Normalisierung, Filterlisten
+ * und Zähler entstehen im Hintergrund (siehe {@link SnapshotLiveData}); auf dem
+ * Main-Thread bleibt nur das Anzeigen. Der letzte Stand bleibt bis zum Logout
+ * erhalten – beim erneuten Öffnen ist die Liste sofort da.
+ *
+ * Rechnungen lädt das Repository selbst. Die Anfragen-Listen laden weiterhin die
+ * Fragments (Seiten, Delta, Realtime, lokale Kopie) und reichen jeden neuen Rohstand
+ * per submit…() herein.
+ */
+public class RequestRepository {
+
+    private static volatile RequestRepository instance;
+
+    public static RequestRepository get(@NonNull Context ctx) {
+        RequestRepository r = instance;
+        if (r == null) {
+            synchronized (RequestRepository.class) {
+                r = instance;
+                if (r == null) {
+                    r = new RequestRepository(SupabaseClient.get(ctx));
+                    instance = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    /** Fehler beim Laden, auf dem Main-Thread. */
+    public interface Failure {
+        void onFailed(@NonNull String message);
+    }
+
+    /** Zeilen pro Seite beim gestreamten Lesen (erste Seite = erste Anzeige). */
+    static final int STREAM_PAGE_SIZE = KeysetPager.DEFAULT_PAGE_SIZE;
+
+    private final SupabaseClient client;
+
+    private final SnapshotLiveData<InvoiceSnapshot> tutorInvoices = new SnapshotLiveData<>();
+    private final SnapshotLiveData<InvoiceSnapshot> studentInvoices = new SnapshotLiveData<>();
+
+    private final SnapshotLiveData<RequestSnapshot<TutorRequestFilter>> tutorRequests = new SnapshotLiveData<>();
+    private final SnapshotLiveData<RequestSnapshot<ThesisFilter>> supervisedTheses = new SnapshotLiveData<>();
+    private final SnapshotLiveData<RequestSnapshot<ReviewerFilter>> reviewerTheses = new SnapshotLiveData<>();
+    private final SnapshotLiveData<RequestSnapshot<StudentFilter>> studentRequests = new SnapshotLiveData<>();
+
+    private RequestRepository(SupabaseClient client) {
+        this.client = client;
+    }
+
+    public LiveData<InvoiceSnapshot> tutorInvoices()   { return tutorInvoices; }
+    public LiveData<InvoiceSnapshot> studentInvoices() { return studentInvoices; }
+
+    public LiveData<RequestSnapshot<TutorRequestFilter>> tutorRequests()  { return tutorRequests; }
+    public LiveData<RequestSnapshot<ThesisFilter>> supervisedTheses()     { return supervisedTheses; }
+    public LiveData<RequestSnapshot<ReviewerFilter>> reviewerTheses()     { return reviewerTheses; }
+    public LiveData<RequestSnapshot<StudentFilter>> studentRequests()     { return studentRequests; }
+
+    /** Beim Logout: Stände anderer Benutzer nicht weiter anzeigen. */
+    public void clear() {
+        tutorInvoices.publish(null);
+        studentInvoices.publish(null);
+        tutorRequests.publish(null);
+        supervisedTheses.publish(null);
+        reviewerTheses.publish(null);
+        studentRequests.publish(null);
+    }
+
+    // ------------------------------------------------------------------
+    // Anfragen-Listen: neuer Rohstand → Stand im Hintergrund
+    // ------------------------------------------------------------------
+    // Die Liste wird hier kopiert; der Aufrufer darf seine Liste danach weiter ändern.
+
+    public void submitTutorRequests(@NonNull List<ContactRequest> rows, @NonNull String myId) {
+        List<ContactRequest> copy = new ArrayList<>(rows);
+        tutorRequests.compute(() -> RequestLists.tutorRequests(copy, myId));
+    }
+
+    public void submitSupervisedTheses(@NonNull List<ContactRequest> rows, @NonNull String myId) {
+        List<ContactRequest> copy = new ArrayList<>(rows);
+        supervisedTheses.compute(() -> RequestLists.supervisedTheses(copy, myId));
+    }
+
+    public void submitReviewerTheses(@NonNull List<ContactRequest> rows,
+                                     @Nullable String myId,
+                                     @Nullable String myEmail) {
+        List<ContactRequest> copy = new ArrayList<>(rows);
+        reviewerTheses.compute(() -> RequestLists.reviewerTheses(copy, myId, myEmail));
+    }
+
+    public void submitStudentRequests(@NonNull List<ContactRequest> rows) {
+        List<ContactRequest> copy = new ArrayList<>(rows);
+        studentRequests.compute(() -> RequestLists.studentRequests(copy));
+    }
+
+    // ------------------------------------------------------------------
+    // Laden
+    // ------------------------------------------------------------------
+
+    /**
+     * Rechnungen, bei denen ich Betreuer:in oder (akzeptierte:r) Zweitprüfer:in bin.
+     *
+     * Die Antwort wird zeilenweise gelesen und geprüft ({@link RowStream}); ist noch
+     * nichts zu sehen, erscheint die erste Seite, bevor der Rest geladen ist.
+     */
+    public void refreshTutorInvoices(@Nullable String myId,
+                                     @Nullable String myEmail,
+                                     @NonNull Failure onFailure) {
+        client.restService()
+                .getTutorInvoiceRequests(
+                        invoiceFilter(myId, myEmail),
+                        SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS)
+                .enqueue(new Callback<RowStream<ContactRequest>>() {
+                    @Override
+                    public void onResponse(@NonNull Call<RowStream<ContactRequest>> call,
+                                           @NonNull Response<RowStream<ContactRequest>> response) {
+                        RowStream<ContactRequest> stream = response.body();
+                        if (!response.isSuccessful() || stream == null) {
+                            tutorInvoices.publish(InvoiceSnapshot.EMPTY);
+                            onFailure.onFailed("Fehler beim Laden: " + response.code());
+                            return;
+                        }
+                        readTutorRows(stream, myId, myEmail, onFailure);
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<RowStream<ContactRequest>> call,
+                                          @NonNull Throwable t) {
+                        tutorInvoices.publish(InvoiceSnapshot.EMPTY);
+                        onFailure.onFailed("Netzwerkfehler: " + t.getMessage());
+                    }
+                });
+    }
+
+    private void readTutorRows(@NonNull RowStream<ContactRequest> stream,
+                               @Nullable String myId,
+                               @Nullable String myEmail,
+                               @NonNull Failure onFailure) {
+        List<InvoiceRow> rows = new ArrayList<>();
+        // Vorhandener Stand bleibt bis zum Ende stehen (sonst springt die Liste kurz zusammen)
+        boolean showEarly = isEmpty(tutorInvoices.getValue());
+
+        stream.readPages(STREAM_PAGE_SIZE, r -> Invoices.tutorRow(r, myId, myEmail), new RowStream.Pages<InvoiceRow>() {
+            @Override
+            public void onPage(@NonNull List<InvoiceRow> page, boolean first) {
+                rows.addAll(page);
+                if (first && showEarly) tutorInvoices.publish(new InvoiceSnapshot(rows));
+            }
+
+            @Override
+            public void onDone(int total) {
+                tutorInvoices.compute(() -> new InvoiceSnapshot(rows));
+            }
+
+            @Override
+            public void onFailed(@NonNull String message) {
+                if (rows.isEmpty() && isEmpty(tutorInvoices.getValue())) {
+                    tutorInvoices.publish(InvoiceSnapshot.EMPTY);
+                }
+                onFailure.onFailed(message);
+            }
+        });
+    }
+
+    private static boolean isEmpty(@Nullable InvoiceSnapshot s) {
+        return s == null || s.all.isEmpty();
+    }
+
+    /** Rechnungen zu meinen Arbeiten (Student-Sicht). */
+    public void refreshStudentInvoices(@NonNull String studentId, @NonNull Failure onFailure) {
+        client.restService()
+                .getContactRequests("eq." + studentId,
+                        SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS)
+                .enqueue(new Callback<List<ContactRequest>>() {
+                    @Override
+                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
+                                           @NonNull Response<List<ContactRequest>> response) {
+                        if (!response.isSuccessful() || response.body() == null) {
+                            studentInvoices.publish(InvoiceSnapshot.EMPTY);
+                            onFailure.onFailed("Fehler beim Laden: " + response.code());
+                            return;
+                        }
+                        List<ContactRequest> body = response.body();
+                        studentInvoices.compute(() -> Invoices.studentRows(body));
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
+                                          @NonNull Throwable t) {
+                        studentInvoices.publish(InvoiceSnapshot.EMPTY);
+                        onFailure.onFailed("Netzwerkfehler: " + t.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Serverseitiger Vorfilter: ich bin Betreuer oder Zweitprüfer (ID oder E-Mail)
+     * UND (Abrechnungsphase ODER irgendeine Rechnung existiert).
+     * Die genaue Prüfung (z.B. Zweitprüfer akzeptiert, EIGENE Rechnung) macht {@link Invoices#tutorRow}.
+     */
+    static String invoiceFilter(@Nullable String myId, @Nullable String myEmail) {
+        String role = PostgrestFilter.orGroup(
+                myId != null ? PostgrestFilter.cond("supervisor_id", "eq", myId) : null,
+                myId != null ? PostgrestFilter.cond("second_reviewer_id", "eq", myId) : null,
+                myEmail != null ? PostgrestFilter.ilikeExact("supervisor_email", myEmail) : null,
+                myEmail != null ? PostgrestFilter.ilikeExact("second_reviewer_email", myEmail) : null);
+
+        String phase = PostgrestFilter.orGroup(
+                "status.in.(colloquium_held,invoiced,finished)",
+                "invoice_supervisor_created.is.true",
+                "invoice_reviewer_created.is.true");
+
+        return PostgrestFilter.and(role, phase);
+    }
+}
@@ -0,0 +1,144 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * JSON-Array-Antwort, die Zeile für Zeile gelesen wird, während sie noch lädt.
+ *
+ * Statt {@code Call<List<T>>} deklariert ein Endpoint {@code @Streaming Call<RowStream<T>>}.
+ * Der Converter ({@link #factory}) liest dann noch nichts – erst {@link #readPages}
+ * zieht die Zeilen per JsonReader aus dem Body (im Hintergrund), filtert/wandelt sie
+ * einzeln und meldet Seiten auf dem Main-Thread. Die erste Seite ist sichtbar, bevor
+ * der Rest heruntergeladen ist; im Speicher liegen nie der ganze Body oder eine
+ * komplette Zwischenliste, nur das, was der Aufrufer behält.
+ *
+ * Ein RowStream ist eine offene Verbindung: genau einmal lesen oder {@link #close()}.
+ * Solche Calls werden deshalb nicht von {@link SingleFlight} geteilt.
+ *
+ * Body-Logging puffert die komplette Antwort; für @Streaming-Endpoints loggt
+ * {@link HttpLogging} deshalb höchstens Header.
+ */
+public final class RowStream<T> implements Closeable {
+
+    /** Wandelt/filtert eine Zeile (Hintergrund-Thread); null → Zeile überspringen. */
+    public interface Mapper<T, R> {
+        @Nullable R map(@NonNull T row);
+    }
+
+    /** Ergebnis seitenweise, alles auf dem Main-Thread. */
+    public interface Pages<R> {
+        void onPage(@NonNull List<R> page, boolean first);
+        void onDone(int total);
+        void onFailed(@NonNull String message);
+    }
+
+    private final ResponseBody body;
+    private final TypeAdapter<T> adapter;
+    private final Gson gson;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    private RowStream(ResponseBody body, TypeAdapter<T> adapter, Gson gson) {
+        this.body = body;
+        this.adapter = adapter;
+        this.gson = gson;
+    }
+
+    /**
+     * Liest alle Zeilen auf {@link AppExecutors#io()}; je pageSize angenommene Zeilen
+     * (nach mapper) gibt es ein onPage, am Ende onDone bzw. onFailed.
+     */
+    public <R> void readPages(int pageSize, @NonNull Mapper<T, R> mapper, @NonNull Pages<R> pages) {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("RowStream wurde schon gelesen");
+        }
+        AppExecutors.io().execute(() -> {
+            List<R> page = new ArrayList<>(pageSize);
+            boolean first = true;
+            int total = 0;
+
+            try (JsonReader reader = gson.newJsonReader(body.charStream())) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    T row = adapter.read(reader);
+                    R mapped = (row == null) ? null : mapper.map(row);
+                    if (mapped == null) continue;
+
+                    page.add(mapped);
+                    total++;
+                    if (page.size() == pageSize) {
+                        deliver(pages, page, first);
+                        page = new ArrayList<>(pageSize);
+                        first = false;
+                    }
+                }
+                reader.endArray();
+            } catch (IOException | RuntimeException e) {
+                String message = "Netzwerkfehler: " + e.getMessage();
+                AppExecutors.main().execute(() -> pages.onFailed(message));
+                return;
+            }
+
+            if (!page.isEmpty() || first) deliver(pages, page, first);
+            int count = total;
+            AppExecutors.main().execute(() -> pages.onDone(count));
+        });
+    }
+
+    private static <R> void deliver(Pages<R> pages, List<R> page, boolean first) {
+        AppExecutors.main().execute(() -> pages.onPage(page, first));
+    }
+
+    /** Nicht gelesen → Verbindung freigeben. */
+    @Override
+    public void close() {
+        if (consumed.compareAndSet(false, true)) body.close();
+    }
+
+    // ------------------------------------------------------------------
+
+    /** Vor GsonConverterFactory registrieren (die nimmt sonst jeden Typ). */
+    @NonNull
+    public static Converter.Factory factory(@NonNull Gson gson) {
+        return new Converter.Factory() {
+            @Nullable
+            @Override
+            public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type,
+                                                                    @NonNull Annotation[] annotations,
+                                                                    @NonNull Retrofit retrofit) {
+                if (!isRowStream(type)) return null;
+                Type rowType = getParameterUpperBound(0, (ParameterizedType) type);
+                TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(rowType));
+                return body -> open(body, adapter, gson);
+            }
+        };
+    }
+
+    /** true für {@code RowStream<T>} (auch als Rückgabetyp eines Calls geprüft). */
+    static boolean isRowStream(@NonNull Type type) {
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getRawType() == RowStream.class;
+    }
+
+    private static <T> RowStream<T> open(ResponseBody body, TypeAdapter<T> adapter, Gson gson) {
+        return new RowStream<>(body, adapter, gson);
+    }
+}
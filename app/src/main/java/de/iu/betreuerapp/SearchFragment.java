@@ -16,13 +16,13 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * "Betreuer finden" (Student-Sicht)
+ *
+ * Gesucht wird über {@link SupervisorSearchEngine} (entprellt, im Hintergrund).
  */
 public class SearchFragment extends Fragment {
 
@@ -34,10 +34,10 @@ public class SearchFragment extends Fragment {
 
     private ArrayAdapter<SupervisorDirectory.Entry> adapter;
 
-    private final List<SupervisorDirectory.Entry> allEntries =
-            new ArrayList<>(Arrays.asList(SupervisorDirectory.getAll()));
     private final List<SupervisorDirectory.Entry> filteredEntries = new ArrayList<>();
 
+    private SupervisorSearchEngine searchEngine;
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -56,16 +56,24 @@ public class SearchFragment extends Fragment {
         listView    = view.findViewById(R.id.list_supervisors);
         emptyView   = view.findViewById(R.id.tv_empty);
 
+        searchEngine = new SupervisorSearchEngine(this::showResults);
+
         setupAreaSpinner();
         setupList();
         setupSearch();
 
         // initiale Liste
-        applyFilter();
+        applyFilter(true);
 
         return view;
     }
 
+    @Override
+    public void onDestroyView() {
+        if (searchEngine != null) searchEngine.cancel();
+        super.onDestroyView();
+    }
+
     // ----------------------------------------------------
     // Setup
     // ----------------------------------------------------
@@ -76,7 +84,7 @@ public class SearchFragment extends Fragment {
         areas.add("Alle Bereiche");
 
         HashSet<String> seen = new HashSet<>();
-        for (SupervisorDirectory.Entry e : allEntries) {
+        for (SupervisorDirectory.Entry e : SupervisorDirectory.getAll()) {
             if (e == null) continue;
             if (e.area != null) {
                 String a = e.area.trim();
@@ -98,7 +106,7 @@ public class SearchFragment extends Fragment {
         // WICHTIG: sofort filtern, wenn Auswahl geändert wird
         areaSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                applyFilter();
+                applyFilter(true);
             }
             @Override public void onNothingSelected(AdapterView<?> parent) { }
         });
@@ -153,16 +161,16 @@ public class SearchFragment extends Fragment {
         searchInput.addTextChangedListener(new android.text.TextWatcher() {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override public void onTextChanged(CharSequence s, int start, int before, int count) {}
-            @Override public void afterTextChanged(android.text.Editable s) { applyFilter(); }
+            @Override public void afterTextChanged(android.text.Editable s) { applyFilter(false); }
         });
     }
 
     // ----------------------------------------------------
     // Filter-Logik
     // ----------------------------------------------------
-    private void applyFilter() {
+    private void applyFilter(boolean immediate) {
         String query = (searchInput.getText() != null)
-                ? searchInput.getText().toString().trim().toLowerCase(Locale.ROOT)
+                ? searchInput.getText().toString()
                 : "";
 
         // "Alle Bereiche" => kein Area-Filter
@@ -175,27 +183,15 @@ public class SearchFragment extends Fragment {
             }
         }
 
-        filteredEntries.clear();
-
-        for (SupervisorDirectory.Entry e : allEntries) {
-            if (e == null) continue;
-
-            // Fachbereich-Filter
-            if (selectedArea != null) {
-                String area = e.area != null ? e.area.trim() : "";
-                if (!area.equalsIgnoreCase(selectedArea)) continue;
-            }
-
-            // Textsuche: Name + E-Mail + Fach + Beschreibung
-            if (!query.isEmpty()) {
-                String hay = (safe(e.name) + " " + safe(e.email) + " " + safe(e.area) + " " + safe(e.areaInfo))
-                        .toLowerCase(Locale.ROOT);
-                if (!hay.contains(query)) continue;
-            }
+        // Textsuche über Name + E-Mail + Fach + Beschreibung, Ergebnis kommt in showResults()
+        searchEngine.search(query, selectedArea, immediate);
+    }
 
-            filteredEntries.add(e);
-        }
+    private void showResults(@NonNull List<SupervisorDirectory.Entry> results) {
+        if (adapter == null) return;
 
+        filteredEntries.clear();
+        filteredEntries.addAll(results);
         adapter.notifyDataSetChanged();
 
         if (emptyView != null) {
@@ -205,8 +201,6 @@ public class SearchFragment extends Fragment {
         }
     }
 
-    private String safe(String s) { return s == null ? "" : s; }
-
     // ----------------------------------------------------
     // Navigation
     // ----------------------------------------------------
@@ -16,10 +16,15 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
+import de.iu.betreuerapp.RequestLists.RequestSnapshot;
+import de.iu.betreuerapp.RequestLists.ReviewerFilter;
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ReviewerStatus;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -35,18 +40,23 @@ import retrofit2.Response;
  *  - Ausstehend (pending)
  *  - Aktiv (accepted & Arbeit nicht finished)
  *  - Beendet (accepted & Arbeit finished)
+ *
+ * Mehrfachauswahl (lange drücken): mehrere Einladungen auf einmal annehmen
+ * oder ablehnen, siehe {@link BatchUpdate}.
  */
 public class SecondReviewerThesesFragment extends Fragment {
 
     private TextView chipAll, chipPending, chipActive, chipFinished;
     private RecyclerView rvList;
+    private SecondAdapter adapter;
+    private MultiSelection selection;
 
+    // geladene Zeilen (Rohstand); Zuordnung, Filter und Zähler macht RequestRepository
     private final List<ContactRequest> all = new ArrayList<>();
-    private final List<ContactRequest> visible = new ArrayList<>();
-
-    private enum FilterType { ALL, PENDING, ACTIVE, FINISHED }
+    @Nullable private RequestSnapshot<ReviewerFilter> snapshot;
+    @Nullable private String myId, myEmail;
 
-    private FilterType currentFilter = FilterType.ALL;
+    private ReviewerFilter currentFilter = ReviewerFilter.ALL;
 
     private static final int ORANGE = Color.parseColor("#FF9800");
     private static final int GRAY_TEXT = Color.parseColor("#666666");
@@ -69,8 +79,16 @@ public class SecondReviewerThesesFragment extends Fragment {
         chipFinished = root.findViewById(R.id.chip_filter_finished);
         rvList       = root.findViewById(R.id.rv_theses);
 
+        selection = new MultiSelection(root,
+                () -> adapter.notifyItemRangeChanged(0, adapter.getItemCount()));
+        selection.setAction("Annehmen",
+                v -> updateSecondReviewerStatus(selectedRequests(), ReviewerStatus.ACCEPTED));
+        selection.setSecondaryAction("Ablehnen",
+                v -> updateSecondReviewerStatus(selectedRequests(), ReviewerStatus.REJECTED));
+
         rvList.setLayoutManager(new LinearLayoutManager(requireContext()));
-        rvList.setAdapter(new SecondAdapter(visible, this::showDetailDialog));
+        adapter = new SecondAdapter(this::showDetailDialog, selection);
+        rvList.setAdapter(adapter);
 
         setupFilterChips();
         loadData();
@@ -78,14 +96,24 @@ public class SecondReviewerThesesFragment extends Fragment {
         return root;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .reviewerTheses()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+    }
+
     // ---------------- Filter-Chips ----------------
 
     private void setupFilterChips() {
         View.OnClickListener l = v -> {
-            if (v == chipAll)        currentFilter = FilterType.ALL;
-            else if (v == chipPending)  currentFilter = FilterType.PENDING;
-            else if (v == chipActive)   currentFilter = FilterType.ACTIVE;
-            else if (v == chipFinished) currentFilter = FilterType.FINISHED;
+            if (v == chipAll)        currentFilter = ReviewerFilter.ALL;
+            else if (v == chipPending)  currentFilter = ReviewerFilter.PENDING;
+            else if (v == chipActive)   currentFilter = ReviewerFilter.ACTIVE;
+            else if (v == chipFinished) currentFilter = ReviewerFilter.FINISHED;
             updateChipUI();
             applyFilter();
         };
@@ -99,10 +127,10 @@ public class SecondReviewerThesesFragment extends Fragment {
     }
 
     private void updateChipUI() {
-        setChipActive(chipAll,      currentFilter == FilterType.ALL);
-        setChipActive(chipPending,  currentFilter == FilterType.PENDING);
-        setChipActive(chipActive,   currentFilter == FilterType.ACTIVE);
-        setChipActive(chipFinished, currentFilter == FilterType.FINISHED);
+        setChipActive(chipAll,      currentFilter == ReviewerFilter.ALL);
+        setChipActive(chipPending,  currentFilter == ReviewerFilter.PENDING);
+        setChipActive(chipActive,   currentFilter == ReviewerFilter.ACTIVE);
+        setChipActive(chipFinished, currentFilter == ReviewerFilter.FINISHED);
     }
 
     private void setChipActive(TextView chip, boolean active) {
@@ -119,25 +147,44 @@ public class SecondReviewerThesesFragment extends Fragment {
     // ---------------- Laden & Filtern ----------------
 
     private void loadData() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String myId = sm.userId();
         String myEmail = sm.email();
+        this.myId = myId;
+        this.myEmail = myEmail;
 
         if (myId == null && myEmail == null) {
             Toast.makeText(requireContext(),
                     "Fehler: Benutzer nicht erkannt. Bitte neu anmelden.",
                     Toast.LENGTH_LONG).show();
             all.clear();
-            visible.clear();
-            if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-            updateSummary();
+            showSnapshot(null);
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .listContactRequests()
-                .enqueue(new Callback<List<ContactRequest>>() {
+        // sofort den lokalen Stand zeigen, danach mit dem Server abgleichen
+        final boolean[] networkLoaded = {false};
+        LocalStore store = LocalStore.get(requireContext());
+        LocalStore.Scope scope = LocalStore.Scope.reviewerRequests(myId, myEmail, "pending", "accepted");
+        store.read(st -> st.queryRequests(scope, 0), Collections.emptyList(), cached -> {
+            if (!isAdded() || networkLoaded[0]) return;
+            all.clear();
+            all.addAll(cached);
+            submitRows();
+        });
+
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        // Nur meine Zweitprüfer-Einträge (ID oder E-Mail) mit pending/accepted
+        String reviewerOr = PostgrestFilter.or(
+                myId != null ? PostgrestFilter.cond("second_reviewer_id", "eq", myId) : null,
+                myEmail != null ? PostgrestFilter.ilikeExact("second_reviewer_email", myEmail) : null);
+
+        CallScope.of(this).enqueue(client.restService()
+                .getSecondReviewerRequests(
+                        reviewerOr,
+                        PostgrestFilter.in("pending", "accepted"),
+                        SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
@@ -145,114 +192,79 @@ public class SecondReviewerThesesFragment extends Fragment {
                             Toast.makeText(requireContext(),
                                     "Fehler beim Laden: " + response.code(),
                                     Toast.LENGTH_LONG).show();
-                            all.clear();
-                            visible.clear();
-                            if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                            updateSummary();
+                            if (!all.isEmpty()) return; // lokalen Stand stehen lassen
+                            submitRows();
                             return;
                         }
 
-                        all.clear();
-
-                        for (ContactRequest r : response.body()) {
-                            if (r == null) continue;
-
-                            String srs = norm(r.second_reviewer_status);
-                            if (!"pending".equals(srs) && !"accepted".equals(srs)) {
-                                continue; // nur relevante Stati
-                            }
-
-                            boolean isMine = false;
-
-                            // Match nach ID
-                            if (myId != null && r.second_reviewer_id != null
-                                    && r.second_reviewer_id.equals(myId)) {
-                                isMine = true;
-                            }
-
-                            // Fallback: Match nach E-Mail
-                            if (!isMine && myEmail != null && r.second_reviewer_email != null
-                                    && r.second_reviewer_email.equalsIgnoreCase(myEmail)) {
-                                isMine = true;
-                            }
-
-                            if (isMine) {
-                                all.add(r);
-                            }
-                        }
+                        networkLoaded[0] = true;
+                        List<ContactRequest> fresh = response.body();
+                        store.write(st -> st.replaceRequests(scope, fresh, true));
 
-                        applyFilter();
+                        all.clear();
+                        all.addAll(fresh);
+                        submitRows();
                     }
 
                     @Override
                     public void onFailure(@NonNull Call<List<ContactRequest>> call,
                                           @NonNull Throwable t) {
+                        if (!all.isEmpty()) {
+                            // lokale Kopie wird schon angezeigt → stehen lassen
+                            Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
                         Toast.makeText(requireContext(),
                                 "Netzwerkfehler: " + t.getMessage(),
                                 Toast.LENGTH_LONG).show();
-                        all.clear();
-                        visible.clear();
-                        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                        updateSummary();
+                        submitRows();
                     }
                 });
     }
 
-    private void applyFilter() {
-        visible.clear();
-
-        for (ContactRequest r : all) {
-            if (matchesFilter(r)) {
-                visible.add(r);
-            }
-        }
+    /** Rohstand ans Repository; der fertige Stand kommt über {@link #showSnapshot}. */
+    private void submitRows() {
+        if (myId == null && myEmail == null) return;
+        RequestRepository.get(requireContext()).submitReviewerTheses(all, myId, myEmail);
+    }
 
-        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
+    private void showSnapshot(@Nullable RequestSnapshot<ReviewerFilter> s) {
+        snapshot = s;
+        applyFilter();
         updateSummary();
     }
 
-    private boolean matchesFilter(ContactRequest r) {
-        String srs = norm(r.second_reviewer_status);
-        String st  = norm(r.status);
-
-        switch (currentFilter) {
-            case ALL:
-                return true;
-            case PENDING:
-                return "pending".equals(srs);
-            case ACTIVE:
-                return "accepted".equals(srs) && !"finished".equals(st);
-            case FINISHED:
-                return "accepted".equals(srs) && "finished".equals(st);
-            default:
-                return true;
-        }
+    private List<ContactRequest> rowsFor(ReviewerFilter filter) {
+        return snapshot == null ? Collections.emptyList() : snapshot.rows(filter);
     }
 
-    private void updateSummary() {
-        int total    = all.size();
-        int pending  = 0;
-        int active   = 0;
-        int finished = 0;
-
-        for (ContactRequest r : all) {
-            String srs = norm(r.second_reviewer_status);
-            String st  = norm(r.status);
-            if ("pending".equals(srs)) pending++;
-            else if ("accepted".equals(srs)) {
-                if ("finished".equals(st)) finished++;
-                else active++;
-            }
-        }
+    private int countOf(ReviewerFilter filter) {
+        return snapshot == null ? 0 : snapshot.count(filter);
+    }
+
+    private void applyFilter() {
+        List<ContactRequest> rows = rowsFor(currentFilter);
+        adapter.submitList(rows);
 
-        chipAll.setText("Alle (" + total + ")");
-        chipPending.setText("Ausstehend (" + pending + ")");
-        chipActive.setText("Aktiv (" + active + ")");
-        chipFinished.setText("Beendet (" + finished + ")");
+        List<String> keys = new ArrayList<>(rows.size());
+        for (ContactRequest r : rows) keys.add(r.id);
+        selection.retain(keys);
     }
 
-    private String norm(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    /** Markierte Einträge in der Reihenfolge der Liste. */
+    private List<ContactRequest> selectedRequests() {
+        List<ContactRequest> out = new ArrayList<>();
+        for (ContactRequest r : rowsFor(currentFilter)) {
+            if (selection.isSelected(r.id)) out.add(r);
+        }
+        return out;
+    }
+
+    private void updateSummary() {
+        chipAll.setText("Alle (" + countOf(ReviewerFilter.ALL) + ")");
+        chipPending.setText("Ausstehend (" + countOf(ReviewerFilter.PENDING) + ")");
+        chipActive.setText("Aktiv (" + countOf(ReviewerFilter.ACTIVE) + ")");
+        chipFinished.setText("Beendet (" + countOf(ReviewerFilter.FINISHED) + ")");
     }
 
     // ---------------- Detail-Dialog & Status ----------------
@@ -260,7 +272,38 @@ public class SecondReviewerThesesFragment extends Fragment {
     private void showDetailDialog(ContactRequest r) {
         if (r == null) return;
 
-        SecondAdapter.Parsed p = SecondAdapter.parseMessage(r.message);
+        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
+                .setTitle("Zweitprüfung")
+                .setMessage(detailText(r))
+                .setNeutralButton("Schließen", null);
+
+        if (r.reviewerStatus() == ReviewerStatus.PENDING) {
+            b.setPositiveButton("Annehmen",
+                    (d, w) -> updateSecondReviewerStatus(Collections.singletonList(r), ReviewerStatus.ACCEPTED));
+            b.setNegativeButton("Ablehnen",
+                    (d, w) -> updateSecondReviewerStatus(Collections.singletonList(r), ReviewerStatus.REJECTED));
+        }
+
+        AlertDialog dlg = b.create();
+        dlg.setOnShowListener(di -> {
+            if (dlg.getButton(AlertDialog.BUTTON_POSITIVE)  != null)
+                dlg.getButton(AlertDialog.BUTTON_POSITIVE).setTextColor(Color.BLACK);
+            if (dlg.getButton(AlertDialog.BUTTON_NEGATIVE)  != null)
+                dlg.getButton(AlertDialog.BUTTON_NEGATIVE).setTextColor(Color.BLACK);
+            if (dlg.getButton(AlertDialog.BUTTON_NEUTRAL)   != null)
+                dlg.getButton(AlertDialog.BUTTON_NEUTRAL).setTextColor(Color.BLACK);
+        });
+        dlg.show();
+
+        // expose_url fehlt im Listen-Stand → komplette Zeile nachladen
+        RequestDetails.loadFull(this, r, full -> {
+            if (dlg.isShowing()) dlg.setMessage(detailText(full));
+        });
+    }
+
+    /** Text des Detail-Dialogs (Listen-Stand oder komplette Zeile). */
+    private String detailText(ContactRequest r) {
+        RequestMessageParser.Parsed p = RequestMessageParser.of(r);
 
         // Fachgebiet mit Fallback über Directory
         String area = p.area;
@@ -299,126 +342,74 @@ public class SecondReviewerThesesFragment extends Fragment {
             msg.append("Exposé:\n").append(r.expose_url).append("\n\n");
         }
 
-        String srs = norm(r.second_reviewer_status);
-        String st  = norm(r.status);
+        msg.append("Zweitprüfer-Status: ").append(r.reviewerStatus().title).append("\n");
+        msg.append("Arbeit-Status: ").append(r.thesisStatus().label);
 
-        msg.append("Zweitprüfer-Status: ").append(mapSecondStatus(srs)).append("\n");
-        msg.append("Arbeit-Status: ").append(mapMainStatus(st));
+        return msg.toString();
+    }
 
-        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
-                .setTitle("Zweitprüfung")
-                .setMessage(msg.toString())
-                .setNeutralButton("Schließen", null);
+    /** Ein PATCH für alle ausgewählten (noch ausstehenden) Einladungen. */
+    private void updateSecondReviewerStatus(List<ContactRequest> requests, ReviewerStatus newStatus) {
+        List<String> ids = new ArrayList<>();
+        Map<String, String> labels = new LinkedHashMap<>(); // id (= Zeilen-Schlüssel) → Beschriftung
+        MultiSelection.Problems problems = new MultiSelection.Problems();
 
-        if ("pending".equals(srs)) {
-            b.setPositiveButton("Annehmen",
-                    (d, w) -> updateSecondReviewerStatus(r, "accepted"));
-            b.setNegativeButton("Ablehnen",
-                    (d, w) -> updateSecondReviewerStatus(r, "rejected"));
+        for (int i = 0; i < requests.size(); i++) {
+            ContactRequest r = requests.get(i);
+            String label = RequestMessageParser.titleOf(r, "Arbeit");
+            if (r.student_name != null && !r.student_name.isEmpty()) {
+                label += " (" + r.student_name + ")";
+            }
+            if (r.id == null) {
+                problems.put("#" + i, label, "Eintrag ohne ID");
+                continue;
+            }
+            if (!r.reviewerStatus().canMoveTo(newStatus)) {
+                problems.put(r.id, label, "nicht mehr ausstehend");
+                continue;
+            }
+            labels.put(r.id, label);
+            ids.add(r.id);
         }
 
-        AlertDialog dlg = b.create();
-        dlg.setOnShowListener(di -> {
-            if (dlg.getButton(AlertDialog.BUTTON_POSITIVE)  != null)
-                dlg.getButton(AlertDialog.BUTTON_POSITIVE).setTextColor(Color.BLACK);
-            if (dlg.getButton(AlertDialog.BUTTON_NEGATIVE)  != null)
-                dlg.getButton(AlertDialog.BUTTON_NEGATIVE).setTextColor(Color.BLACK);
-            if (dlg.getButton(AlertDialog.BUTTON_NEUTRAL)   != null)
-                dlg.getButton(AlertDialog.BUTTON_NEUTRAL).setTextColor(Color.BLACK);
-        });
-        dlg.show();
-    }
-
-    private void updateSecondReviewerStatus(ContactRequest r, String newStatus) {
-        if (r.id == null) {
-            Toast.makeText(requireContext(),
-                    "Fehler: Eintrag ohne ID.",
-                    Toast.LENGTH_LONG).show();
-            return;
-        }
+        String doneLabel = newStatus == ReviewerStatus.ACCEPTED
+                ? "Zweitprüfer-Rolle(n) angenommen"
+                : "Zweitprüfer-Rolle(n) abgelehnt";
 
         ContactRequest patch = new ContactRequest();
         patch.second_reviewer_status = newStatus;
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .updateContactRequest("eq." + r.id, patch)
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful()) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Aktualisieren: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            return;
-                        }
+        BatchUpdate batch = new BatchUpdate(SupabaseClient.get(requireContext()).restService())
+                .add(patch, ids);
 
-                        String label = "accepted".equalsIgnoreCase(newStatus)
-                                ? "angenommen"
-                                : "abgelehnt";
-
-                        Toast.makeText(requireContext(),
-                                "Zweitprüfer-Rolle " + label + ".",
-                                Toast.LENGTH_SHORT).show();
-
-                        loadData();
-                    }
-
-                    @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                    }
-                });
-    }
-
-    private String mapSecondStatus(String s) {
-        switch (s) {
-            case "pending":
-                return "Ausstehend";
-            case "accepted":
-                return "Angenommen";
-            case "rejected":
-                return "Abgelehnt";
-            default:
-                return "-";
+        if (batch.isEmpty()) {
+            MultiSelection.showResult(requireContext(), doneLabel, 0, problems);
+            return;
         }
-    }
 
-    private String mapMainStatus(String s) {
-        switch (s) {
-            case "accepted":
-                return "Angenommen";
-            case "in_progress":
-                return "In Arbeit";
-            case "submitted":
-                return "Abgegeben";
-            case "colloquium_held":
-                return "Kolloquium gehalten";
-            case "invoiced":
-                return "In Rechnung";
-            case "finished":
-                return "Beendet";
-            default:
-                return (s == null || s.isEmpty()) ? "-" : s;
-        }
+        batch.run(result -> {
+            if (!isAdded()) return;
+            problems.putAll(result.failed, labels);
+            selection.clear();
+            MultiSelection.showResult(requireContext(), doneLabel,
+                    result.okCount, problems);
+            loadData();
+        });
     }
 
     // ---------------- Adapter ----------------
 
-    private static class SecondAdapter extends RecyclerView.Adapter<SecondAdapter.VH> {
+    private static class SecondAdapter extends DiffListAdapter<ContactRequest, SecondAdapter.VH> {
 
         interface OnItemClick { void onClick(ContactRequest r); }
 
-        private final List<ContactRequest> data;
         private final OnItemClick onClick;
+        private final MultiSelection selection;
 
-        SecondAdapter(List<ContactRequest> data, OnItemClick onClick) {
-            this.data = data;
+        SecondAdapter(OnItemClick onClick, MultiSelection selection) {
+            super(CONTACT_REQUESTS);
             this.onClick = onClick;
+            this.selection = selection;
         }
 
         static class VH extends RecyclerView.ViewHolder {
@@ -441,29 +432,22 @@ public class SecondReviewerThesesFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH h, int position) {
-            ContactRequest r = data.get(position);
+            ContactRequest r = getItem(position);
             if (r == null) return;
 
-            Parsed p = parseMessage(r.message);
+            RequestMessageParser.Parsed p = RequestMessageParser.of(r);
 
             String title = (p.title != null && !p.title.isEmpty())
                     ? p.title : "Arbeit";
 
-            String srs = (r.second_reviewer_status != null)
-                    ? r.second_reviewer_status.toLowerCase(Locale.ROOT)
-                    : "pending";
-            String st  = (r.status != null)
-                    ? r.status.trim().toLowerCase(Locale.ROOT)
-                    : "";
-
             // Statusanzeige im Item:
             // - pending  -> Einladung ausstehend
             // - accepted -> Status der Arbeit (Angenommen / In Arbeit / ... / Beendet)
             String statusLabel;
-            if ("pending".equals(srs)) {
+            if (r.second_reviewer_status == null || r.second_reviewer_status == ReviewerStatus.PENDING) {
                 statusLabel = "Einladung ausstehend";
             } else {
-                statusLabel = mapMainStatusForCard(st);
+                statusLabel = r.status != null && r.status.isThesis() ? r.status.label : "-";
             }
 
             h.tvTitle.setText(title);
@@ -484,99 +468,9 @@ public class SecondReviewerThesesFragment extends Fragment {
 
             h.tvStatus.setText(statusLabel);
 
-            h.itemView.setOnClickListener(v -> {
+            selection.bind(h.itemView, r.id, () -> {
                 if (onClick != null) onClick.onClick(r);
             });
         }
-
-        @Override
-        public int getItemCount() {
-            return data.size();
-        }
-
-        // Mapping für die Status-Anzeige in der Karte
-        private static String mapMainStatusForCard(String s) {
-            switch (s) {
-                case "accepted":
-                    return "Angenommen";
-                case "in_progress":
-                    return "In Arbeit";
-                case "submitted":
-                    return "Abgegeben";
-                case "colloquium_held":
-                    return "Kolloquium gehalten";
-                case "invoiced":
-                    return "In Rechnung";
-                case "finished":
-                    return "Beendet";
-                default:
-                    return "-";
-            }
-        }
-
-        static class Parsed {
-            String title;
-            String area;
-            String desc;
-        }
-
-        static Parsed parseMessage(String raw) {
-            Parsed p = new Parsed();
-            if (raw == null) return p;
-            String msg = raw.trim();
-            if (msg.isEmpty()) return p;
-
-            String legacyPrefix = "Anfrage für Thema:";
-            if (msg.startsWith(legacyPrefix)) {
-                String t = msg.substring(legacyPrefix.length()).trim();
-                if (!t.isEmpty()) p.title = t;
-                p.desc = msg;
-                return p;
-            }
-
-            // Titel (robust, mit evtl. Leerzeichen)
-            java.util.regex.Matcher mTitle =
-                    java.util.regex.Pattern.compile("(?im)^\\s*Titel\\s*:\\s*(.+)$")
-                            .matcher(msg);
-            if (mTitle.find()) {
-                p.title = mTitle.group(1).trim();
-            }
-
-            // Fachgebiet oder Fachbereich
-            java.util.regex.Matcher mArea =
-                    java.util.regex.Pattern.compile("(?im)^\\s*(Fachgebiet|Fachbereich)\\s*:\\s*(.+)$")
-                            .matcher(msg);
-            if (mArea.find()) {
-                p.area = mArea.group(2).trim();
-            }
-
-            // Beschreibung: alles nach "Beschreibung:" bis zum Ende
-            String[] lines = msg.split("\n");
-            boolean inDesc = false;
-            StringBuilder descBuilder = new StringBuilder();
-
-            for (String line : lines) {
-                String l = line.trim();
-                if (l.isEmpty()) continue;
-
-                if (l.toLowerCase(Locale.ROOT).startsWith("beschreibung:")) {
-                    inDesc = true;
-                    String rest = l.substring("Beschreibung:".length()).trim();
-                    if (!rest.isEmpty()) descBuilder.append(rest);
-                } else if (inDesc) {
-                    if (descBuilder.length() > 0) descBuilder.append("\n");
-                    descBuilder.append(l);
-                }
-            }
-
-            if (descBuilder.length() > 0) {
-                p.desc = descBuilder.toString();
-            }
-
-            if (p.title == null && p.area == null && p.desc == null) {
-                p.desc = msg;
-            }
-            return p;
-        }
     }
 }
@@ -3,6 +3,26 @@ package de.iu.betreuerapp;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import de.iu.betreuerapp.dto.AuthResponse;
+
+/**
+ * Sitzung (Tokens, Benutzer, Rolle) – prozessweit EIN Stand im Speicher.
+ *
+ * Gelesen wird nur der aktuelle {@link Session}-Snapshot (unveränderlich, volatile) –
+ * der Header-Interceptor fragt das Token bei jedem Request ab, die Fragments userId/
+ * Rolle bei jedem Laden; das ist damit ein Feldzugriff statt SharedPreferences.
+ * Die Preferences werden nur einmal beim Start gelesen und danach per apply()
+ * im Hintergrund nachgezogen.
+ *
+ * Jede Änderung erzeugt einen neuen Snapshot und meldet ihn den Listenern
+ * (auf dem Main-Thread), z.B. neues Token → Realtime-Kanäle.
+ */
 public class SessionManager {
     private static final String PREF = "session";
 
@@ -12,12 +32,88 @@ public class SessionManager {
     private static final String KEY_EMAIL = "email";
     private static final String KEY_NAME  = "name";
 
+    private static final String KEY_REFRESH    = "refresh_token";
+    private static final String KEY_EXPIRES_AT = "expires_at"; // epoch ms, 0 = unbekannt
+
+    private static volatile SessionManager instance;
+
+    public static SessionManager get(@NonNull Context ctx) {
+        SessionManager s = instance;
+        if (s == null) {
+            synchronized (SessionManager.class) {
+                s = instance;
+                if (s == null) {
+                    s = new SessionManager(ctx.getApplicationContext());
+                    instance = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    /** Unveränderlicher Stand der Sitzung; Felder null, solange unbekannt. */
+    public static final class Session {
+        static final Session EMPTY = new Session(null, null, 0, null, null, null, null);
+
+        @Nullable public final String token;
+        @Nullable public final String refreshToken;
+        public final long expiresAt;
+        @Nullable public final String userId;
+        @Nullable public final String role;
+        @Nullable public final String email;
+        @Nullable public final String name;
+
+        Session(@Nullable String token, @Nullable String refreshToken, long expiresAt,
+                @Nullable String userId, @Nullable String role,
+                @Nullable String email, @Nullable String name) {
+            this.token = token;
+            this.refreshToken = refreshToken;
+            this.expiresAt = expiresAt;
+            this.userId = userId;
+            this.role = role;
+            this.email = email;
+            this.name = name;
+        }
+
+        Session withUser(@Nullable String token, @Nullable String userId, @Nullable String role,
+                         @Nullable String email, @Nullable String name) {
+            return new Session(or(token, this.token), refreshToken, expiresAt,
+                    or(userId, this.userId), or(role, this.role),
+                    or(email, this.email), or(name, this.name));
+        }
+
+        private static String or(String value, String fallback) {
+            return value != null ? value : fallback;
+        }
+    }
+
+    public interface Listener {
+        void onSessionChanged(@NonNull Session session);
+    }
+
     private final SharedPreferences sp;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Session current;
 
-    public SessionManager(Context ctx) {
-        sp = ctx.getSharedPreferences(PREF, Context.MODE_PRIVATE);
+    private SessionManager(Context appCtx) {
+        sp = appCtx.getSharedPreferences(PREF, Context.MODE_PRIVATE);
+        current = new Session(
+                sp.getString(KEY_TOKEN, null),
+                sp.getString(KEY_REFRESH, null),
+                sp.getLong(KEY_EXPIRES_AT, 0),
+                sp.getString(KEY_USER, null),
+                sp.getString(KEY_ROLE, null),
+                sp.getString(KEY_EMAIL, null),
+                sp.getString(KEY_NAME, null));
     }
 
+    /** Aktueller Stand (nie null). */
+    @NonNull
+    public Session snapshot() { return current; }
+
+    public void addListener(@NonNull Listener l)    { listeners.add(l); }
+    public void removeListener(@NonNull Listener l) { listeners.remove(l); }
+
     // minimal (z.B. direkt nach Login vor Profil)
     public void save(String token, String userId) {
         save(token, userId, null, null, null);
@@ -28,30 +124,86 @@ public class SessionManager {
         save(token, userId, role, null, null);
     }
 
-    // volle Ladung
-    public void save(String token,
-                     String userId,
-                     String role,
-                     String email,
-                     String name) {
+    // volle Ladung (null = bisherigen Wert behalten)
+    public synchronized void save(String token,
+                                  String userId,
+                                  String role,
+                                  String email,
+                                  String name) {
+        publish(current.withUser(token, userId, role, email, name));
+    }
 
-        SharedPreferences.Editor editor = sp.edit();
+    /**
+     * Tokens aus Login / Refresh übernehmen (access_token, refresh_token, Ablaufzeit).
+     * Fehlt das refresh_token in der Antwort, bleibt das bisherige stehen.
+     */
+    public synchronized void saveTokens(AuthResponse auth) {
+        if (auth == null || auth.access_token == null) return;
 
-        if (token != null) editor.putString(KEY_TOKEN, token);
-        if (userId != null) editor.putString(KEY_USER, userId);
-        if (role != null) editor.putString(KEY_ROLE, role);
-        if (email != null) editor.putString(KEY_EMAIL, email);
-        if (name != null) editor.putString(KEY_NAME, name);
+        long expiresAt = 0;
+        if (auth.expires_at > 0) {
+            expiresAt = auth.expires_at * 1000L;
+        } else if (auth.expires_in > 0) {
+            expiresAt = System.currentTimeMillis() + auth.expires_in * 1000L;
+        }
 
-        editor.apply();
+        Session s = current;
+        publish(new Session(auth.access_token,
+                auth.refresh_token != null ? auth.refresh_token : s.refreshToken,
+                expiresAt,
+                (auth.user != null && auth.user.id != null) ? auth.user.id : s.userId,
+                s.role, s.email, s.name));
+    }
+
+    /** refresh_token verwerfen (vom Server abgelehnt) → kein weiterer Versuch. */
+    public synchronized void dropRefreshToken() {
+        Session s = current;
+        publish(new Session(s.token, null, s.expiresAt, s.userId, s.role, s.email, s.name));
+    }
+
+    public String token()  { return current.token; }
+    public String refreshToken() { return current.refreshToken; }
+    public long expiresAt() { return current.expiresAt; }
+    public String userId() { return current.userId; }
+    public String role()   { return current.role; }
+
+    public String email()  { return current.email; }
+    public String name()   { return current.name; }
+
+    public synchronized void clear() {
+        publish(Session.EMPTY);
     }
 
-    public String token()  { return sp.getString(KEY_TOKEN, null); }
-    public String userId() { return sp.getString(KEY_USER, null); }
-    public String role()   { return sp.getString(KEY_ROLE, null); }
+    // ------------------------------------------------------------------
+
+    /** Neuen Stand setzen, im Hintergrund speichern, Listener benachrichtigen. Nur unter Lock. */
+    private void publish(@NonNull Session s) {
+        current = s;
+        persist(s);
+        for (Listener l : listeners) {
+            AppExecutors.main().execute(() -> l.onSessionChanged(s));
+        }
+    }
 
-    public String email()  { return sp.getString(KEY_EMAIL, null); }
-    public String name()   { return sp.getString(KEY_NAME, null); }
+    /** apply() übernimmt sofort in die Preferences und schreibt asynchron auf Disk. */
+    private void persist(@NonNull Session s) {
+        if (s == Session.EMPTY) {
+            sp.edit().clear().apply();
+            return;
+        }
+        SharedPreferences.Editor editor = sp.edit();
+        putOrRemove(editor, KEY_TOKEN, s.token);
+        putOrRemove(editor, KEY_REFRESH, s.refreshToken);
+        editor.putLong(KEY_EXPIRES_AT, s.expiresAt);
+        putOrRemove(editor, KEY_USER, s.userId);
+        putOrRemove(editor, KEY_ROLE, s.role);
+        putOrRemove(editor, KEY_EMAIL, s.email);
+        putOrRemove(editor, KEY_NAME, s.name);
+        editor.apply();
+    }
 
-    public void clear()    { sp.edit().clear().apply(); }
+    private static void putOrRemove(SharedPreferences.Editor e, String key, @Nullable String value) {
+        if (value != null) e.putString(key, value);
+        else e.remove(key);
+    }
 }
@@ -1,12 +1,13 @@
 package de.iu.betreuerapp;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Zentrales ViewModel zum Teilen von
@@ -16,117 +17,115 @@ import java.util.List;
  *
  * Läuft komplett in-memory (für das Projekt völlig ok),
  * kann später leicht durch Supabase-Calls ersetzt werden.
+ *
+ * Beide Listen liegen in einem {@link IdStore}: Zugriff per id in O(1),
+ * Änderungen ohne Listen-Kopie, Beobachter bekommen höchstens einen Stand pro Frame.
  */
 public class SharedViewModel extends ViewModel {
 
     // ===== TOPICS (Ausschreibungen) =====
 
-    private final MutableLiveData<List<Topic>> topicsLiveData =
-            new MutableLiveData<>(new ArrayList<>());
+    private final IdStore<Topic> topics = new IdStore<>(Topic::getId);
 
     public LiveData<List<Topic>> getTopicList() {
-        return topicsLiveData;
+        return topics.live();
     }
 
-    private List<Topic> getTopicsInternal() {
-        List<Topic> list = topicsLiveData.getValue();
-        if (list == null) {
-            list = new ArrayList<>();
-            topicsLiveData.setValue(list);
-        }
-        return list;
+    @Nullable
+    public Topic getTopic(@Nullable String id) {
+        return topics.get(id);
     }
 
     public void addTopic(@NonNull Topic topic) {
-        List<Topic> list = getTopicsInternal();
-        list.add(topic);
-        topicsLiveData.setValue(new ArrayList<>(list));
+        topics.put(topic);
+    }
+
+    /** Viele Themen auf einmal (z.B. Import) – eine Benachrichtigung. */
+    public void addTopics(@NonNull Collection<Topic> batch) {
+        topics.putAll(batch);
+    }
+
+    /** Ersetzt das Thema mit gleicher id (Position bleibt). */
+    public boolean updateTopic(@NonNull Topic updated) {
+        return topics.replace(updated);
     }
 
     public void updateTopic(int index, @NonNull Topic updated) {
-        List<Topic> list = getTopicsInternal();
-        if (index >= 0 && index < list.size()) {
-            list.set(index, updated);
-            topicsLiveData.setValue(new ArrayList<>(list));
+        String id = topics.idAt(index);
+        if (id != null) {
+            topics.put(updated.withId(id));
         }
     }
 
+    public boolean deleteTopic(@NonNull String id) {
+        return topics.remove(id);
+    }
+
     public void deleteTopic(int index) {
-        List<Topic> list = getTopicsInternal();
-        if (index >= 0 && index < list.size()) {
-            list.remove(index);
-            topicsLiveData.setValue(new ArrayList<>(list));
-        }
+        topics.remove(topics.idAt(index));
     }
 
     public int indexOfTopic(@NonNull Topic topic) {
-        List<Topic> list = getTopicsInternal();
-        return list.indexOf(topic);
+        return topics.indexOf(topic.getId());
     }
 
     // ===== THESES (Betreute Arbeiten) =====
     // Optional: wird von Dashboard / StatusUpdate etc. genutzt.
     // Falls du es noch nicht brauchst, kannst du es trotzdem drinlassen.
 
-    private final MutableLiveData<List<Thesis>> thesesLiveData =
-            new MutableLiveData<>(new ArrayList<>());
+    private final IdStore<Thesis> theses = new IdStore<>(Thesis::getId);
 
     public LiveData<List<Thesis>> getThesisList() {
-        return thesesLiveData;
-    }
-
-    private List<Thesis> getThesesInternal() {
-        List<Thesis> list = thesesLiveData.getValue();
-        if (list == null) {
-            list = new ArrayList<>();
-            thesesLiveData.setValue(list);
-        }
-        return list;
+        return theses.live();
     }
 
     public void addThesis(@NonNull Thesis thesis) {
-        List<Thesis> list = getThesesInternal();
-        list.add(thesis);
-        thesesLiveData.setValue(new ArrayList<>(list));
+        theses.put(thesis);
     }
 
     public void updateThesisStatus(@NonNull String thesisId, @NonNull String newStatus) {
-        List<Thesis> list = getThesesInternal();
-        boolean changed = false;
-        for (int i = 0; i < list.size(); i++) {
-            Thesis t = list.get(i);
-            if (t != null && thesisId.equals(t.getId())) {
-                list.set(i, new Thesis(
-                        t.getId(),
-                        t.getTitle(),
-                        t.getStudentName(),
-                        newStatus,
-                        t.getLastUpdate()
-                ));
-                changed = true;
-                break;
-            }
-        }
-        if (changed) {
-            thesesLiveData.setValue(new ArrayList<>(list));
-        }
+        Thesis t = theses.get(thesisId);
+        if (t == null) return;
+        theses.put(new Thesis(
+                t.getId(),
+                t.getTitle(),
+                t.getStudentName(),
+                newStatus,
+                t.getLastUpdate()
+        ));
     }
 
     // ===== Modelle =====
 
     public static class Topic {
+        private final String id;
         private final String title;
         private final String area;
         private final String status;      // "available", "taken", "completed"
         private final String description;
 
         public Topic(String title, String area, String status, String description) {
+            this(UUID.randomUUID().toString(), title, area, status, description);
+        }
+
+        public Topic(@NonNull String id, String title, String area, String status, String description) {
+            this.id = id;
             this.title = title;
             this.area = area;
             this.status = status;
             this.description = description;
         }
 
+        @NonNull
+        public String getId() {
+            return id;
+        }
+
+        /** Gleicher Inhalt unter anderer id (Ersetzen eines vorhandenen Eintrags). */
+        Topic withId(@NonNull String otherId) {
+            return new Topic(otherId, title, area, status, description);
+        }
+
         public String getTitle() {
             return title;
         }
@@ -0,0 +1,280 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Gleiche GETs, die gleichzeitig unterwegs sind, teilen sich EINEN Netzwerk-Call.
+ *
+ * Als CallAdapter.Factory vor den Standard-Adapter gehängt: jeder Retrofit-Call wird
+ * in einen {@link SharedCall} verpackt. Beim enqueue() eines GET wird nach Methode,
+ * URL und Headern gesucht, ob derselbe Request schon läuft – dann hängt sich der Aufrufer
+ * nur an und bekommt dieselbe geparste Antwort (Listen als eigene Kopie, die DTOs darin
+ * sind geteilt). Typischer Fall: schneller Tab-Wechsel oder dasselbe Profil aus mehreren
+ * Screens.
+ *
+ * cancel() auf einem geteilten Call meldet nur diesen Aufrufer ab; er bekommt keinen
+ * Callback mehr (sein Screen ist weg). Der Netzwerk-Call selbst wird erst abgebrochen,
+ * wenn niemand mehr wartet.
+ *
+ * Nicht geteilt werden: alles außer GET, execute() (synchron), {@link RowStream}-Antworten
+ * und Aufrufe, die schon eine Antwort haben. Callbacks kommen wie gewohnt auf dem Main-Thread.
+ */
+public final class SingleFlight extends CallAdapter.Factory {
+
+    private final Map<String, Flight<?>> flights = new HashMap<>();
+
+    // Zähler für Logcat / Debug-Ansicht
+    private int started;
+    private int joined;
+
+    public static SingleFlight create() {
+        return new SingleFlight();
+    }
+
+    private SingleFlight() { }
+
+    public synchronized int started() { return started; }
+    public synchronized int joined()  { return joined; }
+
+    public synchronized String summary() {
+        return "GETs: " + started + " gesendet | " + joined + " angehängt (gespart)"
+                + " | laufend: " + flights.size();
+    }
+
+    @Nullable
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType,
+                                 @NonNull Annotation[] annotations,
+                                 @NonNull Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) return null;
+        // Gestreamte Antworten lassen sich nicht an mehrere Aufrufer verteilen
+        if (returnType instanceof ParameterizedType
+                && RowStream.isRowStream(getParameterUpperBound(0, (ParameterizedType) returnType))) {
+            return null;
+        }
+
+        // Standard-Adapter (Callbacks auf dem Main-Thread) weiterverwenden
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> next =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Call<Object>>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return next.responseType();
+            }
+
+            @NonNull
+            @Override
+            public Call<Object> adapt(@NonNull Call<Object> call) {
+                return new SharedCall<>(next.adapt(call));
+            }
+        };
+    }
+
+    private static String keyOf(Request r) {
+        return r.method() + " " + r.url() + "\n" + r.headers();
+    }
+
+    // ------------------------------------------------------------------
+
+    /** Ein laufender Netzwerk-Call und alle, die auf ihn warten. */
+    private final class Flight<T> {
+        final String key;
+        final Call<T> network;
+        final List<SharedCall<T>> waiters = new ArrayList<>(2);
+
+        Flight(String key, Call<T> network) {
+            this.key = key;
+            this.network = network;
+        }
+
+        void start() {
+            network.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                    for (SharedCall<T> w : finish()) w.deliver(response);
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                    for (SharedCall<T> w : finish()) w.deliverFailure(t);
+                }
+            });
+        }
+
+        /** Aus der Tabelle nehmen; wer jetzt noch wartet, bekommt das Ergebnis. */
+        private List<SharedCall<T>> finish() {
+            synchronized (SingleFlight.this) {
+                if (flights.get(key) == this) flights.remove(key);
+                List<SharedCall<T>> out = new ArrayList<>(waiters);
+                waiters.clear();
+                return out;
+            }
+        }
+
+        /** Aufrufer abmelden; der letzte bricht den Netzwerk-Call ab. */
+        void leave(SharedCall<T> w) {
+            boolean last;
+            synchronized (SingleFlight.this) {
+                if (!waiters.remove(w)) return;
+                last = waiters.isEmpty();
+                if (last && flights.get(key) == this) flights.remove(key);
+            }
+            if (last) network.cancel();
+        }
+    }
+
+    // ------------------------------------------------------------------
+
+    private final class SharedCall<T> implements Call<T> {
+        private final Call<T> delegate;
+
+        @Nullable private volatile Flight<T> flight;
+        @Nullable private Callback<T> callback;
+        private boolean executed;
+        private volatile boolean canceled;
+
+        SharedCall(Call<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<T> cb) {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already executed.");
+                executed = true;
+                callback = cb;
+            }
+
+            if (!"GET".equals(delegate.request().method())) {
+                delegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                        deliver(response);
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                        deliverFailure(t);
+                    }
+                });
+                return;
+            }
+
+            String key = keyOf(delegate.request());
+            Flight<T> f;
+            boolean owner = false;
+            synchronized (SingleFlight.this) {
+                @SuppressWarnings("unchecked")
+                Flight<T> running = (Flight<T>) flights.get(key);
+                if (running != null) {
+                    f = running;
+                    joined++;
+                } else {
+                    f = new Flight<>(key, delegate);
+                    flights.put(key, f);
+                    owner = true;
+                    started++;
+                }
+                f.waiters.add(this);
+                flight = f;
+            }
+            if (owner) f.start();
+        }
+
+        void deliver(Response<T> response) {
+            Callback<T> cb = take();
+            if (cb != null) cb.onResponse(this, copyOf(response));
+        }
+
+        void deliverFailure(Throwable t) {
+            Callback<T> cb = take();
+            if (cb != null) cb.onFailure(this, t);
+        }
+
+        @Nullable
+        private synchronized Callback<T> take() {
+            Callback<T> cb = canceled ? null : callback;
+            callback = null;
+            return cb;
+        }
+
+        @NonNull
+        @Override
+        public Response<T> execute() throws IOException {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already executed.");
+                executed = true;
+            }
+            return delegate.execute();
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            Flight<T> f = flight;
+            if (f != null) {
+                f.leave(this);
+            } else {
+                delegate.cancel(); // nicht geteilt (execute() oder kein GET)
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @NonNull
+        @Override
+        public Call<T> clone() {
+            return new SharedCall<>(delegate.clone());
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+
+    /** Listen bekommt jeder Aufrufer als eigene Kopie (Fragments sortieren/filtern darin). */
+    @SuppressWarnings("unchecked")
+    private static <T> Response<T> copyOf(Response<T> r) {
+        T body = r.body();
+        if (!(body instanceof List)) return r;
+        T copy = (T) new ArrayList<>((List<?>) body);
+        return Response.success(copy, r.raw());
+    }
+}
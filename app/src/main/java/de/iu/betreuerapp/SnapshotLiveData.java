@@ -0,0 +1,78 @@
+package de.iu.betreuerapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+/**
+ * LiveData für unveränderliche Stände, die im Hintergrund berechnet werden.
+ *
+ * {@link #compute} rechnet auf {@link AppExecutors#compute()} und veröffentlicht per
+ * postValue. Kommen Aufträge schneller als gerechnet werden kann, wird nur der
+ * jeweils neueste ausgeführt; ein älteres Ergebnis überschreibt nie ein neueres.
+ * Pro Instanz läuft höchstens ein Auftrag gleichzeitig.
+ */
+public class SnapshotLiveData<S> extends LiveData<S> {
+
+    private static final String TAG = "SnapshotLiveData";
+
+    /** Baut den kompletten Stand (läuft im Hintergrund). */
+    public interface Builder<S> {
+        S build();
+    }
+
+    private final Object lock = new Object();
+    private Builder<S> pending;   // neuester, noch nicht gerechneter Auftrag
+    private boolean draining;
+    private int generation;
+
+    public void compute(@NonNull Builder<S> builder) {
+        synchronized (lock) {
+            pending = builder;
+            generation++;
+            if (draining) return;
+            draining = true;
+        }
+        AppExecutors.compute().execute(this::drain);
+    }
+
+    /** Setzt den Stand direkt; noch laufende Aufträge werden verworfen. */
+    public void publish(@Nullable S value) {
+        synchronized (lock) {
+            pending = null;
+            generation++;
+            postValue(value);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Builder<S> builder;
+            int gen;
+            synchronized (lock) {
+                builder = pending;
+                pending = null;
+                gen = generation;
+                if (builder == null) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            S result;
+            try {
+                result = builder.build();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Stand konnte nicht berechnet werden", e);
+                continue;
+            }
+
+            synchronized (lock) {
+                // inzwischen neuer Auftrag oder publish() → Ergebnis ist veraltet
+                if (gen == generation) postValue(result);
+            }
+        }
+    }
+}
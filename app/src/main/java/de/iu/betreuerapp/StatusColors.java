@@ -0,0 +1,41 @@
+package de.iu.betreuerapp;
+
+import android.content.Context;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.ColorRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import de.iu.betreuerapp.dto.ThesisStatus;
+
+/**
+ * Farbe eines {@link ThesisStatus} (über dessen {@link ThesisStatus.Tone}).
+ * Die Zuordnung Tone → Farb-Ressource steht einmal hier statt in jedem Adapter.
+ */
+final class StatusColors {
+
+    // Index = Tone.ordinal()
+    private static final int[] RES = new int[ThesisStatus.Tone.values().length];
+
+    static {
+        RES[ThesisStatus.Tone.OPEN.ordinal()]        = R.color.status_open;
+        RES[ThesisStatus.Tone.IN_PROGRESS.ordinal()] = R.color.status_in_progress;
+        RES[ThesisStatus.Tone.FINISHED.ordinal()]    = R.color.status_finished;
+        RES[ThesisStatus.Tone.REJECTED.ordinal()]    = R.color.status_rejected;
+        RES[ThesisStatus.Tone.UNKNOWN.ordinal()]     = R.color.status_unknown;
+    }
+
+    private StatusColors() { }
+
+    @ColorRes
+    static int res(@Nullable ThesisStatus status) {
+        return RES[ThesisStatus.of(status).tone.ordinal()];
+    }
+
+    @ColorInt
+    static int of(@NonNull Context context, @Nullable ThesisStatus status) {
+        return ContextCompat.getColor(context, res(status));
+    }
+}
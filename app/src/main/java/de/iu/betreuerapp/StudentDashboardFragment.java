@@ -20,11 +20,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 
+import de.iu.betreuerapp.RequestLists.RequestSnapshot;
+import de.iu.betreuerapp.RequestLists.StudentFilter;
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ThesisStatus;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -55,12 +56,15 @@ public class StudentDashboardFragment extends Fragment {
     private LinearLayout chipInProgress;
     private LinearLayout chipFinished;
 
+    // geladene Zeilen (Rohstand); Reihenfolge, Filter und Zähler macht RequestRepository
     private final List<ContactRequest> allRequests = new ArrayList<>();
-    private final List<ContactRequest> visibleRequests = new ArrayList<>();
+    @Nullable private RequestSnapshot<StudentFilter> snapshot;
     private StudentRequestsAdapter adapter;
 
-    private enum FilterType { ALL, REQUESTED, IN_PROGRESS, FINISHED }
-    private FilterType currentFilter = FilterType.ALL;
+    private StudentFilter currentFilter = StudentFilter.ALL;
+
+    // Statusänderungen per Realtime, solange der Screen sichtbar ist
+    @Nullable private RealtimeClient.Subscription realtimeSub;
 
     @Nullable
     @Override
@@ -100,6 +104,81 @@ public class StudentDashboardFragment extends Fragment {
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .studentRequests()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+    }
+
+    @Override
+    public void onStart() {
+        super.onStart();
+        subscribeRealtime();
+    }
+
+    @Override
+    public void onStop() {
+        if (realtimeSub != null) {
+            realtimeSub.close();
+            realtimeSub = null;
+        }
+        super.onStop();
+    }
+
+    /**
+     * Änderungen an den eigenen Anfragen (Tutor nimmt an, Status, Rechnung …) kommen
+     * per Realtime und werden direkt in die Liste eingespielt – kein Neuladen nötig.
+     */
+    private void subscribeRealtime() {
+        if (adapter == null || realtimeSub != null) return; // AuthGuard hat abgelehnt
+        String studentId = SessionManager.get(requireContext()).userId();
+        if (studentId == null) return;
+
+        realtimeSub = SupabaseClient.get(requireContext()).realtime().subscribe(
+                "contact_requests", "student_id=eq." + studentId, ContactRequest.class,
+                new RealtimeClient.Listener<ContactRequest>() {
+                    @Override
+                    public void onChange(@NonNull RealtimeClient.Change<ContactRequest> change) {
+                        if (isAdded()) applyChange(change);
+                    }
+
+                    @Override
+                    public void onResync() {
+                        // Verbindung war weg → verpasste Änderungen einmal nachladen
+                        if (isAdded()) loadRequests();
+                    }
+                });
+    }
+
+    private void applyChange(@NonNull RealtimeClient.Change<ContactRequest> change) {
+        LocalStore store = LocalStore.get(requireContext());
+        String id = change.id;
+        int pos = -1;
+        for (int i = 0; i < allRequests.size(); i++) {
+            ContactRequest cr = allRequests.get(i);
+            if (cr != null && id != null && id.equals(cr.id)) { pos = i; break; }
+        }
+
+        ContactRequest rec = change.record;
+        if (change.type == RealtimeClient.ChangeType.DELETE || rec == null) {
+            if (pos < 0 || id == null) return;
+            allRequests.remove(pos);
+            store.write(st -> st.deleteRequest(id));
+        } else {
+            if (pos >= 0) {
+                allRequests.set(pos, rec);
+            } else {
+                allRequests.add(0, rec); // neue Anfrage → oben
+            }
+            store.write(st -> st.putRequests(Collections.singletonList(rec)));
+        }
+        submitRows();
+    }
+
     private void setupNewThesisButton() {
         btnNewThesis.setOnClickListener(v -> {
             requireActivity().getSupportFragmentManager()
@@ -113,7 +192,7 @@ public class StudentDashboardFragment extends Fragment {
     private void setupRecyclerView() {
         rvRequests.setLayoutManager(new LinearLayoutManager(requireContext()));
 
-        adapter = new StudentRequestsAdapter(visibleRequests, this::showDetailDialog);
+        adapter = new StudentRequestsAdapter(this::showDetailDialog);
         rvRequests.setAdapter(adapter);
 
         // Swipe-to-delete für offene ODER abgelehnte Arbeiten
@@ -122,23 +201,18 @@ public class StudentDashboardFragment extends Fragment {
                     @Override public boolean onMove(@NonNull RecyclerView rv, @NonNull RecyclerView.ViewHolder vh, @NonNull RecyclerView.ViewHolder t){ return false; }
                     @Override public void onSwiped(@NonNull RecyclerView.ViewHolder vh, int dir) {
                         int pos = vh.getAdapterPosition();
-                        if (pos < 0 || pos >= visibleRequests.size()) { adapter.notifyDataSetChanged(); return; }
-                        ContactRequest cr = visibleRequests.get(pos);
+                        List<ContactRequest> shown = adapter.getCurrentList();
+                        if (pos < 0 || pos >= shown.size()) { adapter.submitList(rowsFor(currentFilter)); return; }
+                        ContactRequest cr = shown.get(pos);
                         if (cr == null || cr.id == null) { adapter.notifyItemChanged(pos); return; }
 
-                        String status = normalizeStatus(cr.status);
-                        if (!"open".equals(status) && !"rejected".equals(status)) {
+                        if (!isDeletable(cr)) {
                             Toast.makeText(requireContext(), "Nur angefragte oder abgelehnte Arbeiten können gelöscht werden.", Toast.LENGTH_SHORT).show();
                             adapter.notifyItemChanged(pos);
                             return;
                         }
 
-                        // aus sichtbarer & Gesamtliste entfernen
-                        visibleRequests.remove(pos);
-                        adapter.notifyItemRemoved(pos);
-                        allRequests.remove(cr);
-
-                        updateFilterLabels();
+                        removeLocally(cr);
                         deleteRequestOnServer(cr);
                     }
                 };
@@ -148,13 +222,13 @@ public class StudentDashboardFragment extends Fragment {
     private void setupFilterChips() {
         View.OnClickListener listener = v -> {
             if (v == chipAllWide) {
-                currentFilter = FilterType.ALL;
+                currentFilter = StudentFilter.ALL;
             } else if (v == chipRequested) {
-                currentFilter = FilterType.REQUESTED;
+                currentFilter = StudentFilter.REQUESTED;
             } else if (v == chipInProgress) {
-                currentFilter = FilterType.IN_PROGRESS;
+                currentFilter = StudentFilter.IN_PROGRESS;
             } else if (v == chipFinished) {
-                currentFilter = FilterType.FINISHED;
+                currentFilter = StudentFilter.FINISHED;
             }
             applyFilter();
             updateChipUI();
@@ -167,10 +241,10 @@ public class StudentDashboardFragment extends Fragment {
         updateChipUI();
     }
     private void updateChipUI() {
-        setChipActive(chipAllWide,    currentFilter == FilterType.ALL);
-        setChipActive(chipRequested,  currentFilter == FilterType.REQUESTED);
-        setChipActive(chipInProgress, currentFilter == FilterType.IN_PROGRESS);
-        setChipActive(chipFinished,   currentFilter == FilterType.FINISHED);
+        setChipActive(chipAllWide,    currentFilter == StudentFilter.ALL);
+        setChipActive(chipRequested,  currentFilter == StudentFilter.REQUESTED);
+        setChipActive(chipInProgress, currentFilter == StudentFilter.IN_PROGRESS);
+        setChipActive(chipFinished,   currentFilter == StudentFilter.FINISHED);
 
     }
 
@@ -188,65 +262,56 @@ public class StudentDashboardFragment extends Fragment {
         //  }
     }
 
-    private void applyFilter() {
-        visibleRequests.clear();
+    /** Rohstand ans Repository; der fertige Stand kommt über {@link #showSnapshot}. */
+    private void submitRows() {
+        RequestRepository.get(requireContext()).submitStudentRequests(allRequests);
+    }
 
-        for (ContactRequest cr : allRequests) {
-            if (cr != null && matchesFilter(cr)) {
-                visibleRequests.add(cr);
-            }
-        }
+    private void showSnapshot(@Nullable RequestSnapshot<StudentFilter> s) {
+        snapshot = s;
+        applyFilter();
+        updateFilterLabels();
+    }
 
-        // In „Alle“: abgelehnte nach unten schieben
-        if (currentFilter == FilterType.ALL) {
-            Collections.sort(visibleRequests, new RejectedLastComparator());
-        }
+    private List<ContactRequest> rowsFor(StudentFilter filter) {
+        return snapshot == null ? Collections.emptyList() : snapshot.rows(filter);
+    }
 
-        adapter.notifyDataSetChanged();
-        tvEmpty.setVisibility(visibleRequests.isEmpty() ? View.VISIBLE : View.GONE);
-        updateFilterLabels();
+    private int countOf(StudentFilter filter) {
+        return snapshot == null ? 0 : snapshot.count(filter);
     }
 
-    private boolean matchesFilter(ContactRequest cr) {
-        String status = normalizeStatus(cr.status);
-        switch (currentFilter) {
-            case ALL:
-                return true;
-            case REQUESTED:
-                return "open".equals(status);
-            case IN_PROGRESS:
-                // alles, was über „open“ hinausgeht, außer „finished“ und „rejected“
-                return !("open".equals(status) || "rejected".equals(status) || "finished".equals(status));
-            case FINISHED:
-                return "finished".equals(status);
-            default:
-                return true;
-        }
+    private void applyFilter() {
+        // In „Alle“ stehen abgelehnte unten (siehe RequestLists.studentRequests)
+        List<ContactRequest> rows = rowsFor(currentFilter);
+        adapter.submitList(rows);
+        tvEmpty.setVisibility(rows.isEmpty() ? View.VISIBLE : View.GONE);
     }
 
-    private String normalizeStatus(String raw) {
-        if (raw == null) return "open";
-        return raw.trim().toLowerCase(Locale.ROOT);
+    /** Studierende dürfen nur angefragte oder abgelehnte Arbeiten löschen. */
+    private static boolean isDeletable(ContactRequest cr) {
+        ThesisStatus s = RequestLists.studentStatus(cr);
+        return s == ThesisStatus.OPEN || s == ThesisStatus.REJECTED;
     }
 
-    private void updateFilterLabels() {
-        int total = allRequests.size();
-        int requested = 0, inProgress = 0, finished = 0;
-        for (ContactRequest cr : allRequests) {
-            String s = normalizeStatus(cr.status);
-            if ("open".equals(s)) requested++;
-            else if ("finished".equals(s)) finished++;
-            else if (!"rejected".equals(s)) inProgress++;
-        }
+    /** Zeile sofort aus der Anzeige nehmen; Zähler folgen mit dem neuen Stand. */
+    private void removeLocally(ContactRequest cr) {
+        List<ContactRequest> shown = new ArrayList<>(adapter.getCurrentList());
+        shown.remove(cr);
+        adapter.submitList(shown);
+        allRequests.remove(cr);
+        submitRows();
+    }
 
-        tvAllLabel.setText("Alle (" + total + ")");
-        tvReqLabel.setText("Angefragt (" + requested + ")");
-        tvProgLabel.setText("In Bearbeitung (" + inProgress + ")");
-        tvFinLabel.setText("Abgeschlossen (" + finished + ")");
+    private void updateFilterLabels() {
+        tvAllLabel.setText("Alle (" + countOf(StudentFilter.ALL) + ")");
+        tvReqLabel.setText("Angefragt (" + countOf(StudentFilter.REQUESTED) + ")");
+        tvProgLabel.setText("In Bearbeitung (" + countOf(StudentFilter.IN_PROGRESS) + ")");
+        tvFinLabel.setText("Abgeschlossen (" + countOf(StudentFilter.FINISHED) + ")");
     }
 
     private void loadRequests() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String studentId = sm.userId();
 
         if (studentId == null) {
@@ -258,10 +323,23 @@ public class StudentDashboardFragment extends Fragment {
         progressBar.setVisibility(View.VISIBLE);
         tvEmpty.setVisibility(View.GONE);
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .getContactRequests("eq." + studentId)
-                .enqueue(new Callback<List<ContactRequest>>() {
+        // sofort den lokalen Stand zeigen, danach mit dem Server abgleichen
+        final boolean[] networkLoaded = {false};
+        LocalStore store = LocalStore.get(requireContext());
+        LocalStore.Scope scope = LocalStore.Scope.studentRequests(studentId);
+        store.read(st -> st.queryRequests(scope, 0), Collections.emptyList(), cached -> {
+            if (!isAdded() || networkLoaded[0] || cached.isEmpty()) return;
+            progressBar.setVisibility(View.GONE);
+            allRequests.clear();
+            allRequests.addAll(cached);
+            submitRows();
+        });
+
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        CallScope.of(this).enqueue(client.restService()
+                .getContactRequests("eq." + studentId,
+                        SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
@@ -273,21 +351,30 @@ public class StudentDashboardFragment extends Fragment {
                         }
 
                         if (!response.isSuccessful() || response.body() == null) {
+                            if (!allRequests.isEmpty()) return; // lokalen Stand stehen lassen
                             tvEmpty.setText("Fehler beim Laden der Arbeiten (" + response.code() + ")");
                             tvEmpty.setVisibility(View.VISIBLE);
                             return;
                         }
 
-                        allRequests.clear();
-                        allRequests.addAll(response.body());
+                        networkLoaded[0] = true;
+                        List<ContactRequest> fresh = response.body();
+                        store.write(st -> st.replaceRequests(scope, fresh, true));
 
-                        applyFilter();
+                        allRequests.clear();
+                        allRequests.addAll(fresh);
+                        submitRows();
                     }
 
                     @Override
                     public void onFailure(@NonNull Call<List<ContactRequest>> call,
                                           @NonNull Throwable t) {
                         progressBar.setVisibility(View.GONE);
+                        if (!allRequests.isEmpty()) {
+                            // lokale Kopie wird schon angezeigt → stehen lassen
+                            Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
                         tvEmpty.setText("Netzwerkfehler: " + t.getMessage());
                         tvEmpty.setVisibility(View.VISIBLE);
                     }
@@ -299,7 +386,7 @@ public class StudentDashboardFragment extends Fragment {
                 "Session abgelaufen oder ungültig. Bitte melde dich neu an.",
                 Toast.LENGTH_LONG).show();
 
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         sm.clear();
 
         if (getActivity() instanceof MainActivity) {
@@ -308,13 +395,20 @@ public class StudentDashboardFragment extends Fragment {
     }
 
     private void deleteRequestOnServer(ContactRequest cr) {
-        SupabaseClient client = new SupabaseClient(requireContext());
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        // Löschen + lokale Kopie laufen auch dann zu Ende, wenn die Ansicht schon weg ist
+        LocalStore store = LocalStore.get(requireContext());
         client.restService()
                 .deleteContactRequest("eq." + cr.id)
                 .enqueue(new Callback<Void>() {
                     @Override
                     public void onResponse(@NonNull Call<Void> call,
                                            @NonNull Response<Void> response) {
+                        if (response.isSuccessful()) {
+                            store.write(st -> st.deleteRequest(cr.id));
+                        }
+                        if (!isAdded()) return;
+
                         if (response.code() == 401) {
                             handleUnauthorized();
                             return;
@@ -324,14 +418,13 @@ public class StudentDashboardFragment extends Fragment {
                                     "Löschen fehlgeschlagen: " + response.code(),
                                     Toast.LENGTH_LONG).show();
                             loadRequests(); // repariert Anzeige
-                        } else {
-                            updateFilterLabels();
                         }
                     }
 
                     @Override
                     public void onFailure(@NonNull Call<Void> call,
                                           @NonNull Throwable t) {
+                        if (!isAdded()) return;
                         Toast.makeText(requireContext(),
                                 "Netzwerkfehler: " + t.getMessage(),
                                 Toast.LENGTH_LONG).show();
@@ -347,9 +440,10 @@ public class StudentDashboardFragment extends Fragment {
 
         // --- Parser (Titel/Fachgebiet/Beschreibung/Notiz) ---
         String raw = cr.message == null ? "" : cr.message.trim();
-        String title = extractFirst(raw, "(?m)^Titel:\\s*(.*)$");
-        String area  = extractFirst(raw, "(?m)^Fachgebiet:\\s*(.*)$");
-        String desc  = extractBlock(raw, "Beschreibung:");
+        RequestMessageParser.Parsed p = RequestMessageParser.of(cr);
+        String title = p.title;
+        String area  = p.area;
+        String desc  = p.desc;
 
         if (title == null || title.isEmpty()) title = "Arbeit";
         if ((area == null || area.isEmpty()) && cr.supervisor_email != null) {
@@ -368,8 +462,8 @@ public class StudentDashboardFragment extends Fragment {
         SpannableStringBuilder sb = new SpannableStringBuilder();
 
         // 1) Status ganz oben (farbig)
-        String statusLabel = StudentRequestsAdapter.mapStatusToLabelInfo(cr.status);
-        int statusColor = StudentRequestsAdapter.mapStatusToColor(requireContext(), cr.status);
+        String statusLabel = cr.thesisStatus().studentLabel;
+        int statusColor = StatusColors.of(requireContext(), cr.status);
 
         int stStart = sb.length();
         sb.append(statusLabel).append("\n\n");
@@ -392,16 +486,9 @@ public class StudentDashboardFragment extends Fragment {
                 .setMessage(sb)
                 .setNegativeButton("Schließen", null);
 
-        String st = normalizeStatus(cr.status);
-        if ("open".equals(st) || "rejected".equals(st)) {
+        if (isDeletable(cr)) {
             b.setPositiveButton("Löschen", (d, w) -> {
-                int idx = visibleRequests.indexOf(cr);
-                if (idx >= 0) {
-                    visibleRequests.remove(idx);
-                    adapter.notifyItemRemoved(idx);
-                }
-                allRequests.remove(cr);
-                updateFilterLabels();     // counter updaten (n)
+                removeLocally(cr);
                 deleteRequestOnServer(cr);
             });
         }
@@ -418,37 +505,10 @@ public class StudentDashboardFragment extends Fragment {
         dlg.show();
     }
 
-    // ---- kleine Helfer für Bold-Labels + Parsing ----
+    // ---- kleine Helfer für Bold-Labels ----
     private void appendLabel(SpannableStringBuilder sb, String label) {
         int start = sb.length();
         sb.append(label);
         sb.setSpan(new StyleSpan(Typeface.BOLD), start, start + label.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
     }
-
-    private String extractFirst(String text, String regex) {
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(regex).matcher(text);
-        return m.find() ? m.group(1).trim() : null;
-    }
-
-    /** Nimmt alles nach "Header:" bis zum nächsten "Xxx:"-Header am Zeilenanfang oder Textende. */
-    private String extractBlock(String text, String header) {
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(
-                "(?s)(?m)^" + java.util.regex.Pattern.quote(header) + "\\s*\\R" +   // Header-Zeile
-                        "((?:(?!^\\S+?:).)*?)\\s*" +                                        // Inhalt non-gierig
-                        "(?=^\\S+?:|\\z)"                                                   // Stop vor nächstem Header/Ende
-        );
-        java.util.regex.Matcher m = p.matcher(text);
-        return m.find() ? m.group(1).trim() : null;
-    }
-    // Comparator: „rejected“ nach unten
-    private static class RejectedLastComparator implements Comparator<ContactRequest> {
-        @Override public int compare(ContactRequest a, ContactRequest b) {
-            String sa = (a==null || a.status==null) ? "" : a.status.toLowerCase(Locale.ROOT);
-            String sb = (b==null || b.status==null) ? "" : b.status.toLowerCase(Locale.ROOT);
-            boolean ra = "rejected".equals(sa);
-            boolean rb = "rejected".equals(sb);
-            if (ra == rb) return 0;
-            return ra ? 1 : -1; // rejected kommt nach unten
-        }
-    }
 }
@@ -16,12 +16,14 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import de.iu.betreuerapp.Invoices.InvoiceRow;
+import de.iu.betreuerapp.Invoices.InvoiceSnapshot;
 import de.iu.betreuerapp.dto.ContactRequest;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 /**
  * Rechnungsübersicht aus Sicht STUDENT.
@@ -34,15 +36,18 @@ import retrofit2.Response;
  *  - Alle
  *  - Offen  (nicht bezahlt)
  *  - Bezahlt
+ *
+ * Mehrfachauswahl (lange drücken): mehrere Rechnungen auf einmal als bezahlt
+ * markieren, siehe {@link BatchUpdate}.
  */
 public class StudentInvoicesFragment extends Fragment {
 
     private RecyclerView rvInvoices;
     private TextView chipAll, chipOpen, chipPaid;
 
-    private final List<Row> rows = new ArrayList<>();
-    private final List<Row> visibleRows = new ArrayList<>();
+    @Nullable private InvoiceSnapshot snapshot; // fertig aufbereitet vom RequestRepository
     private StudentInvoicesAdapter adapter;
+    private MultiSelection selection;
 
     private enum FilterType { ALL, OPEN, PAID }
     private FilterType currentFilter = FilterType.ALL;
@@ -50,11 +55,6 @@ public class StudentInvoicesFragment extends Fragment {
     private static final int ORANGE = Color.parseColor("#FF9800");
     private static final int GRAY_TEXT = Color.parseColor("#666666");
 
-    private static class Row {
-        ContactRequest cr;
-        boolean isSupervisorInvoice; // true = Betreuer-Rechnung, false = Zweitprüfer-Rechnung
-    }
-
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -72,16 +72,30 @@ public class StudentInvoicesFragment extends Fragment {
         chipOpen = root.findViewById(R.id.chip_filter_open);
         chipPaid = root.findViewById(R.id.chip_filter_paid);
 
+        selection = new MultiSelection(root,
+                () -> adapter.notifyItemRangeChanged(0, adapter.getItemCount()));
+        selection.setAction("Als bezahlt markieren", v -> markPaid(selectedRows()));
+
         setupRecyclerView();
         setupFilterChips();
-        loadInvoices();
 
         return root;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .studentInvoices()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+        loadInvoices();
+    }
+
     private void setupRecyclerView() {
         rvInvoices.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new StudentInvoicesAdapter(visibleRows, this::showInvoiceDialog);
+        adapter = new StudentInvoicesAdapter(this::showInvoiceDialog, selection);
         rvInvoices.setAdapter(adapter);
     }
 
@@ -124,148 +138,84 @@ public class StudentInvoicesFragment extends Fragment {
     // --------------------------------------------------------
 
     private void loadInvoices() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String studentId = sm.userId();
 
         if (studentId == null) {
             Toast.makeText(requireContext(),
                     "Keine Benutzer-ID gefunden. Bitte neu anmelden.",
                     Toast.LENGTH_LONG).show();
-            rows.clear();
-            visibleRows.clear();
-            adapter.notifyDataSetChanged();
-            updateChipCounts();
+            showSnapshot(null);
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .getContactRequests("eq." + studentId)
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Laden: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            rows.clear();
-                            visibleRows.clear();
-                            adapter.notifyDataSetChanged();
-                            updateChipCounts();
-                            return;
-                        }
-
-                        rows.clear();
-
-                        for (ContactRequest r : response.body()) {
-                            if (r == null) continue;
-
-                            if (bool(r.invoice_supervisor_created)) {
-                                Row rowSup = new Row();
-                                rowSup.cr = r;
-                                rowSup.isSupervisorInvoice = true;
-                                rows.add(rowSup);
-                            }
-                            if (bool(r.invoice_reviewer_created)) {
-                                Row rowRev = new Row();
-                                rowRev.cr = r;
-                                rowRev.isSupervisorInvoice = false;
-                                rows.add(rowRev);
-                            }
-                        }
-
-                        applyFilter();
-                        updateChipCounts();
-                    }
-
-                    @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                        rows.clear();
-                        visibleRows.clear();
-                        adapter.notifyDataSetChanged();
-                        updateChipCounts();
-                    }
+        // Aufbereitung läuft im Repository, Ergebnis kommt über showSnapshot()
+        RequestRepository.get(requireContext())
+                .refreshStudentInvoices(studentId, message -> {
+                    if (!isAdded()) return;
+                    Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
                 });
     }
 
-    private void applyFilter() {
-        visibleRows.clear();
-
-        for (Row row : rows) {
-            ContactRequest r = row.cr;
-            boolean isSup = row.isSupervisorInvoice;
-
-            boolean paid = isSup
-                    ? bool(r.paid_supervisor)
-                    : bool(r.paid_reviewer);
-
-            boolean add;
-            switch (currentFilter) {
-                case OPEN:
-                    add = !paid;
-                    break;
-                case PAID:
-                    add = paid;
-                    break;
-                case ALL:
-                default:
-                    add = true;
-                    break;
-            }
+    private void showSnapshot(@Nullable InvoiceSnapshot s) {
+        snapshot = s;
+        applyFilter();
+        updateChipCounts();
+    }
 
-            if (add) visibleRows.add(row);
+    /** Alle Rechnungen des Studenten sind gestellt → "Offen" = nicht bezahlt. */
+    private List<InvoiceRow> rowsFor(FilterType filter) {
+        if (snapshot == null) return Collections.emptyList();
+        switch (filter) {
+            case OPEN: return snapshot.unpaid;
+            case PAID: return snapshot.paid;
+            case ALL:
+            default:   return snapshot.all;
         }
-
-        adapter.notifyDataSetChanged();
     }
 
-    private void updateChipCounts() {
-        int total = rows.size();
-        int open = 0;
-        int paid = 0;
-
-        for (Row row : rows) {
-            ContactRequest r = row.cr;
-            boolean isSup = row.isSupervisorInvoice;
+    private void applyFilter() {
+        List<InvoiceRow> rows = rowsFor(currentFilter);
+        adapter.submitList(rows);
 
-            boolean paidFlag = isSup
-                    ? bool(r.paid_supervisor)
-                    : bool(r.paid_reviewer);
+        List<String> keys = new ArrayList<>(rows.size());
+        for (InvoiceRow r : rows) keys.add(ROWS.key(r));
+        selection.retain(keys);
+    }
 
-            if (paidFlag) paid++;
-            else open++;
+    /** Markierte Zeilen in der Reihenfolge der Liste. */
+    private List<InvoiceRow> selectedRows() {
+        List<InvoiceRow> out = new ArrayList<>();
+        for (InvoiceRow r : rowsFor(currentFilter)) {
+            if (selection.isSelected(ROWS.key(r))) out.add(r);
         }
+        return out;
+    }
 
-        chipAll.setText("Alle (" + total + ")");
-        chipOpen.setText("Offen (" + open + ")");
-        chipPaid.setText("Bezahlt (" + paid + ")");
+    private void updateChipCounts() {
+        chipAll.setText("Alle (" + rowsFor(FilterType.ALL).size() + ")");
+        chipOpen.setText("Offen (" + rowsFor(FilterType.OPEN).size() + ")");
+        chipPaid.setText("Bezahlt (" + rowsFor(FilterType.PAID).size() + ")");
     }
 
     // --------------------------------------------------------
     // Dialog & Aktionen
     // --------------------------------------------------------
 
-    private void showInvoiceDialog(Row row) {
-        if (row == null || row.cr == null) return;
+    private void showInvoiceDialog(InvoiceRow row) {
+        if (row == null) return;
 
         ContactRequest r = row.cr;
-        boolean isSup = row.isSupervisorInvoice;
+        boolean isSup = row.supervisorInvoice;
 
         String roleLabel = isSup ? "Betreuer" : "Zweitprüfer";
         String personName = isSup
                 ? safe(r.supervisor_name, safe(r.supervisor_email, "-"))
                 : safe(r.second_reviewer_name, safe(r.second_reviewer_email, "-"));
 
-        boolean paid = isSup
-                ? bool(r.paid_supervisor)
-                : bool(r.paid_reviewer);
+        boolean paid = row.paid;
 
-        String title = extractTitle(r);
+        String title = RequestMessageParser.titleOf(r, "Arbeit");
 
         StringBuilder msg = new StringBuilder();
         msg.append("Thema: ").append(title).append("\n\n");
@@ -279,113 +229,102 @@ public class StudentInvoicesFragment extends Fragment {
 
         if (!paid) {
             b.setPositiveButton("Als bezahlt markieren",
-                    (d, w) -> updatePaidFlag(row));
+                    (d, w) -> markPaid(Collections.singletonList(row)));
         }
 
         b.show();
     }
 
-    private void updatePaidFlag(Row row) {
-        ContactRequest r = row.cr;
-        if (r == null || r.id == null) {
-            Toast.makeText(requireContext(),
-                    "Fehler: Eintrag ohne ID.",
-                    Toast.LENGTH_LONG).show();
-            return;
+    /**
+     * Markiert alle übergebenen Rechnungen als bezahlt – ein PATCH für alle
+     * Betreuer-Anteile, einer für alle Zweitprüfer-Anteile.
+     */
+    private void markPaid(List<InvoiceRow> rows) {
+        Map<String, String> supRows = new LinkedHashMap<>(); // Zeilen-Schlüssel → id
+        Map<String, String> revRows = new LinkedHashMap<>();
+        Map<String, String> labels = new LinkedHashMap<>();  // Zeilen-Schlüssel → Beschriftung
+        MultiSelection.Problems problems = new MultiSelection.Problems();
+
+        for (InvoiceRow row : rows) {
+            ContactRequest r = row.cr;
+            String key = ROWS.key(row);
+            String label = RequestMessageParser.titleOf(r, "Arbeit")
+                    + " (" + (row.supervisorInvoice ? "Betreuer" : "Zweitprüfer") + ")";
+            if (r.id == null) {
+                problems.put(key, label, "Eintrag ohne ID");
+                continue;
+            }
+            if (row.paid) {
+                problems.put(key, label, "bereits bezahlt");
+                continue;
+            }
+            labels.put(key, label);
+            if (row.supervisorInvoice) supRows.put(key, r.id);
+            else revRows.put(key, r.id);
         }
 
-        boolean isSup = row.isSupervisorInvoice;
+        ContactRequest paidSup = new ContactRequest();
+        paidSup.paid_supervisor = true;
+        ContactRequest paidRev = new ContactRequest();
+        paidRev.paid_reviewer = true;
 
-        ContactRequest patch = new ContactRequest();
-        if (isSup) {
-            patch.paid_supervisor = true;
-        } else {
-            patch.paid_reviewer = true;
+        BatchUpdate batch = new BatchUpdate(SupabaseClient.get(requireContext()).restService())
+                .add(paidSup, supRows)
+                .add(paidRev, revRows);
+
+        if (batch.isEmpty()) {
+            MultiSelection.showResult(requireContext(), "als bezahlt markiert", 0, problems);
+            return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .updateContactRequest("eq." + r.id, patch)
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful()) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Aktualisieren: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        Toast.makeText(requireContext(),
-                                "Zahlungsstatus aktualisiert.",
-                                Toast.LENGTH_SHORT).show();
-                        loadInvoices();
-                    }
-
-                    @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                    }
-                });
+        batch.run(result -> {
+            if (!isAdded()) return;
+            problems.putAll(result.failed, labels);
+            selection.clear();
+            MultiSelection.showResult(requireContext(), "als bezahlt markiert",
+                    result.okCount, problems);
+            loadInvoices();
+        });
     }
 
     // --------------------------------------------------------
     // Helper
     // --------------------------------------------------------
 
-    private boolean bool(Boolean b) {
-        return b != null && b;
-    }
-
     private String safe(String v, String fb) {
         return (v == null || v.isEmpty()) ? fb : v;
     }
 
-    /** Titel aus strukturierter message holen, sonst Fallback. */
-    private String extractTitle(ContactRequest r) {
-        if (r == null || r.message == null) {
-            return "Arbeit";
-        }
-        String msg = r.message.trim();
-        if (msg.isEmpty()) return "Arbeit";
-
-        String legacyPrefix = "Anfrage für Thema:";
-        if (msg.startsWith(legacyPrefix)) {
-            String t = msg.substring(legacyPrefix.length()).trim();
-            if (!t.isEmpty()) return t;
+    // Zeile = (Anfrage, Rolle); dieselbe Anfrage kann zweimal vorkommen
+    private static final DiffListAdapter.Identity<InvoiceRow> ROWS = new DiffListAdapter.Identity<InvoiceRow>() {
+        @Override
+        public String key(@NonNull InvoiceRow r) {
+            return r.cr.id + (r.supervisorInvoice ? ":sup" : ":rev");
         }
 
-        String[] lines = msg.split("\n");
-        for (String line : lines) {
-            String l = line.trim();
-            if (l.startsWith("Titel:")) {
-                String t = l.substring("Titel:".length()).trim();
-                if (!t.isEmpty()) return t;
-            }
+        @Override
+        public boolean sameContent(@NonNull InvoiceRow a, @NonNull InvoiceRow b) {
+            return a.supervisorInvoice == b.supervisorInvoice
+                    && DiffListAdapter.CONTACT_REQUESTS.sameContent(a.cr, b.cr);
         }
-
-        return "Arbeit";
-    }
+    };
 
     // --------------------------------------------------------
     // Adapter
     // --------------------------------------------------------
 
     private static class StudentInvoicesAdapter
-            extends RecyclerView.Adapter<StudentInvoicesAdapter.VH> {
+            extends DiffListAdapter<InvoiceRow, StudentInvoicesAdapter.VH> {
 
-        interface OnRowClick { void onClick(Row row); }
+        interface OnRowClick { void onClick(InvoiceRow row); }
 
-        private final List<Row> data;
         private final OnRowClick listener;
+        private final MultiSelection selection;
 
-        StudentInvoicesAdapter(List<Row> data, OnRowClick listener) {
-            this.data = data;
+        StudentInvoicesAdapter(OnRowClick listener, MultiSelection selection) {
+            super(ROWS);
             this.listener = listener;
+            this.selection = selection;
         }
 
         static class VH extends RecyclerView.ViewHolder {
@@ -408,21 +347,19 @@ public class StudentInvoicesFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH h, int position) {
-            Row row = data.get(position);
-            if (row == null || row.cr == null) return;
+            InvoiceRow row = getItem(position);
+            if (row == null) return;
 
             ContactRequest r = row.cr;
-            boolean isSup = row.isSupervisorInvoice;
+            boolean isSup = row.supervisorInvoice;
 
-            String title = extractTitle(r);
+            String title = RequestMessageParser.titleOf(r, "Arbeit");
             String roleLabel = isSup ? "Betreuer" : "Zweitprüfer";
             String personName = isSup
                     ? safeLocal(r.supervisor_name, safeLocal(r.supervisor_email, "-"))
                     : safeLocal(r.second_reviewer_name, safeLocal(r.second_reviewer_email, "-"));
 
-            boolean paid = isSup
-                    ? (r.paid_supervisor != null && r.paid_supervisor)
-                    : (r.paid_reviewer != null && r.paid_reviewer);
+            boolean paid = row.paid;
 
             h.tvTitle.setText(title);
             h.tvSubtitle.setText("Rechnung " + roleLabel + " – " + personName);
@@ -435,41 +372,13 @@ public class StudentInvoicesFragment extends Fragment {
             h.tvStatus.setText(statusText);
             h.tvStatus.setTextColor(statusColor);
 
-            h.itemView.setOnClickListener(v -> {
+            selection.bind(h.itemView, ROWS.key(row), () -> {
                 if (listener != null) listener.onClick(row);
             });
         }
 
-        @Override
-        public int getItemCount() {
-            return data.size();
-        }
-
         private static String safeLocal(String v, String fb) {
             return (v == null || v.isEmpty()) ? fb : v;
         }
-
-        private static String extractTitle(ContactRequest r) {
-            if (r == null || r.message == null) return "Arbeit";
-            String msg = r.message.trim();
-            if (msg.isEmpty()) return "Arbeit";
-
-            String legacyPrefix = "Anfrage für Thema:";
-            if (msg.startsWith(legacyPrefix)) {
-                String t = msg.substring(legacyPrefix.length()).trim();
-                if (!t.isEmpty()) return t;
-            }
-
-            String[] lines = msg.split("\n");
-            for (String line : lines) {
-                String l = line.trim();
-                if (l.startsWith("Titel:")) {
-                    String t = l.substring("Titel:".length()).trim();
-                    if (!t.isEmpty()) return t;
-                }
-            }
-
-            return "Arbeit";
-        }
     }
 }
@@ -1,14 +1,21 @@
 package de.iu.betreuerapp;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.inputmethod.EditorInfo;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.ProgressBar;
 import android.widget.Spinner;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -18,12 +25,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import de.iu.betreuerapp.dto.Topic;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import de.iu.betreuerapp.dto.TopicWithOwner;
 
 public class StudentTopicsFragment extends Fragment {
 
@@ -31,10 +37,32 @@ public class StudentTopicsFragment extends Fragment {
     private ProgressBar progressBar;
     private TextView tvEmpty;
     private Spinner areaFilterSpinner;
+    private EditText searchInput;
 
     private TopicsAdapter adapter;
     private final List<Topic> topics = new ArrayList<>();
 
+    private KeysetPager<TopicWithOwner> pager;
+    private TopicSearchPager searchPager;
+    private PagingScrollListener pagingListener;
+
+    // Volltextsuche: erst ab MIN_QUERY_LENGTH Zeichen, entprellt
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = () -> loadTopics(selectedArea);
+
+    // aktiver Suchbegriff (null = normale Liste)
+    @Nullable private String activeQuery = null;
+
+    // neue / vergebene Themen per Realtime, solange der Screen sichtbar ist
+    @Nullable private RealtimeClient.Subscription realtimeSub;
+
+    // Zählt Ladevorgänge hoch, damit ein später fertig gewordener Cache-Read
+    // keine neueren Netzwerkdaten (oder einen anderen Filter) überschreibt
+    private int loadGeneration = 0;
+    private boolean networkLoaded = false;
+
     // aktuell gewählter Fachbereich (null = alle)
     private String selectedArea = null;
 
@@ -54,16 +82,90 @@ public class StudentTopicsFragment extends Fragment {
         progressBar = view.findViewById(R.id.progress_bar);
         tvEmpty = view.findViewById(R.id.tv_empty);
         areaFilterSpinner = view.findViewById(R.id.spinner_area_filter);
+        searchInput = view.findViewById(R.id.et_search);
 
         rvTopics.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new TopicsAdapter(topics, this::openTopicDetail);
+        adapter = new TopicsAdapter(this::openTopicDetail);
         rvTopics.setAdapter(adapter);
 
+        setupPaging();
+        setupSearch();
         setupAreaFilterSpinner();
 
         return view;
     }
 
+    @Override
+    public void onStart() {
+        super.onStart();
+        if (adapter == null || realtimeSub != null) return; // AuthGuard hat abgelehnt
+
+        // ohne Filter: ein Thema, das vergeben wird, soll auch aus der Liste verschwinden
+        realtimeSub = SupabaseClient.get(requireContext()).realtime().subscribe(
+                "topics", null, TopicWithOwner.class,
+                new RealtimeClient.Listener<TopicWithOwner>() {
+                    @Override
+                    public void onChange(@NonNull RealtimeClient.Change<TopicWithOwner> change) {
+                        if (isAdded()) applyChange(change);
+                    }
+
+                    @Override
+                    public void onResync() {
+                        if (isAdded()) loadTopics(selectedArea);
+                    }
+                });
+    }
+
+    @Override
+    public void onStop() {
+        if (realtimeSub != null) {
+            realtimeSub.close();
+            realtimeSub = null;
+        }
+        super.onStop();
+    }
+
+    @Override
+    public void onDestroyView() {
+        searchHandler.removeCallbacks(searchRunnable);
+        if (pager != null) pager.reset();
+        if (searchPager != null) searchPager.cancel();
+        super.onDestroyView();
+    }
+
+    private void setupSearch() {
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+            @Override public void onTextChanged(CharSequence s, int start, int before, int count) {}
+            @Override public void afterTextChanged(Editable s) {
+                searchHandler.removeCallbacks(searchRunnable);
+                // nur neu laden, wenn sich der wirksame Suchbegriff ändert
+                if (!sameQuery(currentQuery(), activeQuery)) {
+                    searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+                }
+            }
+        });
+
+        // "Suchen" auf der Tastatur → ohne Wartezeit
+        searchInput.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId != EditorInfo.IME_ACTION_SEARCH) return false;
+            loadTopics(selectedArea);
+            return true;
+        });
+    }
+
+    /** Suchbegriff aus dem Eingabefeld; null, wenn zu kurz für eine Suche. */
+    @Nullable
+    private String currentQuery() {
+        if (searchInput == null || searchInput.getText() == null) return null;
+        String q = searchInput.getText().toString().trim();
+        return q.length() >= MIN_QUERY_LENGTH ? q : null;
+    }
+
+    private static boolean sameQuery(@Nullable String a, @Nullable String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
     private void setupAreaFilterSpinner() {
         // Basis-Einträge aus resources
         String[] baseAreas = getResources().getStringArray(R.array.expertise_areas);
@@ -116,58 +218,168 @@ public class StudentTopicsFragment extends Fragment {
     }
 
     /**
-     * Lädt verfügbare Themen von Supabase.
+     * Themen werden seitenweise geladen (Keyset auf created_at,id);
+     * die nächste Seite kommt, sobald das Listenende in Sicht ist.
+     * Das Tutor-Profil ist eingebettet (TOPIC_WITH_OWNER_COLUMNS) – kein Nachladen pro Zeile.
+     * Mit Suchbegriff kommen die Seiten aus der Volltextsuche ({@link TopicSearchPager}).
+     */
+    private void setupPaging() {
+        KeysetPager.Listener<TopicWithOwner> pageListener = new KeysetPager.Listener<TopicWithOwner>() {
+            @Override
+            public void onPageLoaded(@NonNull List<TopicWithOwner> page, boolean firstPage, boolean endReached) {
+                progressBar.setVisibility(View.GONE);
+                networkLoaded = true;
+                // Suchergebnisse nicht als lokale Kopie der Themenbörse ablegen
+                if (activeQuery == null) saveToLocalStore(page, firstPage, endReached);
+
+                if (firstPage) topics.clear();
+                topics.addAll(page);
+
+                if (topics.isEmpty()) {
+                    tvEmpty.setText(activeQuery != null
+                            ? "Keine Themen zu \"" + activeQuery + "\" gefunden."
+                            : "Aktuell keine offenen Themen verfügbar.");
+                    tvEmpty.setVisibility(View.VISIBLE);
+                } else {
+                    tvEmpty.setVisibility(View.GONE);
+                }
+
+                // erst nach dem Diff stimmt getItemCount() für die Prefetch-Prüfung
+                adapter.submitList(topics, () -> pagingListener.check(rvTopics));
+            }
+
+            @Override
+            public void onPageFailed(@NonNull String message, boolean firstPage) {
+                progressBar.setVisibility(View.GONE);
+                if (!firstPage) return; // Folgeseite: beim nächsten Scrollen erneut versuchen
+
+                if (activeQuery == null && !topics.isEmpty()) {
+                    // lokale Kopie wird schon angezeigt → stehen lassen
+                    Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                    return;
+                }
+
+                tvEmpty.setText(message);
+                tvEmpty.setVisibility(View.VISIBLE);
+                topics.clear();
+                adapter.submitList(topics);
+            }
+        };
+
+        SupabaseRestService service = SupabaseClient.get(requireContext()).restService();
+        pager = new KeysetPager<>(
+                (keysetOr, limit) -> service.getAvailableTopicsPage("eq.available",
+                        areaEq(selectedArea), SupabaseRestService.TOPIC_WITH_OWNER_COLUMNS,
+                        keysetOr, KeysetPager.ORDER, limit),
+                KeysetPager.TOPIC_KEYS,
+                pageListener);
+        searchPager = new TopicSearchPager(service, pageListener);
+
+        pagingListener = new PagingScrollListener(pager);
+        rvTopics.addOnScrollListener(pagingListener);
+    }
+
+    /**
+     * Lädt verfügbare Themen von Supabase (ab Seite 1).
      * areaFilter = null → alle Bereiche.
+     * Steht ein Suchbegriff im Feld, werden nur Treffer der Volltextsuche geladen.
      */
     private void loadTopics(@Nullable String areaFilter) {
+        selectedArea = areaFilter;
+        searchHandler.removeCallbacks(searchRunnable);
         progressBar.setVisibility(View.VISIBLE);
         tvEmpty.setVisibility(View.GONE);
 
-        SupabaseClient client = new SupabaseClient(requireContext());
+        activeQuery = currentQuery();
+        if (activeQuery != null) {
+            ++loadGeneration; // evtl. noch laufenden Cache-Read verwerfen
+            pager.reset();
+            pagingListener.setSource(searchPager);
+            searchPager.start(activeQuery, areaFilter);
+            return;
+        }
+        searchPager.cancel();
+        pagingListener.setSource(pager);
+
+        // 1) sofort aus der lokalen Kopie, 2) parallel Seite 1 vom Server
+        final int generation = ++loadGeneration;
+        networkLoaded = false;
+        LocalStore.Scope scope = LocalStore.Scope.availableTopics(areaFilter);
+        LocalStore.get(requireContext()).read(
+                store -> store.queryTopics(scope, KeysetPager.DEFAULT_PAGE_SIZE),
+                Collections.emptyList(),
+                cached -> {
+                    if (!isAdded() || generation != loadGeneration || networkLoaded) return;
+                    topics.clear();
+                    topics.addAll(cached);
+                    adapter.submitList(topics);
+                    if (!cached.isEmpty()) progressBar.setVisibility(View.GONE);
+                });
 
-        String statusEq = "eq.available";
-        String areaEq = (areaFilter != null && !areaFilter.isEmpty())
-                ? "eq." + areaFilter
-                : null;
+        pager.loadFirst();
+    }
 
-        client.restService()
-                .getAvailableTopics(statusEq, areaEq, "created_at.desc")
-                .enqueue(new Callback<List<Topic>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<Topic>> call,
-                                           @NonNull Response<List<Topic>> response) {
-                        progressBar.setVisibility(View.GONE);
-
-                        if (!response.isSuccessful() || response.body() == null) {
-                            tvEmpty.setText("Fehler beim Laden der Themen (" + response.code() + ")");
-                            tvEmpty.setVisibility(View.VISIBLE);
-                            topics.clear();
-                            adapter.notifyDataSetChanged();
-                            return;
-                        }
-
-                        topics.clear();
-                        topics.addAll(response.body());
-                        adapter.notifyDataSetChanged();
-
-                        if (topics.isEmpty()) {
-                            tvEmpty.setText("Aktuell keine offenen Themen verfügbar.");
-                            tvEmpty.setVisibility(View.VISIBLE);
-                        } else {
-                            tvEmpty.setVisibility(View.GONE);
-                        }
-                    }
+    /**
+     * Realtime-Änderung in die angezeigte Liste einspielen:
+     * nicht mehr verfügbar / anderer Bereich / gelöscht → raus, geändert → ersetzen,
+     * neu eingestellt → oben einsortieren (nur ohne Suchbegriff; ob ein neues Thema
+     * zur Suche passt, weiß nur der Server).
+     * Realtime liefert nur die topics-Zeile; das eingebettete Tutor-Profil wird vom
+     * bisherigen Eintrag übernommen.
+     */
+    private void applyChange(@NonNull RealtimeClient.Change<TopicWithOwner> change) {
+        String id = change.id;
+        TopicWithOwner t = change.record;
+        if (id == null) return;
+
+        int pos = -1;
+        for (int i = 0; i < topics.size(); i++) {
+            if (id.equals(topics.get(i).id)) { pos = i; break; }
+        }
+        if (t != null && t.profiles == null && pos >= 0
+                && topics.get(pos) instanceof TopicWithOwner) {
+            t.profiles = ((TopicWithOwner) topics.get(pos)).profiles;
+        }
 
-                    @Override
-                    public void onFailure(@NonNull Call<List<Topic>> call,
-                                          @NonNull Throwable t) {
-                        progressBar.setVisibility(View.GONE);
-                        tvEmpty.setText("Netzwerkfehler: " + t.getMessage());
-                        tvEmpty.setVisibility(View.VISIBLE);
-                        topics.clear();
-                        adapter.notifyDataSetChanged();
-                    }
-                });
+        LocalStore store = LocalStore.get(requireContext());
+        if (change.type == RealtimeClient.ChangeType.DELETE || t == null) {
+            store.write(s -> s.deleteTopic(id));
+        } else {
+            store.write(s -> s.putTopics(Collections.singletonList(t)));
+        }
+
+        boolean listed = t != null
+                && "available".equals(t.status)
+                && (selectedArea == null || selectedArea.equals(t.area));
+
+        if (!listed) {
+            if (pos < 0) return;
+            topics.remove(pos);
+        } else if (pos >= 0) {
+            topics.set(pos, t);
+        } else if (change.type == RealtimeClient.ChangeType.INSERT && activeQuery == null) {
+            DeltaSync.merge(topics, Collections.singletonList(t), KeysetPager.TOPIC_KEYS);
+        } else {
+            return; // älteres Thema wieder frei → kommt beim nächsten Laden
+        }
+
+        tvEmpty.setVisibility(topics.isEmpty() ? View.VISIBLE : View.GONE);
+        adapter.submitList(topics);
+    }
+
+    private void saveToLocalStore(List<? extends Topic> page, boolean firstPage, boolean endReached) {
+        LocalStore store = LocalStore.get(requireContext());
+        if (firstPage) {
+            LocalStore.Scope scope = LocalStore.Scope.availableTopics(selectedArea);
+            store.write(s -> s.replaceTopics(scope, page, endReached));
+        } else {
+            store.write(s -> s.putTopics(page));
+        }
+    }
+
+    @Nullable
+    private static String areaEq(@Nullable String area) {
+        return (area != null && !area.isEmpty()) ? "eq." + area : null;
     }
 
     private void openTopicDetail(Topic topic) {
@@ -181,17 +393,16 @@ public class StudentTopicsFragment extends Fragment {
 
     // -------------------- Adapter --------------------
 
-    private static class TopicsAdapter extends RecyclerView.Adapter<TopicsAdapter.VH> {
+    private static class TopicsAdapter extends DiffListAdapter<Topic, TopicsAdapter.VH> {
 
         interface OnTopicClick {
             void onClick(Topic t);
         }
 
-        private final List<Topic> data;
         private final OnTopicClick onClick;
 
-        TopicsAdapter(List<Topic> data, OnTopicClick onClick) {
-            this.data = data;
+        TopicsAdapter(OnTopicClick onClick) {
+            super(TOPICS);
             this.onClick = onClick;
         }
 
@@ -216,7 +427,7 @@ public class StudentTopicsFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH holder, int position) {
-            Topic t = data.get(position);
+            Topic t = getItem(position);
             if (t == null) return;
 
             // Titel
@@ -231,9 +442,12 @@ public class StudentTopicsFragment extends Fragment {
                     : "–";
             holder.tvArea.setText("Fachgebiet: " + areaText);
 
-            // Tutor (über SupervisorDirectory, falls vorhanden)
+            // Tutor: eingebettetes Profil, sonst SupervisorDirectory
             String tutorLabel = "Tutor: –";
-            if (t.owner_id != null) {
+            String embedded = (t instanceof TopicWithOwner) ? tutorOf((TopicWithOwner) t) : null;
+            if (embedded != null) {
+                tutorLabel = "Tutor: " + embedded;
+            } else if (t.owner_id != null) {
                 SupervisorDirectory.Entry e = SupervisorDirectory.findById(t.owner_id);
                 if (e != null) {
                     StringBuilder tb = new StringBuilder();
@@ -265,9 +479,14 @@ public class StudentTopicsFragment extends Fragment {
             holder.itemView.setOnClickListener(v -> onClick.onClick(t));
         }
 
-        @Override
-        public int getItemCount() {
-            return data.size();
+        /** "Name (E-Mail)" aus dem eingebetteten Profil; null, wenn nichts mitkam. */
+        @Nullable
+        private static String tutorOf(@NonNull TopicWithOwner t) {
+            String name = t.getTutorName();
+            String email = t.getTutorEmail();
+            if (email != null && email.isEmpty()) email = null;
+            if (name == null) return email;
+            return email != null ? name + " (" + email + ")" : name;
         }
     }
 }
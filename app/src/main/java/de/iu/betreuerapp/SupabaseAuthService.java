@@ -1,5 +1,6 @@
 package de.iu.betreuerapp;
 
+import de.iu.betreuerapp.dto.AuthRefreshRequest;
 import de.iu.betreuerapp.dto.AuthResponse;
 import de.iu.betreuerapp.dto.AuthSignInRequest;
 import de.iu.betreuerapp.dto.AuthSignUpRequest;
@@ -9,14 +10,22 @@ import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
 
+/**
+ * Auth-Endpoints (GoTrue). Absolute Pfade, weil der gemeinsame Retrofit auf /rest/v1/ zeigt.
+ */
 public interface SupabaseAuthService {
     // Signup
     @Headers({"Content-Type: application/json"})
-    @POST("signup")
+    @POST("/auth/v1/signup")
     Call<AuthResponse> signUp(@Body AuthSignUpRequest body);
 
     // SignIn (grant_type=password)
     @Headers({"Content-Type: application/json"})
-    @POST("token")
+    @POST("/auth/v1/token")
     Call<AuthResponse> signIn(@Query("grant_type") String grantType, @Body AuthSignInRequest body);
+
+    // Token erneuern (grant_type=refresh_token), siehe TokenRefresher
+    @Headers({"Content-Type: application/json"})
+    @POST("/auth/v1/token")
+    Call<AuthResponse> refresh(@Query("grant_type") String grantType, @Body AuthRefreshRequest body);
 }
@@ -5,58 +5,143 @@ import static de.iu.betreuerapp.BuildConfig.SUPABASE_URL;
 
 import android.content.Context;
 
-import androidx.annotation.Nullable;
+import androidx.annotation.NonNull;
 
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * Prozessweiter Zugang zu Supabase (Auth + REST).
+ *
+ * Es gibt genau EINE Instanz pro Prozess (siehe {@link #get(Context)}):
+ * - ein OkHttpClient → ein ConnectionPool + ein Dispatcher (Thread-Pool)
+ * - ein Retrofit mit Basis /rest/v1/; die Auth-Endpoints nutzen absolute Pfade (/auth/v1/...)
+ * - die Service-Proxies werden einmal erzeugt und danach wiederverwendet
+ * - gleichzeitige identische GETs teilen sich einen Call, siehe {@link SingleFlight}
+ * - ein Disk-Cache (cacheDir/http) für GET-Antworten, siehe {@link HttpCaching}
+ * - eine Realtime-WebSocket-Verbindung (/realtime/v1), siehe {@link RealtimeClient}
+ * - das access_token wird vor Ablauf bzw. bei 401 erneuert, siehe {@link TokenRefresher}
+ * - Latenz/Bytes pro Endpoint in {@link NetworkTelemetry}; Logging nur im Debug-Build
+ *   und nur stichprobenweise mit Body, siehe {@link HttpLogging}
+ *
+ * Dadurch bleiben TLS-Verbindungen über Tab-Wechsel hinweg offen.
+ */
 public class SupabaseClient {
 
-    private final Retrofit authRetrofit; // /auth/v1
-    private final Retrofit restRetrofit; // /rest/v1
-    private final SessionManager session;
-
-    public SupabaseClient(Context ctx) {
-        this.session = new SessionManager(ctx.getApplicationContext());
-
-        HttpLoggingInterceptor log = new HttpLoggingInterceptor();
-        log.setLevel(HttpLoggingInterceptor.Level.BODY);
+    private static volatile SupabaseClient instance;
+
+    /** Gemeinsame Instanz holen (legt sie beim ersten Aufruf an). */
+    public static SupabaseClient get(@NonNull Context ctx) {
+        SupabaseClient c = instance;
+        if (c == null) {
+            synchronized (SupabaseClient.class) {
+                c = instance;
+                if (c == null) {
+                    c = new SupabaseClient(ctx.getApplicationContext());
+                    instance = c;
+                }
+            }
+        }
+        return c;
+    }
 
-        OkHttpClient authOk = new OkHttpClient.Builder()
-                .addInterceptor(commonHeaders(null)) // Auth-Endpoints: Bearer = anon key
-                .addInterceptor(log)
+    private final SessionManager session;
+    private final TokenRefresher tokens;
+    private final ConnectionStats connectionStats = new ConnectionStats();
+    private final NetworkTelemetry telemetry = new NetworkTelemetry(connectionStats);
+    private final SingleFlight singleFlight = SingleFlight.create();
+
+    private final Cache httpCache;
+    private final OkHttpClient http;
+    private final Retrofit retrofit;           // /rest/v1 (+ /auth/v1 über absolute Pfade)
+
+    private final SupabaseAuthService authService;
+    private final SupabaseRestService restService;
+    private final RealtimeClient realtime;
+
+    private SupabaseClient(Context appCtx) {
+        this.session = SessionManager.get(appCtx);
+        this.tokens = new TokenRefresher(session, () -> this.authService);
+
+        // Größe über BuildConfig (app/build.gradle) einstellbar
+        httpCache = new Cache(new File(appCtx.getCacheDir(), "http"), BuildConfig.HTTP_CACHE_SIZE_BYTES);
+
+        OkHttpClient.Builder httpBuilder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                .dispatcher(new Dispatcher())
+                .cache(httpCache)
+                .eventListenerFactory(telemetry)
+                .authenticator(tokens)
+                .addInterceptor(commonHeaders(tokens::freshToken))
+                .addInterceptor(HttpCaching.staleWhileRevalidate(() -> this.http));
+        if (BuildConfig.DEBUG) {
+            httpBuilder.addInterceptor(HttpLogging.sampled());
+        }
+        http = httpBuilder
+                .addNetworkInterceptor(HttpCaching.revalidateAlways())
                 .connectTimeout(30, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .build();
 
-        OkHttpClient restOk = new OkHttpClient.Builder()
-                .addInterceptor(commonHeaders(() -> session.token())) // REST: Bearer = user access token
-                .addInterceptor(log)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
+        Gson gson = new Gson();
+        retrofit = new Retrofit.Builder()
+                .baseUrl(SUPABASE_URL + "/rest/v1/")
+                .addConverterFactory(RowStream.factory(gson))   // vor Gson, die nimmt jeden Typ
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .addCallAdapterFactory(singleFlight)
+                .client(http)
                 .build();
 
-        authRetrofit = new Retrofit.Builder()
-                .baseUrl(SUPABASE_URL + "/auth/v1/")
-                .addConverterFactory(GsonConverterFactory.create())
-                .client(authOk)
-                .build();
+        authService = retrofit.create(SupabaseAuthService.class);
+        restService = retrofit.create(SupabaseRestService.class);
+
+        // Gleicher Pool/Dispatcher, aber ohne REST-Interceptoren (Cache, Body-Logging);
+        // apikey und Token stehen bei Realtime in der URL bzw. im phx_join
+        OkHttpClient.Builder socketHttp = http.newBuilder()
+                .cache(null)
+                .readTimeout(0, TimeUnit.MILLISECONDS);
+        socketHttp.interceptors().clear();
+        socketHttp.networkInterceptors().clear();
+        realtime = new RealtimeClient(socketHttp.build(), realtimeUrl(),
+                () -> session.token(), AppExecutors.main());
+
+        // neues Token (Refresh, neuer Login) auch an die Realtime-Kanäle
+        session.addListener(new SessionManager.Listener() {
+            private String lastToken = session.token();
+
+            @Override
+            public void onSessionChanged(@NonNull SessionManager.Session s) {
+                if (s.token == null || s.token.equals(lastToken)) return;
+                lastToken = s.token;
+                realtime.refreshAccessToken();
+            }
+        });
+    }
 
-        restRetrofit = new Retrofit.Builder()
-                .baseUrl(SUPABASE_URL + "/rest/v1/")
-                .addConverterFactory(GsonConverterFactory.create())
-                .client(restOk)
-                .build();
+    /** https://x.supabase.co → wss://x.supabase.co/realtime/v1/websocket?apikey=…&vsn=1.0.0 */
+    private static String realtimeUrl() {
+        String base = SUPABASE_URL.replaceFirst("^http", "ws");
+        return base + "/realtime/v1/websocket?apikey=" + SUPABASE_ANON_KEY + "&vsn=1.0.0";
     }
 
-    /** Gemeinsame Header: apikey immer; Authorization: Bearer <anon|access_token> */
-    private Interceptor commonHeaders(@Nullable TokenProvider tokenProvider) {
+    /**
+     * Gemeinsame Header: apikey immer; Authorization: Bearer <anon|access_token>.
+     * Auth-Endpoints (/auth/v1/...) laufen immer mit dem anon key.
+     * Dazu der Cache-Schlüssel {@link HttpCaching#HEADER_USER} (bleibt bei Token-Erneuerung gleich).
+     */
+    private Interceptor commonHeaders(TokenProvider tokenProvider) {
         return chain -> {
             Request orig = chain.request();
 
@@ -66,28 +151,57 @@ public class SupabaseClient {
 
             // Prüfen, ob der Request bereits einen Authorization-Header hat
             String existingAuth = orig.header("Authorization");
+            boolean asUser = false;
 
             if (existingAuth == null || existingAuth.isEmpty()) {
                 String bearer;
 
-                if (tokenProvider == null) {
+                if (isAuthEndpoint(orig)) {
                     // z.B. für /auth: Standard = anon key
                     bearer = SUPABASE_ANON_KEY;
                 } else {
                     String t = tokenProvider.get();
-                    bearer = (t == null || t.isEmpty()) ? SUPABASE_ANON_KEY : t;
+                    asUser = t != null && !t.isEmpty();
+                    bearer = asUser ? t : SUPABASE_ANON_KEY;
                 }
 
                 builder.header("Authorization", "Bearer " + bearer);
             }
             // wenn already set: lassen wir ihn in Ruhe
 
+            String userId = asUser ? session.userId() : null;
+            builder.header(HttpCaching.HEADER_USER,
+                    userId != null && !userId.isEmpty() ? userId : HttpCaching.USER_ANON);
+
             return chain.proceed(builder.build());
         };
     }
 
-    public SupabaseAuthService authService() { return authRetrofit.create(SupabaseAuthService.class); }
-    public SupabaseRestService restService() { return restRetrofit.create(SupabaseRestService.class); }
+    static boolean isAuthEndpoint(Request r) {
+        return r.url().encodedPath().startsWith("/auth/");
+    }
+
+    public SupabaseAuthService authService() { return authService; }
+    public SupabaseRestService restService() { return restService; }
+    public RealtimeClient realtime() { return realtime; }
+
+    /** Leert den HTTP-Cache (z.B. beim Logout). Blockiert → nicht auf dem Main-Thread. */
+    public void clearHttpCache() {
+        try {
+            httpCache.evictAll();
+        } catch (IOException ignored) {
+            // Cache ist nur Beschleunigung – notfalls bleibt er bis zum nächsten Überschreiben
+        }
+    }
+
+    /** Zähler für Verbindungen und Cache-Treffer (z.B. für Logcat / Debug-Ansicht). */
+    public ConnectionStats connectionStats() { return connectionStats; }
+
+    /** Latenz-Histogramme pro Endpoint (Debug-Ansicht, dump()). */
+    public NetworkTelemetry telemetry() { return telemetry; }
+
+    /** Zähler für geteilte GETs. */
+    public SingleFlight singleFlight() { return singleFlight; }
 
     interface TokenProvider { String get(); }
 }
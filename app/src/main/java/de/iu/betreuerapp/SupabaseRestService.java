@@ -5,12 +5,14 @@ import java.util.List;
 import de.iu.betreuerapp.dto.Profile;
 import de.iu.betreuerapp.dto.ContactRequest;
 import de.iu.betreuerapp.dto.Topic;
+import de.iu.betreuerapp.dto.TopicWithOwner;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 import retrofit2.http.DELETE;
 import retrofit2.http.PATCH;
 
@@ -18,9 +20,23 @@ public interface SupabaseRestService {
 
     // ---------- PROFILE ----------
 
+    // Was die App von einem Profil anzeigt (keine weiteren Spalten mitschicken lassen)
+    String PROFILE_COLUMNS = "id,email,first_name,last_name,role";
+
+    // Profile ändern sich selten → sofort aus dem HTTP-Cache, Abgleich im Hintergrund
+    @Headers(HttpCaching.STALE_WHILE_REVALIDATE)
     @GET("profiles")
     Call<List<Profile>> getProfileById(
-            @Query("id") String filterEq        // "eq.<uuid>"
+            @Query("id") String filterEq,       // "eq.<uuid>"
+            @Query("select") String select      // PROFILE_COLUMNS
+    );
+
+    // Alle Profile einer Rolle (Betreuer-Verzeichnis), ebenfalls stale-while-revalidate
+    @Headers(HttpCaching.STALE_WHILE_REVALIDATE)
+    @GET("profiles")
+    Call<List<Profile>> getProfilesByRole(
+            @Query("role") String roleEq,       // "eq.tutor"
+            @Query("select") String select
     );
 
     @Headers({
@@ -43,14 +59,98 @@ public interface SupabaseRestService {
             @Body ContactRequest request
     );
 
-    // Alle Anfragen; RLS sorgt dafür, dass jeder nur seine sieht
+    // Alle Anfragen; RLS sorgt dafür, dass jeder nur seine sieht.
+    // Für Listen lieber die gefilterten Varianten unten nehmen.
     @GET("contact_requests")
-    Call<List<ContactRequest>> listContactRequests();
+    Call<List<ContactRequest>> listContactRequests(
+            @Query("select") String select
+    );
 
     // Anfragen eines Studierenden
     @GET("contact_requests")
     Call<List<ContactRequest>> getContactRequests(
-            @Query("student_id") String studentIdEq   // "eq.<uuid>"
+            @Query("student_id") String studentIdEq,  // "eq.<uuid>"
+            @Query("select") String select
+    );
+
+    // Eine Anfrage komplett (Detail-Dialog lädt nach, was die Liste weglässt)
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getContactRequestById(
+            @Query("id") String idEq,                 // "eq.<uuid>"
+            @Query("select") String select            // CONTACT_REQUEST_COLUMNS
+    );
+
+    // Alle Spalten, die die App kennt (siehe dto.ContactRequest) – für Detail-Ansichten
+    String CONTACT_REQUEST_COLUMNS =
+            "id,student_id,student_name,student_email,"
+                    + "supervisor_id,supervisor_name,supervisor_email,topic_id,"
+                    + "message,expose_url,status,"
+                    + "second_reviewer_id,second_reviewer_name,second_reviewer_email,second_reviewer_status,"
+                    + "invoice_supervisor_created,invoice_reviewer_created,paid_supervisor,paid_reviewer,"
+                    + "created_at,updated_at";
+
+    // Für Listen: ohne expose_url (nur im Detail-Dialog, siehe RequestDetails).
+    // message bleibt drin – Titel/Fachgebiet stehen darin (RequestMessageParser).
+    String CONTACT_REQUEST_LIST_COLUMNS =
+            "id,student_id,student_name,student_email,"
+                    + "supervisor_id,supervisor_name,supervisor_email,topic_id,"
+                    + "message,status,"
+                    + "second_reviewer_id,second_reviewer_name,second_reviewer_email,second_reviewer_status,"
+                    + "invoice_supervisor_created,invoice_reviewer_created,paid_supervisor,paid_reviewer,"
+                    + "created_at,updated_at";
+
+    // Tutor: Anfragen / Arbeiten als Hauptbetreuer, Status-Filter serverseitig
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getSupervisorRequests(
+            @Query("supervisor_id") String supervisorIdEq, // "eq.<uuid>"
+            @Query("status") String statusIn,              // z.B. "in.(open,accepted,rejected)"
+            @Query("select") String select
+    );
+
+    // Seitenweise Variante (Keyset auf created_at,id – siehe KeysetPager)
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getSupervisorRequestsPage(
+            @Query("supervisor_id") String supervisorIdEq,
+            @Query("status") String statusIn,
+            @Query("select") String select,
+            @Query("or") String keysetOr,                   // null = erste Seite
+            @Query("order") String order,                   // KeysetPager.ORDER
+            @Query("limit") Integer limit
+    );
+
+    // Delta: nur seit der letzten Marke geänderte Zeilen (siehe DeltaSync)
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getSupervisorRequestsChangedSince(
+            @Query("supervisor_id") String supervisorIdEq,
+            @Query("updated_at") String updatedAtGt,        // "gt.<timestamp>"
+            @Query("select") String select,
+            @Query("order") String order                    // "updated_at.asc"
+    );
+
+    // Zweitprüfer: eigene Einladungen/Zusagen
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getSecondReviewerRequests(
+            @Query("or") String reviewerOr,                 // "(second_reviewer_id.eq.X,second_reviewer_email.ilike.Y)"
+            @Query("second_reviewer_status") String srsIn,  // "in.(pending,accepted)"
+            @Query("select") String select
+    );
+
+    // Rechnungen (Tutor): Betreuer ODER Zweitprüfer, nur Abrechnungsphase / vorhandene Rechnung.
+    // Kann lang werden → zeilenweise gelesen (RowStream), erste Seite vor Ende des Downloads
+    @Streaming
+    @GET("contact_requests")
+    Call<RowStream<ContactRequest>> getTutorInvoiceRequests(
+            @Query("and") String roleAndPhase,              // "(or(...Rolle...),or(...Phase...))"
+            @Query("select") String select
+    );
+
+    // Konkurrierende Anfragen zu einem Thema (für Auto-Ablehnung)
+    @GET("contact_requests")
+    Call<List<ContactRequest>> getOtherRequestsForTopic(
+            @Query("topic_id") String topicIdEq,            // "eq.<topic_id>"
+            @Query("id") String idNeq,                      // "neq.<accepted_id>"
+            @Query("status") String statusNeq,              // "neq.rejected"
+            @Query("select") String select                  // "id,status"
     );
 
     // Anfrage löschen (Student, nur eigene + offen)
@@ -67,13 +167,46 @@ public interface SupabaseRestService {
             @Body ContactRequest patch
     );
 
+    // Ein Patch für viele Zeilen (BatchUpdate); Antwort = tatsächlich geänderte Zeilen
+    @PATCH("contact_requests")
+    @Headers({"Prefer: return=representation"})
+    Call<List<ContactRequest>> updateContactRequests(
+            @Query("id") String idIn,                 // "in.(<id1>,<id2>,...)"
+            @Body ContactRequest patch
+    );
+
     // ---------- TOPICS (Themen) ----------
 
+    // Spalten von dto.Topic – Listen wie Detail brauchen dieselben
+    String TOPIC_COLUMNS = "id,title,description,area,status,owner_id,created_at,updated_at";
+
+    // Themenbörse: Besitzer per Embedding (owner_id → profiles) gleich mitladen
+    String TOPIC_WITH_OWNER_COLUMNS = TOPIC_COLUMNS + ",profiles(id,first_name,last_name,email)";
+
     // Tutor: eigene Themen laden (Management-Ansicht)
     @GET("topics")
     Call<List<Topic>> getTutorTopics(
             @Query("owner_id") String ownerIdEq,      // "eq.<tutor_id>"
-            @Query("select") String select            // z.B. "id,title,description,area,status,owner_id"
+            @Query("select") String select            // TOPIC_COLUMNS
+    );
+
+    // Tutor: eigene Themen seitenweise
+    @GET("topics")
+    Call<List<Topic>> getTutorTopicsPage(
+            @Query("owner_id") String ownerIdEq,
+            @Query("select") String select,
+            @Query("or") String keysetOr,          // null = erste Seite
+            @Query("order") String order,          // KeysetPager.ORDER
+            @Query("limit") Integer limit
+    );
+
+    // Tutor: eigene Themen, nur seit der letzten Marke geänderte (DeltaSync)
+    @GET("topics")
+    Call<List<Topic>> getTutorTopicsChangedSince(
+            @Query("owner_id") String ownerIdEq,
+            @Query("updated_at") String updatedAtGt, // "gt.<timestamp>"
+            @Query("select") String select,
+            @Query("order") String order           // "updated_at.asc"
     );
 
     // Student: verfügbare Themen (Themenbörse)
@@ -81,14 +214,40 @@ public interface SupabaseRestService {
     Call<List<Topic>> getAvailableTopics(
             @Query("status") String statusEq,      // z.B. "eq.available"
             @Query("area") String areaEq,          // z.B. "eq.Wirtschaftsinformatik" oder null
+            @Query("select") String select,        // TOPIC_COLUMNS
             @Query("order") String order           // z.B. "created_at.desc"
     );
 
+    // Themenbörse seitenweise (Infinite Scroll), inkl. Tutor-Profil
+    @GET("topics")
+    Call<List<TopicWithOwner>> getAvailableTopicsPage(
+            @Query("status") String statusEq,      // "eq.available"
+            @Query("area") String areaEq,          // oder null
+            @Query("select") String select,        // TOPIC_WITH_OWNER_COLUMNS
+            @Query("or") String keysetOr,          // null = erste Seite
+            @Query("order") String order,          // KeysetPager.ORDER
+            @Query("limit") Integer limit
+    );
+
+    // Volltextsuche in der Themenbörse (TopicSearchPager); Keyset wie oben
+    @GET("topics")
+    Call<List<TopicWithOwner>> searchAvailableTopicsPage(
+            @Query("status") String statusEq,      // "eq.available"
+            @Query("area") String areaEq,          // oder null
+            @Query("title") String titleFts,       // "wfts(german).<q>" bzw. "not.wfts(german).<q>"
+            @Query("description") String descFts,  // "wfts(german).<q>" oder null
+            @Query("select") String select,        // TOPIC_WITH_OWNER_COLUMNS
+            @Query("or") String keysetOr,          // null = erste Seite
+            @Query("order") String order,          // KeysetPager.ORDER
+            @Query("limit") Integer limit
+    );
+
     // Offene Themen eines bestimmten Tutors (SupervisorProfile)
     @GET("topics")
     Call<List<Topic>> getAvailableTopicsForSupervisor(
             @Query("owner_id") String ownerIdEq,   // "eq.<tutor_uuid>"
             @Query("status") String statusEq,      // "eq.available"
+            @Query("select") String select,        // TOPIC_COLUMNS
             @Query("order") String order           // "created_at.desc"
     );
 
@@ -96,6 +255,7 @@ public interface SupabaseRestService {
     @GET("topics")
     Call<List<Topic>> getTopicsForTutor(
             @Query("owner_id") String ownerIdEq,   // "eq.<tutor_uuid>"
+            @Query("select") String select,        // TOPIC_COLUMNS
             @Query("order") String order           // "created_at.desc"
     );
 
@@ -1,5 +1,27 @@
 package de.iu.betreuerapp;
 
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import de.iu.betreuerapp.dto.Profile;
+
+/**
+ * Verzeichnis der Betreuer:innen (für Suche, Picker und Fachgebiet-Fallbacks).
+ *
+ * Lookups per id / E-Mail sind Hash-Zugriffe (werden in onBindViewHolder aufgerufen).
+ * Die Freitext-Suche macht {@link SupervisorMatcher} (Trigramm-Index), gebaut mit
+ * jedem Verzeichnis-Stand ({@link #matcher()}).
+ * Grundlage ist die feste Liste unten; {@link ProfileRepository#loadSupervisorDirectory()}
+ * ergänzt sie um die Tutor-Profile aus der Tabelle profiles ({@link #install}).
+ *
+ * Reines Java ohne Android-Abhängigkeiten (wird auch im Benchmark-Modul gemessen).
+ */
 public class SupervisorDirectory {
 
     public static class Entry {
@@ -104,30 +126,106 @@ public class SupervisorDirectory {
         return x;
     }
 
-    /** Alle Einträge (für Listen / Picker verwenden). */
+    // ------------------------------------------------------------------
+    // Index
+    // ------------------------------------------------------------------
+
+    /**
+     * Aktueller Stand. Wird nie verändert, sondern bei {@link #install} komplett
+     * ersetzt – Leser brauchen daher keine Sperre.
+     */
+    private static volatile Index index = new Index(ENTRIES);
+
+    /** Alle Einträge (für Listen / Picker verwenden). Array nicht verändern. */
     public static Entry[] getAll() {
-        return ENTRIES;
+        return index.all;
+    }
+
+    /** Suche über den aktuellen Stand ({@link SupervisorMatcher#source} == {@link #getAll()}). */
+    public static SupervisorMatcher matcher() {
+        return index.matcher;
     }
 
     /** Suche nach E-Mail (wird u.a. im Profil & Mapping verwendet). */
     public static Entry findByEmail(String email) {
         if (email == null) return null;
-        for (Entry e : ENTRIES) {
-            if (e.email != null && e.email.equalsIgnoreCase(email)) {
-                return e;
-            }
-        }
-        return null;
+        return index.byEmail.get(normEmail(email));
     }
 
     /** Suche nach ID (z.B. aus contact_requests.supervisor_id / second_reviewer_id). */
     public static Entry findById(String id) {
         if (id == null) return null;
+        return index.byId.get(id);
+    }
+
+    // ------------------------------------------------------------------
+    // Tutor-Profile übernehmen
+    // ------------------------------------------------------------------
+
+    /**
+     * Ergänzt das Verzeichnis um die Tutor-Profile. Die feste Liste oben bleibt Grundlage
+     * (Fachgebiete stehen nur dort); Profile mit gleicher id/E-Mail übernehmen deren Fachgebiet.
+     * Baut den Index samt Such-Index synchron (also im Hintergrund aufrufen) und tauscht ihn
+     * in einem Schritt aus.
+     */
+    public static void install(@NonNull List<Profile> profiles) {
+        if (profiles.isEmpty()) return;
+        index = new Index(merge(profiles));
+    }
+
+    /** Feste Einträge + Profile (per id, sonst per E-Mail zugeordnet). */
+    private static Entry[] merge(@NonNull List<Profile> profiles) {
+        Map<String, Entry> byId = new LinkedHashMap<>();
+        Map<String, Entry> byEmail = new HashMap<>();
         for (Entry e : ENTRIES) {
-            if (e.id != null && e.id.equals(id)) {
-                return e;
+            byId.put(e.id, e);
+            if (e.email != null) byEmail.put(normEmail(e.email), e);
+        }
+
+        for (Profile p : profiles) {
+            if (p == null || p.id == null) continue;
+            Entry known = byId.get(p.id);
+            if (known == null && p.email != null) known = byEmail.get(normEmail(p.email));
+
+            String name = ((p.first_name != null ? p.first_name : "") + " "
+                    + (p.last_name != null ? p.last_name : "")).trim();
+
+            Entry x = new Entry();
+            x.id = p.id;
+            x.name = !name.isEmpty() ? name : (known != null ? known.name : p.email);
+            x.email = p.email != null ? p.email : (known != null ? known.email : null);
+            x.area = known != null ? known.area : null;
+            x.areaInfo = known != null ? known.areaInfo : null;
+
+            if (known != null && !known.id.equals(p.id)) byId.remove(known.id);
+            byId.put(x.id, x);
+        }
+        return byId.values().toArray(new Entry[0]);
+    }
+
+    private static String normEmail(@NonNull String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Unveränderlicher Index: Hash-Maps für id/E-Mail, Matcher mit Trigramm-Index für die Suche. */
+    private static final class Index {
+        final Entry[] all;
+        final Map<String, Entry> byId;
+        final Map<String, Entry> byEmail;
+        final SupervisorMatcher matcher;
+
+        Index(@NonNull Entry[] entries) {
+            all = entries;
+            Map<String, Entry> ids = new HashMap<>(entries.length * 2);
+            Map<String, Entry> mails = new HashMap<>(entries.length * 2);
+            for (Entry e : entries) {
+                if (e.id != null) ids.put(e.id, e);
+                if (e.email != null) mails.put(normEmail(e.email), e);
             }
+
+            byId = Collections.unmodifiableMap(ids);
+            byEmail = Collections.unmodifiableMap(mails);
+            matcher = new SupervisorMatcher(entries);
         }
-        return null;
     }
 }
@@ -0,0 +1,199 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Treffer und Reihenfolge der Betreuer-Suche über einen Verzeichnis-Stand.
+ *
+ * - Die Suchtexte (Name bzw. E-Mail/Fachgebiet/Info) werden einmal im Konstruktor
+ *   normalisiert ({@link TextFolding}, beide Umlaut-Schreibweisen).
+ * - Reihenfolge: Name beginnt mit dem Begriff → Wort im Namen beginnt damit →
+ *   Name enthält ihn → nur E-Mail/Fachgebiet/Info enthalten ihn. Bei Gleichstand
+ *   bleibt die Verzeichnis-Reihenfolge.
+ * - Trigramm-Index über dieselben Suchtexte: jeder Treffer enthält den Begriff irgendwo,
+ *   also auch alle seine Trigramme. Geprüft werden daher nur Einträge, die alle
+ *   Trigramme aller Begriffe haben; Begriffe unter 3 Zeichen schränken nicht ein
+ *   (nur solche → alle Einträge).
+ *
+ * Gebaut wird er mit dem Verzeichnis-Stand ({@link SupervisorDirectory#install}).
+ * Reines Java: Entprellen und Threads macht {@link SupervisorSearchEngine}.
+ */
+public final class SupervisorMatcher {
+
+    /** Wird regelmäßig gefragt; true → Suche abbrechen. */
+    public interface Cancelled {
+        boolean cancelled();
+    }
+
+    private static final int GRAM = 3;
+    private static final int[] NONE = new int[0];
+
+    final SupervisorDirectory.Entry[] source;
+    private final Doc[] docs;
+    /** Trigramm → Positionen (aufsteigend) der Einträge, deren Suchtexte es enthalten. */
+    private final Map<String, int[]> trigrams;
+
+    public SupervisorMatcher(@NonNull SupervisorDirectory.Entry[] source) {
+        this.source = source;
+        this.docs = new Doc[source.length];
+        for (int i = 0; i < source.length; i++) docs[i] = new Doc(source[i]);
+        this.trigrams = index(docs);
+    }
+
+    /** area = null → alle Fachgebiete. null, wenn die Suche unterwegs abgebrochen wurde. */
+    @Nullable
+    public List<SupervisorDirectory.Entry> search(@NonNull String query,
+                                                  @Nullable String area,
+                                                  @NonNull Cancelled cancelled) {
+        String[] terms = splitTerms(TextFolding.fold(query));
+        String areaKey = area == null ? null : TextFolding.fold(area.trim());
+
+        int[] candidates = candidates(terms); // null → alle
+        int n = candidates != null ? candidates.length : docs.length;
+
+        List<Hit> hits = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+            if ((k & 0xFF) == 0 && cancelled.cancelled()) return null;
+
+            int i = candidates != null ? candidates[k] : k;
+            Doc d = docs[i];
+            if (areaKey != null && !areaKey.equals(d.area)) continue;
+
+            int score = 0;
+            for (String t : terms) {
+                int s = d.score(t);
+                if (s < 0) { score = -1; break; }
+                score += s;
+            }
+            if (score >= 0) hits.add(new Hit(d.entry, score, i));
+        }
+
+        if (terms.length > 0) {
+            Collections.sort(hits, (a, b) -> a.score != b.score
+                    ? Integer.compare(a.score, b.score)
+                    : Integer.compare(a.order, b.order));
+        }
+
+        List<SupervisorDirectory.Entry> out = new ArrayList<>(hits.size());
+        for (Hit h : hits) out.add(h.entry);
+        return out;
+    }
+
+    private static String[] splitTerms(String folded) {
+        String t = folded.trim();
+        return t.isEmpty() ? new String[0] : t.split("\\s+");
+    }
+
+    // ------------------------------------------------------------------
+    // Trigramm-Index
+    // ------------------------------------------------------------------
+
+    /** Positionen, die alle Trigramme aller Begriffe haben; null = kein Begriff mit ≥ 3 Zeichen. */
+    @Nullable
+    private int[] candidates(String[] terms) {
+        int[] result = null;
+        for (String t : terms) {
+            for (int k = 0; k + GRAM <= t.length(); k++) {
+                int[] posting = trigrams.get(t.substring(k, k + GRAM));
+                if (posting == null) return NONE;
+                result = result == null ? posting : intersect(result, posting);
+                if (result.length == 0) return result;
+            }
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static Map<String, int[]> index(Doc[] docs) {
+        Map<String, int[]> lists = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < docs.length; i++) {
+            Doc d = docs[i];
+            grams.clear();
+            addGrams(d.name, grams);
+            addGrams(d.nameAlt, grams);
+            addGrams(d.rest, grams);
+            addGrams(d.restAlt, grams);
+            for (String g : grams) {
+                int[] list = lists.get(g);
+                int size = list == null ? 0 : sizes.get(g);
+                if (list == null) list = new int[4];
+                else if (size == list.length) list = Arrays.copyOf(list, size * 2);
+                list[size] = i; // i steigt → Liste bleibt sortiert
+                lists.put(g, list);
+                sizes.put(g, size + 1);
+            }
+        }
+        for (Map.Entry<String, int[]> e : lists.entrySet()) {
+            int size = sizes.get(e.getKey());
+            if (size != e.getValue().length) e.setValue(Arrays.copyOf(e.getValue(), size));
+        }
+        return lists;
+    }
+
+    private static void addGrams(String text, Set<String> out) {
+        for (int k = 0; k + GRAM <= text.length(); k++) out.add(text.substring(k, k + GRAM));
+    }
+
+    private static final class Doc {
+        final SupervisorDirectory.Entry entry;
+        final String name, nameAlt;   // fold / transliterate
+        final String rest, restAlt;   // E-Mail, Fachgebiet, Info
+        final String area;
+
+        Doc(SupervisorDirectory.Entry e) {
+            entry = e;
+            name = TextFolding.fold(e.name);
+            nameAlt = TextFolding.transliterate(e.name);
+            String r = safe(e.email) + " " + safe(e.area) + " " + safe(e.areaInfo);
+            rest = TextFolding.fold(r);
+            restAlt = TextFolding.transliterate(r);
+            area = TextFolding.fold(e.area == null ? "" : e.area.trim());
+        }
+
+        /** 0 = bester Treffer … 3 = schwächster, -1 = kein Treffer. */
+        int score(String t) {
+            if (name.startsWith(t) || nameAlt.startsWith(t)) return 0;
+            String word = " " + t;
+            if (name.contains(word) || nameAlt.contains(word)) return 1;
+            if (name.contains(t) || nameAlt.contains(t)) return 2;
+            if (rest.contains(t) || restAlt.contains(t)) return 3;
+            return -1;
+        }
+
+        private static String safe(String s) { return s == null ? "" : s; }
+    }
+
+    private static final class Hit {
+        final SupervisorDirectory.Entry entry;
+        final int score;
+        final int order;
+
+        Hit(SupervisorDirectory.Entry entry, int score, int order) {
+            this.entry = entry;
+            this.score = score;
+            this.order = order;
+        }
+    }
+}
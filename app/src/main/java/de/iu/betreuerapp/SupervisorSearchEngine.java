@@ -0,0 +1,87 @@
+package de.iu.betreuerapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suche im Betreuer-Verzeichnis für "Betreuer finden".
+ *
+ * - Treffer und Reihenfolge bestimmt {@link SupervisorMatcher}; er wird mit dem
+ *   Verzeichnis-Stand gebaut ({@link SupervisorDirectory#matcher()}).
+ * - Eingaben werden entprellt ({@link #DEBOUNCE_MS}); gerechnet wird auf
+ *   {@link AppExecutors#compute()}.
+ * - Jede neue Eingabe macht ältere Suchen ungültig: sie brechen ab bzw. ihr
+ *   Ergebnis wird verworfen.
+ */
+public class SupervisorSearchEngine {
+
+    public static final long DEBOUNCE_MS = 150;
+
+    /** Ergebnis auf dem Main-Thread. */
+    public interface Listener {
+        void onResults(@NonNull List<SupervisorDirectory.Entry> results);
+    }
+
+    private final Listener listener;
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final AtomicInteger generation = new AtomicInteger();
+
+    @Nullable private Runnable pending;
+
+    public SupervisorSearchEngine(@NonNull Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Neue Suche. area = null → alle Fachgebiete.
+     * immediate = true z.B. für Spinner-Auswahl (kein Tippen → nichts zu entprellen).
+     */
+    @MainThread
+    public void search(@Nullable String query, @Nullable String area, boolean immediate) {
+        int gen = generation.incrementAndGet();
+        if (pending != null) main.removeCallbacks(pending);
+
+        String q = query == null ? "" : query;
+        pending = () -> {
+            pending = null;
+            AppExecutors.compute().execute(() -> {
+                List<SupervisorDirectory.Entry> results = run(q, area, gen);
+                if (results == null) return; // überholt
+                main.post(() -> {
+                    if (gen == generation.get()) listener.onResults(results);
+                });
+            });
+        };
+
+        if (immediate) {
+            pending.run();
+        } else {
+            main.postDelayed(pending, DEBOUNCE_MS);
+        }
+    }
+
+    /** Beim Verlassen der Ansicht: nichts mehr ausliefern. */
+    @MainThread
+    public void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) main.removeCallbacks(pending);
+        pending = null;
+    }
+
+    // ------------------------------------------------------------------
+    // Hintergrund
+    // ------------------------------------------------------------------
+
+    /** null, wenn die Suche unterwegs überholt wurde. */
+    @Nullable
+    private List<SupervisorDirectory.Entry> run(String query, @Nullable String area, int gen) {
+        return SupervisorDirectory.matcher().search(query, area, () -> gen != generation.get());
+    }
+}
@@ -0,0 +1,73 @@
+package de.iu.betreuerapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hochwassermarken für den Delta-Abgleich (siehe {@link DeltaSync}).
+ *
+ * Pro Schlüssel (Tabelle + Sicht, z.B. "topics:owner:&lt;uuid&gt;") wird das größte
+ * bereits übernommene updated_at gespeichert, dazu der Zeitpunkt des letzten
+ * vollständigen Abgleichs. Gelöschte Zeilen tauchen in Deltas nicht auf –
+ * deshalb wird nach FULL_RESYNC_AFTER_MS wieder komplett geladen.
+ *
+ * Zeitstempel kommen alle vom Server (ISO-8601, UTC) und werden als String
+ * verglichen; das reicht für dieses Format.
+ */
+public class SyncWatermarks {
+
+    private static final String PREF = "sync_watermarks";
+    private static final String SUFFIX_MARK = ".mark";
+    private static final String SUFFIX_FULL = ".full";
+
+    static final long FULL_RESYNC_AFTER_MS = TimeUnit.HOURS.toMillis(12);
+
+    private final SharedPreferences sp;
+
+    public SyncWatermarks(Context ctx) {
+        sp = ctx.getSharedPreferences(PREF, Context.MODE_PRIVATE);
+    }
+
+    /** Größtes übernommenes updated_at oder null (→ noch nie geladen). */
+    @Nullable
+    public String mark(@NonNull String key) {
+        return sp.getString(key + SUFFIX_MARK, null);
+    }
+
+    /** true, wenn es keine Marke gibt oder der letzte Vollabgleich zu lange her ist. */
+    public boolean needsFullSync(@NonNull String key) {
+        if (mark(key) == null) return true;
+        long lastFull = sp.getLong(key + SUFFIX_FULL, 0L);
+        return System.currentTimeMillis() - lastFull > FULL_RESYNC_AFTER_MS;
+    }
+
+    /** Schiebt die Marke vor – nie zurück. */
+    public synchronized void advance(@NonNull String key, @Nullable String updatedAt) {
+        if (updatedAt == null) return;
+        String current = mark(key);
+        if (current != null && current.compareTo(updatedAt) >= 0) return;
+        sp.edit().putString(key + SUFFIX_MARK, updatedAt).apply();
+    }
+
+    /** Nach einem vollständigen Laden: Marke neu setzen und Zeitpunkt merken. */
+    public synchronized void recordFullSync(@NonNull String key, @Nullable String maxUpdatedAt) {
+        SharedPreferences.Editor e = sp.edit();
+        if (maxUpdatedAt != null) {
+            e.putString(key + SUFFIX_MARK, maxUpdatedAt);
+        } else {
+            e.remove(key + SUFFIX_MARK);
+        }
+        e.putLong(key + SUFFIX_FULL, System.currentTimeMillis());
+        e.apply();
+    }
+
+    /** Beim Logout zusammen mit {@link LocalStore#clearAll()}. */
+    public void clear() {
+        sp.edit().clear().apply();
+    }
+}
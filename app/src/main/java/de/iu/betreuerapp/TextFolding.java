@@ -0,0 +1,67 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Normalisierung für Suchen: klein, ohne Akzente, ß → ss.
+ *
+ * Deutsche Umlaute gibt es in zwei Schreibweisen ("Müller" / "Mueller"):
+ * {@link #fold} macht daraus den Grundbuchstaben (müller → muller),
+ * {@link #transliterate} die Umschrift (müller → mueller).
+ * Wer beide Varianten eines Textes vorhält, findet jede Eingabe – die Anfrage
+ * selbst wird mit {@link #fold} normalisiert.
+ */
+public final class TextFolding {
+
+    private TextFolding() { }
+
+    /** klein + Akzente/Umlaute auf den Grundbuchstaben + ß → ss. */
+    @NonNull
+    public static String fold(@Nullable String s) {
+        if (s == null || s.isEmpty()) return "";
+        String lower = s.toLowerCase(Locale.GERMAN);
+        if (isAscii(lower)) return lower;
+        return stripMarks(lower.replace("ß", "ss"));
+    }
+
+    /** klein + ä/ö/ü → ae/oe/ue + ß → ss, übrige Akzente entfernt. */
+    @NonNull
+    public static String transliterate(@Nullable String s) {
+        if (s == null || s.isEmpty()) return "";
+        String lower = s.toLowerCase(Locale.GERMAN);
+        if (isAscii(lower)) return lower;
+        StringBuilder sb = new StringBuilder(lower.length() + 4);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ä': sb.append("ae"); break;
+                case 'ö': sb.append("oe"); break;
+                case 'ü': sb.append("ue"); break;
+                case 'ß': sb.append("ss"); break;
+                default:  sb.append(c);
+            }
+        }
+        return stripMarks(sb.toString());
+    }
+
+    private static String stripMarks(String s) {
+        String nfd = Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(nfd.length());
+        for (int i = 0; i < nfd.length(); i++) {
+            char c = nfd.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0x7F) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+package de.iu.betreuerapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+import de.iu.betreuerapp.dto.AuthRefreshRequest;
+import de.iu.betreuerapp.dto.AuthResponse;
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Hält das access_token frisch, damit niemand nach Ablauf des JWT neu einloggen muss.
+ *
+ * - proaktiv: läuft das Token in weniger als {@link #REFRESH_BEFORE_MS} ab, erneuert der
+ *   Header-Interceptor vor dem Request ({@link #freshToken()}); zusätzlich ein Timer,
+ *   damit auch Realtime im Leerlauf ein gültiges Token behält
+ * - reaktiv: als OkHttp-Authenticator bei 401 (z.B. Gerät war im Standby)
+ *
+ * Es läuft immer höchstens EIN Refresh. Wer währenddessen einen 401 bekommt oder ein
+ * fast abgelaufenes Token hat, wartet auf dessen Ergebnis und nimmt das neue Token –
+ * 20 gleichzeitige 401 ergeben einen Refresh, nicht 20.
+ *
+ * Der Refresh selbst geht an /auth/v1 (anon key) und löst hier nichts aus. Das neue
+ * Token landet im SessionManager; wer es sonst braucht (Realtime), hört dort zu.
+ */
+final class TokenRefresher implements Authenticator {
+
+    /** So lange vor Ablauf wird schon erneuert. */
+    static final long REFRESH_BEFORE_MS = 60_000;
+
+    interface AuthProvider { SupabaseAuthService get(); }
+
+    private final SessionManager session;
+    private final AuthProvider auth;
+
+    private final Object lock = new Object();
+    private final Handler timer = new Handler(Looper.getMainLooper());
+    private long scheduledFor; // Ablaufzeit, für die der Timer steht
+
+    TokenRefresher(@NonNull SessionManager session, @NonNull AuthProvider auth) {
+        this.session = session;
+        this.auth = auth;
+    }
+
+    /**
+     * Token für den nächsten Request; läuft es bald ab, wird vorher erneuert (blockiert,
+     * also nur von OkHttp-Threads aufrufen). Klappt das nicht, bleibt es beim alten Token.
+     */
+    @Nullable
+    String freshToken() {
+        SessionManager.Session s = session.snapshot();
+        String token = s.token;
+        if (token != null && expiresSoon(s)) {
+            String renewed = refresh(token);
+            if (renewed != null) token = renewed;
+        }
+        schedule();
+        return token;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) {
+        Request failed = response.request();
+        if (SupabaseClient.isAuthEndpoint(failed)) return null;
+        if (response.priorResponse() != null) return null; // mit neuem Token schon versucht
+
+        String used = bearerOf(failed);
+        if (used == null || !tokenRejected(response)) return null; // anon oder Rechte-Problem
+
+        String renewed = refresh(used);
+        if (renewed == null) return null;
+        return failed.newBuilder()
+                .header("Authorization", "Bearer " + renewed)
+                .build();
+    }
+
+    /**
+     * Erneuert, falls staleToken noch das aktuelle ist; hat ein anderer Thread das schon
+     * erledigt, gibt es dessen Ergebnis. null → kein neues Token (abgelehnt, offline,
+     * inzwischen ausgeloggt).
+     */
+    @Nullable
+    private String refresh(@NonNull String staleToken) {
+        synchronized (lock) {
+            SessionManager.Session s = session.snapshot();
+            if (s.token == null) return null;
+            if (!s.token.equals(staleToken)) return s.token;
+
+            String refreshToken = s.refreshToken;
+            if (refreshToken == null) return null;
+
+            retrofit2.Response<AuthResponse> r;
+            try {
+                r = auth.get()
+                        .refresh("refresh_token", new AuthRefreshRequest(refreshToken))
+                        .execute();
+            } catch (IOException e) {
+                return null; // offline → Request scheitert wie bisher
+            }
+
+            AuthResponse body = r.body();
+            if (!staleToken.equals(session.token())) return null; // Logout während des Refresh
+            if (r.isSuccessful() && body != null && body.access_token != null) {
+                session.saveTokens(body);
+                return body.access_token;
+            }
+            if (r.code() == 400 || r.code() == 401) {
+                session.dropRefreshToken(); // abgelaufen/widerrufen → nicht bei jedem Request neu probieren
+            }
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------
+
+    /** Timer kurz vor die aktuelle Ablaufzeit stellen (einmal pro Token). */
+    private synchronized void schedule() {
+        SessionManager.Session s = session.snapshot();
+        long expiresAt = s.expiresAt;
+        if (expiresAt <= 0 || expiresAt == scheduledFor || s.refreshToken == null) return;
+        scheduledFor = expiresAt;
+
+        long delay = Math.max(0, expiresAt - REFRESH_BEFORE_MS - System.currentTimeMillis());
+        timer.removeCallbacksAndMessages(null);
+        timer.postDelayed(() -> AppExecutors.io().execute(this::freshToken), delay);
+    }
+
+    private static boolean expiresSoon(@NonNull SessionManager.Session s) {
+        return s.expiresAt > 0 && s.expiresAt - System.currentTimeMillis() < REFRESH_BEFORE_MS;
+    }
+
+    /**
+     * 401 wegen des Tokens (abgelaufen/ungültig) – nicht wegen fehlender Rechte.
+     * PostgREST meldet das per WWW-Authenticate; fehlt der Header, entscheidet die Ablaufzeit.
+     */
+    private boolean tokenRejected(@NonNull Response response) {
+        String challenge = response.header("WWW-Authenticate");
+        if (challenge != null) return challenge.contains("invalid_token");
+        SessionManager.Session s = session.snapshot();
+        return s.expiresAt <= 0 || expiresSoon(s);
+    }
+
+    @Nullable
+    private static String bearerOf(@NonNull Request r) {
+        String h = r.header("Authorization");
+        if (h == null || !h.startsWith("Bearer ")) return null;
+        String token = h.substring("Bearer ".length());
+        return BuildConfig.SUPABASE_ANON_KEY.equals(token) ? null : token;
+    }
+}
@@ -12,13 +12,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
-import java.util.List;
-
 import de.iu.betreuerapp.dto.Profile;
 import de.iu.betreuerapp.dto.Topic;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import de.iu.betreuerapp.dto.TopicWithOwner;
 
 public class TopicDetailFragment extends Fragment {
 
@@ -39,6 +35,12 @@ public class TopicDetailFragment extends Fragment {
         b.putString(ARG_DESC, t.description);
         b.putString(ARG_AREA, t.area);
         b.putString(ARG_TUTOR_ID, t.owner_id);
+        if (t instanceof TopicWithOwner) {
+            // Tutor kam schon eingebettet mit der Liste
+            TopicWithOwner o = (TopicWithOwner) t;
+            b.putString(ARG_TUTOR_NAME, o.getTutorName());
+            b.putString(ARG_TUTOR_EMAIL, o.getTutorEmail());
+        }
         f.setArguments(b);
         return f;
     }
@@ -49,6 +51,8 @@ public class TopicDetailFragment extends Fragment {
     private String area;
     private String tutorId;
     private String tutorName;
+    private boolean tutorProfileShown = false; // lokal oder vom Server angezeigt
+    private boolean tutorLookupPending = false;
     private String tutorEmail;
 
     private TextView tvTutor;
@@ -110,15 +114,14 @@ public class TopicDetailFragment extends Fragment {
                     sb.append("\n").append(e.area);
                 }
                 tvTutor.setText(sb.toString());
+            } else if (tutorName != null) {
+                showTutorName(); // aus der Liste mitgebracht, kein extra Request
             } else {
                 tvTutor.setText("wird geladen...");
-                loadTutorProfile(tutorId);
+                tutorLookupPending = true; // startet in onViewCreated
             }
         } else if (tutorName != null) {
-            StringBuilder sb = new StringBuilder();
-            sb.append(tutorName);
-            if (tutorEmail != null) sb.append(" (").append(tutorEmail).append(")");
-            tvTutor.setText(sb.toString());
+            showTutorName();
         } else {
             tvTutor.setText("unbekannt");
         }
@@ -128,50 +131,53 @@ public class TopicDetailFragment extends Fragment {
         return v;
     }
 
-    private void loadTutorProfile(@NonNull String tutorId) {
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .getProfileById("eq." + tutorId)
-                .enqueue(new Callback<List<Profile>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<Profile>> call,
-                                           @NonNull Response<List<Profile>> response) {
-                        if (!response.isSuccessful()
-                                || response.body() == null
-                                || response.body().isEmpty()) {
-                            if (tvTutor != null) {
-                                tvTutor.setText("unbekannt");
-                            }
-                            return;
-                        }
-
-                        Profile p = response.body().get(0);
-                        StringBuilder nameBuilder = new StringBuilder();
-                        if (p.first_name != null) nameBuilder.append(p.first_name).append(" ");
-                        if (p.last_name != null)  nameBuilder.append(p.last_name);
-                        String fullName = nameBuilder.toString().trim();
-
-                        tutorName  = fullName.isEmpty() ? "Unbekannt" : fullName;
-                        tutorEmail = p.email;
-
-                        if (tvTutor != null) {
-                            StringBuilder sb = new StringBuilder();
-                            sb.append(tutorName);
-                            if (tutorEmail != null) sb.append(" (").append(tutorEmail).append(")");
-                            tvTutor.setText(sb.toString());
-                        }
-                    }
+    private void showTutorName() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(tutorName);
+        if (tutorEmail != null) sb.append(" (").append(tutorEmail).append(")");
+        tvTutor.setText(sb.toString());
+    }
 
-                    @Override
-                    public void onFailure(@NonNull Call<List<Profile>> call,
-                                          @NonNull Throwable t) {
-                        if (tvTutor != null) {
-                            tvTutor.setText("unbekannt");
-                        }
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (tutorLookupPending && tutorId != null) {
+            tutorLookupPending = false;
+            loadTutorProfile(tutorId);
+        }
+    }
+
+    private void loadTutorProfile(@NonNull String tutorId) {
+        // bekannter Stand zuerst (Speicher/lokal), Server gleicht danach ab
+        ProfileRepository.get(requireContext())
+                .profile(tutorId)
+                .observe(getViewLifecycleOwner(), lookup -> {
+                    if (lookup.profile != null) {
+                        showTutorProfile(lookup.profile);
+                    } else if (lookup.complete && tvTutor != null && !tutorProfileShown) {
+                        tvTutor.setText("unbekannt");
                     }
                 });
     }
 
+    private void showTutorProfile(@NonNull Profile p) {
+        StringBuilder nameBuilder = new StringBuilder();
+        if (p.first_name != null) nameBuilder.append(p.first_name).append(" ");
+        if (p.last_name != null)  nameBuilder.append(p.last_name);
+        String fullName = nameBuilder.toString().trim();
+
+        tutorName  = fullName.isEmpty() ? "Unbekannt" : fullName;
+        tutorEmail = p.email;
+        tutorProfileShown = true;
+
+        if (tvTutor != null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(tutorName);
+            if (tutorEmail != null) sb.append(" (").append(tutorEmail).append(")");
+            tvTutor.setText(sb.toString());
+        }
+    }
+
     /**
      * Öffnet das einheitliche Anfrage-Formular (ContactFragment).
      * Bei Aufruf aus der Themenbörse werden Titel/Beschreibung übergeben
@@ -0,0 +1,132 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import de.iu.betreuerapp.dto.Topic;
+
+/**
+ * Eigene Themen der Tutor:in ("Meine Themenbörse").
+ *
+ * Hält die geladene Liste (Seiten, Deltas, lokale Kopie werden hier eingespielt)
+ * und veröffentlicht daraus im Hintergrund einen {@link TopicSnapshot} mit
+ * Filterlisten und Zählern. TopicsFragment zeigt nur noch an.
+ *
+ * Die Liste selbst wird nur unter {@code lock} verändert; der Stand wird immer aus
+ * dem neuesten Inhalt gebaut, deshalb darf {@link SnapshotLiveData} Aufträge zusammenfassen.
+ */
+public class TopicRepository {
+
+    private static final TopicRepository INSTANCE = new TopicRepository();
+
+    public static TopicRepository get() {
+        return INSTANCE;
+    }
+
+    private final Object lock = new Object();
+    private final List<Topic> ownerTopics = new ArrayList<>(); // created_at desc, id desc
+    private final SnapshotLiveData<TopicSnapshot> ownerSnapshot = new SnapshotLiveData<>();
+
+    private TopicRepository() { }
+
+    public LiveData<TopicSnapshot> ownerTopics() {
+        return ownerSnapshot;
+    }
+
+    public boolean hasOwnerTopics() {
+        synchronized (lock) {
+            return !ownerTopics.isEmpty();
+        }
+    }
+
+    /** Kompletter Stand (lokale Kopie oder erste Seite). */
+    public void replaceOwnerTopics(@NonNull Collection<Topic> topics) {
+        synchronized (lock) {
+            ownerTopics.clear();
+            ownerTopics.addAll(topics);
+        }
+        publish();
+    }
+
+    /** Folgeseiten und Deltas per id einmischen (siehe {@link DeltaSync#merge}). */
+    public void mergeOwnerTopics(@NonNull List<Topic> rows) {
+        if (rows.isEmpty()) return;
+        synchronized (lock) {
+            DeltaSync.merge(ownerTopics, rows, KeysetPager.TOPIC_KEYS);
+        }
+        publish();
+    }
+
+    public void removeOwnerTopic(@NonNull String id) {
+        boolean removed = false;
+        synchronized (lock) {
+            for (int i = 0; i < ownerTopics.size(); i++) {
+                if (id.equals(ownerTopics.get(i).id)) {
+                    ownerTopics.remove(i);
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        if (removed) publish();
+    }
+
+    /** Beim Logout. */
+    public void clear() {
+        synchronized (lock) {
+            ownerTopics.clear();
+        }
+        ownerSnapshot.publish(null);
+    }
+
+    private void publish() {
+        ownerSnapshot.compute(() -> {
+            List<Topic> copy;
+            synchronized (lock) {
+                copy = new ArrayList<>(ownerTopics);
+            }
+            return new TopicSnapshot(copy);
+        });
+    }
+
+    // ------------------------------------------------------------------
+    // Stand
+    // ------------------------------------------------------------------
+
+    /**
+     * Unveränderlicher Stand inkl. Filterlisten:
+     *   available = status "available" (Eingestellt)
+     *   assigned  = status "taken" oder "completed" (Vergeben)
+     */
+    public static final class TopicSnapshot {
+        public final List<Topic> all;
+        public final List<Topic> available;
+        public final List<Topic> assigned;
+
+        TopicSnapshot(@NonNull List<Topic> topics) {
+            List<Topic> avail = new ArrayList<>();
+            List<Topic> taken = new ArrayList<>();
+            for (Topic t : topics) {
+                if (t == null || t.status == null) continue;
+                switch (t.status.trim().toLowerCase(Locale.ROOT)) {
+                    case "available":
+                        avail.add(t);
+                        break;
+                    case "taken":
+                    case "completed":
+                        taken.add(t);
+                        break;
+                }
+            }
+            this.all = Collections.unmodifiableList(topics);
+            this.available = Collections.unmodifiableList(avail);
+            this.assigned = Collections.unmodifiableList(taken);
+        }
+    }
+}
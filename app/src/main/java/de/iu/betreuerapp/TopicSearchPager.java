@@ -0,0 +1,116 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+import de.iu.betreuerapp.dto.TopicWithOwner;
+import retrofit2.Call;
+
+/**
+ * Volltextsuche in der Themenbörse (status=available), seitenweise vom Server.
+ *
+ * Gefiltert wird mit PostgREST wfts (websearch_to_tsquery, Konfiguration
+ * {@link #FTS_CONFIG}) auf title und description – der Client bekommt nur Treffer.
+ *
+ * Rangfolge in zwei Stufen, beide per {@link KeysetPager} geblättert:
+ *   1. Treffer im Titel
+ *   2. Treffer nur in der Beschreibung (title=not.wfts…, dadurch keine Dubletten)
+ * Innerhalb einer Stufe: neueste zuerst. Für den Listener sieht das wie eine
+ * einzige Liste aus (firstPage nur bei der allerersten Seite).
+ *
+ * Alle Methoden auf dem Main-Thread.
+ */
+public class TopicSearchPager implements PagingScrollListener.Source {
+
+    public static final String FTS_CONFIG = "german";
+
+    private enum Tier { TITLE, DESCRIPTION }
+
+    private final SupabaseRestService service;
+    private final KeysetPager.Listener<TopicWithOwner> listener;
+    private final KeysetPager<TopicWithOwner> pager;
+
+    private String query = "";
+    @Nullable private String areaEq;
+    private Tier tier = Tier.TITLE;
+    private boolean delivered; // schon eine Seite dieser Suche ausgeliefert?
+
+    public TopicSearchPager(@NonNull SupabaseRestService service,
+                            @NonNull KeysetPager.Listener<TopicWithOwner> listener) {
+        this.service = service;
+        this.listener = listener;
+        this.pager = new KeysetPager<>(this::page, KeysetPager.TOPIC_KEYS, new KeysetPager.Listener<TopicWithOwner>() {
+            @Override
+            public void onPageLoaded(@NonNull List<TopicWithOwner> page, boolean firstPage, boolean endReached) {
+                deliver(page, endReached);
+            }
+
+            @Override
+            public void onPageFailed(@NonNull String message, boolean firstPage) {
+                TopicSearchPager.this.listener.onPageFailed(message, !delivered);
+            }
+        });
+    }
+
+    /** Neue Suche ab Seite 1. area = null → alle Fachgebiete. */
+    public void start(@NonNull String query, @Nullable String area) {
+        this.query = query.trim();
+        this.areaEq = (area != null && !area.isEmpty()) ? "eq." + area : null;
+        this.tier = Tier.TITLE;
+        this.delivered = false;
+        pager.loadFirst();
+    }
+
+    /** Laufende Anfrage verwerfen (Suchtext geleert, Ansicht verlassen). */
+    public void cancel() {
+        pager.reset();
+    }
+
+    @Override
+    public void loadNext() {
+        pager.loadNext();
+    }
+
+    @Override
+    public boolean isLoading() {
+        return pager.isLoading();
+    }
+
+    @Override
+    public boolean hasMore() {
+        return pager.hasMore();
+    }
+
+    // ------------------------------------------------------------------
+
+    private Call<List<TopicWithOwner>> page(@Nullable String keysetOr, int limit) {
+        String fts = PostgrestFilter.wfts(FTS_CONFIG, query);
+        String titleFts = tier == Tier.TITLE ? fts : "not." + fts;
+        String descFts = tier == Tier.DESCRIPTION ? fts : null;
+        return service.searchAvailableTopicsPage("eq.available", areaEq,
+                titleFts, descFts, SupabaseRestService.TOPIC_WITH_OWNER_COLUMNS,
+                keysetOr, KeysetPager.ORDER, limit);
+    }
+
+    private void deliver(@NonNull List<TopicWithOwner> page, boolean endReached) {
+        boolean first = !delivered;
+
+        if (endReached && tier == Tier.TITLE) {
+            // Titel-Treffer erschöpft → mit den Beschreibungs-Treffern weitermachen
+            tier = Tier.DESCRIPTION;
+            pager.reset();
+            if (page.isEmpty()) {
+                pager.loadNext();
+                return;
+            }
+            delivered = true;
+            listener.onPageLoaded(page, first, false);
+            return;
+        }
+
+        delivered = true;
+        listener.onPageLoaded(page, first, endReached);
+    }
+}
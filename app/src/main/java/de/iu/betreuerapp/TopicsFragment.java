@@ -14,7 +14,7 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -45,11 +45,16 @@ public class TopicsFragment extends Fragment {
     private RecyclerView rvTopics;
     private View addButton;
 
-    private final List<Topic> allTopics = new ArrayList<>();
-    private final List<Topic> visibleTopics = new ArrayList<>();
+    private final TopicRepository topics = TopicRepository.get();
+    @Nullable private TopicRepository.TopicSnapshot snapshot;
 
     private TopicsAdapter adapter;
 
+    private KeysetPager<Topic> pager;
+    private PagingScrollListener pagingListener;
+    private LocalStore.Scope localScope;
+    private DeltaSync<Topic> deltaSync;
+
     private enum FilterType { ALL, AVAILABLE, TAKEN }
     private FilterType currentFilter = FilterType.ALL;
 
@@ -81,7 +86,6 @@ public class TopicsFragment extends Fragment {
 
         rvTopics.setLayoutManager(new LinearLayoutManager(requireContext()));
         adapter = new TopicsAdapter(
-                visibleTopics,
                 this::onTopicClick,
                 this::onTopicDeleteClick
         );
@@ -93,9 +97,28 @@ public class TopicsFragment extends Fragment {
             addButton.setOnClickListener(v -> openAddTopic());
         }
 
+        return root;
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        topics.ownerTopics().observe(getViewLifecycleOwner(), s -> {
+            snapshot = s;
+            applyFilter();
+        });
         loadTopics();
+    }
 
-        return root;
+    @Override
+    public void onDestroyView() {
+        // laufende Seite abbrechen; neue View → neuer Pager samt Scroll-Listener
+        if (pager != null) pager.reset();
+        pager = null;
+        pagingListener = null;
+        super.onDestroyView();
     }
 
     // ------------------------------------------------------------------------
@@ -144,110 +167,140 @@ public class TopicsFragment extends Fragment {
     // ------------------------------------------------------------------------
 
     private void loadTopics() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String tutorId = sm.userId();
         if (tutorId == null) {
             Toast.makeText(requireContext(),
                     "Fehler: Tutor-ID fehlt. Bitte neu anmelden.",
                     Toast.LENGTH_LONG).show();
-            allTopics.clear();
-            visibleTopics.clear();
-            adapter.notifyDataSetChanged();
-            updateFilterLabels();
+            topics.replaceOwnerTopics(Collections.emptyList());
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        String select = "id,title,description,area,status,owner_id";
+        if (pager == null) {
+            setupPaging(tutorId);
+            setupDeltaSync(tutorId);
+        }
 
-        client.restService()
-                .getTutorTopics("eq." + tutorId, select)
-                .enqueue(new Callback<List<Topic>>() {
+        // Erst der lokale Stand; dann entweder nur die Änderungen (Delta)
+        // oder – beim ersten Mal / nach längerer Zeit – Seite 1 komplett neu.
+        localScope = LocalStore.Scope.ownerTopics(tutorId);
+        LocalStore.Scope scope = localScope;
+        LocalStore.get(requireContext()).read(
+                store -> store.queryTopics(scope, 0),
+                Collections.emptyList(),
+                cached -> {
+                    if (!isAdded() || pager == null) return; // View inzwischen weg
+                    topics.replaceOwnerTopics(cached);
+
+                    if (cached.isEmpty() || deltaSync.needsFullSync()) {
+                        pager.loadFirst();
+                    } else {
+                        pager.resumeAfter(cached.get(cached.size() - 1));
+                        pullChanges();
+                    }
+                });
+    }
+
+    /**
+     * Eigene Themen seitenweise (Keyset auf created_at,id).
+     * Die Chip-Zähler beziehen sich auf die bisher geladenen Themen.
+     */
+    private void setupPaging(String tutorId) {
+        pager = new KeysetPager<>(
+                (keysetOr, limit) -> SupabaseClient.get(requireContext())
+                        .restService()
+                        .getTutorTopicsPage("eq." + tutorId, SupabaseRestService.TOPIC_COLUMNS,
+                                keysetOr, KeysetPager.ORDER, limit),
+                KeysetPager.TOPIC_KEYS,
+                new KeysetPager.Listener<Topic>() {
                     @Override
-                    public void onResponse(@NonNull Call<List<Topic>> call,
-                                           @NonNull Response<List<Topic>> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Laden: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            allTopics.clear();
-                            visibleTopics.clear();
-                            adapter.notifyDataSetChanged();
-                            updateFilterLabels();
-                            return;
+                    public void onPageLoaded(@NonNull List<Topic> page, boolean firstPage, boolean endReached) {
+                        LocalStore.Scope scope = localScope;
+                        if (firstPage) {
+                            LocalStore.get(requireContext()).write(s -> s.replaceTopics(scope, page, endReached));
+                            deltaSync.recordFull(page);
+
+                            topics.replaceOwnerTopics(page);
+                        } else {
+                            LocalStore.get(requireContext()).write(s -> s.putTopics(page));
+                            // per id mischen: Delta kann ältere Themen schon geholt haben
+                            topics.mergeOwnerTopics(page);
                         }
-
-                        allTopics.clear();
-                        allTopics.addAll(response.body());
-
-                        applyFilter();
                     }
 
                     @Override
-                    public void onFailure(@NonNull Call<List<Topic>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                        allTopics.clear();
-                        visibleTopics.clear();
-                        adapter.notifyDataSetChanged();
-                        updateFilterLabels();
+                    public void onPageFailed(@NonNull String message, boolean firstPage) {
+                        if (firstPage && topics.hasOwnerTopics()) {
+                            // lokale Kopie wird schon angezeigt → stehen lassen
+                            Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
+                        Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
+                        if (!firstPage) return; // bereits geladene Seiten behalten
+
+                        topics.replaceOwnerTopics(Collections.emptyList());
                     }
                 });
+
+        pagingListener = new PagingScrollListener(pager);
+        rvTopics.addOnScrollListener(pagingListener);
     }
 
-    private void applyFilter() {
-        visibleTopics.clear();
+    /** Nur geänderte Themen seit dem letzten Abgleich (updated_at=gt.&lt;Marke&gt;). */
+    private void setupDeltaSync(String tutorId) {
+        deltaSync = new DeltaSync<>(
+                new SyncWatermarks(requireContext()),
+                LocalStore.get(requireContext()),
+                "topics:owner:" + tutorId,
+                since -> CallScope.of(this).track(SupabaseClient.get(requireContext())
+                        .restService()
+                        .getTutorTopicsChangedSince("eq." + tutorId, since,
+                                SupabaseRestService.TOPIC_COLUMNS, DeltaSync.ORDER_BY_UPDATE)),
+                DeltaSync.TOPIC_KEYS,
+                (store, rows) -> store.putTopics(rows));
+    }
 
-        for (Topic t : allTopics) {
-            if (matchesFilter(t)) {
-                visibleTopics.add(t);
+    private void pullChanges() {
+        deltaSync.pull(new DeltaSync.Listener<Topic>() {
+            @Override
+            public void onChanges(@NonNull List<Topic> changed) {
+                if (!isAdded()) return;
+                topics.mergeOwnerTopics(changed);
             }
-        }
 
-        adapter.notifyDataSetChanged();
-        updateFilterLabels();
+            @Override
+            public void onFailed(@NonNull String message) {
+                if (!isAdded()) return;
+                Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
-    private boolean matchesFilter(Topic t) {
-        String s = (t.status == null) ? "" : t.status.trim().toLowerCase(Locale.ROOT);
-
-        switch (currentFilter) {
+    /** Filterlisten und Zähler kommen fertig aus dem TopicRepository. */
+    private List<Topic> topicsFor(FilterType filter) {
+        if (snapshot == null) return Collections.emptyList();
+        switch (filter) {
+            case AVAILABLE: return snapshot.available;
+            case TAKEN:     return snapshot.assigned; // taken ODER completed
             case ALL:
-                return true;
-            case AVAILABLE:
-                return "available".equals(s);
-            case TAKEN:
-                // Vergeben = taken ODER completed
-                return "taken".equals(s) || "completed".equals(s);
-            default:
-                return true;
+            default:        return snapshot.all;
         }
     }
 
-    private void updateFilterLabels() {
-        int total = allTopics.size();
-        int available = 0;
-        int assigned = 0; // taken oder completed
-
-        for (Topic t : allTopics) {
-            if (t.status == null) continue;
-            String s = t.status.trim().toLowerCase(Locale.ROOT);
-            switch (s) {
-                case "available":
-                    available++;
-                    break;
-                case "taken":
-                case "completed":
-                    assigned++;
-                    break;
-            }
-        }
+    private void applyFilter() {
+        // Filter kann die Liste so verkürzen, dass kein Scroll-Event mehr kommt
+        // → nach dem Diff prüfen, ob die nächste Seite nötig ist
+        adapter.submitList(topicsFor(currentFilter), () -> {
+            if (pagingListener != null) pagingListener.check(rvTopics);
+        });
+        updateFilterLabels();
+    }
 
-        chipAll.setText("Alle (" + total + ")");
-        chipAvailable.setText("Eingestellt (" + available + ")");
-        chipTaken.setText("Vergeben (" + assigned + ")");
+    private void updateFilterLabels() {
+        chipAll.setText("Alle (" + topicsFor(FilterType.ALL).size() + ")");
+        chipAvailable.setText("Eingestellt (" + topicsFor(FilterType.AVAILABLE).size() + ")");
+        chipTaken.setText("Vergeben (" + topicsFor(FilterType.TAKEN).size() + ")");
     }
 
     // ------------------------------------------------------------------------
@@ -285,7 +338,9 @@ public class TopicsFragment extends Fragment {
     }
 
     private void deleteTopic(Topic t) {
-        SupabaseClient client = new SupabaseClient(requireContext());
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        // lokale Kopie + Repository auch dann nachziehen, wenn die Ansicht schon weg ist
+        LocalStore store = LocalStore.get(requireContext());
         client.restService()
                 .deleteTopic("eq." + t.id)
                 .enqueue(new Callback<Void>() {
@@ -293,17 +348,18 @@ public class TopicsFragment extends Fragment {
                     public void onResponse(@NonNull Call<Void> call,
                                            @NonNull Response<Void> response) {
                         if (!response.isSuccessful()) {
+                            if (!isAdded()) return;
                             Toast.makeText(requireContext(),
                                     "Löschen fehlgeschlagen: " + response.code(),
                                     Toast.LENGTH_LONG).show();
                             return;
                         }
 
-                        allTopics.remove(t);
-                        visibleTopics.remove(t);
-                        adapter.notifyDataSetChanged();
-                        updateFilterLabels();
+                        store.write(s -> s.deleteTopic(t.id));
+
+                        if (t.id != null) topics.removeOwnerTopic(t.id);
 
+                        if (!isAdded()) return;
                         Toast.makeText(requireContext(),
                                 "Thema gelöscht.",
                                 Toast.LENGTH_SHORT).show();
@@ -312,6 +368,7 @@ public class TopicsFragment extends Fragment {
                     @Override
                     public void onFailure(@NonNull Call<Void> call,
                                           @NonNull Throwable err) {
+                        if (!isAdded()) return;
                         Toast.makeText(requireContext(),
                                 "Netzwerkfehler: " + err.getMessage(),
                                 Toast.LENGTH_LONG).show();
@@ -349,7 +406,7 @@ public class TopicsFragment extends Fragment {
     // Adapter (Card-Layout)
     // ------------------------------------------------------------------------
 
-    private static class TopicsAdapter extends RecyclerView.Adapter<TopicsAdapter.VH> {
+    private static class TopicsAdapter extends DiffListAdapter<Topic, TopicsAdapter.VH> {
 
         interface OnTopicClick {
             void onClick(Topic t);
@@ -359,14 +416,12 @@ public class TopicsFragment extends Fragment {
             void onDelete(Topic t);
         }
 
-        private final List<Topic> data;
         private final OnTopicClick onClick;
         private final OnDeleteClick onDelete;
 
-        TopicsAdapter(List<Topic> data,
-                      OnTopicClick onClick,
+        TopicsAdapter(OnTopicClick onClick,
                       OnDeleteClick onDelete) {
-            this.data = data;
+            super(TOPICS);
             this.onClick = onClick;
             this.onDelete = onDelete;
         }
@@ -397,7 +452,7 @@ public class TopicsFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH h, int position) {
-            Topic t = data.get(position);
+            Topic t = getItem(position);
             if (t == null) return;
 
             String title = (t.title != null && !t.title.isEmpty())
@@ -450,10 +505,5 @@ public class TopicsFragment extends Fragment {
                 if (onClick != null) onClick.onClick(t);
             });
         }
-
-        @Override
-        public int getItemCount() {
-            return data.size();
-        }
     }
 }
@@ -15,13 +15,15 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
+import de.iu.betreuerapp.Invoices.InvoiceRow;
+import de.iu.betreuerapp.Invoices.InvoiceSnapshot;
 import de.iu.betreuerapp.dto.ContactRequest;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import de.iu.betreuerapp.dto.ThesisStatus;
 
 /**
  * Rechnungsübersicht für eingeloggte Tutor-Rolle (Hauptbetreuer ODER Zweitprüfer).
@@ -34,6 +36,9 @@ import retrofit2.Response;
  *
  * WICHTIG: Nur hier wird eine Rechnung "gestellt" und ggf. der Status auf "invoiced" gesetzt
  * (für den Betreuer). Im Betreuungs-Fragment gibt es keinen "In Rechnung stellen"-Button mehr.
+ *
+ * Mehrfachauswahl (lange drücken): alle markierten Rechnungen auf einmal stellen,
+ * siehe {@link BatchUpdate}.
  */
 public class TutorInvoicesFragment extends Fragment {
 
@@ -41,9 +46,9 @@ public class TutorInvoicesFragment extends Fragment {
 
     private TextView chipAll, chipOpen, chipCreated, chipPaid;
 
-    private final List<Row> allRows = new ArrayList<>();
-    private final List<Row> visibleRows = new ArrayList<>();
+    @Nullable private InvoiceSnapshot snapshot; // fertig aufbereitet vom RequestRepository
     private TutorInvoicesAdapter adapter;
+    private MultiSelection selection;
 
     private enum FilterType { ALL, OPEN, CREATED, PAID }
     private FilterType currentFilter = FilterType.ALL;
@@ -51,12 +56,6 @@ public class TutorInvoicesFragment extends Fragment {
     private static final int ORANGE = Color.parseColor("#FF9800");
     private static final int GRAY_TEXT = Color.parseColor("#666666");
 
-    private static class Row {
-        ContactRequest cr;
-        boolean isSupervisor;  // diese Zeile = Betreuer-Rechnung
-        boolean isSecond;      // diese Zeile = Zweitprüfer-Rechnung
-    }
-
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -76,20 +75,34 @@ public class TutorInvoicesFragment extends Fragment {
         chipCreated= root.findViewById(R.id.chip_filter_created);
         chipPaid   = root.findViewById(R.id.chip_filter_paid);
 
+        selection = new MultiSelection(root,
+                () -> adapter.notifyItemRangeChanged(0, adapter.getItemCount()));
+        selection.setAction("Rechnungen stellen", v -> createInvoices(selectedRows()));
+
         setupRecyclerView();
         setupFilterChips();
-        loadData();
 
         return root;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .tutorInvoices()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+        loadData();
+    }
+
     // --------------------------------------------------------
     // RecyclerView + Adapter
     // --------------------------------------------------------
 
     private void setupRecyclerView() {
         rvInvoices.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new TutorInvoicesAdapter(visibleRows, this::showInvoiceDialog);
+        adapter = new TutorInvoicesAdapter(this::showInvoiceDialog, selection);
         rvInvoices.setAdapter(adapter);
     }
 
@@ -135,7 +148,7 @@ public class TutorInvoicesFragment extends Fragment {
     // --------------------------------------------------------
 
     private void loadData() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String myId    = sm.userId();
         String myEmail = sm.email();
 
@@ -143,192 +156,79 @@ public class TutorInvoicesFragment extends Fragment {
             Toast.makeText(requireContext(),
                     "Fehler: Benutzer nicht erkannt. Bitte neu anmelden.",
                     Toast.LENGTH_LONG).show();
-            allRows.clear();
-            visibleRows.clear();
-            if (adapter != null) adapter.notifyDataSetChanged();
-            updateChipCounts();
+            showSnapshot(null);
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .listContactRequests()
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Laden: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            allRows.clear();
-                            visibleRows.clear();
-                            if (adapter != null) adapter.notifyDataSetChanged();
-                            updateChipCounts();
-                            return;
-                        }
-
-                        allRows.clear();
-
-                        for (ContactRequest r : response.body()) {
-                            if (r == null) continue;
-
-                            String status = (r.status != null)
-                                    ? r.status.toLowerCase(Locale.ROOT)
-                                    : "";
-
-                            String srs = (r.second_reviewer_status != null)
-                                    ? r.second_reviewer_status.trim().toLowerCase(Locale.ROOT)
-                                    : "";
-
-                            boolean isSup         = myId != null && myId.equals(r.supervisor_id);
-                            boolean isSecCandidate= myId != null && myId.equals(r.second_reviewer_id);
-
-                            // Fallback per Mail
-                            if (!isSup && myEmail != null && r.supervisor_email != null
-                                    && myEmail.equalsIgnoreCase(r.supervisor_email)) {
-                                isSup = true;
-                            }
-                            if (!isSecCandidate && myEmail != null && r.second_reviewer_email != null
-                                    && myEmail.equalsIgnoreCase(r.second_reviewer_email)) {
-                                isSecCandidate = true;
-                            }
-
-                            // Zweitprüfer nur, wenn Rolle akzeptiert
-                            boolean isSec = isSecCandidate && "accepted".equals(srs);
-
-                            if (!isSup && !isSec) continue;
-
-                            boolean hasMyInvoice =
-                                    (isSup && bool(r.invoice_supervisor_created))
-                                            || (isSec && bool(r.invoice_reviewer_created));
-
-                            boolean isDonePhase =
-                                    status.equals("colloquium_held")
-                                            || status.equals("invoiced")
-                                            || status.equals("finished");
-
-                            // Anzeigen ab Kolloquium oder sobald eigene Rechnung existiert
-                            if (!hasMyInvoice && !isDonePhase) {
-                                continue;
-                            }
-
-                            Row row = new Row();
-                            row.cr           = r;
-                            row.isSupervisor = isSup;
-                            row.isSecond     = isSec;
-                            allRows.add(row);
-                        }
-
-                        applyFilter();
-                        updateChipCounts();
-                    }
-
-                    @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                        allRows.clear();
-                        visibleRows.clear();
-                        if (adapter != null) adapter.notifyDataSetChanged();
-                        updateChipCounts();
-                    }
+        // Rollen-Erkennung, Filterlisten und Zähler entstehen im Repository
+        // (Hintergrund-Thread); hier kommt nur der fertige Stand an.
+        RequestRepository.get(requireContext())
+                .refreshTutorInvoices(myId, myEmail, message -> {
+                    if (!isAdded()) return;
+                    Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
                 });
     }
 
-    private void applyFilter() {
-        visibleRows.clear();
-
-        for (Row row : allRows) {
-            ContactRequest r = row.cr;
-            boolean asSup = row.isSupervisor;
-
-            boolean invCreated = asSup
-                    ? bool(r.invoice_supervisor_created)
-                    : bool(r.invoice_reviewer_created);
-            boolean paid = asSup
-                    ? bool(r.paid_supervisor)
-                    : bool(r.paid_reviewer);
-
-            boolean add;
-            switch (currentFilter) {
-                case OPEN:    // noch keine Rechnung
-                    add = !invCreated;
-                    break;
-                case CREATED: // Rechnung gestellt, nicht bezahlt
-                    add = invCreated && !paid;
-                    break;
-                case PAID:    // Rechnung gestellt & bezahlt
-                    add = invCreated && paid;
-                    break;
-                case ALL:
-                default:
-                    add = true;
-                    break;
-            }
+    private void showSnapshot(@Nullable InvoiceSnapshot s) {
+        snapshot = s;
+        applyFilter();
+        updateChipCounts();
+    }
 
-            if (add) visibleRows.add(row);
+    private List<InvoiceRow> rowsFor(FilterType filter) {
+        if (snapshot == null) return Collections.emptyList();
+        switch (filter) {
+            case OPEN:    return snapshot.notInvoiced; // noch keine Rechnung
+            case CREATED: return snapshot.unpaid;      // Rechnung gestellt, nicht bezahlt
+            case PAID:    return snapshot.paid;        // Rechnung gestellt & bezahlt
+            case ALL:
+            default:      return snapshot.all;
         }
-
-        if (adapter != null) adapter.notifyDataSetChanged();
     }
 
-    private void updateChipCounts() {
-        int total   = allRows.size();
-        int open    = 0;
-        int created = 0;
-        int paid    = 0;
-
-        for (Row row : allRows) {
-            ContactRequest r = row.cr;
-            boolean asSup = row.isSupervisor;
+    private void applyFilter() {
+        if (adapter == null) return;
+        List<InvoiceRow> rows = rowsFor(currentFilter);
+        adapter.submitList(rows);
 
-            boolean invCreated = asSup
-                    ? bool(r.invoice_supervisor_created)
-                    : bool(r.invoice_reviewer_created);
-            boolean paidFlag = asSup
-                    ? bool(r.paid_supervisor)
-                    : bool(r.paid_reviewer);
+        List<String> keys = new ArrayList<>(rows.size());
+        for (InvoiceRow r : rows) keys.add(ROWS.key(r));
+        selection.retain(keys);
+    }
 
-            if (!invCreated) {
-                open++;
-            } else if (!paidFlag) {
-                created++;
-            } else {
-                paid++;
-            }
+    /** Markierte Zeilen in der Reihenfolge der Liste. */
+    private List<InvoiceRow> selectedRows() {
+        List<InvoiceRow> out = new ArrayList<>();
+        for (InvoiceRow r : rowsFor(currentFilter)) {
+            if (selection.isSelected(ROWS.key(r))) out.add(r);
         }
+        return out;
+    }
 
-        chipAll.setText("Alle (" + total + ")");
-        chipOpen.setText("Offen (" + open + ")");
-        chipCreated.setText("Gestellt (" + created + ")");
-        chipPaid.setText("Bezahlt (" + paid + ")");
+    private void updateChipCounts() {
+        chipAll.setText("Alle (" + rowsFor(FilterType.ALL).size() + ")");
+        chipOpen.setText("Offen (" + rowsFor(FilterType.OPEN).size() + ")");
+        chipCreated.setText("Gestellt (" + rowsFor(FilterType.CREATED).size() + ")");
+        chipPaid.setText("Bezahlt (" + rowsFor(FilterType.PAID).size() + ")");
     }
 
     // --------------------------------------------------------
     // Dialog + Aktionen
     // --------------------------------------------------------
 
-    private void showInvoiceDialog(Row row) {
-        if (row == null || row.cr == null) return;
+    private void showInvoiceDialog(InvoiceRow row) {
+        if (row == null) return;
 
         ContactRequest r = row.cr;
-        boolean asSup = row.isSupervisor;
+        boolean asSup = row.supervisorInvoice;
 
         String roleLabel = asSup ? "Betreuer" : "Zweitprüfer";
 
-        boolean invCreated = asSup
-                ? bool(r.invoice_supervisor_created)
-                : bool(r.invoice_reviewer_created);
-
-        boolean paid = asSup
-                ? bool(r.paid_supervisor)
-                : bool(r.paid_reviewer);
+        boolean invCreated = row.invoiceCreated;
+        boolean paid = row.paid;
 
         String student      = safe(r.student_name, "Unbekannt");
-        String thesisStatus = mapStatusLabel(r.status);
+        String thesisStatus = r.thesisStatus().label;
 
         StringBuilder msg = new StringBuilder();
         msg.append("Rolle: ").append(roleLabel).append("\n");
@@ -359,71 +259,80 @@ public class TutorInvoicesFragment extends Fragment {
                         .setMessage(msg.toString())
                         .setNegativeButton("Schließen", null);
 
-        String s = (r.status != null) ? r.status.toLowerCase(Locale.ROOT) : "";
-        boolean canInvoicePhase =
-                s.equals("colloquium_held") || s.equals("invoiced") || s.equals("finished");
-
-        if (!invCreated && canInvoicePhase) {
+        if (canInvoice(row)) {
             b.setPositiveButton("Rechnung als " + roleLabel + " stellen",
-                    (d, w) -> createMyInvoice(row));
+                    (d, w) -> createInvoices(Collections.singletonList(row)));
         }
 
         b.show();
     }
 
-    private void createMyInvoice(Row row) {
-        ContactRequest r = row.cr;
-        if (r == null || r.id == null) {
-            Toast.makeText(requireContext(),
-                    "Fehler: Eintrag ohne ID.",
-                    Toast.LENGTH_LONG).show();
-            return;
+    /** Rechnung noch nicht gestellt und Arbeit in der Abrechnungsphase. */
+    private static boolean canInvoice(InvoiceRow row) {
+        return !row.invoiceCreated && row.cr.id != null && row.cr.thesisStatus().isBillable();
+    }
+
+    /**
+     * Stellt die Rechnungen für alle übergebenen Zeilen.
+     * Gleiche Patches werden zusammengefasst → höchstens drei PATCH-Requests
+     * (Betreuer mit/ohne Statuswechsel, Zweitprüfer), egal wie viele Zeilen.
+     */
+    private void createInvoices(List<InvoiceRow> rows) {
+        Map<String, String> supSetStatus = new LinkedHashMap<>(); // Zeilen-Schlüssel → id
+        Map<String, String> supKeepStatus = new LinkedHashMap<>();
+        Map<String, String> reviewer = new LinkedHashMap<>();
+        Map<String, String> labels = new LinkedHashMap<>();       // Zeilen-Schlüssel → Beschriftung
+        MultiSelection.Problems problems = new MultiSelection.Problems();
+
+        for (InvoiceRow row : rows) {
+            ContactRequest r = row.cr;
+            String key = ROWS.key(row);
+            String label = safe(r.student_name, "Unbekannt")
+                    + " (" + (row.supervisorInvoice ? "Betreuer" : "Zweitprüfer") + ")";
+            if (!canInvoice(row)) {
+                problems.put(key, label, row.invoiceCreated ? "bereits gestellt" : "noch nicht abrechenbar");
+                continue;
+            }
+            labels.put(key, label);
+
+            if (row.supervisorInvoice) {
+                if (r.thesisStatus().canMoveTo(ThesisStatus.INVOICED)) supSetStatus.put(key, r.id);
+                else supKeepStatus.put(key, r.id); // schon in Rechnung bzw. beendet
+            } else {
+                // Zeile ohne Betreuer-Rolle = akzeptierte:r Zweitprüfer:in (siehe RequestRepository)
+                reviewer.put(key, r.id);
+            }
         }
 
-        boolean asSup = row.isSupervisor;
-        boolean asSec = row.isSecond;
+        ContactRequest supWithStatus = new ContactRequest();
+        supWithStatus.invoice_supervisor_created = true;
+        supWithStatus.status = ThesisStatus.INVOICED;
 
-        ContactRequest patch = new ContactRequest();
+        ContactRequest supOnly = new ContactRequest();
+        supOnly.invoice_supervisor_created = true;
 
-        if (asSup) {
-            patch.invoice_supervisor_created = true;
-            String s = (r.status != null) ? r.status.toLowerCase(Locale.ROOT) : "";
-            if (!"invoiced".equals(s) && !"finished".equals(s)) {
-                patch.status = "invoiced";
-            }
-        } else if (asSec) {
-            patch.invoice_reviewer_created = true;
-            // Zweitprüfer ändert den globalen Status NICHT.
+        // Zweitprüfer ändert den globalen Status NICHT.
+        ContactRequest rev = new ContactRequest();
+        rev.invoice_reviewer_created = true;
+
+        BatchUpdate batch = new BatchUpdate(SupabaseClient.get(requireContext()).restService())
+                .add(supWithStatus, supSetStatus)
+                .add(supOnly, supKeepStatus)
+                .add(rev, reviewer);
+
+        if (batch.isEmpty()) {
+            MultiSelection.showResult(requireContext(), "Rechnung(en) gestellt", 0, problems);
+            return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .updateContactRequest("eq." + r.id, patch)
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful()) {
-                            Toast.makeText(requireContext(),
-                                    "Fehler beim Aktualisieren: " + response.code(),
-                                    Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        Toast.makeText(requireContext(),
-                                "Rechnung markiert als gestellt.",
-                                Toast.LENGTH_SHORT).show();
-                        loadData();
-                    }
-
-                    @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
-                        Toast.makeText(requireContext(),
-                                "Netzwerkfehler: " + t.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                    }
-                });
+        batch.run(result -> {
+            if (!isAdded()) return;
+            problems.putAll(result.failed, labels);
+            selection.clear();
+            MultiSelection.showResult(requireContext(), "Rechnung(en) gestellt",
+                    result.okCount, problems);
+            loadData();
+        });
     }
 
     // --------------------------------------------------------
@@ -438,41 +347,36 @@ public class TutorInvoicesFragment extends Fragment {
         return (v == null || v.isEmpty()) ? fb : v;
     }
 
-    private String mapStatusLabel(String s) {
-        if (s == null) return "-";
-        switch (s) {
-            case "accepted":
-                return "Angenommen";
-            case "in_progress":
-                return "In Arbeit";
-            case "submitted":
-                return "Abgegeben";
-            case "colloquium_held":
-                return "Kolloquium gehalten";
-            case "invoiced":
-                return "In Rechnung";
-            case "finished":
-                return "Beendet";
-            default:
-                return s;
+    // Zeile = (Anfrage, Rolle); dieselbe Anfrage kann zweimal vorkommen
+    private static final DiffListAdapter.Identity<InvoiceRow> ROWS = new DiffListAdapter.Identity<InvoiceRow>() {
+        @Override
+        public String key(@NonNull InvoiceRow r) {
+            return r.cr.id + (r.supervisorInvoice ? ":sup" : ":rev");
         }
-    }
+
+        @Override
+        public boolean sameContent(@NonNull InvoiceRow a, @NonNull InvoiceRow b) {
+            return a.supervisorInvoice == b.supervisorInvoice
+                    && DiffListAdapter.CONTACT_REQUESTS.sameContent(a.cr, b.cr);
+        }
+    };
 
     // --------------------------------------------------------
     // Adapter (inner class)
     // --------------------------------------------------------
 
     private static class TutorInvoicesAdapter
-            extends RecyclerView.Adapter<TutorInvoicesAdapter.VH> {
+            extends DiffListAdapter<InvoiceRow, TutorInvoicesAdapter.VH> {
 
-        interface OnRowClick { void onClick(Row row); }
+        interface OnRowClick { void onClick(InvoiceRow row); }
 
-        private final List<Row> data;
         private final OnRowClick listener;
+        private final MultiSelection selection;
 
-        TutorInvoicesAdapter(List<Row> data, OnRowClick listener) {
-            this.data = data;
+        TutorInvoicesAdapter(OnRowClick listener, MultiSelection selection) {
+            super(ROWS);
             this.listener = listener;
+            this.selection = selection;
         }
 
         static class VH extends RecyclerView.ViewHolder {
@@ -495,24 +399,19 @@ public class TutorInvoicesFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH h, int position) {
-            Row row = data.get(position);
-            if (row == null || row.cr == null) return;
+            InvoiceRow row = getItem(position);
+            if (row == null) return;
 
             ContactRequest r = row.cr;
-            boolean asSup = row.isSupervisor;
+            boolean asSup = row.supervisorInvoice;
 
             String roleLabel = asSup ? "Betreuer" : "Zweitprüfer";
             String studentName = (r.student_name != null && !r.student_name.isEmpty())
                     ? r.student_name
                     : "Unbekannter Student";
 
-            boolean invCreated = asSup
-                    ? (r.invoice_supervisor_created != null && r.invoice_supervisor_created)
-                    : (r.invoice_reviewer_created != null && r.invoice_reviewer_created);
-
-            boolean paid = asSup
-                    ? (r.paid_supervisor != null && r.paid_supervisor)
-                    : (r.paid_reviewer != null && r.paid_reviewer);
+            boolean invCreated = row.invoiceCreated;
+            boolean paid = row.paid;
 
             String statusText;
             int statusColor;
@@ -528,29 +427,16 @@ public class TutorInvoicesFragment extends Fragment {
                 statusColor = Color.parseColor("#4CAF50");
             }
 
-            String thesisStatus = (r.status == null) ? "-" : r.status;
-            switch (thesisStatus) {
-                case "accepted":        thesisStatus = "Angenommen"; break;
-                case "in_progress":     thesisStatus = "In Arbeit"; break;
-                case "submitted":       thesisStatus = "Abgegeben"; break;
-                case "colloquium_held": thesisStatus = "Kolloquium gehalten"; break;
-                case "invoiced":        thesisStatus = "In Rechnung"; break;
-                case "finished":        thesisStatus = "Beendet"; break;
-            }
+            String thesisStatus = r.thesisStatus().label;
 
             h.tvTitle.setText(studentName + " (" + roleLabel + ")");
             h.tvSubtitle.setText("Arbeit: " + thesisStatus);
             h.tvStatus.setText(statusText);
             h.tvStatus.setTextColor(statusColor);
 
-            h.itemView.setOnClickListener(v -> {
+            selection.bind(h.itemView, ROWS.key(row), () -> {
                 if (listener != null) listener.onClick(row);
             });
         }
-
-        @Override
-        public int getItemCount() {
-            return data.size();
-        }
     }
 }
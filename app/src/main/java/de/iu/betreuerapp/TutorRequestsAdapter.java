@@ -10,25 +10,18 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import de.iu.betreuerapp.dto.ContactRequest;
 
-public class TutorRequestsAdapter extends RecyclerView.Adapter<TutorRequestsAdapter.VH> {
+public class TutorRequestsAdapter extends DiffListAdapter<ContactRequest, TutorRequestsAdapter.VH> {
 
     public interface OnRequestClick { void onClick(ContactRequest r); }
 
-    private final List<ContactRequest> data;
     private final OnRequestClick onClick;
 
-    public TutorRequestsAdapter(List<ContactRequest> data, OnRequestClick onClick) {
-        this.data = data;
+    public TutorRequestsAdapter(OnRequestClick onClick) {
+        super(CONTACT_REQUESTS);
         this.onClick = onClick;
     }
 
@@ -53,16 +46,14 @@ public class TutorRequestsAdapter extends RecyclerView.Adapter<TutorRequestsAdap
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        ContactRequest r = data.get(position);
+        ContactRequest r = getItem(position);
         if (r == null) return;
 
-        Parsed p = parseMessage(r.message);
+        RequestMessageParser.Parsed p = RequestMessageParser.of(r);
 
         // Status (farben aus colors.xml)
-        String sLabel = mapStatusLabel(r.status);
-        h.tvStatus.setText(sLabel);
-        int colorRes = colorResForStatus(r.status);
-        h.tvStatus.setTextColor(ContextCompat.getColor(h.itemView.getContext(), colorRes));
+        h.tvStatus.setText(r.thesisStatus().label);
+        h.tvStatus.setTextColor(StatusColors.of(h.itemView.getContext(), r.status));
 
         // Titel
         String title = (p.title != null && !p.title.isEmpty())
@@ -99,8 +90,6 @@ public class TutorRequestsAdapter extends RecyclerView.Adapter<TutorRequestsAdap
         h.itemView.setOnClickListener(v -> { if (onClick != null) onClick.onClick(r); });
     }
 
-    @Override public int getItemCount() { return data.size(); }
-
     // ---------- Helpers ----------
 
     private static CharSequence boldLabel(String label, String value) {
@@ -121,50 +110,4 @@ public class TutorRequestsAdapter extends RecyclerView.Adapter<TutorRequestsAdap
         if (msg.length() <= max) return msg;
         return msg.substring(0, Math.max(0, max - 1)) + "…";
     }
-
-    private int colorResForStatus(String sRaw) {
-        String s = (sRaw == null) ? "open" : sRaw.trim().toLowerCase(Locale.ROOT);
-        switch (s) {
-            case "open":     return R.color.status_open;
-            case "accepted": return R.color.status_in_progress;
-            case "rejected": return R.color.status_rejected;
-            case "finished": return R.color.status_finished;
-            default:         return R.color.status_unknown;
-        }
-    }
-
-    private String mapStatusLabel(String sRaw) {
-        String n = (sRaw == null) ? "open" : sRaw.trim().toLowerCase(Locale.ROOT);
-        switch (n) {
-            case "open":     return "Offen";
-            case "accepted": return "Angenommen";
-            case "rejected": return "Abgelehnt";
-            default:         return "Unbekannt";
-        }
-    }
-
-    // --- Parsing ---
-    static class Parsed { String title, area, desc; }
-
-    private Parsed parseMessage(String raw) {
-        Parsed p = new Parsed();
-        if (raw == null) return p;
-        String msg = raw.trim();
-        if (msg.isEmpty()) return p;
-
-        p.title = extractFirst(msg, "(?im)^\\s*Titel\\s*:\\s*(.+)$");
-        p.area  = extractFirst(msg, "(?im)^\\s*(Fachgebiet|Fachbereich)\\s*:\\s*(.+)$");
-        String desc = extractFirst(msg, "(?is)\\bBeschreibung\\s*:\\s*(.+)$");
-        if (desc != null) p.desc = desc.trim();
-
-        if (p.title == null && p.area == null && p.desc == null) p.desc = msg;
-        return p;
-    }
-
-    private String extractFirst(String haystack, String regex) {
-        Pattern pat = Pattern.compile(regex);
-        Matcher m = pat.matcher(haystack);
-        if (!m.find()) return null;
-        return (m.groupCount() >= 2 ? m.group(2) : m.group(1)).trim();
-    }
 }
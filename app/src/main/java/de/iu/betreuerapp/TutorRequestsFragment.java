@@ -16,16 +16,18 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
-import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
+import de.iu.betreuerapp.RequestLists.RequestSnapshot;
+import de.iu.betreuerapp.RequestLists.TutorRequestFilter;
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ThesisStatus;
 import de.iu.betreuerapp.dto.Topic;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -51,12 +53,19 @@ public class TutorRequestsFragment extends Fragment {
     // Chips
     private TextView chipAll, chipOpen, chipAccepted, chipRejected;
     private RecyclerView rvList;
+    private TutorRequestsAdapter adapter;
 
+    // geladene Zeilen (Rohstand); Zuordnung, Filter und Zähler macht RequestRepository
     private final List<ContactRequest> all = new ArrayList<>();
-    private final List<ContactRequest> visible = new ArrayList<>();
+    @Nullable private RequestSnapshot<TutorRequestFilter> snapshot;
+    @Nullable private String myId;
 
-    private enum FilterType { ALL, OPEN, ACCEPTED, REJECTED }
-    private FilterType currentFilter = FilterType.ALL;
+    private KeysetPager<ContactRequest> pager;
+    private PagingScrollListener pagingListener;
+    private LocalStore.Scope localScope;
+    private boolean networkLoaded = false;
+
+    private TutorRequestFilter currentFilter = TutorRequestFilter.ALL;
 
     private static final int ORANGE = Color.parseColor("#FF9800");
     private static final int GRAY_TEXT = Color.parseColor("#666666");
@@ -80,7 +89,8 @@ public class TutorRequestsFragment extends Fragment {
         rvList       = root.findViewById(R.id.rv_requests);
 
         rvList.setLayoutManager(new LinearLayoutManager(requireContext()));
-        rvList.setAdapter(new TutorRequestsAdapter(visible, this::showRequestDialog));
+        adapter = new TutorRequestsAdapter(this::showRequestDialog);
+        rvList.setAdapter(adapter);
 
         setupFilterChips();
         loadRequests();
@@ -88,16 +98,35 @@ public class TutorRequestsFragment extends Fragment {
         return root;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .tutorRequests()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+    }
+
+    @Override
+    public void onDestroyView() {
+        // laufende Seite abbrechen; neue View → neuer Pager samt Scroll-Listener
+        if (pager != null) pager.reset();
+        pager = null;
+        pagingListener = null;
+        super.onDestroyView();
+    }
+
     // ------------------------------------------------------------------
     // Filter-Chips
     // ------------------------------------------------------------------
 
     private void setupFilterChips() {
         View.OnClickListener l = v -> {
-            if (v == chipAll) currentFilter = FilterType.ALL;
-            else if (v == chipOpen) currentFilter = FilterType.OPEN;
-            else if (v == chipAccepted) currentFilter = FilterType.ACCEPTED;
-            else if (v == chipRejected) currentFilter = FilterType.REJECTED;
+            if (v == chipAll) currentFilter = TutorRequestFilter.ALL;
+            else if (v == chipOpen) currentFilter = TutorRequestFilter.OPEN;
+            else if (v == chipAccepted) currentFilter = TutorRequestFilter.ACCEPTED;
+            else if (v == chipRejected) currentFilter = TutorRequestFilter.REJECTED;
 
             updateChipUI();
             applyFilter();
@@ -112,10 +141,10 @@ public class TutorRequestsFragment extends Fragment {
     }
 
     private void updateChipUI() {
-        setChipActive(chipAll, currentFilter == FilterType.ALL);
-        setChipActive(chipOpen, currentFilter == FilterType.OPEN);
-        setChipActive(chipAccepted, currentFilter == FilterType.ACCEPTED);
-        setChipActive(chipRejected, currentFilter == FilterType.REJECTED);
+        setChipActive(chipAll, currentFilter == TutorRequestFilter.ALL);
+        setChipActive(chipOpen, currentFilter == TutorRequestFilter.OPEN);
+        setChipActive(chipAccepted, currentFilter == TutorRequestFilter.ACCEPTED);
+        setChipActive(chipRejected, currentFilter == TutorRequestFilter.REJECTED);
     }
 
     private void setChipActive(TextView chip, boolean active) {
@@ -134,96 +163,118 @@ public class TutorRequestsFragment extends Fragment {
     // ------------------------------------------------------------------
 
     private void loadRequests() {
-        SessionManager sm = new SessionManager(requireContext());
-        String myId = sm.userId();
+        SessionManager sm = SessionManager.get(requireContext());
+        myId = sm.userId();
 
         if (myId == null) {
             // kein Toast hier – stilles Fail, Benutzer meldet sich sonst neu an
-            updateCountersAndHeader();
+            showSnapshot(null);
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .listContactRequests()
-                .enqueue(new Callback<List<ContactRequest>>() {
-                    @Override
-                    public void onResponse(@NonNull Call<List<ContactRequest>> call,
-                                           @NonNull Response<List<ContactRequest>> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            all.clear();
-                            visible.clear();
-                            if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                            updateCountersAndHeader();
-                            return;
-                        }
+        if (pager == null) {
+            setupPaging(myId);
+        }
 
-                        all.clear();
-                        for (ContactRequest r : response.body()) {
-                            if (r == null) continue;
-                            // Nur Anfragen, bei denen ich Hauptbetreuer bin
-                            if (!myId.equals(r.supervisor_id)) continue;
-
-                            String s = norm(r.status);
-                            if ("open".equals(s) || "accepted".equals(s) || "rejected".equals(s)) {
-                                all.add(r);
-                            }
+        // sofort den lokalen Stand zeigen, Seite 1 vom Server kommt hinterher
+        networkLoaded = false;
+        localScope = LocalStore.Scope.supervisorRequests(myId, "open", "accepted", "rejected");
+        LocalStore.Scope scope = localScope;
+        LocalStore.get(requireContext()).read(
+                store -> store.queryRequests(scope, KeysetPager.DEFAULT_PAGE_SIZE),
+                Collections.emptyList(),
+                cached -> {
+                    if (!isAdded() || networkLoaded) return;
+                    all.clear();
+                    all.addAll(cached);
+                    submitRows();
+                });
+
+        pager.loadFirst();
+    }
+
+    /**
+     * Anfragen seitenweise (Keyset auf created_at,id), Rolle + Status serverseitig gefiltert.
+     * Die Chip-Zähler beziehen sich auf die bisher geladenen Anfragen.
+     */
+    private void setupPaging(String myId) {
+        pager = new KeysetPager<>(
+                (keysetOr, limit) -> SupabaseClient.get(requireContext())
+                        .restService()
+                        .getSupervisorRequestsPage(
+                                PostgrestFilter.eq(myId),
+                                PostgrestFilter.in("open", "accepted", "rejected"),
+                                SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS,
+                                keysetOr, KeysetPager.ORDER, limit),
+                KeysetPager.REQUEST_KEYS,
+                new KeysetPager.Listener<ContactRequest>() {
+                    @Override
+                    public void onPageLoaded(@NonNull List<ContactRequest> page, boolean firstPage, boolean endReached) {
+                        networkLoaded = true;
+                        LocalStore.Scope scope = localScope;
+                        if (firstPage) {
+                            LocalStore.get(requireContext()).write(st -> st.replaceRequests(scope, page, endReached));
+                        } else {
+                            LocalStore.get(requireContext()).write(st -> st.putRequests(page));
                         }
 
-                        applyFilter();           // baut visible
-                        updateCountersAndHeader(); // setzt Zähler
+                        if (firstPage) all.clear();
+                        all.addAll(page);
+                        submitRows();
                     }
 
                     @Override
-                    public void onFailure(@NonNull Call<List<ContactRequest>> call,
-                                          @NonNull Throwable t) {
+                    public void onPageFailed(@NonNull String message, boolean firstPage) {
+                        if (!firstPage) return; // bereits geladene Seiten behalten
+
+                        if (!all.isEmpty()) {
+                            // lokale Kopie wird schon angezeigt → stehen lassen
+                            Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
+
                         all.clear();
-                        visible.clear();
-                        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                        updateCountersAndHeader();
+                        submitRows();
                     }
                 });
+
+        pagingListener = new PagingScrollListener(pager);
+        rvList.addOnScrollListener(pagingListener);
     }
 
-    private void applyFilter() {
-        visible.clear();
-        for (ContactRequest r : all) {
-            if (matchesFilter(r)) visible.add(r);
-        }
-        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
+    /** Rohstand ans Repository; der fertige Stand kommt über {@link #showSnapshot}. */
+    private void submitRows() {
+        if (myId == null) return;
+        RequestRepository.get(requireContext()).submitTutorRequests(all, myId);
+    }
+
+    private void showSnapshot(@Nullable RequestSnapshot<TutorRequestFilter> s) {
+        snapshot = s;
+        applyFilter();
         updateCountersAndHeader();
     }
 
-    private boolean matchesFilter(ContactRequest r) {
-        String s = norm(r.status);
-        switch (currentFilter) {
-            case ALL:      return true;
-            case OPEN:     return "open".equals(s);
-            case ACCEPTED: return "accepted".equals(s);
-            case REJECTED: return "rejected".equals(s);
-            default:       return true;
-        }
+    private List<ContactRequest> rowsFor(TutorRequestFilter filter) {
+        return snapshot == null ? Collections.emptyList() : snapshot.rows(filter);
     }
 
-    private void updateCountersAndHeader() {
-        int total = all.size();
-        int open = 0, accepted = 0, rejected = 0;
-
-        for (ContactRequest r : all) {
-            String s = norm(r.status);
-            if ("open".equals(s)) open++;
-            else if ("accepted".equals(s)) accepted++;
-            else if ("rejected".equals(s)) rejected++;
-        }
+    private int countOf(TutorRequestFilter filter) {
+        return snapshot == null ? 0 : snapshot.count(filter);
+    }
 
-        chipAll.setText("Alle (" + total + ")");
-        chipOpen.setText("Offen (" + open + ")");
-        chipAccepted.setText("Angenommen (" + accepted + ")");
-        chipRejected.setText("Abgelehnt (" + rejected + ")");
+    private void applyFilter() {
+        // Filter kann die Liste so verkürzen, dass kein Scroll-Event mehr kommt
+        // → nach dem Diff prüfen, ob die nächste Seite nötig ist
+        adapter.submitList(rowsFor(currentFilter), () -> {
+            if (pagingListener != null) pagingListener.check(rvList);
+        });
     }
 
-    private String norm(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    private void updateCountersAndHeader() {
+        chipAll.setText("Alle (" + countOf(TutorRequestFilter.ALL) + ")");
+        chipOpen.setText("Offen (" + countOf(TutorRequestFilter.OPEN) + ")");
+        chipAccepted.setText("Angenommen (" + countOf(TutorRequestFilter.ACCEPTED) + ")");
+        chipRejected.setText("Abgelehnt (" + countOf(TutorRequestFilter.REJECTED) + ")");
     }
 
     // ------------------------------------------------------------------
@@ -233,12 +284,47 @@ public class TutorRequestsFragment extends Fragment {
     private void showRequestDialog(ContactRequest r) {
         if (r == null) return;
 
+        // ---- Dialog-Buttons: Schließen | Ablehnen | Annehmen ----
+        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
+                .setTitle(RequestMessageParser.of(r).titleOr("Anfrage"))
+                .setMessage(detailText(r));
+
+        if (r.thesisStatus() == ThesisStatus.OPEN) {
+            // links: NEUTRAL → Schließen
+            b.setNeutralButton("Schließen", (d, w) -> d.dismiss());
+            // Mitte: NEGATIVE → Ablehnen
+            b.setNegativeButton("Ablehnen", (d, w) -> updateStatus(r, ThesisStatus.REJECTED));
+            // rechts: POSITIVE → Annehmen
+            b.setPositiveButton("Annehmen", (d, w) -> updateStatus(r, ThesisStatus.ACCEPTED));
+        } else {
+            // nur Schließen, wenn nicht open
+            b.setNeutralButton("Schließen", (d, w) -> d.dismiss());
+        }
+
+        AlertDialog dlg = b.create();
+        dlg.setOnShowListener(di -> {
+            if (dlg.getButton(AlertDialog.BUTTON_POSITIVE)  != null)
+                dlg.getButton(AlertDialog.BUTTON_POSITIVE).setTextColor(Color.BLACK);
+            if (dlg.getButton(AlertDialog.BUTTON_NEGATIVE)  != null)
+                dlg.getButton(AlertDialog.BUTTON_NEGATIVE).setTextColor(Color.BLACK);
+            if (dlg.getButton(AlertDialog.BUTTON_NEUTRAL)   != null)
+                dlg.getButton(AlertDialog.BUTTON_NEUTRAL).setTextColor(Color.BLACK);
+        });
+        dlg.show();
+
+        // expose_url fehlt im Listen-Stand → komplette Zeile nachladen
+        RequestDetails.loadFull(this, r, full -> {
+            if (dlg.isShowing()) dlg.setMessage(detailText(full));
+        });
+    }
+
+    /** Text des Detail-Dialogs (Listen-Stand oder komplette Zeile). */
+    private CharSequence detailText(ContactRequest r) {
         String raw   = r.message == null ? "" : r.message.trim();
-        String title = extractFirst(raw, "(?im)^\\s*Titel\\s*:\\s*(.+)$");
-        String area  = extractFirst(raw, "(?im)^\\s*(Fachgebiet|Fachbereich)\\s*:\\s*(.+)$");
-        String desc  = extractFirst(raw, "(?is)\\bBeschreibung\\s*:\\s*(.+)$");
+        RequestMessageParser.Parsed p = RequestMessageParser.of(r);
+        String area  = p.area;
+        String desc  = p.desc;
 
-        if (title == null || title.isEmpty()) title = "Anfrage";
         if (desc == null || desc.isEmpty()) desc = (raw.isEmpty() ? "-" : raw);
 
         // Fachgebiet-Fallback über Directory (Supervisor-E-Mail)
@@ -252,9 +338,8 @@ public class TutorRequestsFragment extends Fragment {
         if (area == null || area.isEmpty()) area = "-";
 
         // farbiger Status oben
-        String sLabel = mapStatusLabel(r.status);
-        int colorRes = colorResForStatus(r.status);
-        int sColor = ContextCompat.getColor(requireContext(), colorRes);
+        String sLabel = r.thesisStatus().label;
+        int sColor = StatusColors.of(requireContext(), r.status);
 
         SpannableStringBuilder sb = new SpannableStringBuilder();
 
@@ -283,34 +368,7 @@ public class TutorRequestsFragment extends Fragment {
             sb.append("\n").append(r.expose_url.trim());
         }
 
-        // ---- Dialog-Buttons: Schließen | Ablehnen | Annehmen ----
-        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
-                .setTitle(title)
-                .setMessage(sb);
-
-        String s = norm(r.status);
-        if ("open".equals(s)) {
-            // links: NEUTRAL → Schließen
-            b.setNeutralButton("Schließen", (d, w) -> d.dismiss());
-            // Mitte: NEGATIVE → Ablehnen
-            b.setNegativeButton("Ablehnen", (d, w) -> updateStatus(r, "rejected"));
-            // rechts: POSITIVE → Annehmen
-            b.setPositiveButton("Annehmen", (d, w) -> updateStatus(r, "accepted"));
-        } else {
-            // nur Schließen, wenn nicht open
-            b.setNeutralButton("Schließen", (d, w) -> d.dismiss());
-        }
-
-        AlertDialog dlg = b.create();
-        dlg.setOnShowListener(di -> {
-            if (dlg.getButton(AlertDialog.BUTTON_POSITIVE)  != null)
-                dlg.getButton(AlertDialog.BUTTON_POSITIVE).setTextColor(Color.BLACK);
-            if (dlg.getButton(AlertDialog.BUTTON_NEGATIVE)  != null)
-                dlg.getButton(AlertDialog.BUTTON_NEGATIVE).setTextColor(Color.BLACK);
-            if (dlg.getButton(AlertDialog.BUTTON_NEUTRAL)   != null)
-                dlg.getButton(AlertDialog.BUTTON_NEUTRAL).setTextColor(Color.BLACK);
-        });
-        dlg.show();
+        return sb;
     }
 
     private void appendBold(SpannableStringBuilder sb, String label) {
@@ -319,46 +377,26 @@ public class TutorRequestsFragment extends Fragment {
         sb.setSpan(new StyleSpan(Typeface.BOLD), start, start + label.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
     }
 
-    private String extractFirst(String text, String regex) {
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(regex).matcher(text);
-        return m.find() ? (m.groupCount() >= 2 ? m.group(2) : m.group(1)).trim() : null;
-    }
-
-    private String mapStatusLabel(String sRaw) {
-        String n = (sRaw == null) ? "open" : sRaw.trim().toLowerCase(Locale.ROOT);
-        switch (n) {
-            case "open":     return "Offen";
-            case "accepted": return "Angenommen";
-            case "rejected": return "Abgelehnt";
-            default:         return "Unbekannt";
-        }
-    }
-
-    private int colorResForStatus(String sRaw) {
-        String s = (sRaw == null) ? "open" : sRaw.trim().toLowerCase(Locale.ROOT);
-        switch (s) {
-            case "open":     return R.color.status_open;        // Blau
-            case "accepted": return R.color.status_in_progress; // Gelb
-            case "rejected": return R.color.status_rejected;    // Rot
-            case "finished": return R.color.status_finished;    // Grün (falls jemals vorkommt)
-            default:         return R.color.status_unknown;     // Grau
-        }
-    }
-
     // ------------------------------------------------------------------
     // Statuswechsel + Topic-/Request-Kaskade
     // ------------------------------------------------------------------
 
-    private void updateStatus(ContactRequest r, String newStatus) {
+    private void updateStatus(ContactRequest r, ThesisStatus newStatus) {
         if (r.id == null) {
             Toast.makeText(requireContext(), "Fehler: Anfrage ohne ID.", Toast.LENGTH_LONG).show();
             return;
         }
+        if (!r.thesisStatus().canMoveTo(newStatus)) {
+            Toast.makeText(requireContext(),
+                    "Statuswechsel nicht möglich (" + r.thesisStatus().label + ").",
+                    Toast.LENGTH_LONG).show();
+            return;
+        }
 
         ContactRequest patch = new ContactRequest();
         patch.status = newStatus;
 
-        SupabaseClient client = new SupabaseClient(requireContext());
+        SupabaseClient client = SupabaseClient.get(requireContext());
         client.restService()
                 .updateContactRequest("eq." + r.id, patch)
                 .enqueue(new Callback<List<ContactRequest>>() {
@@ -366,21 +404,24 @@ public class TutorRequestsFragment extends Fragment {
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
                         if (!response.isSuccessful()) {
+                            if (!isAdded()) return;
                             Toast.makeText(requireContext(),
                                     "Fehler beim Aktualisieren: " + response.code(),
                                     Toast.LENGTH_LONG).show();
                             return;
                         }
 
-                        // Wenn akzeptiert und Thema vorhanden:
-                        if ("accepted".equalsIgnoreCase(newStatus)
+                        // Wenn akzeptiert und Thema vorhanden – auch wenn die Ansicht
+                        // schon verlassen wurde, sonst bleibt das Thema "available":
+                        if (newStatus == ThesisStatus.ACCEPTED
                                 && r.topic_id != null
                                 && !r.topic_id.isEmpty()) {
-                            markTopicTakenAndRejectOthers(r);
+                            markTopicTakenAndRejectOthers(client, r);
                         }
 
+                        if (!isAdded() || pager == null) return; // View schon weg
                         Toast.makeText(requireContext(),
-                                "Status geändert zu: " + mapStatusLabel(newStatus),
+                                "Status geändert zu: " + newStatus.label,
                                 Toast.LENGTH_SHORT).show();
 
                         loadRequests();
@@ -389,6 +430,7 @@ public class TutorRequestsFragment extends Fragment {
                     @Override
                     public void onFailure(@NonNull Call<List<ContactRequest>> call,
                                           @NonNull Throwable t) {
+                        if (!isAdded()) return;
                         Toast.makeText(requireContext(),
                                 "Netzwerkfehler: " + t.getMessage(),
                                 Toast.LENGTH_LONG).show();
@@ -401,8 +443,7 @@ public class TutorRequestsFragment extends Fragment {
      * - setzt Topic -> taken (falls Owner)
      * - lehnt konkurrierende Anfragen ab
      */
-    private void markTopicTakenAndRejectOthers(ContactRequest accepted) {
-        SupabaseClient client = new SupabaseClient(requireContext());
+    private void markTopicTakenAndRejectOthers(SupabaseClient client, ContactRequest accepted) {
         final String topicId = accepted.topic_id;
         final String acceptedId = accepted.id;
 
@@ -417,33 +458,30 @@ public class TutorRequestsFragment extends Fragment {
                     @Override public void onFailure(@NonNull Call<List<Topic>> call, @NonNull Throwable t) { }
                 });
 
-        // 2) Alle anderen Anfragen zu diesem Topic ablehnen
+        // 2) Alle anderen (noch nicht abgelehnten) Anfragen zu diesem Topic ablehnen
         client.restService()
-                .listContactRequests()
+                .getOtherRequestsForTopic(
+                        PostgrestFilter.eq(topicId),
+                        "neq." + acceptedId,
+                        "neq.rejected",
+                        "id,topic_id,status")
                 .enqueue(new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
                         if (!response.isSuccessful() || response.body() == null) return;
 
+                        List<String> otherIds = new ArrayList<>();
                         for (ContactRequest r : response.body()) {
-                            if (r == null || r.id == null) continue;
-                            if (r.topic_id == null) continue;
-
-                            if (topicId.equals(r.topic_id) && !acceptedId.equals(r.id)) {
-                                String s = norm(r.status);
-                                if (!"rejected".equals(s)) {
-                                    ContactRequest rejectPatch = new ContactRequest();
-                                    rejectPatch.status = "rejected";
-                                    client.restService()
-                                            .updateContactRequest("eq." + r.id, rejectPatch)
-                                            .enqueue(new Callback<List<ContactRequest>>() {
-                                                @Override public void onResponse(@NonNull Call<List<ContactRequest>> call2, @NonNull Response<List<ContactRequest>> resp2) { }
-                                                @Override public void onFailure(@NonNull Call<List<ContactRequest>> call2, @NonNull Throwable t2) { }
-                                            });
-                                }
-                            }
+                            if (r != null && r.id != null) otherIds.add(r.id);
                         }
+
+                        // Ein PATCH ?id=in.(...) statt einem pro Anfrage
+                        ContactRequest rejectPatch = new ContactRequest();
+                        rejectPatch.status = ThesisStatus.REJECTED;
+                        new BatchUpdate(client.restService())
+                                .add(rejectPatch, otherIds)
+                                .run(result -> { });
                     }
 
                     @Override
@@ -1,6 +1,5 @@
 package de.iu.betreuerapp;
 
-import android.content.Context;
 import android.graphics.Typeface;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
@@ -11,13 +10,11 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
-import java.util.Locale;
-
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ReviewerStatus;
+import de.iu.betreuerapp.dto.ThesisStatus;
 
 /**
  * Adapter für Betreute Arbeiten (Tutor-Sicht).
@@ -28,17 +25,16 @@ import de.iu.betreuerapp.dto.ContactRequest;
  * - Student + Fachgebiet (mit fetten Labels)
  * - Zweitprüfer (+ dessen Status, Label fett)
  */
-public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.VH> {
+public class TutorThesesAdapter extends DiffListAdapter<ContactRequest, TutorThesesAdapter.VH> {
 
     public interface OnThesisClick {
         void onClick(ContactRequest r);
     }
 
-    private final List<ContactRequest> data;
     private final OnThesisClick onClick;
 
-    public TutorThesesAdapter(List<ContactRequest> data, OnThesisClick onClick) {
-        this.data = data;
+    public TutorThesesAdapter(OnThesisClick onClick) {
+        super(CONTACT_REQUESTS);
         this.onClick = onClick;
     }
 
@@ -67,10 +63,10 @@ public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        ContactRequest r = data.get(position);
+        ContactRequest r = getItem(position);
         if (r == null) return;
 
-        Parsed p = parseMessage(r.message);
+        RequestMessageParser.Parsed p = RequestMessageParser.of(r);
 
         // ----- Titel -----
         String title;
@@ -106,19 +102,18 @@ public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.
         h.tvSecondReviewer.setText(styleSecondReviewer(secondLabel));
 
         // ----- Status-Badge (Label + Farbe) -----
-        String statusLabel = mapStatusLabel(r.status);
-        String normStatus = norm(r.status);
+        ThesisStatus status = r.thesisStatus();
+        String statusLabel = status.label;
 
         // Spezielle Erweiterung für "In Rechnung":
         // In Rechnung (1. offen | 2. offen/bezahlt/–)
-        if ("invoiced".equals(normStatus)) {
+        if (status == ThesisStatus.INVOICED) {
             // 1 = Hauptbetreuer
             String invSup = invoiceLabel(r.invoice_supervisor_created, r.paid_supervisor);
 
             // 2 = Zweitprüfer (nur relevant, wenn akzeptiert)
             String invSec;
-            String srs = norm(r.second_reviewer_status);
-            if ("accepted".equals(srs)) {
+            if (r.reviewerStatus() == ReviewerStatus.ACCEPTED) {
                 invSec = invoiceLabel(r.invoice_reviewer_created, r.paid_reviewer);
             } else {
                 invSec = "–";
@@ -128,67 +123,17 @@ public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.
         }
 
         h.tvStatus.setText(statusLabel);
-        h.tvStatus.setTextColor(mapStatusColor(h.itemView.getContext(), r.status));
+        h.tvStatus.setTextColor(StatusColors.of(h.itemView.getContext(), status));
 
         h.itemView.setOnClickListener(v -> {
             if (onClick != null) onClick.onClick(r);
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return data.size();
-    }
-
     // =====================================================================
     // Helper
     // =====================================================================
 
-    private static String norm(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
-    }
-
-    public static String mapStatusLabel(String s) {
-        if (s == null) return "-";
-        String n = s.trim().toLowerCase(Locale.ROOT);
-        switch (n) {
-            case "accepted":
-                return "Angenommen";
-            case "in_progress":
-                return "In Arbeit";
-            case "submitted":
-                return "Abgegeben";
-            case "colloquium_held":
-                return "Kolloquium gehalten";
-            case "invoiced":
-                return "In Rechnung";
-            case "finished":
-                return "Beendet";
-            default:
-                return s;
-        }
-    }
-
-    public static int mapStatusColor(Context context, String s) {
-        String n = (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
-        switch (n) {
-            // alles noch im Workflow -> Gelb
-            case "accepted":
-            case "in_progress":
-            case "submitted":
-            case "colloquium_held":
-            case "invoiced":
-                return ContextCompat.getColor(context, R.color.status_in_progress);
-
-            // Final abgeschlossen -> Grün
-            case "finished":
-                return ContextCompat.getColor(context, R.color.status_finished);
-
-            default:
-                return ContextCompat.getColor(context, R.color.status_unknown);
-        }
-    }
-
     /**
      * Liefert "offen" / "bezahlt" für eine Rechnungsrolle.
      * Wenn noch keine Rechnung erstellt wurde, behandeln wir das aus Sicht
@@ -211,24 +156,7 @@ public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.
             return "Zweitprüfer: noch nicht zugewiesen";
         }
 
-        String status = (r.second_reviewer_status != null)
-                ? r.second_reviewer_status.trim().toLowerCase(Locale.ROOT)
-                : "";
-
-        String statusLabel;
-        switch (status) {
-            case "pending":
-                statusLabel = "angefragt";
-                break;
-            case "accepted":
-                statusLabel = "zugesagt";
-                break;
-            case "rejected":
-                statusLabel = "abgelehnt";
-                break;
-            default:
-                statusLabel = "";
-        }
+        String statusLabel = r.reviewerStatus().label;
 
         if (!statusLabel.isEmpty()) {
             return "Zweitprüfer: " + base + " (" + statusLabel + ")";
@@ -268,43 +196,4 @@ public class TutorThesesAdapter extends RecyclerView.Adapter<TutorThesesAdapter.
         }
         return sb;
     }
-
-    // --------- Parsing der strukturierten Nachricht (Titel / Fachgebiet) ---
-
-    static class Parsed {
-        String title;
-        String area;
-    }
-
-    /**
-     * Erwartet Format aus ContactFragment:
-     * Titel: ...
-     * Fachgebiet: ...
-     * Beschreibung:
-     * ...
-     */
-    private static Parsed parseMessage(String raw) {
-        Parsed p = new Parsed();
-        if (raw == null) return p;
-        String msg = raw.trim();
-        if (msg.isEmpty()) return p;
-
-        String[] lines = msg.split("\n");
-        for (String line : lines) {
-            String l = line.trim();
-            if (l.startsWith("Titel:")) {
-                p.title = l.substring("Titel:".length()).trim();
-            } else if (l.startsWith("Fachgebiet:")) {
-                p.area = l.substring("Fachgebiet:".length()).trim();
-            }
-        }
-
-        // Fallback für alte Nachrichten:
-        if (p.title == null && msg.startsWith("Anfrage für Thema:")) {
-            String t = msg.substring("Anfrage für Thema:".length()).trim();
-            if (!t.isEmpty()) p.title = t;
-        }
-
-        return p;
-    }
 }
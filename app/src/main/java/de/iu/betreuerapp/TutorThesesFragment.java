@@ -16,10 +16,14 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
+import de.iu.betreuerapp.RequestLists.RequestSnapshot;
+import de.iu.betreuerapp.RequestLists.ThesisFilter;
 import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.ReviewerStatus;
+import de.iu.betreuerapp.dto.ThesisStatus;
 import de.iu.betreuerapp.dto.Topic;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -49,13 +53,19 @@ public class TutorThesesFragment extends Fragment {
 
     private TextView chipAllWide, chipAbstimmung, chipInProgress, chipFinished;
     private RecyclerView rvList;
+    private TutorThesesAdapter adapter;
 
+    // geladene Zeilen (Rohstand); Zuordnung, Filter und Zähler macht RequestRepository
     private final List<ContactRequest> all = new ArrayList<>();
-    private final List<ContactRequest> visible = new ArrayList<>();
+    @Nullable private RequestSnapshot<ThesisFilter> snapshot;
+    @Nullable private String myId;
 
-    private enum FilterType { ALL, ABSTIMMUNG, IN_PROGRESS, FINISHED }
+    private ThesisFilter currentFilter = ThesisFilter.ALL;
 
-    private FilterType currentFilter = FilterType.ALL;
+    // Filter für Server/LocalStore; lokal genügt ThesisStatus.isThesis() (RequestLists)
+    private static final String[] THESIS_STATUSES = {
+            "accepted", "in_progress", "submitted", "colloquium_held", "invoiced", "finished"
+    };
 
     private static final int ORANGE = Color.parseColor("#FF9800");
     private static final int GRAY_TEXT = Color.parseColor("#666666");
@@ -79,7 +89,8 @@ public class TutorThesesFragment extends Fragment {
         rvList         = root.findViewById(R.id.rv_theses);
 
         rvList.setLayoutManager(new LinearLayoutManager(requireContext()));
-        rvList.setAdapter(new TutorThesesAdapter(visible, this::showThesisDialog));
+        adapter = new TutorThesesAdapter(this::showThesisDialog);
+        rvList.setAdapter(adapter);
 
         setupFilterChips();
         loadTheses();
@@ -87,16 +98,26 @@ public class TutorThesesFragment extends Fragment {
         return root;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        if (adapter == null) return; // AuthGuard hat umgeleitet
+
+        RequestRepository.get(requireContext())
+                .supervisedTheses()
+                .observe(getViewLifecycleOwner(), this::showSnapshot);
+    }
+
     // ----------------------------------------------------
     // Filter-Chips
     // ----------------------------------------------------
 
     private void setupFilterChips() {
         View.OnClickListener l = v -> {
-            if (v == chipAllWide) currentFilter = FilterType.ALL;
-            else if (v == chipAbstimmung) currentFilter = FilterType.ABSTIMMUNG;
-            else if (v == chipInProgress) currentFilter = FilterType.IN_PROGRESS;
-            else if (v == chipFinished) currentFilter = FilterType.FINISHED;
+            if (v == chipAllWide) currentFilter = ThesisFilter.ALL;
+            else if (v == chipAbstimmung) currentFilter = ThesisFilter.ABSTIMMUNG;
+            else if (v == chipInProgress) currentFilter = ThesisFilter.IN_PROGRESS;
+            else if (v == chipFinished) currentFilter = ThesisFilter.FINISHED;
 
             updateChipUI();
             applyFilter();
@@ -111,10 +132,10 @@ public class TutorThesesFragment extends Fragment {
     }
 
     private void updateChipUI() {
-        setChipActive(chipAllWide,    currentFilter == FilterType.ALL);
-        setChipActive(chipAbstimmung, currentFilter == FilterType.ABSTIMMUNG);
-        setChipActive(chipInProgress, currentFilter == FilterType.IN_PROGRESS);
-        setChipActive(chipFinished,   currentFilter == FilterType.FINISHED);
+        setChipActive(chipAllWide,    currentFilter == ThesisFilter.ALL);
+        setChipActive(chipAbstimmung, currentFilter == ThesisFilter.ABSTIMMUNG);
+        setChipActive(chipInProgress, currentFilter == ThesisFilter.IN_PROGRESS);
+        setChipActive(chipFinished,   currentFilter == ThesisFilter.FINISHED);
     }
 
     private void setChipActive(TextView chip, boolean active) {
@@ -133,24 +154,47 @@ public class TutorThesesFragment extends Fragment {
     // ----------------------------------------------------
 
     private void loadTheses() {
-        SessionManager sm = new SessionManager(requireContext());
+        SessionManager sm = SessionManager.get(requireContext());
         String myId = sm.userId();
+        this.myId = myId;
 
         if (myId == null) {
             Toast.makeText(requireContext(),
                     "Fehler: Benutzer nicht erkannt. Bitte neu anmelden.",
                     Toast.LENGTH_LONG).show();
             all.clear();
-            visible.clear();
-            if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-            updateFilterLabels();
+            showSnapshot(null);
             return;
         }
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .listContactRequests()
-                .enqueue(new Callback<List<ContactRequest>>() {
+        // Erst der lokale Stand; dann nur die Änderungen seit dem letzten Abgleich
+        // (Delta) oder – beim ersten Mal / nach längerer Zeit – alles neu.
+        LocalStore.Scope scope = LocalStore.Scope.supervisorRequests(myId, THESIS_STATUSES);
+        DeltaSync<ContactRequest> delta = deltaSync(myId);
+
+        LocalStore.get(requireContext()).read(st -> st.queryRequests(scope, 0), Collections.emptyList(), cached -> {
+            if (!isAdded()) return;
+            all.clear();
+            all.addAll(cached);
+            submitRows();
+
+            if (cached.isEmpty() || delta.needsFullSync()) {
+                loadAllTheses(myId, scope, delta);
+            } else {
+                pullChanges(delta);
+            }
+        });
+    }
+
+    private void loadAllTheses(String myId, LocalStore.Scope scope, DeltaSync<ContactRequest> delta) {
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        // Hauptbetreuer + relevante Stati serverseitig filtern
+        CallScope.of(this).enqueue(client.restService()
+                .getSupervisorRequests(
+                        PostgrestFilter.eq(myId),
+                        PostgrestFilter.in(THESIS_STATUSES),
+                        SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
@@ -158,117 +202,101 @@ public class TutorThesesFragment extends Fragment {
                             Toast.makeText(requireContext(),
                                     "Fehler beim Laden: " + response.code(),
                                     Toast.LENGTH_LONG).show();
-                            all.clear();
-                            visible.clear();
-                            if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                            updateFilterLabels();
+                            if (!all.isEmpty()) return; // lokalen Stand stehen lassen
+                            submitRows();
                             return;
                         }
 
-                        all.clear();
+                        List<ContactRequest> fresh = response.body();
+                        LocalStore.get(requireContext()).write(st -> st.replaceRequests(scope, fresh, true));
+                        delta.recordFull(fresh);
 
-                        for (ContactRequest r : response.body()) {
-                            if (r == null) continue;
-
-                            // Nur meine betreuten Arbeiten (Hauptbetreuer)
-                            if (!myId.equals(r.supervisor_id)) continue;
-
-                            String s = norm(r.status);
-                            if ("accepted".equals(s)
-                                    || "in_progress".equals(s)
-                                    || "submitted".equals(s)
-                                    || "colloquium_held".equals(s)
-                                    || "invoiced".equals(s)
-                                    || "finished".equals(s)) {
-                                all.add(r);
-                            }
-                        }
-
-                        applyFilter();
+                        all.clear();
+                        all.addAll(fresh);
+                        submitRows();
                     }
 
                     @Override
                     public void onFailure(@NonNull Call<List<ContactRequest>> call,
                                           @NonNull Throwable t) {
+                        if (!all.isEmpty()) {
+                            // lokale Kopie wird schon angezeigt → stehen lassen
+                            Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
                         Toast.makeText(requireContext(),
                                 "Netzwerkfehler: " + t.getMessage(),
                                 Toast.LENGTH_LONG).show();
-                        all.clear();
-                        visible.clear();
-                        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-                        updateFilterLabels();
+                        submitRows();
                     }
                 });
     }
 
-    private void applyFilter() {
-        visible.clear();
+    /**
+     * Delta über alle Anfragen als Hauptbetreuer (ohne Status-Filter), damit auch
+     * Arbeiten, die aus der Liste herausfallen (z.B. Status zurückgesetzt), ankommen.
+     */
+    private DeltaSync<ContactRequest> deltaSync(String myId) {
+        return new DeltaSync<>(
+                new SyncWatermarks(requireContext()),
+                LocalStore.get(requireContext()),
+                "contact_requests:theses:" + myId,
+                since -> CallScope.of(this).track(SupabaseClient.get(requireContext())
+                        .restService()
+                        .getSupervisorRequestsChangedSince(PostgrestFilter.eq(myId), since,
+                                SupabaseRestService.CONTACT_REQUEST_LIST_COLUMNS,
+                                DeltaSync.ORDER_BY_UPDATE)),
+                DeltaSync.REQUEST_KEYS,
+                (store, rows) -> store.putRequests(rows));
+    }
 
-        for (ContactRequest r : all) {
-            if (matchesFilter(r)) {
-                visible.add(r);
+    private void pullChanges(DeltaSync<ContactRequest> delta) {
+        delta.pull(new DeltaSync.Listener<ContactRequest>() {
+            @Override
+            public void onChanges(@NonNull List<ContactRequest> changed) {
+                if (!isAdded() || changed.isEmpty()) return;
+                // Zeilen, die nicht mehr dazugehören, sortiert der Stand im Repository aus
+                DeltaSync.merge(all, changed, KeysetPager.REQUEST_KEYS);
+                submitRows();
             }
-        }
 
-        if (rvList.getAdapter() != null) rvList.getAdapter().notifyDataSetChanged();
-        updateFilterLabels();
+            @Override
+            public void onFailed(@NonNull String message) {
+                if (!isAdded()) return;
+                Toast.makeText(requireContext(), LocalStore.OFFLINE_HINT, Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
-    private boolean matchesFilter(ContactRequest r) {
-        String st  = norm(r.status);
-        String srs = norm(r.second_reviewer_status);
-
-        boolean isFinished = "finished".equals(st);
-        boolean isAbstimmung =
-                "accepted".equals(st) && !"accepted".equals(srs);
+    /** Rohstand ans Repository; der fertige Stand kommt über {@link #showSnapshot}. */
+    private void submitRows() {
+        if (myId == null) return;
+        RequestRepository.get(requireContext()).submitSupervisedTheses(all, myId);
+    }
 
-        boolean isInProgressGroup =
-                !isFinished && !isAbstimmung; // alles dazwischen
+    private void showSnapshot(@Nullable RequestSnapshot<ThesisFilter> s) {
+        snapshot = s;
+        applyFilter();
+        updateFilterLabels();
+    }
 
-        switch (currentFilter) {
-            case ALL:
-                return true;
-            case ABSTIMMUNG:
-                return isAbstimmung;
-            case IN_PROGRESS:
-                return isInProgressGroup;
-            case FINISHED:
-                return isFinished;
-            default:
-                return true;
-        }
+    private List<ContactRequest> rowsFor(ThesisFilter filter) {
+        return snapshot == null ? Collections.emptyList() : snapshot.rows(filter);
     }
 
-    private void updateFilterLabels() {
-        int total      = all.size();
-        int abstimmung = 0;
-        int inProgress = 0;
-        int finished   = 0;
-
-        for (ContactRequest r : all) {
-            String st  = norm(r.status);
-            String srs = norm(r.second_reviewer_status);
-
-            boolean isFinished = "finished".equals(st);
-            boolean isAbstimmung =
-                    "accepted".equals(st) && !"accepted".equals(srs);
-            boolean isInProgressGroup =
-                    !isFinished && !isAbstimmung;
-
-            if (isFinished)       finished++;
-            else if (isAbstimmung) inProgress += 0; // nix
-            if (isAbstimmung)     abstimmung++;
-            else if (!isFinished) inProgress++;
-        }
+    private int countOf(ThesisFilter filter) {
+        return snapshot == null ? 0 : snapshot.count(filter);
+    }
 
-        chipAllWide.setText("Alle (" + total + ")");
-        chipAbstimmung.setText("Abstimmung (" + abstimmung + ")");
-        chipInProgress.setText("In Bearbeitung (" + inProgress + ")");
-        chipFinished.setText("Beendet (" + finished + ")");
+    private void applyFilter() {
+        adapter.submitList(rowsFor(currentFilter));
     }
 
-    private String norm(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    private void updateFilterLabels() {
+        chipAllWide.setText("Alle (" + countOf(ThesisFilter.ALL) + ")");
+        chipAbstimmung.setText("Abstimmung (" + countOf(ThesisFilter.ABSTIMMUNG) + ")");
+        chipInProgress.setText("In Bearbeitung (" + countOf(ThesisFilter.IN_PROGRESS) + ")");
+        chipFinished.setText("Beendet (" + countOf(ThesisFilter.FINISHED) + ")");
     }
 
     // ----------------------------------------------------
@@ -278,6 +306,56 @@ public class TutorThesesFragment extends Fragment {
     private void showThesisDialog(ContactRequest r) {
         if (r == null) return;
 
+        boolean secondAccepted = r.reviewerStatus() == ReviewerStatus.ACCEPTED;
+
+        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
+                .setTitle("Betreute Arbeit")
+                .setMessage(detailText(r))
+                .setNeutralButton("Schließen", null);
+
+        switch (r.thesisStatus()) {
+            case ACCEPTED:
+                if (!secondAccepted) {
+                    // Noch keine Zusage → Zweitprüfer zuweisen/ändern
+                    b.setPositiveButton("Zweitprüfer zuweisen/ändern",
+                            (d, w) -> openSecondReviewerSelection(r));
+                } else {
+                    // Zweitprüfer hat akzeptiert → jetzt darf in Arbeit gesetzt werden
+                    b.setPositiveButton("Als 'In Arbeit' markieren",
+                            (d, w) -> updateStatus(r, ThesisStatus.IN_PROGRESS));
+                }
+                break;
+
+            case IN_PROGRESS:
+                b.setPositiveButton("Als 'Abgegeben' markieren",
+                        (d, w) -> updateStatus(r, ThesisStatus.SUBMITTED));
+                break;
+
+            case SUBMITTED:
+                b.setPositiveButton("Kolloquium gehalten",
+                        (d, w) -> updateStatus(r, ThesisStatus.COLLOQUIUM_HELD));
+                break;
+
+            case INVOICED:
+                // Status 'invoiced' kommt jetzt NUR aus TutorInvoicesFragment
+                b.setPositiveButton("Als 'Beendet' markieren",
+                        (d, w) -> updateStatus(r, ThesisStatus.FINISHED));
+                break;
+
+            default:
+                break;
+        }
+
+        AlertDialog dlg = b.show();
+
+        // expose_url fehlt im Listen-Stand → komplette Zeile nachladen
+        RequestDetails.loadFull(this, r, full -> {
+            if (dlg.isShowing()) dlg.setMessage(detailText(full));
+        });
+    }
+
+    /** Text des Detail-Dialogs (Listen-Stand oder komplette Zeile). */
+    private String detailText(ContactRequest r) {
         StringBuilder msg = new StringBuilder();
 
         msg.append("Student: ")
@@ -294,7 +372,7 @@ public class TutorThesesFragment extends Fragment {
             msg.append("Exposé:\n").append(r.expose_url).append("\n\n");
         }
 
-        String srs = norm(r.second_reviewer_status);
+        ReviewerStatus srs = r.reviewerStatus();
         msg.append("Zweitprüfer: ");
         if (r.second_reviewer_name != null) {
             msg.append(r.second_reviewer_name);
@@ -306,68 +384,39 @@ public class TutorThesesFragment extends Fragment {
         } else {
             msg.append("noch nicht zugewiesen");
         }
-        if (!srs.isEmpty()) {
-            msg.append(" – Status: ").append(mapSecondStatus(srs));
+        if (srs != ReviewerStatus.NONE) {
+            msg.append(" – Status: ").append(srs.title);
         }
         msg.append("\n\n");
 
         msg.append("Aktueller Status der Arbeit: ")
-                .append(mapStatusLabel(r.status));
-
-        String status = norm(r.status);
-        boolean secondAccepted = "accepted".equals(srs);
+                .append(r.thesisStatus().label);
 
         // Hinweis: Rechnungen nur im „Rechnungen“-Tab stellen
-        if ("colloquium_held".equals(status)) {
+        if (r.status == ThesisStatus.COLLOQUIUM_HELD) {
             msg.append("\n\nHinweis: Rechnungen können im Tab „Rechnungen“ gestellt werden.");
         }
 
-        AlertDialog.Builder b = new AlertDialog.Builder(requireContext())
-                .setTitle("Betreute Arbeit")
-                .setMessage(msg.toString())
-                .setNeutralButton("Schließen", null);
-
-        if ("accepted".equals(status)) {
-
-            if (!secondAccepted) {
-                // Noch keine Zusage → Zweitprüfer zuweisen/ändern
-                b.setPositiveButton("Zweitprüfer zuweisen/ändern",
-                        (d, w) -> openSecondReviewerSelection(r));
-            } else {
-                // Zweitprüfer hat akzeptiert → jetzt darf in Arbeit gesetzt werden
-                b.setPositiveButton("Als 'In Arbeit' markieren",
-                        (d, w) -> updateStatus(r, "in_progress"));
-            }
-
-        } else if ("in_progress".equals(status)) {
-            b.setPositiveButton("Als 'Abgegeben' markieren",
-                    (d, w) -> updateStatus(r, "submitted"));
-
-        } else if ("submitted".equals(status)) {
-            b.setPositiveButton("Kolloquium gehalten",
-                    (d, w) -> updateStatus(r, "colloquium_held"));
-
-        } else if ("invoiced".equals(status)) {
-            // Status 'invoiced' kommt jetzt NUR aus TutorInvoicesFragment
-            b.setPositiveButton("Als 'Beendet' markieren",
-                    (d, w) -> updateStatus(r, "finished"));
-        }
-
-        b.show();
+        return msg.toString();
     }
 
-    private void updateStatus(ContactRequest r, String newStatus) {
+    private void updateStatus(ContactRequest r, ThesisStatus newStatus) {
         if (r == null || r.id == null) {
             Toast.makeText(requireContext(),
                     "Fehler: Eintrag ohne ID.",
                     Toast.LENGTH_LONG).show();
             return;
         }
+        if (!r.thesisStatus().canMoveTo(newStatus)) {
+            Toast.makeText(requireContext(),
+                    "Statuswechsel nicht möglich (" + r.thesisStatus().label + ").",
+                    Toast.LENGTH_LONG).show();
+            return;
+        }
 
         // Ohne akzeptierten Zweitprüfer nicht nach "in_progress"
-        if ("in_progress".equals(newStatus)) {
-            String srs = norm(r.second_reviewer_status);
-            if (!"accepted".equals(srs)) {
+        if (newStatus == ThesisStatus.IN_PROGRESS) {
+            if (r.reviewerStatus() != ReviewerStatus.ACCEPTED) {
                 Toast.makeText(requireContext(),
                         "Bitte zuerst einen Zweitprüfer zuweisen und seine Zusage abwarten.",
                         Toast.LENGTH_LONG).show();
@@ -376,12 +425,11 @@ public class TutorThesesFragment extends Fragment {
         }
 
         // Für "finished": Rechnungs-Gating
-        if ("finished".equals(newStatus)) {
+        if (newStatus == ThesisStatus.FINISHED) {
             boolean supCreated = r.invoice_supervisor_created != null && r.invoice_supervisor_created;
             boolean supPaid    = r.paid_supervisor != null && r.paid_supervisor;
 
-            String srs = norm(r.second_reviewer_status);
-            boolean secondAccepted = "accepted".equals(srs);
+            boolean secondAccepted = r.reviewerStatus() == ReviewerStatus.ACCEPTED;
             boolean secCreated = r.invoice_reviewer_created != null && r.invoice_reviewer_created;
             boolean secPaid    = r.paid_reviewer != null && r.paid_reviewer;
 
@@ -402,10 +450,10 @@ public class TutorThesesFragment extends Fragment {
         ContactRequest patch = new ContactRequest();
         patch.status = newStatus;
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .updateContactRequest("eq." + r.id, patch)
-                .enqueue(new Callback<List<ContactRequest>>() {
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        CallScope.of(this).enqueue(client.restService()
+                .updateContactRequest("eq." + r.id, patch),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
@@ -417,7 +465,7 @@ public class TutorThesesFragment extends Fragment {
                         }
 
                         Toast.makeText(requireContext(),
-                                "Status geändert zu: " + mapStatusLabel(newStatus),
+                                "Status geändert zu: " + newStatus.label,
                                 Toast.LENGTH_SHORT).show();
                         loadTheses();
                     }
@@ -493,12 +541,12 @@ public class TutorThesesFragment extends Fragment {
         patch.second_reviewer_id     = e.id;
         patch.second_reviewer_name   = e.name;
         patch.second_reviewer_email  = e.email;
-        patch.second_reviewer_status = "pending";
+        patch.second_reviewer_status = ReviewerStatus.PENDING;
 
-        SupabaseClient client = new SupabaseClient(requireContext());
-        client.restService()
-                .updateContactRequest("eq." + r.id, patch)
-                .enqueue(new Callback<List<ContactRequest>>() {
+        SupabaseClient client = SupabaseClient.get(requireContext());
+        CallScope.of(this).enqueue(client.restService()
+                .updateContactRequest("eq." + r.id, patch),
+                new Callback<List<ContactRequest>>() {
                     @Override
                     public void onResponse(@NonNull Call<List<ContactRequest>> call,
                                            @NonNull Response<List<ContactRequest>> response) {
@@ -524,41 +572,4 @@ public class TutorThesesFragment extends Fragment {
                     }
                 });
     }
-
-    // ----------------------------------------------------
-    // Label-Helfer
-    // ----------------------------------------------------
-
-    private String mapStatusLabel(String s) {
-        String n = norm(s);
-        switch (n) {
-            case "accepted":
-                return "Angenommen";
-            case "in_progress":
-                return "In Arbeit";
-            case "submitted":
-                return "Abgegeben";
-            case "colloquium_held":
-                return "Kolloquium gehalten";
-            case "invoiced":
-                return "In Rechnung";
-            case "finished":
-                return "Beendet";
-            default:
-                return (s == null || s.isEmpty()) ? "-" : s;
-        }
-    }
-
-    private String mapSecondStatus(String s) {
-        switch (s) {
-            case "pending":
-                return "Ausstehend";
-            case "accepted":
-                return "Angenommen";
-            case "rejected":
-                return "Abgelehnt";
-            default:
-                return "-";
-        }
-    }
 }
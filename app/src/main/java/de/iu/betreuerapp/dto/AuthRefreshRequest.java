@@ -0,0 +1,6 @@
+package de.iu.betreuerapp.dto;
+
+public class AuthRefreshRequest {
+    public String refresh_token;
+    public AuthRefreshRequest(String t) { refresh_token = t; }
+}
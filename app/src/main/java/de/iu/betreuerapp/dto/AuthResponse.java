@@ -3,7 +3,9 @@ package de.iu.betreuerapp.dto;
 public class AuthResponse {
     public String access_token;
     public String token_type;
-    public long   expires_in;
+    public long   expires_in;     // Sekunden ab jetzt
+    public long   expires_at;     // Unix-Sekunden (nicht jede GoTrue-Version liefert das)
+    public String refresh_token;
     public SupaUser user;
 
     public static class SupaUser {
@@ -16,13 +16,13 @@ public class ContactRequest {
     public String message;
     public String expose_url;
 
-    public String status; // open, accepted, in_progress, submitted, colloquium_held, invoiced, finished, rejected
+    public ThesisStatus status; // open, accepted, in_progress, submitted, colloquium_held, invoiced, finished, rejected
 
     // Zweitprüfer
     public String second_reviewer_id;
     public String second_reviewer_name;
     public String second_reviewer_email;
-    public String second_reviewer_status; // pending, accepted, rejected
+    public ReviewerStatus second_reviewer_status; // pending, accepted, rejected
 
     // Rechnungs-Flags (NEU)
     public Boolean invoice_supervisor_created; // Rechnung Betreuer erstellt?
@@ -32,5 +32,16 @@ public class ContactRequest {
     public Boolean paid_supervisor;            // Anteil Betreuer bezahlt?
     public Boolean paid_reviewer;              // Anteil Zweitprüfer bezahlt?
 
-    // Optional weitere Felder (created_at etc.)
+    public String created_at; // für Sortierung / Keyset-Pagination
+    public String updated_at; // letzte Änderung (Abgleich lokale Kopie)
+
+    /** status, nie null (fehlt → UNKNOWN). */
+    public ThesisStatus thesisStatus() {
+        return ThesisStatus.of(status);
+    }
+
+    /** second_reviewer_status, nie null (fehlt → NONE). */
+    public ReviewerStatus reviewerStatus() {
+        return ReviewerStatus.of(second_reviewer_status);
+    }
 }
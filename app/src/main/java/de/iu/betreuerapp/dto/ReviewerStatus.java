@@ -0,0 +1,90 @@
+package de.iu.betreuerapp.dto;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * contact_requests.second_reviewer_status als Enum – wie {@link ThesisStatus} einmal
+ * beim Deserialisieren übersetzt.
+ *
+ * Ablauf: (kein Zweitprüfer) → pending → accepted | rejected. Solange nicht accepted,
+ * darf der Betreuer neu zuweisen (wieder pending).
+ */
+@JsonAdapter(ReviewerStatus.Adapter.class)
+public enum ReviewerStatus {
+
+    PENDING  ("pending",  "angefragt", "Ausstehend"),
+    ACCEPTED ("accepted", "zugesagt",  "Angenommen"),
+    REJECTED ("rejected", "abgelehnt", "Abgelehnt"),
+    /** Noch niemand angefragt (oder unbekannter Wert). */
+    NONE     (null,       "",          "-");
+
+    /** Wert in der Datenbank; null nur bei NONE. */
+    public final String wire;
+    /** Klein geschrieben, für "Zweitprüfer: Name (angefragt)". */
+    public final String label;
+    /** Eigenständig, z.B. im Detail-Dialog. */
+    public final String title;
+
+    ReviewerStatus(String wire, String label, String title) {
+        this.wire = wire;
+        this.label = label;
+        this.title = title;
+    }
+
+    /** Darf der Status direkt von hier nach target wechseln? */
+    public boolean canMoveTo(ReviewerStatus target) {
+        switch (this) {
+            case NONE:
+            case REJECTED:
+                return target == PENDING;
+            case PENDING:
+                return target == ACCEPTED || target == REJECTED || target == PENDING;
+            default:
+                return false;
+        }
+    }
+
+    /** Toleranter Parser (Groß/Klein, Leerzeichen); unbekannt → NONE, null → null. */
+    public static ReviewerStatus fromWire(String raw) {
+        if (raw == null) return null;
+        switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "pending":  return PENDING;
+            case "accepted": return ACCEPTED;
+            case "rejected": return REJECTED;
+            default:         return NONE;
+        }
+    }
+
+    /** null → NONE, damit switch/Vergleiche ohne Null-Prüfung auskommen. */
+    public static ReviewerStatus of(ReviewerStatus s) {
+        return s != null ? s : NONE;
+    }
+
+    /** Gson: String ↔ Enum. NONE wird als null geschrieben. */
+    public static final class Adapter extends TypeAdapter<ReviewerStatus> {
+        @Override
+        public void write(JsonWriter out, ReviewerStatus value) throws IOException {
+            if (value == null || value.wire == null) {
+                out.nullValue();
+            } else {
+                out.value(value.wire);
+            }
+        }
+
+        @Override
+        public ReviewerStatus read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return fromWire(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.iu.betreuerapp.dto;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * contact_requests.status als Enum.
+ *
+ * Der Wire-Wert wird genau einmal beim Deserialisieren übersetzt (Gson, {@link Adapter} –
+ * gilt für Retrofit, Realtime und LocalStore); danach sind Filter, Zähler und Sortierung
+ * reine Enum-Vergleiche. Labels, Farbgruppe und erlaubte Übergänge stehen hier und
+ * nicht mehr verteilt in den Adaptern/Fragments.
+ *
+ * Ablauf: open → accepted | rejected, accepted → in_progress → submitted → colloquium_held
+ * → invoiced → finished.
+ */
+@JsonAdapter(ThesisStatus.Adapter.class)
+public enum ThesisStatus {
+
+    //               wire               Betreuer-Sicht          Studierenden-Sicht        Farbe
+    OPEN            ("open",            "Offen",                "Angefragt",             Tone.OPEN),
+    ACCEPTED        ("accepted",        "Angenommen",           "In Abstimmung",         Tone.IN_PROGRESS),
+    IN_PROGRESS     ("in_progress",     "In Arbeit",            "Angemeldet",            Tone.IN_PROGRESS),
+    SUBMITTED       ("submitted",       "Abgegeben",            "Abgegeben",             Tone.IN_PROGRESS),
+    COLLOQUIUM_HELD ("colloquium_held", "Kolloquium gehalten",  "Kolloquium abgehalten", Tone.IN_PROGRESS),
+    INVOICED        ("invoiced",        "In Rechnung",          "Abgerechnet",           Tone.IN_PROGRESS),
+    FINISHED        ("finished",        "Beendet",              "Beendet",               Tone.FINISHED),
+    REJECTED        ("rejected",        "Abgelehnt",            "Abgelehnt",             Tone.REJECTED),
+    /** Wert, den diese App-Version nicht kennt (oder fehlender Status). */
+    UNKNOWN         (null,              "Unbekannt",            "Unbekannt",             Tone.UNKNOWN);
+
+    /** Farbgruppe; die Farbe selbst kommt aus den Ressourcen (StatusColors). */
+    public enum Tone { OPEN, IN_PROGRESS, FINISHED, REJECTED, UNKNOWN }
+
+    /** Wert in der Datenbank; null nur bei UNKNOWN. */
+    public final String wire;
+    /** Label für Betreuer:innen (Anfragen, Arbeiten, Rechnungen). */
+    public final String label;
+    /** Label für Studierende (Meine Anfragen, Dashboard). */
+    public final String studentLabel;
+    public final Tone tone;
+
+    private ThesisStatus[] next = new ThesisStatus[0];
+
+    ThesisStatus(String wire, String label, String studentLabel, Tone tone) {
+        this.wire = wire;
+        this.label = label;
+        this.studentLabel = studentLabel;
+        this.tone = tone;
+    }
+
+    private static final Map<String, ThesisStatus> BY_WIRE = new HashMap<>();
+
+    static {
+        for (ThesisStatus s : values()) {
+            if (s.wire != null) BY_WIRE.put(s.wire, s);
+        }
+        OPEN.next            = new ThesisStatus[]{ACCEPTED, REJECTED};
+        ACCEPTED.next        = new ThesisStatus[]{IN_PROGRESS};
+        IN_PROGRESS.next     = new ThesisStatus[]{SUBMITTED};
+        SUBMITTED.next       = new ThesisStatus[]{COLLOQUIUM_HELD};
+        COLLOQUIUM_HELD.next = new ThesisStatus[]{INVOICED};
+        INVOICED.next        = new ThesisStatus[]{FINISHED};
+    }
+
+    /** Darf der Status direkt von hier nach target wechseln? */
+    public boolean canMoveTo(ThesisStatus target) {
+        for (ThesisStatus s : next) {
+            if (s == target) return true;
+        }
+        return false;
+    }
+
+    /** Betreute Arbeit (angenommen bis beendet) – keine offene/abgelehnte Anfrage. */
+    public boolean isThesis() {
+        switch (this) {
+            case ACCEPTED:
+            case IN_PROGRESS:
+            case SUBMITTED:
+            case COLLOQUIUM_HELD:
+            case INVOICED:
+            case FINISHED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /** Ab Kolloquium: Rechnungen dürfen gestellt werden. */
+    public boolean isBillable() {
+        return this == COLLOQUIUM_HELD || this == INVOICED || this == FINISHED;
+    }
+
+    /** Toleranter Parser (Groß/Klein, Leerzeichen); unbekannt → UNKNOWN, null → null. */
+    public static ThesisStatus fromWire(String raw) {
+        if (raw == null) return null;
+        ThesisStatus s = BY_WIRE.get(raw);
+        if (s == null) s = BY_WIRE.get(raw.trim().toLowerCase(Locale.ROOT));
+        return s != null ? s : UNKNOWN;
+    }
+
+    /** null → UNKNOWN, damit switch/Vergleiche ohne Null-Prüfung auskommen. */
+    public static ThesisStatus of(ThesisStatus s) {
+        return s != null ? s : UNKNOWN;
+    }
+
+    /** Gson: String ↔ Enum. UNKNOWN wird als null geschrieben (nie an den Server zurück). */
+    public static final class Adapter extends TypeAdapter<ThesisStatus> {
+        @Override
+        public void write(JsonWriter out, ThesisStatus value) throws IOException {
+            if (value == null || value.wire == null) {
+                out.nullValue();
+            } else {
+                out.value(value.wire);
+            }
+        }
+
+        @Override
+        public ThesisStatus read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return fromWire(in.nextString());
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package de.iu.betreuerapp.dto;
 
-public class TopicWithOwner {
-    public String id;
-    public String title;
-    public String description;
-    public String status;
-    public String owner_id;
+/**
+ * Thema samt eingebettetem Besitzer-Profil (PostgREST: select=...,profiles(...)).
+ * Name/E-Mail des Tutors kommen so mit der Liste – kein extra Request pro Zeile.
+ */
+public class TopicWithOwner extends Topic {
 
     // Nested Profile aus Supabase-Select: profiles(...)
     public Profile profiles;
@@ -0,0 +1,242 @@
+package de.iu.betreuerapp;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link RealtimeClient} gegen einen lokalen WebSocket-Server (MockWebServer),
+ * der die Phoenix-Seite von Supabase Realtime spielt.
+ */
+public class RealtimeClientTest {
+
+    private static final long TIMEOUT_S = 5;
+
+    /** Zeile, wie sie Gson aus "record" liest. */
+    static final class Row {
+        String id;
+        String status;
+    }
+
+    private MockWebServer server;
+    private OkHttpClient http;
+    private RealtimeClient client;
+
+    private final BlockingQueue<RealtimeClient.Change<Row>> changes = new LinkedBlockingQueue<>();
+    private final AtomicInteger resyncs = new AtomicInteger();
+    private final RealtimeClient.Listener<Row> listener = new RealtimeClient.Listener<Row>() {
+        @Override
+        public void onChange(@NonNull RealtimeClient.Change<Row> change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onResync() {
+            resyncs.incrementAndGet();
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        http = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (client != null) client.closeAll();
+        http.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    // ------------------------------------------------------------------
+
+    @Test
+    public void joinsAndDeliversChanges() throws Exception {
+        Connection conn = enqueueConnection();
+        client = newClient(60_000);
+        client.subscribe("contact_requests", "student_id=eq.s1", Row.class, listener);
+
+        JsonObject join = conn.next();
+        assertEquals("phx_join", join.get("event").getAsString());
+        assertTrue(join.get("topic").getAsString().startsWith("realtime:contact_requests:"));
+        JsonObject payload = join.getAsJsonObject("payload");
+        assertEquals("token-1", payload.get("access_token").getAsString());
+        JsonObject pc = payload.getAsJsonObject("config")
+                .getAsJsonArray("postgres_changes").get(0).getAsJsonObject();
+        assertEquals("public", pc.get("schema").getAsString());
+        assertEquals("contact_requests", pc.get("table").getAsString());
+        assertEquals("student_id=eq.s1", pc.get("filter").getAsString());
+
+        conn.replyOk(join);
+        conn.change(join, "INSERT", "{\"id\":\"r1\",\"status\":\"offen\"}", null);
+        conn.change(join, "UPDATE", "{\"id\":\"r1\",\"status\":\"angenommen\"}", "{\"id\":\"r1\"}");
+        conn.change(join, "DELETE", null, "{\"id\":\"r1\"}");
+
+        RealtimeClient.Change<Row> insert = nextChange();
+        assertEquals(RealtimeClient.ChangeType.INSERT, insert.type);
+        assertEquals("r1", insert.id);
+        assertNotNull(insert.record);
+        assertEquals("offen", insert.record.status);
+
+        RealtimeClient.Change<Row> update = nextChange();
+        assertEquals(RealtimeClient.ChangeType.UPDATE, update.type);
+        assertNotNull(update.record);
+        assertEquals("angenommen", update.record.status);
+
+        RealtimeClient.Change<Row> delete = nextChange();
+        assertEquals(RealtimeClient.ChangeType.DELETE, delete.type);
+        assertEquals("r1", delete.id);
+        assertNull(delete.record);
+
+        assertEquals(0, resyncs.get());
+    }
+
+    @Test
+    public void reconnectsAndResyncsOnceAfterDrop() throws Exception {
+        Connection first = enqueueConnection();
+        Connection second = enqueueConnection();
+        client = newClient(60_000);
+        client.subscribe("contact_requests", null, Row.class, listener);
+
+        JsonObject join = first.next();
+        first.replyOk(join);
+        first.awaitOpen().close(1001, "going away"); // Server trennt
+
+        JsonObject rejoin = second.next();
+        assertEquals("phx_join", rejoin.get("event").getAsString());
+        assertEquals(join.get("topic").getAsString(), rejoin.get("topic").getAsString());
+        second.replyOk(rejoin);
+
+        second.change(rejoin, "INSERT", "{\"id\":\"r2\"}", null);
+        assertEquals("r2", nextChange().id); // Zustellung danach wieder in Ordnung
+        assertEquals(1, resyncs.get());
+    }
+
+    @Test
+    public void missedHeartbeatReplyForcesReconnect() throws Exception {
+        Connection first = enqueueConnection();
+        Connection second = enqueueConnection();
+        client = newClient(200);
+        client.subscribe("contact_requests", null, Row.class, listener);
+
+        JsonObject join = first.next();
+        first.replyOk(join);
+
+        JsonObject beat = first.next();
+        assertEquals("phoenix", beat.get("topic").getAsString());
+        assertEquals("heartbeat", beat.get("event").getAsString());
+        // keine Antwort → beim nächsten Takt wird neu verbunden
+
+        JsonObject rejoin = second.next();
+        assertEquals("phx_join", rejoin.get("event").getAsString());
+        second.replyOk(rejoin);
+        second.change(rejoin, "INSERT", "{\"id\":\"r3\"}", null);
+        assertEquals("r3", nextChange().id);
+        assertEquals(1, resyncs.get());
+    }
+
+    // ------------------------------------------------------------------
+    // Helfer
+    // ------------------------------------------------------------------
+
+    private RealtimeClient newClient(long heartbeatMs) {
+        return new RealtimeClient(http, server.url("/realtime/v1/websocket").toString(),
+                () -> "token-1", Runnable::run, heartbeatMs, new long[]{50});
+    }
+
+    private Connection enqueueConnection() {
+        Connection c = new Connection();
+        server.enqueue(new MockResponse().withWebSocketUpgrade(c));
+        return c;
+    }
+
+    private RealtimeClient.Change<Row> nextChange() throws InterruptedException {
+        RealtimeClient.Change<Row> c = changes.poll(TIMEOUT_S, TimeUnit.SECONDS);
+        assertNotNull("keine Änderung angekommen", c);
+        return c;
+    }
+
+    /** Server-Seite einer WebSocket-Verbindung. */
+    private static final class Connection extends WebSocketListener {
+        private final BlockingQueue<JsonObject> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch opened = new CountDownLatch(1);
+        private volatile WebSocket ws;
+
+        @Override
+        public void onOpen(@NonNull WebSocket webSocket, @NonNull Response response) {
+            ws = webSocket;
+            opened.countDown();
+        }
+
+        @Override
+        public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
+            received.add(JsonParser.parseString(text).getAsJsonObject());
+        }
+
+        @Override
+        public void onClosing(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
+            webSocket.close(1000, null);
+        }
+
+        WebSocket awaitOpen() throws InterruptedException {
+            assertTrue("keine Verbindung", opened.await(TIMEOUT_S, TimeUnit.SECONDS));
+            return ws;
+        }
+
+        JsonObject next() throws InterruptedException {
+            JsonObject msg = received.poll(TIMEOUT_S, TimeUnit.SECONDS);
+            assertNotNull("keine Nachricht vom Client", msg);
+            return msg;
+        }
+
+        void replyOk(JsonObject join) throws InterruptedException {
+            JsonObject payload = new JsonObject();
+            payload.addProperty("status", "ok");
+            payload.add("response", new JsonObject());
+            send(join.get("topic").getAsString(), "phx_reply", payload, join.get("ref").getAsString());
+        }
+
+        void change(JsonObject join, String type, String record, String oldRecord)
+                throws InterruptedException {
+            JsonObject data = new JsonObject();
+            data.addProperty("type", type);
+            if (record != null) data.add("record", JsonParser.parseString(record));
+            if (oldRecord != null) data.add("old_record", JsonParser.parseString(oldRecord));
+            JsonObject payload = new JsonObject();
+            payload.add("data", data);
+            send(join.get("topic").getAsString(), "postgres_changes", payload, null);
+        }
+
+        private void send(String topic, String event, JsonObject payload, String ref)
+                throws InterruptedException {
+            JsonObject msg = new JsonObject();
+            msg.addProperty("topic", topic);
+            msg.addProperty("event", event);
+            msg.add("payload", payload);
+            if (ref != null) msg.addProperty("ref", ref);
+            awaitOpen().send(msg.toString());
+        }
+    }
+}
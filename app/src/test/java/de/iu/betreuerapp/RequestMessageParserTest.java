@@ -0,0 +1,142 @@
+package de.iu.betreuerapp;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Der Scanner in {@link RequestMessageParser} ersetzt die Regex-Variante, die vorher
+ * in den Adaptern stand. Hier wird er gegen genau diese Variante verglichen.
+ */
+public class RequestMessageParserTest {
+
+    // ------------------------------------------------------------------
+    // Einzelfälle
+    // ------------------------------------------------------------------
+
+    @Test
+    public void structuredMessage() {
+        RequestMessageParser.Parsed p = RequestMessageParser.parse(
+                "Titel: Graphen\nFachgebiet: Informatik\nTutor: Dr. Meier\nBeschreibung:\nZeile 1\nZeile 2");
+        assertEquals("Graphen", p.title);
+        assertEquals("Informatik", p.area);
+        assertEquals("Dr. Meier", p.tutor);
+        assertEquals("Zeile 1\nZeile 2", p.desc);
+        assertSameAsRegex("Titel: Graphen\nFachgebiet: Informatik\nTutor: Dr. Meier\nBeschreibung:\nZeile 1\nZeile 2");
+    }
+
+    @Test
+    public void olderMessagesUseFachbereich() {
+        assertEquals("BWL", RequestMessageParser.parse("Titel: X\nFachbereich: BWL").area);
+        assertSameAsRegex("Titel: X\nFachbereich: BWL");
+    }
+
+    @Test
+    public void descriptionMayStartMidLine() {
+        String msg = "Titel: X\nSiehe Beschreibung: steht hier";
+        assertEquals("steht hier", RequestMessageParser.parse(msg).desc);
+        assertSameAsRegex(msg);
+        assertSameAsRegex("Titel: X\nKurzbeschreibung: kein Wortanfang");
+    }
+
+    @Test
+    public void emptyTitleTakesNextLine() {
+        String msg = "Titel:\n\nGraphen\nFachgebiet: Informatik";
+        assertEquals("Graphen", RequestMessageParser.parse(msg).title);
+        assertSameAsRegex(msg);
+    }
+
+    @Test
+    public void keysAreCaseInsensitiveAndMayBeIndented() {
+        assertSameAsRegex("  titel : a\r\n\tTUTOR:b\r\nbeschreibung :  c ");
+    }
+
+    @Test
+    public void legacyMessage() {
+        RequestMessageParser.Parsed p = RequestMessageParser.parse("Anfrage für Thema: Graphen\nHallo");
+        assertEquals("Graphen\nHallo", p.title);
+        assertEquals("Anfrage für Thema: Graphen\nHallo", p.desc);
+        assertSameAsRegex("Anfrage für Thema: Graphen\nHallo");
+        assertSameAsRegex("Anfrage für Thema:");
+    }
+
+    @Test
+    public void freeTextBecomesDescription() {
+        assertEquals("Hallo, ich hätte Interesse.",
+                RequestMessageParser.parse("  Hallo, ich hätte Interesse.  ").desc);
+        assertSameAsRegex("Hallo, ich hätte Interesse.");
+        assertSameAsRegex("Titel:");
+        assertSameAsRegex("");
+        assertSameAsRegex(null);
+    }
+
+    // ------------------------------------------------------------------
+    // Zufallsnachrichten
+    // ------------------------------------------------------------------
+
+    private static final String[] PIECES = {
+            "Titel", "titel", "Fachgebiet", "Fachbereich", "Tutor", "Beschreibung", "beschreibung",
+            "Kurzbeschreibung", "_Beschreibung", "Tite", ":", ":", " : ", " ", "  ", "\t",
+            "\n", "\n", "\r\n", "\r", "\n\n", "x", "Graphen", "Dr. Meier", "ä", "-", ".",
+    };
+
+    @Test
+    public void randomMessagesMatchRegexParser() {
+        Random rnd = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = 1 + rnd.nextInt(14);
+            for (int i = 0; i < parts; i++) sb.append(PIECES[rnd.nextInt(PIECES.length)]);
+            assertSameAsRegex(sb.toString());
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Referenz: die frühere Regex-Variante aus den Adaptern
+    // ------------------------------------------------------------------
+
+    private static void assertSameAsRegex(String msg) {
+        RequestMessageParser.Parsed actual = RequestMessageParser.parse(msg);
+        String[] expected = regexParse(msg);
+        String where = "Nachricht: " + (msg == null ? null : msg.replace("\r", "\\r").replace("\n", "\\n"));
+        assertEquals(where, expected[0], actual.title);
+        assertEquals(where, expected[1], actual.area);
+        assertEquals(where, expected[2], actual.tutor);
+        assertEquals(where, expected[3], actual.desc);
+    }
+
+    /** title, area, tutor, desc */
+    private static String[] regexParse(String raw) {
+        String[] p = new String[4];
+        if (raw == null) return p;
+        String msg = raw.trim();
+        if (msg.isEmpty()) return p;
+
+        if (msg.startsWith("Anfrage für Thema:")) {
+            String t = msg.substring("Anfrage für Thema:".length()).trim();
+            if (!t.isEmpty()) p[0] = t;
+            p[3] = msg;
+            return p;
+        }
+
+        p[0] = extractFirst(msg, "(?im)^\\s*Titel\\s*:\\s*(.+)$");
+        p[1] = extractFirst(msg, "(?im)^\\s*(Fachgebiet|Fachbereich)\\s*:\\s*(.+)$");
+        p[2] = extractFirst(msg, "(?im)^\\s*Tutor\\s*:\\s*(.+)$");
+        String desc = extractFirst(msg, "(?is)\\bBeschreibung\\s*:\\s*(.+)$");
+        if (desc != null) p[3] = desc.trim();
+
+        if (p[0] == null && p[1] == null && p[2] == null && p[3] == null) p[3] = msg;
+        return p;
+    }
+
+    private static String extractFirst(String text, String regex) {
+        Matcher m = Pattern.compile(regex).matcher(text);
+        if (!m.find()) return null;
+        String val = m.groupCount() >= 2 ? m.group(2) : m.group(1);
+        return val == null ? null : val.trim();
+    }
+}
@@ -0,0 +1,54 @@
+package de.iu.betreuerapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import de.iu.betreuerapp.Invoices.InvoiceSnapshot;
+import de.iu.betreuerapp.dto.ContactRequest;
+
+/**
+ * Rechnungs-Listen: Zeilen klassifizieren und in die Chip-Gruppen (offen/unbezahlt/bezahlt)
+ * aufteilen – das läuft bei jedem Neuladen und jeder Realtime-Änderung.
+ */
+@State(Scope.Benchmark)
+public class InvoiceRowsBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int rows;
+
+    private List<ContactRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requests = SyntheticData.requests(rows, 7);
+    }
+
+    @Benchmark
+    public InvoiceSnapshot tutorRows() {
+        return Invoices.tutorRows(requests, SyntheticData.MY_ID, SyntheticData.MY_EMAIL);
+    }
+
+    /** Nur per E-Mail zuordenbar (alte Anfragen ohne supervisor_id). */
+    @Benchmark
+    public InvoiceSnapshot tutorRowsByEmail() {
+        return Invoices.tutorRows(requests, null, SyntheticData.MY_EMAIL);
+    }
+
+    @Benchmark
+    public InvoiceSnapshot studentRows() {
+        return Invoices.studentRows(requests);
+    }
+
+    /** Chip-Zähler wie in TutorInvoicesFragment. */
+    @Benchmark
+    public int tutorChipCounts() {
+        InvoiceSnapshot s = Invoices.tutorRows(requests, SyntheticData.MY_ID, SyntheticData.MY_EMAIL);
+        return s.all.size() + s.notInvoiced.size() + s.unpaid.size() + s.paid.size();
+    }
+}
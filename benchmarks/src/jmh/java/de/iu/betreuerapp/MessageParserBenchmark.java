@@ -0,0 +1,57 @@
+package de.iu.betreuerapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+
+/**
+ * Nachrichten zerlegen, wie es die Anfrage-Adapter in onBindViewHolder tun.
+ *
+ * - parse: jede Nachricht neu (erstes Binden, Cache kalt)
+ * - ofScroll: wiederholtes Binden der sichtbaren ~20 Zeilen (Cache warm)
+ * - ofFullList: ganze Liste über {@link RequestMessageParser#of} – ab 256 Anfragen
+ *   verdrängt der LRU-Cache, das zeigt dessen Kosten
+ */
+@State(Scope.Benchmark)
+public class MessageParserBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int rows;
+
+    private List<ContactRequest> requests;
+    private List<ContactRequest> visible;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requests = SyntheticData.requests(rows, 42);
+        visible = requests.subList(0, Math.min(20, rows));
+    }
+
+    @Setup(Level.Iteration)
+    public void clearCache() {
+        RequestMessageParser.clearCache();
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (ContactRequest r : requests) bh.consume(RequestMessageParser.parse(r.message));
+    }
+
+    @Benchmark
+    public void ofScroll(Blackhole bh) {
+        for (ContactRequest r : visible) bh.consume(RequestMessageParser.of(r));
+    }
+
+    @Benchmark
+    public void ofFullList(Blackhole bh) {
+        for (ContactRequest r : requests) bh.consume(RequestMessageParser.of(r));
+    }
+}
@@ -0,0 +1,57 @@
+package de.iu.betreuerapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+import de.iu.betreuerapp.dto.Profile;
+
+/**
+ * Betreuer-Verzeichnis: Index aus Tutor-Profilen bauen und nachschlagen
+ * (id/E-Mail beim Binden jeder Anfrage). Die Freitext-Suche misst SupervisorSearchBenchmark.
+ */
+@State(Scope.Benchmark)
+public class SupervisorDirectoryBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int rows;
+
+    private List<Profile> tutors;
+    private String[] ids;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tutors = SyntheticData.tutors(rows, 11);
+        SupervisorDirectory.install(tutors);
+
+        ids = new String[256];
+        emails = new String[256];
+        for (int i = 0; i < ids.length; i++) {
+            Profile p = tutors.get((i * 7919) % rows);
+            ids[i] = p.id;
+            emails[i] = i % 2 == 0 ? p.email : p.email.toUpperCase(); // Groß-/Kleinschreibung egal
+        }
+    }
+
+    @Benchmark
+    public void install() {
+        SupervisorDirectory.install(tutors);
+    }
+
+    @Benchmark
+    public void findById(Blackhole bh) {
+        for (String id : ids) bh.consume(SupervisorDirectory.findById(id));
+    }
+
+    @Benchmark
+    public void findByEmail(Blackhole bh) {
+        for (String e : emails) bh.consume(SupervisorDirectory.findByEmail(e));
+    }
+}
@@ -0,0 +1,59 @@
+package de.iu.betreuerapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * "Betreuer finden" (SearchFragment → SupervisorSearchEngine): Suchtexte normalisieren
+ * und Treffer ranken, ohne Entprellen und Threads.
+ */
+@State(Scope.Benchmark)
+public class SupervisorSearchBenchmark {
+
+    private static final SupervisorMatcher.Cancelled NEVER = () -> false;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int rows;
+
+    private SupervisorDirectory.Entry[] entries;
+    private SupervisorMatcher matcher;
+    private String[] queries;
+    private String[] areas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entries = SyntheticData.entries(rows, 17);
+        matcher = new SupervisorMatcher(entries);
+        queries = SyntheticData.queries(19);
+        areas = SyntheticData.areas();
+    }
+
+    /** Einmal pro Verzeichnis-Stand (erste Suche nach dem Laden). */
+    @Benchmark
+    public SupervisorMatcher buildCorpus() {
+        return new SupervisorMatcher(entries);
+    }
+
+    @Benchmark
+    public void typing(Blackhole bh) {
+        for (String q : queries) bh.consume(matcher.search(q, null, NEVER));
+    }
+
+    @Benchmark
+    public void typingWithArea(Blackhole bh) {
+        for (int i = 0; i < queries.length; i++) {
+            bh.consume(matcher.search(queries[i], areas[i % areas.length], NEVER));
+        }
+    }
+
+    /** Leeres Suchfeld, nur Fachgebiet gewählt (Spinner). */
+    @Benchmark
+    public void areaOnly(Blackhole bh) {
+        for (String a : areas) bh.consume(matcher.search("", a, NEVER));
+    }
+}
@@ -0,0 +1,187 @@
+package de.iu.betreuerapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import de.iu.betreuerapp.dto.ContactRequest;
+import de.iu.betreuerapp.dto.Profile;
+import de.iu.betreuerapp.dto.ReviewerStatus;
+import de.iu.betreuerapp.dto.ThesisStatus;
+
+/**
+ * Reproduzierbare Testdaten (fester Seed) in der Form, wie sie aus Supabase kommen.
+ * Nachrichten wie ContactFragment sie schreibt, dazu alte ("Anfrage für Thema:")
+ * und freie Nachrichten.
+ */
+final class SyntheticData {
+
+    static final String MY_ID = "00000000-0000-4000-8000-000000000001";
+    static final String MY_EMAIL = "ich@iu.de";
+
+    private static final String[] FIRST = {
+            "Anna", "Ben", "Clara", "David", "Elif", "Felix", "Greta", "Hannes", "Jörg", "Zoë",
+            "Lukas", "Maja", "Niklas", "Özlem", "Paul", "Renée", "Sören", "Tim", "Ute", "Yusuf"
+    };
+    private static final String[] LAST = {
+            "Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker",
+            "Schulz", "Hoffmann", "Koch", "Richter", "Klein", "Wolf", "Schröder", "Neumann",
+            "Schwarz", "Zimmermann", "Braun", "Krüger"
+    };
+    private static final String[] AREAS = {
+            "Wirtschaftsinformatik", "Data Science", "Software Engineering", "IT-Sicherheit",
+            "Cloud & DevOps", "Wirtschaftsrecht", "Marketing", "Künstliche Intelligenz"
+    };
+    private static final String[] WORDS = {
+            "Analyse", "mobile", "Anwendungen", "Datenschutz", "Architektur", "Cloud", "Prozesse",
+            "Machine", "Learning", "Plattform", "Nutzer", "Sicherheit", "Entwicklung", "Modell",
+            "Digitalisierung", "Unternehmen", "Evaluation", "Testing", "Schnittstellen", "Daten"
+    };
+    private static final ThesisStatus[] STATUS = {
+            ThesisStatus.OPEN, ThesisStatus.ACCEPTED, ThesisStatus.IN_PROGRESS, ThesisStatus.SUBMITTED,
+            ThesisStatus.COLLOQUIUM_HELD, ThesisStatus.INVOICED, ThesisStatus.FINISHED, ThesisStatus.REJECTED
+    };
+    private static final ReviewerStatus[] REVIEWER_STATUS = {
+            null, ReviewerStatus.PENDING, ReviewerStatus.ACCEPTED, ReviewerStatus.REJECTED
+    };
+
+    private SyntheticData() { }
+
+    static List<ContactRequest> requests(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<ContactRequest> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ContactRequest r = new ContactRequest();
+            r.id = uuid(rnd);
+            r.student_id = uuid(rnd);
+            r.student_name = name(rnd);
+            r.student_email = "s" + i + "@iu.de";
+
+            // ein Teil der Anfragen betrifft "mich" (Betreuer oder Zweitprüfer)
+            int role = rnd.nextInt(4);
+            r.supervisor_id = role == 0 ? MY_ID : uuid(rnd);
+            r.supervisor_email = role == 0 ? MY_EMAIL : "t" + rnd.nextInt(500) + "@iu.de";
+            r.supervisor_name = name(rnd);
+            if (role == 1 || rnd.nextInt(3) == 0) {
+                r.second_reviewer_id = role == 1 ? MY_ID : uuid(rnd);
+                r.second_reviewer_email = role == 1 ? MY_EMAIL : "t" + rnd.nextInt(500) + "@iu.de";
+                r.second_reviewer_name = name(rnd);
+                r.second_reviewer_status = pick(rnd, REVIEWER_STATUS);
+            }
+
+            r.status = pick(rnd, STATUS);
+            r.message = message(rnd);
+            r.invoice_supervisor_created = flag(rnd);
+            r.invoice_reviewer_created = flag(rnd);
+            r.paid_supervisor = flag(rnd);
+            r.paid_reviewer = flag(rnd);
+            r.created_at = String.format("2025-%02d-%02dT10:00:00+00:00",
+                    1 + rnd.nextInt(12), 1 + rnd.nextInt(28));
+            out.add(r);
+        }
+        return out;
+    }
+
+    static List<Profile> tutors(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<Profile> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Profile p = new Profile();
+            p.id = uuid(rnd);
+            p.first_name = pick(rnd, FIRST);
+            p.last_name = pick(rnd, LAST);
+            p.email = "tutor" + i + "@iu.de";
+            p.role = "tutor";
+            out.add(p);
+        }
+        return out;
+    }
+
+    static SupervisorDirectory.Entry[] entries(int n, long seed) {
+        Random rnd = new Random(seed);
+        SupervisorDirectory.Entry[] out = new SupervisorDirectory.Entry[n];
+        for (int i = 0; i < n; i++) {
+            SupervisorDirectory.Entry e = new SupervisorDirectory.Entry();
+            e.id = uuid(rnd);
+            e.name = name(rnd);
+            e.email = "tutor" + i + "@iu.de";
+            e.area = pick(rnd, AREAS);
+            e.areaInfo = words(rnd, 4 + rnd.nextInt(6)) + ".";
+            out[i] = e;
+        }
+        return out;
+    }
+
+    /** Suchanfragen, wie sie beim Tippen entstehen (Präfixe, Umlaute, zwei Wörter). */
+    static String[] queries(long seed) {
+        Random rnd = new Random(seed);
+        String[] out = new String[64];
+        for (int i = 0; i < out.length; i++) {
+            switch (i % 4) {
+                case 0:  out[i] = prefix(rnd, pick(rnd, FIRST)); break;
+                case 1:  out[i] = prefix(rnd, pick(rnd, LAST)).toLowerCase(); break;
+                case 2:  out[i] = pick(rnd, FIRST).substring(0, 2) + " " + prefix(rnd, pick(rnd, WORDS)); break;
+                default: out[i] = prefix(rnd, pick(rnd, AREAS)); break;
+            }
+        }
+        return out;
+    }
+
+    static String[] areas() {
+        return AREAS.clone();
+    }
+
+    // ------------------------------------------------------------------
+
+    private static String message(Random rnd) {
+        int kind = rnd.nextInt(10);
+        if (kind == 0) {
+            return RequestMessageParser.LEGACY_PREFIX + " " + words(rnd, 5);
+        }
+        if (kind == 1) {
+            return "Hallo, ich würde gern bei Ihnen schreiben. " + words(rnd, 30);
+        }
+        StringBuilder msg = new StringBuilder();
+        msg.append("Titel: ").append(words(rnd, 6)).append("\n");
+        if (rnd.nextBoolean()) {
+            msg.append(kind == 2 ? "Fachbereich: " : "Fachgebiet: ")
+                    .append(pick(rnd, AREAS)).append("\n");
+        }
+        if (rnd.nextBoolean()) msg.append("Tutor: ").append(name(rnd)).append("\n");
+        msg.append("Beschreibung:\n");
+        int lines = 1 + rnd.nextInt(5);
+        for (int l = 0; l < lines; l++) msg.append(words(rnd, 12)).append("\n");
+        return msg.toString();
+    }
+
+    private static String words(Random rnd, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(pick(rnd, WORDS));
+        }
+        return sb.toString();
+    }
+
+    private static String name(Random rnd) {
+        return pick(rnd, FIRST) + " " + pick(rnd, LAST);
+    }
+
+    private static String prefix(Random rnd, String s) {
+        return s.substring(0, 1 + rnd.nextInt(Math.min(5, s.length())));
+    }
+
+    private static Boolean flag(Random rnd) {
+        int v = rnd.nextInt(3);
+        return v == 0 ? null : v == 1;
+    }
+
+    private static String uuid(Random rnd) {
+        return new UUID(rnd.nextLong(), rnd.nextLong()).toString();
+    }
+
+    private static <T> T pick(Random rnd, T[] values) {
+        return values[rnd.nextInt(values.length)];
+    }
+}